@@ -0,0 +1,51 @@
+package com.kitchensink.config;
+
+import java.time.Duration;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kitchensink.exception.ErrorReporter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The Class BenchmarkBeans.
+ * The application beans the benchmarks share, built as the application configures them but without a Spring context,
+ * so a benchmark measures the code path and not the container.
+ *
+ * @author prerna
+ */
+public final class BenchmarkBeans {
+
+    /**
+     * BenchmarkBeans constructor
+     */
+    private BenchmarkBeans() {
+    }
+
+    /**
+     * Object mapper with the modules and customizers of JacksonConfig and the Spring Boot defaults
+     *
+     * @return the object mapper
+     */
+    public static ObjectMapper objectMapper() {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().featuresToDisable(
+            SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).modulesToInstall(jacksonConfig.blackbirdModule());
+        jacksonConfig.sharedBufferPoolCustomizer().customize(builder);
+        jacksonConfig.memberFieldsCustomizer().customize(builder);
+        return builder.build();
+    }
+
+    /**
+     * Error reporter with the application default log budget
+     *
+     * @return the error reporter
+     */
+    public static ErrorReporter errorReporter() {
+        return new ErrorReporter(new SimpleMeterRegistry(), 10, Duration.ofSeconds(1));
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.kitchensink.config.security;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.kitchensink.config.BenchmarkBeans;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * The Class JwtAuthFilterBenchmark.
+ * One request through the auth filter, from reading the token to the authentication seen by the rest of the chain,
+ * with servlet mocks and an in-memory user lookup in place of Tomcat and MongoDB. A fresh request and response per
+ * invocation is part of the measured time, as it is of every real request.
+ *
+ * @author prerna
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    /** The Constant CHAIN, the filter answers 500 when the request it passes on is not authenticated */
+    private static final FilterChain CHAIN = (request, response) -> {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            throw new IllegalStateException("Request not authenticated");
+        }
+    };
+
+    /** The jwt auth filter */
+    private JwtAuthFilter jwtAuthFilter;
+
+    /** The access token */
+    private String accessToken;
+
+    /** The refresh token */
+    private String refreshToken;
+
+    /**
+     * Create the filter and the tokens
+     */
+    @Setup
+    public void setUp() {
+        JwtTokenProvider jwtTokenProvider = JwtTokenProviderBenchmark.tokenProvider(JwtTokenProviderBenchmark.SECRET);
+        UserDetails userDetails = JwtTokenProviderBenchmark.userDetails("member@example.com");
+        jwtAuthFilter = new JwtAuthFilter(jwtTokenProvider, username -> userDetails, BenchmarkBeans.objectMapper(),
+            BenchmarkBeans.errorReporter());
+        accessToken = jwtTokenProvider.generateAccessToken(JwtTokenProviderBenchmark.authentication(
+            userDetails.getUsername()));
+        refreshToken = jwtTokenProvider.generateRefreshToken(JwtTokenProviderBenchmark.authentication(
+            userDetails.getUsername()));
+    }
+
+    /**
+     * Request with the access token in the Authorization header
+     *
+     * @return the response
+     * @throws IOException
+     */
+    @Benchmark
+    public MockHttpServletResponse bearerHeader() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/members/current");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+        return filter(request, HttpServletResponse.SC_OK);
+    }
+
+    /**
+     * Request with the access token cookie, as the browser client sends it
+     *
+     * @return the response
+     * @throws IOException
+     */
+    @Benchmark
+    public MockHttpServletResponse accessTokenCookie() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/members/current");
+        request.setCookies(new Cookie("access_token", accessToken), new Cookie("refresh_token", refreshToken));
+        return filter(request, HttpServletResponse.SC_OK);
+    }
+
+    /**
+     * Request with only the refresh token cookie, which issues a new access token
+     *
+     * @return the response
+     * @throws IOException
+     */
+    @Benchmark
+    public MockHttpServletResponse refreshTokenCookie() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/members/current");
+        request.setCookies(new Cookie("refresh_token", refreshToken));
+        return filter(request, HttpServletResponse.SC_OK);
+    }
+
+    /**
+     * Request with a malformed token, answered with 401 and the error body by the filter
+     *
+     * @return the response
+     * @throws IOException
+     */
+    @Benchmark
+    public MockHttpServletResponse invalidToken() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/members/current");
+        request.addHeader("Authorization", "Bearer " + accessToken.substring(1));
+        return filter(request, HttpServletResponse.SC_UNAUTHORIZED);
+    }
+
+    /**
+     * Filter the request
+     *
+     * @param request
+     *            the request
+     * @param expectedStatus
+     *            the expected response status
+     * @return the response
+     * @throws IOException
+     */
+    private MockHttpServletResponse filter(MockHttpServletRequest request, int expectedStatus) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jwtAuthFilter.doFilter(request, response, CHAIN);
+        if (response.getStatus() != expectedStatus) {
+            throw new IllegalStateException("Expected status " + expectedStatus + " but was " + response.getStatus());
+        }
+        return response;
+    }
+
+}
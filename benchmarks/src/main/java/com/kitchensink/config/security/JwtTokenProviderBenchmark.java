@@ -0,0 +1,135 @@
+package com.kitchensink.config.security;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.kitchensink.exception.AppAuthenticationException;
+
+/**
+ * The Class JwtTokenProviderBenchmark.
+ * Signing and verifying the HS256 tokens, which every authenticated request does at least once. The forged token
+ * measures the rejection path, which forged or stale cookies take.
+ *
+ * @author prerna
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    /** The Constant SECRET, long enough for HS256 */
+    static final String SECRET = "b3nchm@rk$3cr3#K3y7#@7I$@7L3@$732C#@r@c73r$L0ng";
+
+    /** The jwt token provider */
+    private JwtTokenProvider jwtTokenProvider;
+
+    /** The authentication */
+    private Authentication authentication;
+
+    /** The access token */
+    private String accessToken;
+
+    /** The access token signed with another key */
+    private String forgedToken;
+
+    /**
+     * Create the provider and the tokens
+     */
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = tokenProvider(SECRET);
+        authentication = authentication("member@example.com");
+        accessToken = jwtTokenProvider.generateAccessToken(authentication);
+        forgedToken = tokenProvider(SECRET.replace('b', 'c')).generateAccessToken(authentication);
+    }
+
+    /**
+     * Generate an access token
+     *
+     * @return the token
+     */
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtTokenProvider.generateAccessToken(authentication);
+    }
+
+    /**
+     * Validate an access token and read its subject, as the auth filter does
+     *
+     * @return the username
+     */
+    @Benchmark
+    public String validateAccessToken() {
+        jwtTokenProvider.validateAccessToken(accessToken);
+        return jwtTokenProvider.getUsernameFromToken(accessToken);
+    }
+
+    /**
+     * Reject an access token with a wrong signature
+     *
+     * @return the exception
+     */
+    @Benchmark
+    public AppAuthenticationException validateForgedAccessToken() {
+        try {
+            jwtTokenProvider.validateAccessToken(forgedToken);
+            throw new IllegalStateException("Forged token accepted");
+        } catch (AppAuthenticationException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Token provider with the application default expirations
+     *
+     * @param secret
+     *            the secret
+     * @return the jwt token provider
+     */
+    static JwtTokenProvider tokenProvider(String secret) {
+        // the auth service is only used to validate a refresh token against an authentication, never here
+        return new JwtTokenProvider(null, Duration.ofHours(24), Duration.ofDays(7), secret);
+    }
+
+    /**
+     * Authentication of a member, as built by the login
+     *
+     * @param email
+     *            the email
+     * @return the authentication
+     */
+    static Authentication authentication(String email) {
+        UserDetails userDetails = userDetails(email);
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    /**
+     * User details of a member
+     *
+     * @param email
+     *            the email
+     * @return the user details
+     */
+    static UserDetails userDetails(String email) {
+        return User.withUsername(email).password("{noop}unused").authorities("ROLE_USER", "ROLE_ADMIN").build();
+    }
+
+}
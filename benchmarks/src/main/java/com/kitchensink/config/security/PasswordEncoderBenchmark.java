@@ -0,0 +1,75 @@
+package com.kitchensink.config.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * The Class PasswordEncoderBenchmark.
+ * BCrypt hashing at registration and matching at login, by cost. The application uses the default cost of 10; each
+ * step up doubles the time, which is the time a login holds a request thread.
+ *
+ * @author prerna
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    /** The Constant PASSWORD */
+    private static final String PASSWORD = "Kitchen@Sink1";
+
+    /** The BCrypt cost, log2 of the rounds */
+    @Param({ "8", "10", "12" })
+    private int strength;
+
+    /** The password encoder */
+    private BCryptPasswordEncoder passwordEncoder;
+
+    /** The encoded password */
+    private String encodedPassword;
+
+    /**
+     * Create the encoder and hash the password
+     */
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(strength);
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+    }
+
+    /**
+     * Hash a password, as the registration does
+     *
+     * @return the encoded password
+     */
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    /**
+     * Match a password, as the login does
+     *
+     * @return whether the password matches
+     */
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+}
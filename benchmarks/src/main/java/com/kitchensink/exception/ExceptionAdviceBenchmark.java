@@ -0,0 +1,139 @@
+package com.kitchensink.exception;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitchensink.config.BenchmarkBeans;
+import com.kitchensink.dto.RegisterMemberDto;
+import com.kitchensink.enums.ErrorType;
+
+/**
+ * The Class ExceptionAdviceBenchmark.
+ * Turning a handled exception into the json error body written to the client: the handler, the error reporter and
+ * the serialization with the application object mapper. The exceptions are created once, their stack traces are the
+ * cost of throwing them and not of rendering them.
+ *
+ * @author prerna
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionAdviceBenchmark {
+
+    /** The object mapper */
+    private ObjectMapper objectMapper;
+
+    /** The exception advice */
+    private ExceptionAdvice exceptionAdvice;
+
+    /** The web request */
+    private WebRequest request;
+
+    /** The application exception */
+    private BaseApplicationException applicationException;
+
+    /** The validation failure of a registration */
+    private BindException bindException;
+
+    /** The unreadable body of a registration */
+    private HttpMessageNotReadableException notReadableException;
+
+    /**
+     * Create the advice and the exceptions
+     *
+     * @throws IOException
+     */
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkBeans.objectMapper();
+        exceptionAdvice = new ExceptionAdvice(objectMapper, BenchmarkBeans.errorReporter());
+        request = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/auth/register"));
+        applicationException = new AppAuthenticationException("Member not found", ErrorType.MEMBER_NOT_FOUND);
+
+        BindingResult bindingResult = new BeanPropertyBindingResult(new RegisterMemberDto(), "registerMemberDto");
+        bindingResult.addError(new FieldError("registerMemberDto", "email", "Email should be valid"));
+        bindingResult.addError(new FieldError("registerMemberDto", "phoneNumber", "Invalid mobile number"));
+        bindingResult.addError(new FieldError("registerMemberDto", "roles", "At least one role must be added"));
+        bindException = new BindException(bindingResult);
+
+        try {
+            objectMapper.readValue("{\"name\":\"Jane\",\"roles\":[[\"USER\"]]}", RegisterMemberDto.class);
+            throw new IllegalStateException("Malformed body read");
+        } catch (JsonMappingException e) {
+            notReadableException = new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(),
+                e, new MockHttpInputMessage(new byte[0]));
+        }
+    }
+
+    /**
+     * Render an application exception
+     *
+     * @return the body
+     * @throws IOException
+     */
+    @Benchmark
+    public byte[] applicationException() throws IOException {
+        return render(exceptionAdvice.handleException(applicationException, request));
+    }
+
+    /**
+     * Render the failed validations of a request body
+     *
+     * @return the body
+     * @throws IOException
+     */
+    @Benchmark
+    public byte[] bindException() throws IOException {
+        return render(exceptionAdvice.handleBindExceptions(bindException, request));
+    }
+
+    /**
+     * Render a body that cannot be read, with the path of the field in the message
+     *
+     * @return the body
+     * @throws IOException
+     */
+    @Benchmark
+    public byte[] notReadableException() throws IOException {
+        return render(exceptionAdvice.handleHttpMessageNotReadable(notReadableException, request));
+    }
+
+    /**
+     * Write the body as the json message converter does
+     *
+     * @param response
+     *            the response entity
+     * @return the body
+     * @throws IOException
+     */
+    private byte[] render(ResponseEntity<Object> response) throws IOException {
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.kitchensink.service.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.kitchensink.dto.MemberSearchCriteria;
+
+/**
+ * The Class MemberSearchQueryBenchmark.
+ * Building the member search Criteria down to the filter document MongoTemplate sends, with the case-insensitive
+ * patterns compiled for each search.
+ *
+ * @author prerna
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberSearchQueryBenchmark {
+
+    /** The pageable */
+    private Pageable pageable;
+
+    /** The search on every field */
+    private MemberSearchCriteria fullSearch;
+
+    /** The search on the name only */
+    private MemberSearchCriteria nameSearch;
+
+    /**
+     * Create the search criteria
+     */
+    @Setup
+    public void setUp() {
+        pageable = PageRequest.of(3, 20, Sort.by("name"));
+        fullSearch = new MemberSearchCriteria();
+        fullSearch.setName("mem");
+        fullSearch.setEmail("example.com");
+        fullSearch.setRole("ADMIN");
+        nameSearch = new MemberSearchCriteria();
+        nameSearch.setName("Member 4");
+    }
+
+    /**
+     * Search on name, email and role
+     *
+     * @return the filter document
+     */
+    @Benchmark
+    public Document fullSearch() {
+        return MemberServiceImpl.searchQuery(pageable, fullSearch).getQueryObject();
+    }
+
+    /**
+     * Search on the name only
+     *
+     * @return the filter document
+     */
+    @Benchmark
+    public Document nameSearch() {
+        return MemberServiceImpl.searchQuery(pageable, nameSearch).getQueryObject();
+    }
+
+}
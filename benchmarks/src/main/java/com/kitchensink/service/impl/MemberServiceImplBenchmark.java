@@ -0,0 +1,79 @@
+package com.kitchensink.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.kitchensink.dto.MemberDto;
+import com.kitchensink.entity.Member;
+import com.kitchensink.enums.PhoneVerificationStatus;
+
+/**
+ * The Class MemberServiceImplBenchmark.
+ * Mapping a page of members read from MongoDB to the dtos the listing and search answer with. In the package of the
+ * service, whose helpers are package-private.
+ *
+ * @author prerna
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberServiceImplBenchmark {
+
+    /** The page size, up to an admin export */
+    @Param({ "20", "1000", "10000" })
+    private int pageSize;
+
+    /** The page of members */
+    private List<Member> members;
+
+    /**
+     * Create the members
+     */
+    @Setup
+    public void setUp() {
+        members = new ArrayList<>(pageSize);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < pageSize; i++) {
+            Member member = new Member();
+            member.setId(String.format("%024x", i));
+            member.setName("Member " + i);
+            member.setEmail("member" + i + "@example.com");
+            member.setPhoneNumber(String.valueOf(9_000_000_000L + i));
+            member.setPhoneVerification(PhoneVerificationStatus.values()[i % PhoneVerificationStatus.values().length]);
+            member.setPassword("$2a$10$hashedpasswordhashedpasswordhashedpasswordhashed");
+            member.setRoles(i % 10 == 0 ? List.of("USER", "ADMIN") : List.of("USER"));
+            member.setCreatedAt(createdAt.plusMinutes(i));
+            member.setUpdatedAt(createdAt.plusMinutes(i));
+            member.setVersion((long) i % 5);
+            members.add(member);
+        }
+    }
+
+    /**
+     * Map a page of members to dtos, as the member listing does
+     *
+     * @return the dtos
+     */
+    @Benchmark
+    public List<MemberDto> toMemberDtos() {
+        return members.stream().map(MemberServiceImpl::toMemberDto).toList();
+    }
+
+}
@@ -0,0 +1,26 @@
+#!/bin/bash
+# Compares two JMH json results, of two commits for instance: the score of each benchmark and parameter set in both,
+# the change, and whether it is larger than the error margins of the two runs.
+#
+# Usage: scripts/compare-benchmarks.sh benchmarks/results/<before>.json benchmarks/results/<after>.json
+# Requires jq. The suites measure average time, so a negative change is an improvement.
+set -euo pipefail
+
+[ $# -eq 2 ] || { echo "Usage: $0 before.json after.json"; exit 1; }
+command -v jq >/dev/null || { echo "jq is required"; exit 1; }
+export LC_ALL=C
+
+rows() {
+    jq -r '.[] | [(.benchmark | sub("^com\\.kitchensink\\."; ""))
+        + ((.params // {}) | to_entries | map(":" + .key + "=" + .value) | join("")),
+        .primaryMetric.score, .primaryMetric.scoreError, .primaryMetric.scoreUnit] | @tsv' "$1" | sort
+}
+
+join -t $'\t' <(rows "$1") <(rows "$2") | awk -F'\t' '
+    BEGIN { print "benchmark\tbefore\tafter\tunit\tchange\tbeyond_error" }
+    {
+        # a single measurement iteration has no error margin
+        diff = $5 - $2
+        beyond = ($3 == "NaN" || $6 == "NaN") ? "n/a" : (diff > $3 + $6 || -diff > $3 + $6) ? "yes" : "no"
+        printf "%s\t%.3f\t%.3f\t%s\t%+.1f%%\t%s\n", $1, $2, $5, $4, diff / $2 * 100, beyond
+    }' | column -t -s $'\t'
@@ -0,0 +1,86 @@
+#!/bin/bash
+# Takes a CRaC checkpoint of a warmed up application and compares restoring it with a cold start: time until the
+# health endpoint answers, latency of the first authenticated request, and memory.
+#
+# Usage: scripts/crac-checkpoint.sh [warmup_duration] [runs]
+# Requires docker, on a host whose kernel allows CRIU (the containers get CHECKPOINT_RESTORE and SYS_PTRACE), and hey
+# (https://github.com/rakyll/hey). MongoDB runs in a throwaway container. The restorable image is committed as
+# kitchensink-app:crac-restore; results are written to target/crac/.
+set -euo pipefail
+
+WARMUP=${1:-60s}
+RUNS=${2:-5}
+PORT=${PORT:-8080}
+OUT=target/crac
+BASE_URL="http://localhost:$PORT"
+NAME=kitchensink-crac
+CAPS=(--cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE)
+
+command -v docker >/dev/null || { echo "docker is required"; exit 1; }
+command -v hey >/dev/null || { echo "hey is required"; exit 1; }
+mkdir -p "$OUT"
+echo "mode,run,ready_ms,first_request_ms,rss_mb" > "$OUT/results.csv"
+docker build -q --target CRAC -t kitchensink-app:crac . >/dev/null
+
+cleanup() {
+    docker rm -f "$NAME-app" "$NAME-mongo" >/dev/null 2>&1 || true
+    docker network rm "$NAME" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+docker network create "$NAME" >/dev/null
+docker run -d --name "$NAME-mongo" --network "$NAME" mongo:6.0 >/dev/null
+
+start() {
+    docker run -d --name "$NAME-app" --network "$NAME" -p "$PORT:8080" "${CAPS[@]}" \
+        -e SPRING_DATA_MONGODB_URI="mongodb://$NAME-mongo:27017/kitchensink" -e PHONE_VALIDATION_ENABLED=false \
+        "$@" >/dev/null
+}
+
+wait_ready() {
+    until curl -sf "$BASE_URL/actuator/health" >/dev/null; do
+        docker inspect -f '{{.State.Running}}' "$NAME-app" | grep -q true \
+            || { docker logs "$NAME-app" > "$OUT/failed.log" 2>&1; echo "application exited, see $OUT"; exit 1; }
+        sleep 0.05
+    done
+}
+
+# warm up: JIT compiled hot paths, loaded classes, pooled buffers and cached members are all in the checkpoint
+echo "== checkpoint after $WARMUP of warm up"
+start kitchensink-app:crac
+wait_ready
+email="crac-$RANDOM@example.com" password='Crac@Test1'
+curl -sf -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/register" \
+    -d "{\"name\":\"Crac Test\",\"email\":\"$email\",\"phoneNumber\":\"9$(printf '%09d' $RANDOM$RANDOM | cut -c1-9)\",\"password\":\"$password\",\"roles\":[\"USER\"]}"
+token=$(curl -sf -D - -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/login" \
+    -d "{\"email\":\"$email\",\"password\":\"$password\"}" | sed -n 's/^[Ss]et-[Cc]ookie: access_token=\([^;]*\).*/\1/p')
+hey -z "$WARMUP" -c 20 -H "Cookie: access_token=$token" "$BASE_URL/api/members/current" > "$OUT/warmup-hey.txt"
+docker exec "$NAME-app" jcmd kitchensink.jar JDK.checkpoint > "$OUT/checkpoint.txt"
+docker wait "$NAME-app" >/dev/null
+docker commit --change 'CMD ["java", "-XX:CRaCRestoreFrom=/crac"]' "$NAME-app" kitchensink-app:crac-restore \
+    >/dev/null
+docker logs "$NAME-app" > "$OUT/checkpoint.log" 2>&1
+docker rm "$NAME-app" >/dev/null
+
+run() {
+    local mode=$1 image=$2
+    for i in $(seq 1 "$RUNS"); do
+        local begin ready first rss
+        begin=$(date +%s%N)
+        start "$image"
+        wait_ready
+        ready=$(( ($(date +%s%N) - begin) / 1000000 ))
+        begin=$(date +%s%N)
+        curl -sf -o /dev/null -H "Cookie: access_token=$token" "$BASE_URL/api/members/current"
+        first=$(( ($(date +%s%N) - begin) / 1000000 ))
+        rss=$(docker stats --no-stream --format '{{.MemUsage}}' "$NAME-app" | awk '{print $1}' \
+            | awk '/GiB/ {printf "%.0f", $1 * 1024; next} {printf "%.0f", $1}')
+        echo "$mode,$i,$ready,$first,$rss" >> "$OUT/results.csv"
+        docker logs "$NAME-app" > "$OUT/$mode-$i.log" 2>&1
+        docker rm -f "$NAME-app" >/dev/null
+    done
+}
+
+run cold kitchensink-app:crac
+run restore kitchensink-app:crac-restore
+
+column -s, -t < "$OUT/results.csv"
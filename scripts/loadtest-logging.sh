@@ -0,0 +1,65 @@
+#!/bin/bash
+# Compares login throughput with the default logging (synchronous, caller data, DEBUG) and the prod logging profile
+# (async JSON, sampled login events).
+#
+# Usage: scripts/loadtest-logging.sh [duration] [concurrency]
+# Requires a running MongoDB (SPRING_DATA_MONGODB_URI), a built jar (mvn -DskipTests package) and hey
+# (https://github.com/rakyll/hey). Results are written to target/loadtest/. The dropped event count is read from the
+# ADMIN only metrics endpoint, it is collected when ADMIN_EMAIL and ADMIN_PASSWORD name an existing admin.
+set -euo pipefail
+
+DURATION=${1:-60s}
+CONCURRENCY=${2:-50}
+PORT=${PORT:-8080}
+JAR=target/kitchensink.jar
+OUT=target/loadtest
+BASE_URL="http://localhost:$PORT"
+
+command -v hey >/dev/null || { echo "hey is required"; exit 1; }
+[ -f "$JAR" ] || { echo "$JAR not found, run mvn -DskipTests package first"; exit 1; }
+mkdir -p "$OUT"
+echo "logging,requests_per_sec,p99_ms,dropped_events" > "$OUT/logging-results.csv"
+
+run() {
+    local logging=$1 profiles=$2
+    echo "== $logging logging"
+    java -Xmx512m -jar "$JAR" --server.port="$PORT" --phone.validation.enabled=false \
+        --spring.profiles.active="$profiles" --management.endpoints.web.exposure.include=health,metrics \
+        > "$OUT/logging-$logging.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+    until curl -sf "$BASE_URL/actuator/health" >/dev/null; do sleep 1; done
+
+    local email="loadtest-$logging-$RANDOM@example.com" password='Load@Test1'
+    curl -sf -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/register" \
+        -d "{\"name\":\"Load Test\",\"email\":\"$email\",\"phoneNumber\":\"9$(printf '%09d' $RANDOM$RANDOM | cut -c1-9)\",\"password\":\"$password\",\"roles\":[\"USER\"]}"
+    local body="{\"email\":\"$email\",\"password\":\"$password\"}"
+
+    # warm up, then measure the login endpoint
+    hey -z 10s -c "$CONCURRENCY" -m POST -T application/json -d "$body" "$BASE_URL/api/auth/login" >/dev/null
+    hey -z "$DURATION" -c "$CONCURRENCY" -m POST -T application/json -d "$body" "$BASE_URL/api/auth/login" \
+        > "$OUT/logging-$logging-hey.txt"
+
+    local rps p99 dropped
+    rps=$(awk '/Requests\/sec/ {print $2}' "$OUT/logging-$logging-hey.txt")
+    p99=$(awk '/99% in/ {printf "%.1f", $3 * 1000}' "$OUT/logging-$logging-hey.txt")
+    dropped=
+    if [ -n "${ADMIN_EMAIL:-}" ]; then
+        local admin_token
+        admin_token=$(curl -sf -D - -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/login" \
+            -d "{\"email\":\"$ADMIN_EMAIL\",\"password\":\"$ADMIN_PASSWORD\"}" \
+            | sed -n 's/^[Ss]et-[Cc]ookie: access_token=\([^;]*\).*/\1/p')
+        dropped=$(curl -sf -H "Cookie: access_token=$admin_token" "$BASE_URL/actuator/metrics/logback.events.dropped" \
+            | sed -n 's/.*"statistic":"COUNT","value":\([0-9.E]*\).*/\1/p')
+    fi
+    echo "$logging,$rps,$p99,${dropped:-0}" >> "$OUT/logging-results.csv"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run default dev
+run prod prod
+
+column -s, -t < "$OUT/logging-results.csv"
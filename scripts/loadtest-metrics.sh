@@ -0,0 +1,61 @@
+#!/bin/bash
+# Measures the overhead of the service timers, histograms and the Prometheus registry: runs the same login and
+# current-member load with the service, security and http meters disabled and enabled.
+#
+# Usage: scripts/loadtest-metrics.sh [duration] [concurrency]
+# Requires a running MongoDB (SPRING_DATA_MONGODB_URI), a built jar (mvn -DskipTests package) and hey
+# (https://github.com/rakyll/hey). Results are written to target/loadtest/.
+set -euo pipefail
+
+DURATION=${1:-60s}
+CONCURRENCY=${2:-50}
+PORT=${PORT:-8080}
+JAR=target/kitchensink.jar
+OUT=target/loadtest
+BASE_URL="http://localhost:$PORT"
+
+command -v hey >/dev/null || { echo "hey is required"; exit 1; }
+[ -f "$JAR" ] || { echo "$JAR not found, run mvn -DskipTests package first"; exit 1; }
+mkdir -p "$OUT"
+echo "metrics,endpoint,requests_per_sec,p99_ms" > "$OUT/metrics-results.csv"
+
+measure() {
+    local metrics=$1 endpoint=$2
+    shift 2
+    hey -z 10s -c "$CONCURRENCY" "$@" "$BASE_URL$endpoint" >/dev/null
+    hey -z "$DURATION" -c "$CONCURRENCY" "$@" "$BASE_URL$endpoint" > "$OUT/metrics-$metrics-${endpoint//\//_}-hey.txt"
+    local rps p99
+    rps=$(awk '/Requests\/sec/ {print $2}' "$OUT/metrics-$metrics-${endpoint//\//_}-hey.txt")
+    p99=$(awk '/99% in/ {printf "%.1f", $3 * 1000}' "$OUT/metrics-$metrics-${endpoint//\//_}-hey.txt")
+    echo "$metrics,$endpoint,$rps,$p99" >> "$OUT/metrics-results.csv"
+}
+
+run() {
+    local metrics=$1 enabled=$2
+    echo "== metrics $metrics"
+    java -Xmx512m -jar "$JAR" --server.port="$PORT" --phone.validation.enabled=false \
+        --management.metrics.enable.service="$enabled" --management.metrics.enable.security="$enabled" \
+        --management.metrics.enable.http="$enabled" > "$OUT/metrics-$metrics.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+    until curl -sf "$BASE_URL/actuator/health" >/dev/null; do sleep 1; done
+
+    local email="loadtest-$metrics-$RANDOM@example.com" password='Load@Test1'
+    curl -sf -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/register" \
+        -d "{\"name\":\"Load Test\",\"email\":\"$email\",\"phoneNumber\":\"9$(printf '%09d' $RANDOM$RANDOM | cut -c1-9)\",\"password\":\"$password\",\"roles\":[\"USER\"]}"
+    local body="{\"email\":\"$email\",\"password\":\"$password\"}" token
+    token=$(curl -sf -D - -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/login" -d "$body" \
+        | sed -n 's/^[Ss]et-[Cc]ookie: access_token=\([^;]*\).*/\1/p')
+
+    measure "$metrics" /api/auth/login -m POST -T application/json -d "$body"
+    measure "$metrics" /api/members/current -H "Cookie: access_token=$token"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run off false
+run on true
+
+column -s, -t < "$OUT/metrics-results.csv"
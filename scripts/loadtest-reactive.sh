@@ -0,0 +1,71 @@
+#!/bin/bash
+# Compares throughput, latency and thread count of the servlet and the reactive stack under high concurrency.
+#
+# Usage: scripts/loadtest-reactive.sh [duration] [concurrency]
+# Requires a running MongoDB (SPRING_DATA_MONGODB_URI), a built jar (mvn -DskipTests package) and hey
+# (https://github.com/rakyll/hey). The admin list endpoint is measured as well when ADMIN_EMAIL and ADMIN_PASSWORD
+# are set. Results are written to target/loadtest/. No results have been recorded yet.
+set -euo pipefail
+
+DURATION=${1:-60s}
+CONCURRENCY=${2:-1000}
+PORT=${PORT:-8080}
+JAR=target/kitchensink.jar
+OUT=target/loadtest
+BASE_URL="http://localhost:$PORT"
+
+command -v hey >/dev/null || { echo "hey is required"; exit 1; }
+[ -f "$JAR" ] || { echo "$JAR not found, run mvn -DskipTests package first"; exit 1; }
+mkdir -p "$OUT"
+echo "stack,endpoint,requests_per_sec,p99_ms,errors,rss_mb,threads" > "$OUT/reactive-results.csv"
+
+login() {
+    curl -sf -D - -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/login" \
+        -d "{\"email\":\"$1\",\"password\":\"$2\"}" | sed -n 's/^[Ss]et-[Cc]ookie: access_token=\([^;]*\).*/\1/p'
+}
+
+measure() {
+    local stack=$1 endpoint=$2 token=$3 pid=$4
+    local name
+    name="$stack-$(echo "$endpoint" | tr -c 'a-z0-9\n' '-')"
+
+    # warm up, then measure
+    hey -z 10s -c "$CONCURRENCY" -H "Cookie: access_token=$token" "$BASE_URL$endpoint" >/dev/null
+    hey -z "$DURATION" -c "$CONCURRENCY" -H "Cookie: access_token=$token" "$BASE_URL$endpoint" > "$OUT/$name.txt"
+
+    local rps p99 errors rss threads
+    rps=$(awk '/Requests\/sec/ {print $2}' "$OUT/$name.txt")
+    p99=$(awk '/99% in/ {printf "%.1f", $3 * 1000}' "$OUT/$name.txt")
+    errors=$(awk '/^  \[[0-9]+\]/ && $1 != "[200]" {sum += $2} END {print sum + 0}' "$OUT/$name.txt")
+    rss=$(ps -o rss= -p "$pid" | awk '{printf "%.0f", $1 / 1024}')
+    threads=$(ps -o nlwp= -p "$pid" | tr -d ' ')
+    echo "$stack,$endpoint,$rps,$p99,$errors,$rss,$threads" >> "$OUT/reactive-results.csv"
+}
+
+run() {
+    local stack=$1 profiles=$2
+    echo "== $stack stack"
+    java -Xmx512m -jar "$JAR" --server.port="$PORT" --phone.validation.enabled=false \
+        --spring.profiles.active="$profiles" > "$OUT/$stack.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+    until curl -sf "$BASE_URL/actuator/health" >/dev/null; do sleep 1; done
+
+    local email="loadtest-$stack-$RANDOM@example.com" password='Load@Test1'
+    curl -sf -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/register" \
+        -d "{\"name\":\"Load Test\",\"email\":\"$email\",\"phoneNumber\":\"9$(printf '%09d' $RANDOM$RANDOM | cut -c1-9)\",\"password\":\"$password\",\"roles\":[\"USER\"]}"
+    measure "$stack" /api/members/current "$(login "$email" "$password")" "$pid"
+
+    if [ -n "${ADMIN_EMAIL:-}" ] && [ -n "${ADMIN_PASSWORD:-}" ]; then
+        measure "$stack" "/api/members/?size=50" "$(login "$ADMIN_EMAIL" "$ADMIN_PASSWORD")" "$pid"
+    fi
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run servlet dev
+run reactive dev,reactive
+
+column -s, -t < "$OUT/reactive-results.csv"
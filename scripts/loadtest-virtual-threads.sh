@@ -0,0 +1,68 @@
+#!/bin/bash
+# Compares throughput and memory of the platform-thread and the virtual-thread mode.
+#
+# Usage: scripts/loadtest-virtual-threads.sh [duration] [concurrency]
+# Requires a running MongoDB (SPRING_DATA_MONGODB_URI), a built jar (mvn -DskipTests package) and hey
+# (https://github.com/rakyll/hey). Results are written to target/loadtest/. The pinning report is ADMIN only, it is
+# collected when ADMIN_EMAIL and ADMIN_PASSWORD name an existing admin.
+set -euo pipefail
+
+DURATION=${1:-60s}
+CONCURRENCY=${2:-200}
+PORT=${PORT:-8080}
+JAR=target/kitchensink.jar
+OUT=target/loadtest
+BASE_URL="http://localhost:$PORT"
+
+command -v hey >/dev/null || { echo "hey is required"; exit 1; }
+[ -f "$JAR" ] || { echo "$JAR not found, run mvn -DskipTests package first"; exit 1; }
+mkdir -p "$OUT"
+echo "mode,requests_per_sec,p99_ms,rss_mb,threads,pinned_sites" > "$OUT/results.csv"
+
+run() {
+    local mode=$1 virtual=$2
+    echo "== $mode threads"
+    java -Xmx512m -jar "$JAR" --server.port="$PORT" --spring.threads.virtual.enabled="$virtual" \
+        --phone.validation.enabled=false --spring.profiles.active=dev > "$OUT/$mode.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+    until curl -sf "$BASE_URL/actuator/health" >/dev/null; do sleep 1; done
+
+    local email="loadtest-$mode-$RANDOM@example.com" password='Load@Test1'
+    curl -sf -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/register" \
+        -d "{\"name\":\"Load Test\",\"email\":\"$email\",\"phoneNumber\":\"9$(printf '%09d' $RANDOM$RANDOM | cut -c1-9)\",\"password\":\"$password\",\"roles\":[\"USER\"]}"
+    local token
+    token=$(curl -sf -D - -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/login" \
+        -d "{\"email\":\"$email\",\"password\":\"$password\"}" | sed -n 's/^[Ss]et-[Cc]ookie: access_token=\([^;]*\).*/\1/p')
+
+    # warm up, then measure the authenticated read path: JWT parsing, Mongo lookup and logging
+    hey -z 10s -c "$CONCURRENCY" -H "Cookie: access_token=$token" "$BASE_URL/api/members/current" >/dev/null
+    hey -z "$DURATION" -c "$CONCURRENCY" -H "Cookie: access_token=$token" "$BASE_URL/api/members/current" \
+        > "$OUT/$mode-hey.txt"
+
+    local rps p99 rss threads pinned
+    rps=$(awk '/Requests\/sec/ {print $2}' "$OUT/$mode-hey.txt")
+    p99=$(awk '/99% in/ {printf "%.1f", $3 * 1000}' "$OUT/$mode-hey.txt")
+    rss=$(ps -o rss= -p "$pid" | awk '{printf "%.0f", $1 / 1024}')
+    threads=$(ps -o nlwp= -p "$pid" | tr -d ' ')
+    pinned=0
+    if [ "$virtual" = true ] && [ -n "${ADMIN_EMAIL:-}" ]; then
+        local admin_token
+        admin_token=$(curl -sf -D - -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/login" \
+            -d "{\"email\":\"$ADMIN_EMAIL\",\"password\":\"$ADMIN_PASSWORD\"}" \
+            | sed -n 's/^[Ss]et-[Cc]ookie: access_token=\([^;]*\).*/\1/p')
+        curl -sf -H "Cookie: access_token=$admin_token" "$BASE_URL/actuator/pinning" > "$OUT/$mode-pinning.json"
+        pinned=$(grep -o '"site"' "$OUT/$mode-pinning.json" | wc -l | tr -d ' ')
+    fi
+    echo "$mode,$rps,$p99,$rss,$threads,$pinned" >> "$OUT/results.csv"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run platform false
+run virtual true
+
+column -s, -t < "$OUT/results.csv"
+echo "Pinning sites of the virtual run: $OUT/virtual-pinning.json"
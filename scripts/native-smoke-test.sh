@@ -0,0 +1,58 @@
+#!/bin/bash
+# Smoke test of the native image against a throwaway MongoDB container: registration and login (Spring Data mapping,
+# JJWT, Lombok DTOs through Jackson), the current member, the OpenAPI document and the Swagger UI.
+#
+# Usage: scripts/native-smoke-test.sh
+# Requires docker; the native image is built with docker build --target NATIVE (several minutes). Startup time and RSS
+# are written to target/native-smoke/.
+set -euo pipefail
+
+PORT=${PORT:-8080}
+OUT=target/native-smoke
+BASE_URL="http://localhost:$PORT"
+NAME=kitchensink-native-smoke
+
+command -v docker >/dev/null || { echo "docker is required"; exit 1; }
+mkdir -p "$OUT"
+docker build -q --target NATIVE -t kitchensink-app:native . >/dev/null
+
+cleanup() {
+    docker logs "$NAME-app" > "$OUT/app.log" 2>&1 || true
+    docker rm -f "$NAME-app" "$NAME-mongo" >/dev/null 2>&1 || true
+    docker network rm "$NAME" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+docker network create "$NAME" >/dev/null
+docker run -d --name "$NAME-mongo" --network "$NAME" mongo:6.0 >/dev/null
+docker run -d --name "$NAME-app" --network "$NAME" -p "$PORT:8080" \
+    -e SPRING_DATA_MONGODB_URI="mongodb://$NAME-mongo:27017/kitchensink" \
+    kitchensink-app:native /app/kitchensink --phone.validation.enabled=false >/dev/null
+until curl -sf "$BASE_URL/actuator/health" >/dev/null; do
+    docker inspect -f '{{.State.Running}}' "$NAME-app" | grep -q true || { echo "native image exited, see $OUT"; exit 1; }
+    sleep 0.2
+done
+
+check() {
+    echo "ok   $1"
+}
+
+email="smoke-$RANDOM@example.com" password='Smoke@Test1'
+curl -sf -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/register" \
+    -d "{\"name\":\"Smoke Test\",\"email\":\"$email\",\"phoneNumber\":\"9$(printf '%09d' $RANDOM$RANDOM | cut -c1-9)\",\"password\":\"$password\",\"roles\":[\"USER\"]}"
+check register
+token=$(curl -sf -D - -o /dev/null -H 'Content-Type: application/json' "$BASE_URL/api/auth/login" \
+    -d "{\"email\":\"$email\",\"password\":\"$password\"}" | sed -n 's/^[Ss]et-[Cc]ookie: access_token=\([^;]*\).*/\1/p')
+[ -n "$token" ] || { echo "FAIL login returned no token"; exit 1; }
+check login
+curl -sf -H "Cookie: access_token=$token" "$BASE_URL/api/members/current" | grep -q "\"email\":\"$email\"" \
+    || { echo "FAIL current member"; exit 1; }
+check "current member"
+curl -sf "$BASE_URL/v3/api-docs" | grep -q '"openapi"' || { echo "FAIL openapi document"; exit 1; }
+check "openapi document"
+curl -sf "$BASE_URL/openapi.json" | grep -q '"openapi"' || { echo "FAIL static openapi document"; exit 1; }
+check "static openapi document"
+curl -sf -o /dev/null "$BASE_URL/swagger-ui/index.html" || { echo "FAIL swagger ui"; exit 1; }
+check "swagger ui"
+
+docker logs "$NAME-app" 2>&1 | sed -n 's/.*\(Started KitchensinkApplication.*\)/\1/p' | tee "$OUT/startup.txt"
+docker stats --no-stream --format 'RSS {{.MemUsage}}' "$NAME-app" | tee -a "$OUT/startup.txt"
@@ -0,0 +1,22 @@
+#!/bin/bash
+# Runs the JMH benchmarks of the hot paths (benchmarks/) and keeps the results as JMH json, one file per commit, to
+# compare them with scripts/compare-benchmarks.sh.
+#
+# Usage: scripts/run-benchmarks.sh [benchmark regex] [JMH options]
+#   scripts/run-benchmarks.sh JwtAuthFilter       only the auth filter suite
+#   scripts/run-benchmarks.sh . -f 3 -t 4         every suite, three forks, four threads
+# Requires JDK 21 and Maven. Results are written to benchmarks/results/<commit>.json, with a -dirty suffix when the
+# tree has uncommitted changes.
+set -euo pipefail
+
+FILTER=${1:-.}
+shift || true
+OUT=benchmarks/results
+COMMIT=$(git rev-parse --short HEAD)
+git diff --quiet HEAD || COMMIT="$COMMIT-dirty"
+mkdir -p "$OUT"
+
+mvn -B -q -Pbenchmarks -DskipTests install
+mvn -B -q -f benchmarks/pom.xml package
+java -jar benchmarks/target/benchmarks.jar "$FILTER" -rf json -rff "$OUT/$COMMIT.json" "$@" | tee "$OUT/$COMMIT.txt"
+echo "results written to $OUT/$COMMIT.json"
@@ -0,0 +1,49 @@
+#!/bin/bash
+# Compares startup time, memory and image size of the default image and the fast start image (Spring AOT, AppCDS
+# archive, jlink runtime).
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Requires docker. The startup time is the JVM uptime Spring logs once the context is ready, so no MongoDB is needed;
+# the containers are stopped once started. Results are written to target/startup-benchmark/.
+set -euo pipefail
+
+RUNS=${1:-5}
+OUT=target/startup-benchmark
+
+command -v docker >/dev/null || { echo "docker is required"; exit 1; }
+mkdir -p "$OUT"
+echo "image,run,startup_s,rss_mb,image_mb" > "$OUT/results.csv"
+
+run() {
+    local image=$1 target=$2
+    echo "== $image"
+    docker build -q --target "$target" -t "kitchensink-app:$image" . >/dev/null
+    local size
+    size=$(docker image inspect -f '{{.Size}}' "kitchensink-app:$image" | awk '{printf "%.0f", $1 / 1048576}')
+
+    for i in $(seq 1 "$RUNS"); do
+        local container
+        container=$(docker run -d --cpus 2 -m 1g "kitchensink-app:$image")
+        trap "docker rm -f $container >/dev/null 2>&1" EXIT
+        until docker logs "$container" 2>&1 | grep -q 'Started KitchensinkApplication'; do
+            docker inspect -f '{{.State.Running}}' "$container" | grep -q true \
+                || { docker logs "$container" > "$OUT/$image-$i.log" 2>&1; echo "$image exited, see $OUT"; exit 1; }
+            sleep 0.2
+        done
+        docker logs "$container" > "$OUT/$image-$i.log" 2>&1
+
+        local startup rss
+        startup=$(sed -n 's/.*process running for \([0-9.]*\)).*/\1/p' "$OUT/$image-$i.log")
+        rss=$(docker stats --no-stream --format '{{.MemUsage}}' "$container" | awk '{print $1}' \
+            | awk '/GiB/ {printf "%.0f", $1 * 1024; next} {printf "%.0f", $1}')
+        echo "$image,$i,$startup,$rss,$size" >> "$OUT/results.csv"
+
+        docker rm -f "$container" >/dev/null
+        trap - EXIT
+    done
+}
+
+run default RUN
+run fast FAST
+
+column -s, -t < "$OUT/results.csv"
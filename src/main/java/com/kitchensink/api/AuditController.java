@@ -0,0 +1,78 @@
+package com.kitchensink.api;
+
+import java.time.Instant;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kitchensink.entity.AuditEvent;
+import com.kitchensink.enums.AuditAction;
+import com.kitchensink.service.AuditService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * The Class AuditController.
+ *
+ * @author prerna
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(value = "/api/audit")
+public class AuditController {
+
+    /** The audit service */
+    private final AuditService auditService;
+
+    /**
+     * Audit controller constructor
+     *
+     * @param auditService
+     *            the audit service
+     */
+    public AuditController(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    /**
+     * Gets the audit events, newest first.
+     *
+     * @param pageable
+     *            the pageable
+     * @param memberId
+     *            the member id
+     * @param action
+     *            the action
+     * @param from
+     *            the earliest time, inclusive
+     * @param to
+     *            the latest time, exclusive
+     * @return the audit events
+     */
+    @Operation(summary = "Get audit events", description = "Member updates, deletes, unblocks and lockouts.")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Audit events recieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Not an admin") })
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PagedModel<AuditEvent>> getAuditEvents(@PageableDefault(sort = {
+            "at" }, direction = Sort.Direction.DESC) Pageable pageable, @RequestParam(value = "memberId",
+                required = false) String memberId, @RequestParam(value = "action", required = false) AuditAction action,
+        @RequestParam(value = "from", required = false) @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME) Instant from, @RequestParam(value = "to",
+                required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        return ResponseEntity.ok(new PagedModel<>(auditService.findEvents(memberId, action, from, to, pageable)));
+    }
+
+}
@@ -1,31 +1,50 @@
 package com.kitchensink.api;
 
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kitchensink.dto.BulkMemberRequest;
+import com.kitchensink.dto.BulkMemberResult;
 import com.kitchensink.dto.MemberDto;
+import com.kitchensink.dto.MemberFields;
+import com.kitchensink.dto.MemberPatch;
 import com.kitchensink.dto.MemberSearchCriteria;
 import com.kitchensink.dto.UpdateMemberRequest;
+import com.kitchensink.service.MemberBulkService;
 import com.kitchensink.service.MemberService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 
 /**
  * The Class MemberController.
@@ -33,23 +52,34 @@ import jakarta.validation.Valid;
  * @author prerna
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(value = "/api/members")
 public class MemberController {
 
     /** The member service */
     private final MemberService memberService;
 
+    /** The member bulk service */
+    private final MemberBulkService memberBulkService;
+
+    /** The validator of member patches */
+    private final Validator validator;
+
     /**
      * Member controller constructor
      *
      * @param memberService
+     * @param memberBulkService
+     * @param validator
      */
-    public MemberController(MemberService memberService) {
+    public MemberController(MemberService memberService, MemberBulkService memberBulkService, Validator validator) {
         this.memberService = memberService;
+        this.memberBulkService = memberBulkService;
+        this.validator = validator;
     }
 
     /**
-     * Gets the current member details.
+     * Gets the current member details, tagged with the member version.
      *
      * @param authentication
      *            the authentication
@@ -57,33 +87,47 @@ public class MemberController {
      */
     @Operation(summary = "Current Member Details")
     @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Member details retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Member details not modified since If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Member not authenticated or session expired"),
             @ApiResponse(responseCode = "500", description = "Internal server error") })
     @GetMapping("/current")
     public ResponseEntity<MemberDto> currentUserData(Authentication authentication) {
         MemberDto memberDto = memberService.currentUserData(authentication);
-        return ResponseEntity.ok(memberDto);
+        return MemberETags.ok(MemberETags.of(memberDto)).body(memberDto);
     }
 
     /**
-     * Gets all member details.
+     * Gets all member details. A conditional request is first answered from the ids and versions of the page alone.
      *
      * @param pageable
      *            the pageable
      * @param showInactiveMembers
      *            the show inactive members
+     * @param fields
+     *            the comma separated member fields to return, all when absent
+     * @param request
+     *            the request
      * @return the member dto
      */
     @Operation(summary = "Get all members")
-    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Members list recieved successfully"),
-            @ApiResponse(responseCode = "401", description = "Invalid email or password"), @ApiResponse(
-                responseCode = "500", description = "Internal server error") })
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Members list recieved successfully",
+        content = @Content(schema = @Schema(implementation = MemberPage.class))), @ApiResponse(responseCode = "304",
+            description = "Members list not modified since If-None-Match", content = @Content), @ApiResponse(
+                responseCode = "401", description = "Invalid email or password", content = @Content), @ApiResponse(
+                    responseCode = "500", description = "Internal server error", content = @Content) })
     @GetMapping("/")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PagedModel<MemberDto>> getAllMembers(@PageableDefault(sort = { "id" }) Pageable pageable,
-        @RequestParam(value = "showInactiveMembers", required = false) boolean showInactiveMembers) {
-        Page<MemberDto> members = memberService.getAllMembers(pageable, showInactiveMembers);
-        return ResponseEntity.ok(new PagedModel<>(members));
+    public ResponseEntity<MappingJacksonValue> getAllMembers(@PageableDefault(sort = { "id" }) Pageable pageable,
+        @RequestParam(value = "showInactiveMembers", required = false) boolean showInactiveMembers,
+        @RequestParam(value = "fields", required = false) String fields, WebRequest request) {
+        MemberFields memberFields = MemberFields.parse(fields);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(MemberETags.of(
+            memberService.getAllMemberVersions(pageable, showInactiveMembers), memberFields))) {
+            return null;
+        }
+        Page<MemberDto> members = memberService.getAllMembers(pageable, showInactiveMembers, memberFields);
+        return MemberETags.ok(MemberETags.of(members, memberFields)).body(MemberFields.filter(memberFields,
+            new PagedModel<>(members)));
     }
 
     /**
@@ -110,32 +154,119 @@ public class MemberController {
      *            the member id
      * @param updateRequest
      *            the update request
+     * @param ifMatch
+     *            the tag of the member version the update is based on
      * @return response entity member dto
      */
     @Operation(summary = "Update Member by ID", description = "Update member details using member id.")
     @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Member updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"), @ApiResponse(responseCode = "404",
-                description = "Member not found") })
+                description = "Member not found"), @ApiResponse(responseCode = "409",
+                    description = "Member modified concurrently"), @ApiResponse(responseCode = "412",
+                        description = "Member modified since the If-Match version") })
     @PutMapping("/{memberId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<MemberDto> updateUserById(@PathVariable String memberId, Authentication authentication,
-        @RequestBody @Valid UpdateMemberRequest updateRequest) {
-        MemberDto updatedMember = memberService.updateMemberDetails(memberId, authentication, updateRequest);
-        return ResponseEntity.ok().body(updatedMember);
+        @RequestBody @Valid UpdateMemberRequest updateRequest,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MemberDto updatedMember = memberService.updateMemberDetails(memberId, authentication, updateRequest,
+            MemberETags.expectedVersion(ifMatch));
+        return MemberETags.ok(MemberETags.of(updatedMember)).body(updatedMember);
+    }
+
+    /**
+     * Patch member by ID with a JSON Merge Patch of the member, only the fields in the patch are written.
+     *
+     * @param memberId
+     *            the member id
+     * @param patch
+     *            the merge patch
+     * @param ifMatch
+     *            the tag of the member version the patch is based on
+     * @return response entity member dto
+     */
+    @Operation(summary = "Patch Member by ID", description = "Set name, phoneNumber, roles or blocked=false.")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Member patched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid or read-only field"), @ApiResponse(
+                responseCode = "404", description = "Member not found"), @ApiResponse(responseCode = "412",
+                    description = "Member modified since the If-Match version") })
+    @PatchMapping(value = "/{memberId}", consumes = { MemberPatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MemberDto> patchUserById(@PathVariable String memberId, Authentication authentication,
+        @io.swagger.v3.oas.annotations.parameters.RequestBody(content = { @Content(mediaType = MemberPatch.MEDIA_TYPE,
+            schema = @Schema(implementation = MemberPatchDocument.class)), @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(
+                    implementation = MemberPatchDocument.class)) }) @RequestBody JsonNode patch,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        MemberDto patchedMember = memberService.patchMember(memberId, authentication, MemberPatch.parse(patch,
+            validator), MemberETags.expectedVersion(ifMatch));
+        return MemberETags.ok(MemberETags.of(patchedMember)).body(patchedMember);
+    }
+
+    /**
+     * Apply an action to the members listed by id or matching a filter, in one write.
+     *
+     * @param bulkRequest
+     *            the bulk request
+     * @return the outcome per member
+     */
+    @Operation(summary = "Bulk update members", description = "Deactivate, unblock or set the roles of many members.")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Outcome of every selected member"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or more members than a batch") })
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkMemberResult> bulkUpdateMembers(@RequestBody @Valid BulkMemberRequest bulkRequest,
+        Authentication authentication) {
+        return ResponseEntity.ok(memberBulkService.updateMembers(bulkRequest, authentication));
     }
 
     @Operation(summary = "Filter members by Criteria")
-    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Members list recieved successfully"),
-            @ApiResponse(responseCode = "401", description = "Invalid email or password"), @ApiResponse(
-                responseCode = "500", description = "Internal server error") })
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Members list recieved successfully",
+        content = @Content(schema = @Schema(implementation = MemberPage.class))), @ApiResponse(responseCode = "401",
+            description = "Invalid email or password", content = @Content), @ApiResponse(responseCode = "500",
+                description = "Internal server error", content = @Content) })
     @PostMapping("/search")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PagedModel<MemberDto>> getFilteredMembersByCriteria(@PageableDefault(sort = {
+    public ResponseEntity<MappingJacksonValue> getFilteredMembersByCriteria(@PageableDefault(sort = {
             "id" }) Pageable pageable, @RequestParam(value = "showInactiveMembers",
-                required = false) boolean showInactiveMembers, @RequestBody MemberSearchCriteria searchCriteria) {
+                required = false) boolean showInactiveMembers,
+        @RequestParam(value = "fields", required = false) String fields,
+        @RequestBody MemberSearchCriteria searchCriteria) {
+        MemberFields memberFields = MemberFields.parse(fields);
         Page<MemberDto> members = memberService.getFilteredMembersByCriteria(pageable, showInactiveMembers,
-            searchCriteria);
-        return ResponseEntity.ok(new PagedModel<>(members));
+            searchCriteria, memberFields);
+        return ResponseEntity.ok(MemberFields.filter(memberFields, new PagedModel<>(members)));
+    }
+
+    /**
+     * Schema of the member pages, which are written through a {@link MappingJacksonValue} so that only the requested
+     * fields are serialized.
+     */
+    @Schema(name = "PagedModelMemberDto")
+    abstract static class MemberPage extends PagedModel<MemberDto> {
+
+        private MemberPage() {
+            super(Page.empty());
+        }
+    }
+
+    /**
+     * Schema of the merge patch of a member, which is read as a tree so that absent fields can be told from nulls.
+     *
+     * @param name
+     *            the name
+     * @param phoneNumber
+     *            the phone number
+     * @param roles
+     *            the roles list
+     * @param blocked
+     *            false to unblock the member
+     */
+    @Schema(name = "MemberPatch", description = "Absent fields are left as they are, none can be removed")
+    record MemberPatchDocument(@Schema(minLength = 1, maxLength = 30, pattern = "[^0-9]*") String name,
+        @Schema(pattern = "^[6-9][0-9]{9}$") String phoneNumber,
+        @ArraySchema(minItems = 1, maxItems = 10) List<String> roles,
+        @Schema(allowableValues = "false") Boolean blocked) {
     }
 
 }
@@ -0,0 +1,113 @@
+package com.kitchensink.api;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.kitchensink.dto.MemberDto;
+import com.kitchensink.dto.MemberFields;
+import com.kitchensink.enums.ErrorType;
+import com.kitchensink.exception.BaseApplicationException;
+
+/**
+ * The Class MemberETags.
+ * Weak entity tags of the member resources. A member's tag is its version; a page's tag hashes the id and version of
+ * every member on it with the page position, size, sort and total, so any write to a listed member or any change to
+ * the listing changes it. Responses are private and revalidated on every use, so a poll of unchanged data is a 304.
+ *
+ * @author prerna
+ */
+public final class MemberETags {
+
+    /** The Constant FNV_OFFSET */
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    /** The Constant FNV_PRIME */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private MemberETags() {
+    }
+
+    /**
+     * Tag of a member
+     *
+     * @param member
+     *            the member
+     * @return the weak tag, null for a member without a version
+     */
+    public static String of(MemberDto member) {
+        return member.getVersion() == null ? null : weak(Long.toString(member.getVersion()));
+    }
+
+    /**
+     * Tag of a page of members
+     *
+     * @param page
+     *            the page, only the ids and versions of its members are read
+     * @param fields
+     *            the member fields the page is limited to, null for all
+     * @return the weak tag, null if a member has no version
+     */
+    public static String of(Page<MemberDto> page, MemberFields fields) {
+        long hash = hash(FNV_OFFSET, page.getNumber() + "/" + page.getSize() + "/" + page.getSort() + "/" + page
+            .getTotalElements() + "/" + fields);
+        for (MemberDto member : page.getContent()) {
+            if (member.getVersion() == null) {
+                return null;
+            }
+            hash = hash(hash, member.getId() + ":" + member.getVersion() + ";");
+        }
+        return weak(Long.toHexString(hash));
+    }
+
+    /**
+     * Start a 200 response carrying the tag
+     *
+     * @param eTag
+     *            the tag, may be null
+     * @return the response builder
+     */
+    public static ResponseEntity.BodyBuilder ok(String eTag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        return eTag == null ? response : response.eTag(eTag);
+    }
+
+    /**
+     * Version an If-Match header expects
+     *
+     * @param ifMatch
+     *            the If-Match header, may be null
+     * @return the version, null when any version matches
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        // the version is exact, so the tag is compared on its value whether or not it is marked weak
+        String value = ifMatch.trim();
+        value = value.startsWith("W/") ? value.substring(2) : value;
+        value = value.length() > 1 && value.startsWith("\"") && value.endsWith("\"") ? value.substring(1, value
+            .length() - 1) : value;
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BaseApplicationException("If-Match " + ifMatch + " is not a member version",
+                ErrorType.MEMBER_MODIFIED, HttpStatus.PRECONDITION_FAILED);
+        }
+    }
+
+    private static String weak(String value) {
+        return "W/\"" + value + "\"";
+    }
+
+    private static long hash(long hash, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+}
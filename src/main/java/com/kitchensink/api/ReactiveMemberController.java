@@ -0,0 +1,249 @@
+package com.kitchensink.api;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.kitchensink.dto.BulkMemberRequest;
+import com.kitchensink.dto.BulkMemberResult;
+import com.kitchensink.dto.MemberDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kitchensink.dto.MemberFields;
+import com.kitchensink.dto.MemberPatch;
+import com.kitchensink.dto.MemberSearchCriteria;
+import com.kitchensink.dto.UpdateMemberRequest;
+import com.kitchensink.service.MemberBulkService;
+import com.kitchensink.service.ReactiveMemberService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The Class ReactiveMemberController.
+ * Reactive counterpart of {@link MemberController}, serving the same paths when the application runs on WebFlux. The
+ * admin role is enforced by {@code ReactiveSecurityConfig}.
+ *
+ * @author prerna
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(value = "/api/members")
+public class ReactiveMemberController {
+
+    /** The reactive member service */
+    private final ReactiveMemberService memberService;
+
+    /** The member bulk service */
+    private final MemberBulkService memberBulkService;
+
+    /** The validator of member patches */
+    private final Validator validator;
+
+    /**
+     * Reactive member controller constructor
+     *
+     * @param memberService
+     *            the reactive member service
+     * @param memberBulkService
+     *            the member bulk service, blocking
+     * @param validator
+     *            the validator of member patches
+     */
+    public ReactiveMemberController(ReactiveMemberService memberService, MemberBulkService memberBulkService,
+        Validator validator) {
+        this.memberService = memberService;
+        this.memberBulkService = memberBulkService;
+        this.validator = validator;
+    }
+
+    /**
+     * Gets the current member details, tagged with the member version.
+     *
+     * @param authentication
+     *            the authentication
+     * @return the member dto
+     */
+    @Operation(summary = "Current Member Details")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Member details retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Member details not modified since If-None-Match"),
+            @ApiResponse(responseCode = "401", description = "Member not authenticated or session expired"),
+            @ApiResponse(responseCode = "500", description = "Internal server error") })
+    @GetMapping("/current")
+    public Mono<ResponseEntity<MemberDto>> currentUserData(Authentication authentication) {
+        return memberService.currentUserData(authentication).map(member -> MemberETags.ok(MemberETags.of(member))
+            .body(member));
+    }
+
+    /**
+     * Gets all member details.
+     *
+     * @param pageable
+     *            the pageable
+     * @param showInactiveMembers
+     *            the show inactive members
+     * @param fields
+     *            the comma separated member fields to return, all when absent
+     * @return the member dto
+     */
+    @Operation(summary = "Get all members")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Members list recieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Members list not modified since If-None-Match"),
+            @ApiResponse(responseCode = "401", description = "Invalid email or password"), @ApiResponse(
+                responseCode = "500", description = "Internal server error") })
+    @GetMapping("/")
+    public Mono<ResponseEntity<MappingJacksonValue>> getAllMembers(
+        @PageableDefault(sort = { "id" }) Pageable pageable,
+        @RequestParam(value = "showInactiveMembers", required = false) boolean showInactiveMembers,
+        @RequestParam(value = "fields", required = false) String fields) {
+        return Mono.defer(() -> {
+            MemberFields memberFields = MemberFields.parse(fields);
+            return memberService.getAllMembers(pageable, showInactiveMembers, memberFields).map(members -> MemberETags
+                .ok(MemberETags.of(members, memberFields)).body(MemberFields.filter(memberFields, new PagedModel<>(
+                    members))));
+        });
+    }
+
+    /**
+     * Streams all member details as newline delimited json, with backpressure from the client.
+     *
+     * @param showInactiveMembers
+     *            the show inactive members
+     * @return the members
+     */
+    @Operation(summary = "Stream all members")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Members streamed successfully") })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MemberDto> streamMembers(
+        @RequestParam(value = "showInactiveMembers", required = false) boolean showInactiveMembers) {
+        return memberService.streamMembers(showInactiveMembers);
+    }
+
+    /**
+     * Delete member by ID.
+     *
+     * @param memberId
+     *            the id of the member
+     * @return the response entity
+     */
+    @Operation(summary = "Delete Member by ID", description = "Delete a member using their ID.")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Member deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Member not found") })
+    @DeleteMapping("/{memberId}")
+    public Mono<ResponseEntity<String>> deleteUserById(@PathVariable String memberId,
+        Authentication authentication) {
+        return memberService.deleteMemberById(memberId, authentication).then(Mono.fromSupplier(() -> ResponseEntity
+            .ok().build()));
+    }
+
+    /**
+     * Update member by ID.
+     *
+     * @param memberId
+     *            the member id
+     * @param updateRequest
+     *            the update request
+     * @param ifMatch
+     *            the tag of the member version the update is based on
+     * @return response entity member dto
+     */
+    @Operation(summary = "Update Member by ID", description = "Update member details using member id.")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Member updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"), @ApiResponse(responseCode = "404",
+                description = "Member not found"), @ApiResponse(responseCode = "409",
+                    description = "Member modified concurrently"), @ApiResponse(responseCode = "412",
+                        description = "Member modified since the If-Match version") })
+    @PutMapping("/{memberId}")
+    public Mono<ResponseEntity<MemberDto>> updateUserById(@PathVariable String memberId,
+        Authentication authentication, @RequestBody @Valid UpdateMemberRequest updateRequest,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> memberService.updateMemberDetails(memberId, authentication, updateRequest,
+            MemberETags.expectedVersion(ifMatch))).map(updatedMember -> MemberETags.ok(MemberETags.of(updatedMember))
+                .body(updatedMember));
+    }
+
+    /**
+     * Patch member by ID with a JSON Merge Patch of the member, only the fields in the patch are written.
+     *
+     * @param memberId
+     *            the member id
+     * @param patch
+     *            the merge patch
+     * @param ifMatch
+     *            the tag of the member version the patch is based on
+     * @return response entity member dto
+     */
+    @Operation(summary = "Patch Member by ID", description = "Set name, phoneNumber, roles or blocked=false.")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Member patched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid or read-only field"), @ApiResponse(
+                responseCode = "404", description = "Member not found"), @ApiResponse(responseCode = "412",
+                    description = "Member modified since the If-Match version") })
+    @PatchMapping(value = "/{memberId}", consumes = { MemberPatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE })
+    public Mono<ResponseEntity<MemberDto>> patchUserById(@PathVariable String memberId, Authentication authentication,
+        @RequestBody JsonNode patch, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> memberService.patchMember(memberId, authentication, MemberPatch.parse(patch,
+            validator), MemberETags.expectedVersion(ifMatch))).map(member -> MemberETags.ok(MemberETags.of(member))
+                .body(member));
+    }
+
+    /**
+     * Apply an action to the members listed by id or matching a filter, in one write. The bulk write runs on the
+     * bounded elastic scheduler.
+     *
+     * @param bulkRequest
+     *            the bulk request
+     * @param authentication
+     *            the authentication
+     * @return the outcome per member
+     */
+    @Operation(summary = "Bulk update members", description = "Deactivate, unblock or set the roles of many members.")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Outcome of every selected member"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or more members than a batch") })
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<BulkMemberResult>> bulkUpdateMembers(@RequestBody @Valid BulkMemberRequest bulkRequest,
+        Authentication authentication) {
+        return Mono.fromCallable(() -> memberBulkService.updateMembers(bulkRequest, authentication)).subscribeOn(
+            Schedulers.boundedElastic()).map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Filter members by Criteria")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Members list recieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Invalid email or password"), @ApiResponse(
+                responseCode = "500", description = "Internal server error") })
+    @PostMapping("/search")
+    public Mono<ResponseEntity<MappingJacksonValue>> getFilteredMembersByCriteria(@PageableDefault(sort = {
+            "id" }) Pageable pageable, @RequestParam(value = "showInactiveMembers",
+                required = false) boolean showInactiveMembers,
+        @RequestParam(value = "fields", required = false) String fields,
+        @RequestBody MemberSearchCriteria searchCriteria) {
+        return Mono.defer(() -> {
+            MemberFields memberFields = MemberFields.parse(fields);
+            return memberService.getFilteredMembersByCriteria(pageable, showInactiveMembers, searchCriteria,
+                memberFields).map(members -> ResponseEntity.ok(MemberFields.filter(memberFields, new PagedModel<>(
+                    members))));
+        });
+    }
+
+}
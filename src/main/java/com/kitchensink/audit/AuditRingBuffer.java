@@ -0,0 +1,124 @@
+package com.kitchensink.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The Class AuditRingBuffer.
+ * Bounded lock-free ring buffer for many producers and a single consumer. Every slot carries a sequence number telling
+ * whether it is free for the producer of a given position or filled for the consumer, so producers only contend on
+ * one CAS of the tail and never block; a full buffer rejects the element instead.
+ *
+ * @param <E>
+ *            the element type
+ * @author prerna
+ */
+class AuditRingBuffer<E> {
+
+    /** The slots */
+    private final AtomicReferenceArray<E> slots;
+
+    /** The sequence of every slot */
+    private final AtomicLongArray sequences;
+
+    /** The mask, the capacity is a power of two */
+    private final int mask;
+
+    /** The next position to fill */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** The next position to drain, only moved by the consumer */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * AuditRingBuffer constructor
+     *
+     * @param capacity
+     *            the capacity, rounded up to a power of two
+     */
+    AuditRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element unless the buffer is full
+     *
+     * @param element
+     *            the element
+     * @return whether the element was added
+     */
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (sequence < position) {
+                // the consumer has not freed the slot of the previous lap yet
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Move up to max elements to the batch, single consumer only
+     *
+     * @param batch
+     *            the batch
+     * @param max
+     *            the max elements
+     * @return the elements moved
+     */
+    int drainTo(List<E> batch, int max) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            batch.add(slots.get(index));
+            slots.set(index, null);
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head.set(position);
+        return drained;
+    }
+
+    /**
+     * Approximate number of buffered elements
+     *
+     * @return the size
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * The capacity
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+}
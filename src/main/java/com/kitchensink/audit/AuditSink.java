@@ -0,0 +1,36 @@
+package com.kitchensink.audit;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.kitchensink.entity.AuditEvent;
+
+/**
+ * The Interface AuditSink.
+ * Where the audit trail flushes its batches, always called from the single flush thread.
+ *
+ * @author prerna
+ */
+public interface AuditSink {
+
+    /**
+     * Write a batch of events
+     *
+     * @param events
+     *            the events, oldest first
+     * @throws IOException
+     *             if the batch is not written, it is retried on the next flush
+     */
+    void write(List<AuditEvent> events) throws IOException;
+
+    /**
+     * Release the sink after the last flush
+     *
+     * @throws IOException
+     *             if the sink cannot be closed
+     */
+    default void close() throws IOException {
+        // nothing to release
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.kitchensink.audit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.kitchensink.entity.AuditEvent;
+import com.kitchensink.enums.AuditAction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class AuditTrail.
+ * Records member mutations without a second write on the request path: events are put in a bounded lock-free ring
+ * buffer and a single flush thread writes them to the {@link AuditSink} in batches, every flush interval or as soon
+ * as a batch is full. When the buffer is full the event is dropped and counted rather than blocking the request. A
+ * failed batch is kept and retried on the next flush, and everything buffered is flushed on shutdown.
+ *
+ * @author prerna
+ */
+@Component
+@Slf4j
+public class AuditTrail {
+
+    /** The Constant METRIC_PREFIX */
+    static final String METRIC_PREFIX = "audit.";
+
+    /** The Constant SYSTEM_ACTOR, the actor of mutations no admin asked for */
+    public static final String SYSTEM_ACTOR = "system";
+
+    /** The audit sink */
+    private final AuditSink sink;
+
+    /** The ring buffer */
+    private final AuditRingBuffer<AuditEvent> buffer;
+
+    /** The batch size */
+    private final int batchSize;
+
+    /** The flush thread */
+    private final ScheduledExecutorService flusher;
+
+    /** The events written */
+    private final Counter written;
+
+    /** The events dropped on a full buffer */
+    private final Counter dropped;
+
+    /** The failed flushes */
+    private final Counter failures;
+
+    /** The flush timer */
+    private final Timer flushTimer;
+
+    /** Whether a full batch flush is already queued */
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /** The batch being written, only touched by the flush thread */
+    private final List<AuditEvent> batch = new ArrayList<>();
+
+    /**
+     * AuditTrail constructor
+     *
+     * @param sink
+     *            the audit sink
+     * @param meterRegistry
+     *            the meter registry
+     * @param bufferSize
+     *            the ring buffer capacity, rounded up to a power of two
+     * @param batchSize
+     *            the max events per write
+     * @param flushInterval
+     *            the max time an event waits in the buffer
+     */
+    public AuditTrail(AuditSink sink, MeterRegistry meterRegistry, @Value("${audit.buffer-size:8192}") int bufferSize,
+        @Value("${audit.batch-size:500}") int batchSize,
+        @Value("${audit.flush-interval:1s}") Duration flushInterval) {
+        this.sink = sink;
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.written = meterRegistry.counter(METRIC_PREFIX + "events", "outcome", "written");
+        this.dropped = meterRegistry.counter(METRIC_PREFIX + "events", "outcome", "dropped");
+        this.failures = meterRegistry.counter(METRIC_PREFIX + "flush.failures");
+        this.flushTimer = meterRegistry.timer(METRIC_PREFIX + "flush");
+        Gauge.builder(METRIC_PREFIX + "buffer.size", buffer, AuditRingBuffer::size).register(meterRegistry);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("audit-flush-"));
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record a mutation, never blocks
+     *
+     * @param action
+     *            the action
+     * @param memberId
+     *            the member id
+     * @param actor
+     *            the admin email or {@link #SYSTEM_ACTOR}
+     * @param details
+     *            the details, may be null
+     */
+    public void record(AuditAction action, String memberId, String actor, String details) {
+        if (!buffer.offer(new AuditEvent(null, action, memberId, actor, details, Instant.now()))) {
+            dropped.increment();
+            return;
+        }
+        if (buffer.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // shutting down, the buffer is flushed by stop
+            }
+        }
+    }
+
+    /**
+     * Write the buffered events in batches, on the flush thread
+     */
+    void flush() {
+        flushRequested.set(false);
+        try {
+            while (!batch.isEmpty() || buffer.drainTo(batch, batchSize) > 0) {
+                Timer.Sample sample = Timer.start();
+                sink.write(batch);
+                sample.stop(flushTimer);
+                written.increment(batch.size());
+                batch.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            // a runtime exception would also cancel the periodic flush
+            failures.increment();
+            log.warn("Audit flush of {} events failed, retrying on the next flush: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Number of events waiting to be written
+     *
+     * @return the pending events
+     */
+    int pending() {
+        return batch.size() + buffer.size();
+    }
+
+    /**
+     * Stop the flush thread and flush what is left
+     */
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.error("Audit flush did not finish, {} events are lost", pending());
+                return;
+            }
+            flush();
+            if (pending() > 0) {
+                log.error("Audit events not written on shutdown: {}", pending());
+            }
+            sink.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Unable to close the audit sink: {}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,243 @@
+package com.kitchensink.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitchensink.entity.AuditEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class MappedFileAuditSink.
+ * Appends every batch as JSON lines to a local file through a memory-mapped region, so a flush is a memory copy and
+ * one msync. The file grows one region at a time and is trimmed to its content on close; after a crash the unused
+ * zero filled tail is found again on startup. A CRaC checkpoint fails while the file is open or mapped, so it is
+ * closed before the checkpoint, which leaves the batches pending in the audit trail, and opened again after the
+ * restore.
+ *
+ * @author prerna
+ */
+@Component
+@ConditionalOnProperty(name = "audit.sink", havingValue = "file")
+@Slf4j
+public class MappedFileAuditSink implements AuditSink, Resource {
+
+    /** The Constant NEW_LINE */
+    private static final byte NEW_LINE = '\n';
+
+    /** The Constant SCAN_CHUNK, bytes read at a time when looking for the end of the content */
+    private static final int SCAN_CHUNK = 64 * 1024;
+
+    /** The object mapper */
+    private final ObjectMapper objectMapper;
+
+    /** The file */
+    private final Path path;
+
+    /** The size of a mapped region */
+    private final int regionSize;
+
+    /** The file channel, null while closed */
+    private FileChannel channel;
+
+    /** The mapped region, null if the next one could not be mapped */
+    private MappedByteBuffer region;
+
+    /** The end of the content in the file */
+    private long position;
+
+    /**
+     * MappedFileAuditSink constructor, registered with the global CRaC context, which is a no-op on a JVM without CRaC
+     *
+     * @param objectMapper
+     *            the object mapper
+     * @param path
+     *            the file
+     * @param regionSize
+     *            the size of a mapped region
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    public MappedFileAuditSink(ObjectMapper objectMapper,
+        @Value("${audit.file.path:logs/kitchensink/audit.jsonl}") String path,
+        @Value("${audit.file.region-size:8MB}") DataSize regionSize) throws IOException {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path).toAbsolutePath();
+        this.regionSize = Math.toIntExact(regionSize.toBytes());
+        Files.createDirectories(this.path.getParent());
+        open();
+        Core.getGlobalContext().register(this);
+    }
+
+    /**
+     * Append the batch and force it to disk. The whole batch is serialized first, so a batch that fails is not written
+     * at all and its retry does not duplicate events.
+     *
+     * @param events
+     *            the events
+     * @throws IOException
+     *             if the batch cannot be written
+     */
+    @Override
+    public synchronized void write(List<AuditEvent> events) throws IOException {
+        if (channel == null) {
+            throw new IOException("The audit file is closed for a checkpoint");
+        }
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (AuditEvent event : events) {
+            lines.writeBytes(objectMapper.writeValueAsBytes(event));
+            lines.write(NEW_LINE);
+        }
+        byte[] batch = lines.toByteArray();
+        if (region != null && batch.length > region.remaining()) {
+            region.force();
+            unmap(region);
+            region = null;
+        }
+        if (region == null) {
+            region = map(Math.max(regionSize, batch.length));
+        }
+        region.put(batch);
+        position += batch.length;
+        region.force();
+    }
+
+    /**
+     * Trim the file to its content and close it
+     *
+     * @throws IOException
+     *             if the file cannot be trimmed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        if (region != null) {
+            region.force();
+            unmap(region);
+            region = null;
+        }
+        channel.truncate(position);
+        channel.close();
+        channel = null;
+    }
+
+    /**
+     * Close the file before a checkpoint
+     *
+     * @param context
+     *            the CRaC context
+     * @throws IOException
+     *             if the file cannot be trimmed
+     */
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) throws IOException {
+        close();
+    }
+
+    /**
+     * Open the file again after the restore
+     *
+     * @param context
+     *            the CRaC context
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    @Override
+    public synchronized void afterRestore(Context<? extends Resource> context) throws IOException {
+        if (channel == null) {
+            open();
+        }
+    }
+
+    /**
+     * Open the file and map a region at the end of its content
+     *
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        position = contentEnd(channel);
+        region = map(regionSize);
+        log.info("Audit events are appended to {} from offset {}", path, position);
+    }
+
+    /**
+     * Map the next region at the end of the content
+     *
+     * @param size
+     *            the region size
+     * @return the region
+     * @throws IOException
+     *             if the region cannot be mapped
+     */
+    private MappedByteBuffer map(int size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+    }
+
+    /**
+     * Unmap a region now rather than when it is collected, which no public API does
+     *
+     * @param region
+     *            the region
+     */
+    private static void unmap(MappedByteBuffer region) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), region);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Unable to unmap the audit file, it stays mapped until collected: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Find the end of the content, the last byte of a line is never zero
+     *
+     * @param channel
+     *            the file channel
+     * @return the offset after the last non zero byte
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    static long contentEnd(FileChannel channel) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - SCAN_CHUNK);
+            chunk.clear().limit((int) (end - start));
+            while (chunk.hasRemaining() && channel.read(chunk, start + chunk.position()) > 0) {
+                // read the whole chunk
+            }
+            for (int i = chunk.position() - 1; i >= 0; i--) {
+                if (chunk.get(i) != 0) {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.kitchensink.audit;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import com.kitchensink.entity.AuditEvent;
+
+/**
+ * The Class MongoAuditSink.
+ * Inserts every batch with a single insertMany into the member_audit collection. A TTL index removes events older
+ * than the retention period, so the collection stays bounded without being capped.
+ *
+ * @author prerna
+ */
+@Component
+@ConditionalOnProperty(name = "audit.sink", havingValue = "mongo", matchIfMissing = true)
+public class MongoAuditSink implements AuditSink {
+
+    /** The mongo template */
+    private final MongoTemplate mongoTemplate;
+
+    /** The retention */
+    private final Duration retention;
+
+    /** The indexes created */
+    private volatile boolean indexesCreated;
+
+    /**
+     * MongoAuditSink constructor
+     *
+     * @param mongoTemplate
+     *            the mongo template
+     * @param retention
+     *            the time after which an event is expired
+     */
+    public MongoAuditSink(MongoTemplate mongoTemplate, @Value("${audit.retention:180d}") Duration retention) {
+        this.mongoTemplate = mongoTemplate;
+        this.retention = retention;
+    }
+
+    /**
+     * Insert the batch
+     *
+     * @param events
+     *            the events
+     */
+    @Override
+    public void write(List<AuditEvent> events) {
+        createIndexes();
+        mongoTemplate.insert(events, AuditEvent.class);
+    }
+
+    /**
+     * Create the TTL and the member history indexes once
+     */
+    private void createIndexes() {
+        if (!indexesCreated) {
+            mongoTemplate.indexOps(AuditEvent.class).ensureIndex(new Index().on("at", Sort.Direction.ASC).expire(
+                retention));
+            mongoTemplate.indexOps(AuditEvent.class).ensureIndex(new Index().on("memberId", Sort.Direction.ASC).on(
+                "at", Sort.Direction.DESC));
+            indexesCreated = true;
+        }
+    }
+
+}
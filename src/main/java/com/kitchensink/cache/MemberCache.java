@@ -0,0 +1,474 @@
+package com.kitchensink.cache;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kitchensink.entity.Member;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class MemberCache.
+ * Two-tier cache of members by id, email and phone number. L1 is a bounded in-process cache, only served while the
+ * change stream listener keeps the node coherent: a change to a member on any node invalidates it here, and when the
+ * stream breaks L1 is flushed and bypassed until the stream is back. L2 is the shared {@link MemberCacheStore}, so a
+ * fresh node starts warm. Members are stored once by id, the email and phone number entries only point to the id.
+ * <p>
+ * Writers call {@link #evict} after the write, which replaces the L2 entry with a tombstone for a lease: a load that
+ * read the database before the write cannot put its stale copy back before the tombstone expires. Concurrent misses
+ * on a key share one load per node, and one node per key loads while the others wait briefly for L2.
+ * <p>
+ * The password hash is never cached, in either tier: cached members are for the token path, and credentials are
+ * always read from the database.
+ *
+ * @author prerna
+ */
+@Component
+@Slf4j
+public class MemberCache {
+
+    /** The Constant STORE_PREFIX */
+    static final String STORE_PREFIX = "member:";
+
+    /** The Constant TOMBSTONE, the L2 value of a member written less than a lease ago */
+    static final String TOMBSTONE = "-";
+
+    /** The Constant PASSWORD_FIELD, left out of every cached member */
+    private static final String PASSWORD_FIELD = "password";
+
+    /** The Constant LOCK_POLL_MILLIS, how often a waiting miss checks L2 */
+    private static final long LOCK_POLL_MILLIS = 10;
+
+    /**
+     * The member lookups the cache serves.
+     */
+    public enum Lookup {
+
+        /** By id */
+        ID("_id"),
+
+        /** By email */
+        EMAIL("email"),
+
+        /** By phone number */
+        PHONE("phoneNumber");
+
+        /** The document field */
+        private final String field;
+
+        Lookup(String field) {
+            this.field = field;
+        }
+
+        /**
+         * Cache key of a value
+         *
+         * @param value
+         *            the looked up value
+         * @return the key
+         */
+        String key(String value) {
+            return name().toLowerCase(Locale.ROOT) + ":" + value;
+        }
+    }
+
+    /** The converter, members are cached as their stored documents */
+    private final MongoConverter converter;
+
+    /** The shared tier */
+    private final MemberCacheStore store;
+
+    /** The L1 member documents by id */
+    private final Cache<String, Document> membersById;
+
+    /** The L1 member ids by email and phone key */
+    private final Cache<String, String> idsByKey;
+
+    /** The loads in progress on this node by key */
+    private final Map<String, CompletableFuture<Optional<Document>>> inFlight = new ConcurrentHashMap<>();
+
+    /** The number of invalidations so far, a load is only cached in L1 if none happened meanwhile */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** The cache enabled */
+    private final boolean enabled;
+
+    /** The time to live of L2 entries */
+    private final Duration sharedTtl;
+
+    /** The time a written member is not cached in L2 */
+    private final Duration lease;
+
+    /** The time a miss waits for another node loading the same key */
+    private final Duration lockWait;
+
+    /** The L2 hits */
+    private final Counter sharedHits;
+
+    /** The L2 misses */
+    private final Counter sharedMisses;
+
+    /** The L2 errors */
+    private final Counter sharedErrors;
+
+    /** The misses served by another load of the same key */
+    private final Counter coalesced;
+
+    /** Whether invalidations are flowing, L1 hits are only served then */
+    private volatile boolean coherent;
+
+    /**
+     * MemberCache constructor
+     *
+     * @param converter
+     *            the mongo converter
+     * @param store
+     *            the shared tier
+     * @param meterRegistry
+     *            the meter registry
+     * @param enabled
+     *            the cache enabled
+     * @param maxSize
+     *            the max members in L1
+     * @param expireAfterWrite
+     *            the time after which an L1 entry is reloaded anyway
+     * @param sharedTtl
+     *            the time to live of L2 entries
+     * @param lease
+     *            the time a written member is not cached in L2
+     * @param lockWait
+     *            the time a miss waits for another node loading the same key
+     */
+    public MemberCache(MongoConverter converter, MemberCacheStore store, MeterRegistry meterRegistry,
+        @Value("${member.cache.enabled:true}") boolean enabled, @Value("${member.cache.max-size:10000}") long maxSize,
+        @Value("${member.cache.expire-after-write:10m}") Duration expireAfterWrite,
+        @Value("${member.cache.l2-ttl:5m}") Duration sharedTtl, @Value("${member.cache.lease:5s}") Duration lease,
+        @Value("${member.cache.lock-wait:100ms}") Duration lockWait) {
+        this.converter = converter;
+        this.store = store;
+        this.enabled = enabled;
+        this.sharedTtl = sharedTtl;
+        this.lease = lease;
+        this.lockWait = lockWait;
+        this.membersById = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(expireAfterWrite).recordStats()
+            .build();
+        this.idsByKey = Caffeine.newBuilder().maximumSize(maxSize * 2).expireAfterWrite(expireAfterWrite).build();
+        this.sharedHits = meterRegistry.counter("member.cache.l2.requests", "result", "hit");
+        this.sharedMisses = meterRegistry.counter("member.cache.l2.requests", "result", "miss");
+        this.sharedErrors = meterRegistry.counter("member.cache.l2.requests", "result", "error");
+        this.coalesced = meterRegistry.counter("member.cache.coalesced");
+        CaffeineCacheMetrics.monitor(meterRegistry, membersById, "member");
+        Gauge.builder("member.cache.coherent", () -> coherent ? 1 : 0).description(
+            "1 while change stream invalidations are applied and L1 serves hits").register(meterRegistry);
+    }
+
+    /**
+     * Find a member, from L1, else L2, else the loader
+     *
+     * @param lookup
+     *            the lookup
+     * @param value
+     *            the looked up value
+     * @param loader
+     *            the database lookup
+     * @return the member, a copy the caller may change
+     */
+    public Optional<Member> find(Lookup lookup, String value, Function<String, Optional<Member>> loader) {
+        if (!enabled || value == null) {
+            return loader.apply(value);
+        }
+        String key = lookup.key(value);
+        Document local = fromL1(lookup, key, value);
+        if (local != null) {
+            return Optional.of(read(local));
+        }
+        CompletableFuture<Optional<Document>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Document>> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            coalesced.increment();
+            return join(running).map(this::read);
+        }
+        try {
+            Optional<Document> document = load(lookup, key, value, loader);
+            load.complete(document);
+            return document.map(this::read);
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * L1 member, when coherent, for callers that cannot block on L2
+     *
+     * @param lookup
+     *            the lookup
+     * @param value
+     *            the looked up value
+     * @return the member or null
+     */
+    public Member findLocal(Lookup lookup, String value) {
+        Document document = enabled && value != null ? fromL1(lookup, lookup.key(value), value) : null;
+        return document == null ? null : read(document);
+    }
+
+    /**
+     * Current generation, to pass to {@link #putLocal} after a load
+     *
+     * @return the generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Cache a loaded member in L1 unless an invalidation happened since the load started
+     *
+     * @param lookup
+     *            the lookup
+     * @param value
+     *            the looked up value
+     * @param member
+     *            the member
+     * @param loadedAt
+     *            the generation read before the load
+     */
+    public void putLocal(Lookup lookup, String value, Member member, long loadedAt) {
+        if (enabled && member.getId() != null) {
+            toL1(lookup, lookup.key(value), write(member), loadedAt);
+        }
+    }
+
+    /**
+     * Invalidate a written member on this node and in L2, after the write. Other nodes drop it from L1 through the
+     * change stream.
+     *
+     * @param memberId
+     *            the member id
+     */
+    public void evict(String memberId) {
+        if (memberId == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        membersById.invalidate(memberId);
+        tombstone(memberId);
+    }
+
+    /**
+     * Drop a member changed on any node from L1, and from L2 too: the write may not have gone through {@link #evict}
+     *
+     * @param event
+     *            the invalidation event
+     */
+    @EventListener
+    public void onInvalidation(MemberInvalidationEvent event) {
+        generation.incrementAndGet();
+        membersById.invalidate(event.memberId());
+        tombstone(event.memberId());
+    }
+
+    /**
+     * Drop L1, and serve it again only if the stream is back
+     *
+     * @param event
+     *            the flush event
+     */
+    @EventListener
+    public void onFlush(MemberCacheFlushEvent event) {
+        coherent = false;
+        generation.incrementAndGet();
+        membersById.invalidateAll();
+        idsByKey.invalidateAll();
+        coherent = enabled && event.coherent();
+        log.info("Member cache flushed ({}), serving L1 hits: {}", event.reason(), coherent);
+    }
+
+    /**
+     * Load a missed key from L2 or the database, one node per key at a time
+     */
+    private Optional<Document> load(Lookup lookup, String key, String value,
+        Function<String, Optional<Member>> loader) {
+        long loadedAt = generation.get();
+        Document document = fromL2(lookup, key, value);
+        boolean locked = false;
+        if (document == null) {
+            locked = lock(key);
+            if (!locked) {
+                coalesced.increment();
+                document = awaitL2(lookup, key, value);
+            }
+        }
+        if (document == null) {
+            try {
+                document = loader.apply(value).filter(member -> member.getId() != null).map(this::write).orElse(
+                    null);
+                if (document != null) {
+                    toL2(lookup, key, document);
+                }
+            } finally {
+                if (locked) {
+                    unlock(key);
+                }
+            }
+        }
+        if (document != null) {
+            toL1(lookup, key, document, loadedAt);
+        }
+        return Optional.ofNullable(document);
+    }
+
+    private Document fromL1(Lookup lookup, String key, String value) {
+        if (!coherent) {
+            return null;
+        }
+        String id = lookup == Lookup.ID ? value : idsByKey.getIfPresent(key);
+        Document document = id == null ? null : membersById.getIfPresent(id);
+        return document != null && matches(lookup, document, value) ? document : null;
+    }
+
+    private void toL1(Lookup lookup, String key, Document document, long loadedAt) {
+        if (!coherent) {
+            return;
+        }
+        String id = idOf(document);
+        membersById.put(id, document);
+        if (lookup != Lookup.ID) {
+            idsByKey.put(key, id);
+        }
+        if (generation.get() != loadedAt) {
+            // an invalidation may have missed the entry, drop it rather than serve it
+            membersById.invalidate(id);
+        }
+    }
+
+    private void tombstone(String memberId) {
+        try {
+            store.set(STORE_PREFIX + Lookup.ID.key(memberId), TOMBSTONE, lease);
+        } catch (RuntimeException e) {
+            sharedErrors.increment();
+            log.warn("Unable to invalidate member {} in the shared cache: {}", memberId, e.getMessage());
+        }
+    }
+
+    private Document fromL2(Lookup lookup, String key, String value) {
+        try {
+            String id = lookup == Lookup.ID ? value : store.get(STORE_PREFIX + key);
+            String json = id == null ? null : store.get(STORE_PREFIX + Lookup.ID.key(id));
+            Document document = json == null || TOMBSTONE.equals(json) ? null : Document.parse(json);
+            if (document == null || !matches(lookup, document, value)) {
+                sharedMisses.increment();
+                return null;
+            }
+            sharedHits.increment();
+            // entries written before the hash was left out
+            document.remove(PASSWORD_FIELD);
+            return document;
+        } catch (RuntimeException e) {
+            sharedErrors.increment();
+            log.debug("Shared member cache read failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void toL2(Lookup lookup, String key, Document document) {
+        try {
+            String id = idOf(document);
+            // never over a tombstone, the member may have been written since it was read
+            store.setIfAbsent(STORE_PREFIX + Lookup.ID.key(id), document.toJson(), sharedTtl);
+            if (lookup != Lookup.ID) {
+                store.set(STORE_PREFIX + key, id, sharedTtl);
+            }
+        } catch (RuntimeException e) {
+            sharedErrors.increment();
+            log.debug("Shared member cache write failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean lock(String key) {
+        try {
+            return store.setIfAbsent(STORE_PREFIX + "lock:" + key, "1", lease);
+        } catch (RuntimeException e) {
+            sharedErrors.increment();
+            return true;
+        }
+    }
+
+    private void unlock(String key) {
+        try {
+            store.delete(STORE_PREFIX + "lock:" + key);
+        } catch (RuntimeException e) {
+            sharedErrors.increment();
+        }
+    }
+
+    private Document awaitL2(Lookup lookup, String key, String value) {
+        long deadline = System.nanoTime() + lockWait.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            Document document = fromL2(lookup, key, value);
+            if (document != null) {
+                return document;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(Lookup lookup, Document document, String value) {
+        // the email and phone entries may point to a member that has since changed them
+        return lookup == Lookup.ID || value.equals(document.get(lookup.field));
+    }
+
+    private static String idOf(Document document) {
+        Object id = document.get("_id");
+        return id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private Member read(Document document) {
+        return converter.read(Member.class, document);
+    }
+
+    private Document write(Member member) {
+        Document document = new Document();
+        converter.write(member, document);
+        document.remove(PASSWORD_FIELD);
+        return document;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.kitchensink.cache;
+
+/**
+ * The Record MemberCacheFlushEvent.
+ * Every local member cache drops everything, because invalidations may have been missed.
+ *
+ * @param reason
+ *            the reason, e.g. stream_error or history_lost
+ * @param coherent
+ *            whether the change stream is running again, so caches may serve hits
+ * @author prerna
+ */
+public record MemberCacheFlushEvent(String reason, boolean coherent) {
+}
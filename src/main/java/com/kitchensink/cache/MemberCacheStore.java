@@ -0,0 +1,56 @@
+package com.kitchensink.cache;
+
+import java.time.Duration;
+
+/**
+ * The Interface MemberCacheStore.
+ * The shared second tier of the {@link MemberCache}, a key value store with expiry all nodes see. Failures are thrown
+ * as runtime exceptions and treated as misses by the cache.
+ *
+ * @author prerna
+ */
+public interface MemberCacheStore {
+
+    /**
+     * Get a value
+     *
+     * @param key
+     *            the key
+     * @return the value or null
+     */
+    String get(String key);
+
+    /**
+     * Set a value
+     *
+     * @param key
+     *            the key
+     * @param value
+     *            the value
+     * @param ttl
+     *            the time to live
+     */
+    void set(String key, String value, Duration ttl);
+
+    /**
+     * Set a value unless the key exists
+     *
+     * @param key
+     *            the key
+     * @param value
+     *            the value
+     * @param ttl
+     *            the time to live
+     * @return whether the value was set
+     */
+    boolean setIfAbsent(String key, String value, Duration ttl);
+
+    /**
+     * Delete a key
+     *
+     * @param key
+     *            the key
+     */
+    void delete(String key);
+
+}
@@ -0,0 +1,327 @@
+package com.kitchensink.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.kitchensink.entity.Member;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class MemberChangeStreamListener.
+ * Watches the member collection and turns every update, replace or delete, from any node, into a
+ * {@link MemberInvalidationEvent} for the local caches. The resume token is saved per node so the stream continues
+ * where it stopped after a break or a restart. While the stream is down the local caches are flushed and bypassed;
+ * when the token can no longer be resumed (history rolled off the oplog) the stream restarts from now. The delay from
+ * the write to the local invalidation is published as member.cache.invalidation.lag.
+ *
+ * @author prerna
+ */
+@Component
+@ConditionalOnProperty(name = "member.cache.enabled", matchIfMissing = true)
+@Slf4j
+public class MemberChangeStreamListener implements SmartLifecycle {
+
+    /** The Constant TOKEN_COLLECTION */
+    static final String TOKEN_COLLECTION = "cache_resume_token";
+
+    /** The Constant LAG_METRIC */
+    static final String LAG_METRIC = "member.cache.invalidation.lag";
+
+    /** The Constant INVALIDATING, the operations that change or remove a cached member */
+    private static final Set<OperationType> INVALIDATING = Set.of(OperationType.UPDATE, OperationType.REPLACE,
+        OperationType.DELETE);
+
+    /** The Constant HISTORY_LOST, ChangeStreamHistoryLost and ChangeStreamFatalError (token not found) */
+    private static final Set<Integer> HISTORY_LOST = Set.of(286, 280);
+
+    /** The Constant REPLICA_SET_REQUIRED, the server is a standalone */
+    private static final int REPLICA_SET_REQUIRED = 40573;
+
+    /** The Constant MAX_BACKOFF */
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    /** The mongo template */
+    private final MongoTemplate mongoTemplate;
+
+    /** The event publisher */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** The node id, the key of the saved resume token */
+    private final String nodeId;
+
+    /** The minimum time between two resume token saves */
+    private final Duration tokenSaveInterval;
+
+    /** The invalidation lag */
+    private final Timer lag;
+
+    /** The meter registry */
+    private final MeterRegistry meterRegistry;
+
+    /** The running flag */
+    private volatile boolean running;
+
+    /** The listener thread */
+    private Thread thread;
+
+    /** The latest resume token, only touched by the listener thread */
+    private BsonDocument resumeToken;
+
+    /** The resume token last saved */
+    private BsonDocument savedToken;
+
+    /** The time the resume token was last saved */
+    private long tokenSavedAt;
+
+    /**
+     * MemberChangeStreamListener constructor
+     *
+     * @param mongoTemplate
+     *            the mongo template
+     * @param eventPublisher
+     *            the event publisher
+     * @param meterRegistry
+     *            the meter registry
+     * @param nodeId
+     *            the node id
+     * @param tokenSaveInterval
+     *            the minimum time between two resume token saves
+     */
+    public MemberChangeStreamListener(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry, @Value("${member.cache.node-id:${HOSTNAME:local}}") String nodeId,
+        @Value("${member.cache.resume-token-save-interval:5s}") Duration tokenSaveInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId;
+        this.tokenSaveInterval = tokenSaveInterval;
+        this.lag = Timer.builder(LAG_METRIC).description("Time from a member write to its local invalidation")
+            .publishPercentileHistogram().register(meterRegistry);
+    }
+
+    /**
+     * Start the listener thread
+     */
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "member-change-stream");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stop the listener thread and save the resume token
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Is running
+     *
+     * @return boolean
+     */
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Watch the collection until stopped, reopening the stream with backoff
+     */
+    private void run() {
+        resumeToken = loadResumeToken();
+        savedToken = resumeToken;
+        Duration backoff = Duration.ofSeconds(1);
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open()) {
+                flush("stream_started", true);
+                backoff = Duration.ofSeconds(1);
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        // past the change before applying it: one that cannot be applied is covered by the flush
+                        // on the way out and must not be replayed forever
+                        if (change.getResumeToken() != null) {
+                            resumeToken = change.getResumeToken();
+                        }
+                        apply(change);
+                    }
+                    if (cursor.getResumeToken() != null) {
+                        resumeToken = cursor.getResumeToken();
+                    }
+                    saveResumeToken(false);
+                    if (change != null && change.getOperationType() == OperationType.INVALIDATE) {
+                        // the collection was dropped or renamed, the stream is closed
+                        resumeToken = null;
+                        break;
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                flush("stream_error", false);
+                int errorCode = e instanceof MongoCommandException command ? command.getErrorCode() : 0;
+                if (errorCode == REPLICA_SET_REQUIRED) {
+                    log.info("Change streams need a replica set, the member cache stays disabled");
+                    running = false;
+                    break;
+                } else if (HISTORY_LOST.contains(errorCode)) {
+                    log.warn("Member change stream history lost, restarting from now");
+                    resumeToken = null;
+                } else if (e instanceof MongoException) {
+                    log.warn("Member change stream failed, retrying in {}: {}", backoff, e.getMessage());
+                } else {
+                    log.error("Unable to apply a member change, retrying in {}", backoff, e);
+                }
+                sleep(backoff);
+                backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+            }
+        }
+        saveResumeToken(true);
+    }
+
+    /**
+     * Open the stream, resuming after the saved token
+     *
+     * @return the cursor
+     */
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(
+            Member.class)).watch(List.of(Aggregates.match(Filters.in("operationType", List.of("update", "replace",
+                "delete", "invalidate", "drop", "rename", "dropDatabase"))), Aggregates.project(new Document(
+                    "fullDocument", 0).append("updateDescription", 0)))).maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    /**
+     * Invalidate the changed member and record the lag
+     *
+     * @param change
+     *            the change
+     */
+    private void apply(ChangeStreamDocument<Document> change) {
+        OperationType operationType = change.getOperationType();
+        if (!INVALIDATING.contains(operationType)) {
+            flush(operationType.getValue(), operationType != OperationType.INVALIDATE);
+            return;
+        }
+        BsonValue id = change.getDocumentKey() == null ? null : change.getDocumentKey().get("_id");
+        if (id == null) {
+            return;
+        }
+        eventPublisher.publishEvent(new MemberInvalidationEvent(id.isObjectId() ? id.asObjectId().getValue()
+            .toHexString() : id.asString().getValue()));
+        counter("invalidations", operationType.getValue()).increment();
+        Instant writtenAt = writtenAt(change);
+        if (writtenAt != null) {
+            lag.record(Duration.between(writtenAt, Instant.now()).abs());
+        }
+    }
+
+    /**
+     * Time of the write, the wall clock of the primary when available, else the cluster time (seconds)
+     *
+     * @param change
+     *            the change
+     * @return the write time or null
+     */
+    static Instant writtenAt(ChangeStreamDocument<Document> change) {
+        BsonDateTime wallTime = change.getWallTime();
+        if (wallTime != null) {
+            return Instant.ofEpochMilli(wallTime.getValue());
+        }
+        BsonTimestamp clusterTime = change.getClusterTime();
+        return clusterTime == null ? null : Instant.ofEpochSecond(clusterTime.getTime());
+    }
+
+    private void flush(String reason, boolean coherent) {
+        counter("flushes", reason).increment();
+        eventPublisher.publishEvent(new MemberCacheFlushEvent(reason, coherent));
+    }
+
+    private Counter counter(String name, String type) {
+        return meterRegistry.counter("member.cache." + name, "type", type);
+    }
+
+    private BsonDocument loadResumeToken() {
+        try {
+            Document saved = mongoTemplate.findById(nodeId, Document.class, TOKEN_COLLECTION);
+            return saved == null || saved.getString("token") == null ? null : BsonDocument.parse(saved.getString(
+                "token"));
+        } catch (RuntimeException e) {
+            log.warn("Unable to load the member change stream resume token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveResumeToken(boolean force) {
+        long now = System.nanoTime();
+        if (resumeToken == null || resumeToken.equals(savedToken) || !force && now - tokenSavedAt < tokenSaveInterval
+            .toNanos()) {
+            return;
+        }
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(nodeId)), new Update().set("token", resumeToken
+                .toJson()).set("savedAt", Instant.now()), TOKEN_COLLECTION);
+            savedToken = resumeToken;
+            tokenSavedAt = now;
+        } catch (RuntimeException e) {
+            log.warn("Unable to save the member change stream resume token: {}", e.getMessage());
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+}
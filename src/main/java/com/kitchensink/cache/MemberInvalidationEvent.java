@@ -0,0 +1,12 @@
+package com.kitchensink.cache;
+
+/**
+ * The Record MemberInvalidationEvent.
+ * A member document changed, every local cache drops what it holds for the member.
+ *
+ * @param memberId
+ *            the member id
+ * @author prerna
+ */
+public record MemberInvalidationEvent(String memberId) {
+}
@@ -0,0 +1,38 @@
+package com.kitchensink.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class NoOpMemberCacheStore.
+ * No shared tier, every L1 miss goes to the database.
+ *
+ * @author prerna
+ */
+@Component
+@ConditionalOnProperty(name = "member.cache.l2", havingValue = "none", matchIfMissing = true)
+public class NoOpMemberCacheStore implements MemberCacheStore {
+
+    @Override
+    public String get(String key) {
+        return null;
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        // nothing is shared
+    }
+
+    @Override
+    public boolean setIfAbsent(String key, String value, Duration ttl) {
+        return true;
+    }
+
+    @Override
+    public void delete(String key) {
+        // nothing is shared
+    }
+
+}
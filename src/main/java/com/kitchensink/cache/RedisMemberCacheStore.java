@@ -0,0 +1,52 @@
+package com.kitchensink.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Class RedisMemberCacheStore.
+ * Shared tier on Redis (or any server speaking its protocol), configured with spring.data.redis.
+ *
+ * @author prerna
+ */
+@Component
+@ConditionalOnProperty(name = "member.cache.l2", havingValue = "redis")
+public class RedisMemberCacheStore implements MemberCacheStore {
+
+    /** The redis template */
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * RedisMemberCacheStore constructor
+     *
+     * @param redisTemplate
+     *            the redis template
+     */
+    public RedisMemberCacheStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public String get(String key) {
+        return redisTemplate.opsForValue().get(key);
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public boolean setIfAbsent(String key, String value, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, value, ttl));
+    }
+
+    @Override
+    public void delete(String key) {
+        redisTemplate.delete(key);
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.kitchensink.client;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kitchensink.enums.ErrorType;
+import com.kitchensink.enums.PhoneValidationFallback;
+import com.kitchensink.exception.BaseApplicationException;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class PhoneValidationClient.
+ * Calls the external phone validation provider through a circuit breaker and falls back to the configured policy
+ * when the provider is slow, failing or short-circuited.
+ *
+ * @author prerna
+ */
+@Component
+@Slf4j
+public class PhoneValidationClient {
+
+    /** The Constant METRIC_NAME */
+    public static final String METRIC_NAME = "phone.validation.requests";
+
+    /** The rest template */
+    private final RestTemplate restTemplate;
+
+    /** The response reader */
+    private final ObjectReader responseReader;
+
+    /** The circuit breaker */
+    private final CircuitBreaker circuitBreaker;
+
+    /** The timer of valid numbers */
+    private final Timer validTimer;
+
+    /** The timer of invalid numbers */
+    private final Timer invalidTimer;
+
+    /** The timer of failed calls */
+    private final Timer errorTimer;
+
+    /** The timer of calls refused by the open circuit */
+    private final Timer shortCircuitedTimer;
+
+    /** The validation url template */
+    private final String validationUrl;
+
+    /** The api key */
+    private final String apiKey;
+
+    /** The fallback */
+    private final PhoneValidationFallback fallback;
+
+    /**
+     * PhoneValidationClient constructor
+     *
+     * @param restTemplate
+     *            the rest template
+     * @param objectMapper
+     *            the object mapper
+     * @param phoneValidationCircuitBreaker
+     *            the circuit breaker
+     * @param meterRegistry
+     *            the meter registry
+     * @param validationUrl
+     *            the provider url
+     * @param apiKey
+     *            the api key
+     * @param fallback
+     *            the fallback policy
+     */
+    public PhoneValidationClient(RestTemplate restTemplate, ObjectMapper objectMapper,
+        CircuitBreaker phoneValidationCircuitBreaker, MeterRegistry meterRegistry,
+        @Value("${phone.validation.url:https://phonevalidation.abstractapi.com/v1/}") String validationUrl,
+        @Value("${phone.validation.apikey:123}") String apiKey,
+        @Value("${phone.validation.fallback:REJECT}") PhoneValidationFallback fallback) {
+        this.restTemplate = restTemplate;
+        this.responseReader = objectMapper.reader();
+        this.circuitBreaker = phoneValidationCircuitBreaker;
+        this.validTimer = timer(meterRegistry, "valid");
+        this.invalidTimer = timer(meterRegistry, "invalid");
+        this.errorTimer = timer(meterRegistry, "error");
+        this.shortCircuitedTimer = timer(meterRegistry, "short_circuited");
+        this.validationUrl = validationUrl + "?api_key={apiKey}&phone={phone}";
+        this.apiKey = apiKey;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Validate phone number with the provider, applying the fallback policy when the provider cannot answer
+     *
+     * @param phoneNumber
+     *            the phone number
+     * @return boolean
+     */
+    public boolean isValid(String phoneNumber) {
+        try {
+            return check(phoneNumber);
+        } catch (BaseApplicationException e) {
+            log.warn("{}, applying {} fallback", e.getMessage(), fallback);
+            return fallback.accepts();
+        }
+    }
+
+    /**
+     * Validate phone number with the provider
+     *
+     * @param phoneNumber
+     *            the phone number
+     * @return boolean
+     * @throws BaseApplicationException
+     *             when the provider is failing, slow or short-circuited
+     */
+    public boolean check(String phoneNumber) {
+        long start = System.nanoTime();
+        Timer timer = errorTimer;
+        try {
+            boolean valid = circuitBreaker.executeSupplier(() -> callProvider(phoneNumber));
+            timer = valid ? validTimer : invalidTimer;
+            return valid;
+        } catch (CallNotPermittedException e) {
+            timer = shortCircuitedTimer;
+            throw new BaseApplicationException("Phone validation circuit is " + circuitBreaker.getState(), e,
+                ErrorType.PHONE_VALIDATION_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (Exception e) {
+            throw new BaseApplicationException("Phone validation failed: " + e.getMessage(), e,
+                ErrorType.PHONE_VALIDATION_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * @return the fallback
+     */
+    public PhoneValidationFallback getFallback() {
+        return fallback;
+    }
+
+    /**
+     * Register the timer of an outcome
+     *
+     * @param meterRegistry
+     *            the meter registry
+     * @param outcome
+     *            the outcome
+     * @return the timer
+     */
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(METRIC_NAME).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    /**
+     * Call the provider
+     *
+     * @param phoneNumber
+     *            the phone number
+     * @return boolean
+     */
+    private boolean callProvider(String phoneNumber) {
+        try {
+            ResponseEntity<String> response = restTemplate.getForEntity(validationUrl, String.class, apiKey,
+                phoneNumber);
+            return responseReader.readTree(response.getBody()).path("valid").asBoolean();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable phone validation response", e);
+        }
+    }
+
+}
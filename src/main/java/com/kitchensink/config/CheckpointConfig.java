@@ -0,0 +1,120 @@
+package com.kitchensink.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoDriverInformation;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+/**
+ * The Class CheckpointConfig.
+ * CRaC (Coordinated Restore at Checkpoint) support, on with checkpoint.enabled. Spring stops every lifecycle bean
+ * before a checkpoint and starts them again after the restore: Tomcat or Netty, the schedulers, the change stream
+ * and the Redis connections close and reopen that way. The Mongo clients of Spring Boot cannot be reopened once
+ * closed, so they are replaced by restartable ones, closed and reopened by their own CRaC resource once the lifecycle
+ * beans have stopped. The settings are resolved once, with the customizers of the application, so a reopened client
+ * is configured like the first one. The outbound http client, the log files and the audit file are closed by their
+ * own CRaC resources too, see RestTemplateConfig, LogFileCheckpoint and MappedFileAuditSink.
+ *
+ * @author prerna
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "checkpoint.enabled", havingValue = "true")
+public class CheckpointConfig {
+
+    /** The Constant DRIVER_INFORMATION, as Spring Boot reports it */
+    private static final MongoDriverInformation DRIVER_INFORMATION = MongoDriverInformation.builder().driverName(
+        "spring-boot").build();
+
+    /**
+     * Restartable blocking Mongo client
+     *
+     * @param customizers
+     *            the settings customizers
+     * @param settings
+     *            the mongo client settings
+     * @return the restartable mongo client
+     */
+    @Bean
+    public RestartableMongoClient<MongoClient> restartableMongoClient(
+        ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers, MongoClientSettings settings) {
+        MongoClientSettings applied = customized(customizers, settings);
+        return new RestartableMongoClient<>(MongoClient.class, () -> MongoClients.create(applied,
+            DRIVER_INFORMATION));
+    }
+
+    /**
+     * Blocking Mongo client used by the application
+     *
+     * @param restartableMongoClient
+     *            the restartable mongo client
+     * @return the mongo client
+     */
+    @Bean
+    public MongoClient mongo(RestartableMongoClient<MongoClient> restartableMongoClient) {
+        return restartableMongoClient.getClient();
+    }
+
+    /**
+     * Apply the settings customizers, as the Spring Boot client factories do
+     *
+     * @param customizers
+     *            the settings customizers
+     * @param settings
+     *            the mongo client settings
+     * @return the customized settings
+     */
+    static MongoClientSettings customized(ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers,
+        MongoClientSettings settings) {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder(settings);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder.build();
+    }
+
+    /**
+     * The Class ReactiveClient.
+     * The reactive client, on the reactive stack only: the servlet stack excludes the reactive driver.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class ReactiveClient {
+
+        /**
+         * Restartable reactive Mongo client
+         *
+         * @param customizers
+         *            the settings customizers
+         * @param settings
+         *            the mongo client settings
+         * @return the restartable mongo client
+         */
+        @Bean
+        public RestartableMongoClient<com.mongodb.reactivestreams.client.MongoClient> restartableReactiveMongoClient(
+            ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers, MongoClientSettings settings) {
+            // resolved once: the Netty customizer of Spring Boot creates a new event loop group each time it is applied
+            MongoClientSettings applied = customized(customizers, settings);
+            return new RestartableMongoClient<>(com.mongodb.reactivestreams.client.MongoClient.class,
+                () -> com.mongodb.reactivestreams.client.MongoClients.create(applied, DRIVER_INFORMATION));
+        }
+
+        /**
+         * Reactive Mongo client used by the application
+         *
+         * @param restartableReactiveMongoClient
+         *            the restartable reactive mongo client
+         * @return the reactive mongo client
+         */
+        @Bean
+        public com.mongodb.reactivestreams.client.MongoClient reactiveStreamsMongoClient(
+            RestartableMongoClient<com.mongodb.reactivestreams.client.MongoClient> restartableReactiveMongoClient) {
+            return restartableReactiveMongoClient.getClient();
+        }
+    }
+
+}
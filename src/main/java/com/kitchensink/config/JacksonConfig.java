@@ -0,0 +1,153 @@
+package com.kitchensink.config;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.kitchensink.dto.MemberDto;
+import com.kitchensink.dto.MemberFields;
+
+/**
+ * The Class JacksonConfig.
+ * Serves CBOR (application/cbor) and Smile (application/x-jackson-smile) next to JSON to the clients that ask for them
+ * with Accept; JSON stays the default. The binary mappers are built from the same builder as the JSON one, so they
+ * share its modules and settings. Properties are read and written through generated accessors rather than
+ * reflection, and the parser and generator buffers are pooled across threads: the thread local default of Jackson
+ * keeps nothing between requests when every request runs on a new virtual thread.
+ *
+ * @author prerna
+ */
+@Configuration
+public class JacksonConfig {
+
+    /** The Constant SMILE */
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    /**
+     * Generated property accessors. A native image cannot define classes at runtime, so it keeps the reflective
+     * accessors, which are compiled ahead of time there anyway
+     *
+     * @return the blackbird module
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule("blackbird-disabled") : new BlackbirdModule();
+    }
+
+    /**
+     * Pool the buffers of every mapper built by the application builder
+     *
+     * @return the object mapper builder customizer
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sharedBufferPoolCustomizer() {
+        return builder -> builder.postConfigurer(JacksonConfig::poolBuffers);
+    }
+
+    /**
+     * Let a response limit the member properties it writes, every property is written by default
+     *
+     * @return the object mapper builder customizer
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer memberFieldsCustomizer() {
+        return builder -> builder.mixIn(MemberDto.class, MemberFields.Filtered.class).filters(MemberFields.ALL);
+    }
+
+    /**
+     * Add the CBOR and Smile converters after the JSON one, so a request without a preference still gets JSON
+     *
+     * @param builder
+     *            the application object mapper builder
+     * @return the web mvc configurer
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public WebMvcConfigurer binaryMessageConverters(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cborMapper = mapper(builder, new CBORFactory());
+        ObjectMapper smileMapper = mapper(builder, new SmileFactory());
+        return new WebMvcConfigurer() {
+
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+                converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+            }
+        };
+    }
+
+    /**
+     * Add the CBOR and Smile codecs. Custom codecs are listed before the default JSON one, so the JSON encoder is
+     * registered again ahead of CBOR to keep JSON the default. The media types are passed explicitly: the codecs
+     * built from a mapper otherwise claim the JSON ones.
+     *
+     * @param builder
+     *            the application object mapper builder
+     * @param objectMapper
+     *            the application object mapper
+     * @return the codec customizer
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer binaryCodecs(Jackson2ObjectMapperBuilder builder, ObjectMapper objectMapper) {
+        ObjectMapper cborMapper = mapper(builder, new CBORFactory());
+        ObjectMapper smileMapper = mapper(builder, new SmileFactory());
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2JsonEncoder(objectMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborEncoder(cborMapper,
+                MediaType.APPLICATION_CBOR));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cborMapper,
+                MediaType.APPLICATION_CBOR));
+        };
+    }
+
+    /**
+     * Build a mapper for a binary format with the settings of the application builder
+     *
+     * @param builder
+     *            the application object mapper builder, a new instance per injection point
+     * @param factory
+     *            the format factory
+     * @return the object mapper
+     */
+    static ObjectMapper mapper(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory).build();
+    }
+
+    /**
+     * Share one pool of parser and generator buffers between all threads
+     *
+     * @param objectMapper
+     *            the object mapper
+     */
+    static void poolBuffers(ObjectMapper objectMapper) {
+        objectMapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool());
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.kitchensink.config;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.kitchensink.entity.Member;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class MemberVersionBackfill.
+ * Gives the members written before they were versioned a version. A member without one would be taken for a new
+ * document by a versioned save. The update is idempotent, every node runs it after start and again until it has
+ * succeeded once, so a database that is not reachable yet only delays it.
+ *
+ * @author prerna
+ */
+@Component
+@Slf4j
+public class MemberVersionBackfill {
+
+    /** The mongo template */
+    private final MongoTemplate mongoTemplate;
+
+    /** Whether the backfill succeeded */
+    private volatile boolean done;
+
+    /**
+     * MemberVersionBackfill constructor
+     *
+     * @param mongoTemplate
+     *            the mongo template
+     */
+    public MemberVersionBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Set version 0 on the members without a version, until it succeeds
+     */
+    @Scheduled(initialDelayString = "${member.version-backfill.initial-delay:PT5S}",
+        fixedDelayString = "${member.version-backfill.retry-interval:PT30S}")
+    public void backfill() {
+        if (done) {
+            return;
+        }
+        try {
+            long backfilled = mongoTemplate.updateMulti(Query.query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L), Member.class).getModifiedCount();
+            done = true;
+            if (backfilled > 0) {
+                log.info("Versioned {} members", backfilled);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unable to version the existing members, retrying: {}", e.getMessage());
+        }
+    }
+
+}
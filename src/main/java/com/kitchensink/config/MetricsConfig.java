@@ -0,0 +1,31 @@
+package com.kitchensink.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The Class MetricsConfig.
+ * Times every public method of the classes and methods annotated with {@link io.micrometer.core.annotation.Timed}.
+ * The timers are tagged with class, method and exception simple name only; histograms and SLO buckets are configured
+ * per metric prefix under management.metrics.distribution.
+ *
+ * @author prerna
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Timed aspect
+     *
+     * @param meterRegistry
+     *            the meter registry
+     * @return the timed aspect
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
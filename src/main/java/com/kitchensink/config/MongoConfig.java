@@ -1,7 +1,29 @@
 package com.kitchensink.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+import org.springframework.util.ClassUtils;
+
+import com.kitchensink.diagnostics.MongoConnectionPoolMetrics;
+import com.kitchensink.diagnostics.MongoSlowQueryMonitor;
+import com.mongodb.MongoCompressor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * The Class MongoConfig.
@@ -10,5 +32,102 @@ import org.springframework.data.mongodb.config.EnableMongoAuditing;
  */
 @Configuration
 @EnableMongoAuditing
+@Slf4j
 public class MongoConfig {
+
+    /**
+     * Observe every Mongo command as a child span of the calling request, for the blocking and the reactive driver
+     *
+     * @param observationRegistry
+     *            the observation registry
+     * @param slowQueryMonitor
+     *            the slow query monitor, absent when disabled
+     * @return the mongo client settings customizer
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(ObservationRegistry observationRegistry,
+        ObjectProvider<MongoSlowQueryMonitor> slowQueryMonitor) {
+        return builder -> {
+            builder.contextProvider(ContextProviderFactory.create(observationRegistry)).addCommandListener(
+                new MongoObservationCommandListener(observationRegistry));
+            slowQueryMonitor.ifAvailable(builder::addCommandListener);
+        };
+    }
+
+    /**
+     * Size the connection pool and compress the wire protocol, shared by the blocking and the reactive driver. The
+     * pool events are exported next to the driver gauges.
+     *
+     * @param meterRegistry
+     *            the meter registry
+     * @param maxSize
+     *            the maximum number of connections per server
+     * @param minSize
+     *            the number of connections kept open per server
+     * @param maxWait
+     *            the maximum time a command waits for a connection
+     * @param maxIdleTime
+     *            the time after which an idle connection is closed
+     * @param maxConnecting
+     *            the maximum number of connections opened concurrently per server
+     * @param compressors
+     *            the compressors offered to the server, in order of preference
+     * @return the mongo client settings customizer
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(MeterRegistry meterRegistry,
+        @Value("${mongo.pool.max-size:100}") int maxSize, @Value("${mongo.pool.min-size:0}") int minSize,
+        @Value("${mongo.pool.max-wait:2m}") Duration maxWait,
+        @Value("${mongo.pool.max-idle-time:0s}") Duration maxIdleTime,
+        @Value("${mongo.pool.max-connecting:2}") int maxConnecting,
+        @Value("${mongo.compressors:}") List<String> compressors) {
+        List<MongoCompressor> mongoCompressors = compressors(compressors);
+        log.info("Mongo pool: {}-{} connections, max wait {}, compressors {}", minSize, maxSize, maxWait,
+            mongoCompressors.stream().map(MongoCompressor::getName).toList());
+        return builder -> {
+            builder.applyToConnectionPoolSettings(pool -> pool.maxSize(maxSize).minSize(minSize).maxWaitTime(maxWait
+                .toMillis(), TimeUnit.MILLISECONDS).maxConnectionIdleTime(maxIdleTime.toMillis(),
+                    TimeUnit.MILLISECONDS).maxConnecting(maxConnecting).addConnectionPoolListener(
+                        new MongoConnectionPoolMetrics(meterRegistry)));
+            if (!mongoCompressors.isEmpty()) {
+                builder.compressorList(mongoCompressors);
+            }
+        };
+    }
+
+    /**
+     * Resolve the compressor names, skipping the ones whose library is not on the classpath
+     *
+     * @param names
+     *            the names, zstd, snappy or zlib
+     * @return the compressors
+     */
+    static List<MongoCompressor> compressors(List<String> names) {
+        List<MongoCompressor> compressors = new ArrayList<>();
+        for (String name : names) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "" -> {
+                    // empty list
+                }
+                case "zstd" -> addIfPresent(compressors, MongoCompressor.createZstdCompressor(),
+                    "com.github.luben.zstd.Zstd");
+                case "snappy" -> addIfPresent(compressors, MongoCompressor.createSnappyCompressor(),
+                    "org.xerial.snappy.Snappy");
+                case "zlib" -> compressors.add(MongoCompressor.createZlibCompressor());
+                default -> throw new IllegalArgumentException("Unknown mongo compressor: " + name);
+            }
+        }
+        return compressors;
+    }
+
+    private static void addIfPresent(List<MongoCompressor> compressors, MongoCompressor compressor, String className) {
+        if (NativeDetector.inNativeImage()) {
+            // zstd-jni and snappy-java load their JNI library out of the jar, which a native image does not do
+            log.warn("Mongo compressor {} skipped, not available in a native image", compressor.getName());
+        } else if (ClassUtils.isPresent(className, MongoConfig.class.getClassLoader())) {
+            compressors.add(compressor);
+        } else {
+            log.warn("Mongo compressor {} skipped, {} is not on the classpath", compressor.getName(), className);
+        }
+    }
 }
@@ -0,0 +1,102 @@
+package com.kitchensink.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.ReadPreference;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class MongoReadPreferences.
+ * Read preferences of the admin listing, search and count queries, so these heavy reads can be served by secondaries
+ * no more than max-staleness behind the primary. Everything else, including the login and registration lookups,
+ * keeps the client default (primary).
+ *
+ * @author prerna
+ */
+@Component
+@Slf4j
+public class MongoReadPreferences {
+
+    /** The member listing read preference */
+    private final ReadPreference memberListing;
+
+    /** The member search read preference */
+    private final ReadPreference memberSearch;
+
+    /** The member count read preference */
+    private final ReadPreference memberCount;
+
+    /**
+     * MongoReadPreferences constructor
+     *
+     * @param memberListing
+     *            the member listing read preference mode
+     * @param memberSearch
+     *            the member search read preference mode
+     * @param memberCount
+     *            the member count read preference mode
+     * @param maxStaleness
+     *            the maximum replication lag of a secondary, at least 90s
+     */
+    public MongoReadPreferences(@Value("${mongo.read-preference.member-listing:primary}") String memberListing,
+        @Value("${mongo.read-preference.member-search:primary}") String memberSearch,
+        @Value("${mongo.read-preference.member-count:primary}") String memberCount,
+        @Value("${mongo.read-preference.max-staleness:90s}") Duration maxStaleness) {
+        this.memberListing = readPreference(memberListing, maxStaleness);
+        this.memberSearch = readPreference(memberSearch, maxStaleness);
+        this.memberCount = readPreference(memberCount, maxStaleness);
+        log.info("Mongo read preferences: member listing {}, search {}, count {}", this.memberListing,
+            this.memberSearch, this.memberCount);
+    }
+
+    /**
+     * Member listing read preference
+     *
+     * @return the read preference
+     */
+    public ReadPreference memberListing() {
+        return memberListing;
+    }
+
+    /**
+     * Member search read preference
+     *
+     * @return the read preference
+     */
+    public ReadPreference memberSearch() {
+        return memberSearch;
+    }
+
+    /**
+     * Member count read preference
+     *
+     * @return the read preference
+     */
+    public ReadPreference memberCount() {
+        return memberCount;
+    }
+
+    /**
+     * Resolve a read preference mode, the primary takes no staleness bound
+     *
+     * @param mode
+     *            the mode, e.g. secondaryPreferred
+     * @param maxStaleness
+     *            the max staleness, zero for none
+     * @return the read preference
+     */
+    static ReadPreference readPreference(String mode, Duration maxStaleness) {
+        ReadPreference readPreference = ReadPreference.valueOf(mode);
+        if (readPreference.equals(ReadPreference.primary()) || maxStaleness.isZero()) {
+            return readPreference;
+        }
+        return ReadPreference.valueOf(mode, List.of(), maxStaleness.toSeconds(), TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.kitchensink.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.kitchensink.dto.BulkMemberRequest;
+import com.kitchensink.dto.BulkMemberResult;
+import com.kitchensink.dto.LoginRequestDto;
+import com.kitchensink.dto.MemberDto;
+import com.kitchensink.dto.MemberSearchCriteria;
+import com.kitchensink.dto.RegisterMemberDto;
+import com.kitchensink.dto.UpdateMemberRequest;
+import com.kitchensink.entity.AuditEvent;
+import com.kitchensink.entity.Member;
+import com.kitchensink.entity.PhoneVerificationTask;
+import com.kitchensink.entity.SchedulerLease;
+import com.kitchensink.validation.ValidUserRoleValidator;
+
+/**
+ * The Class NativeImageConfig.
+ * Reachability metadata for the native image (mvn -Pnative native:compile): what is reached through reflection or
+ * loaded as a resource and cannot be found by the AOT processing. The DTOs are bound by Jackson through their Lombok
+ * accessors, also where they are not a controller signature (cache, audit file, springdoc schemas); the documents are
+ * mapped by Spring Data through their fields; JJWT 0.11 creates its implementation classes by name.
+ *
+ * @author prerna
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+@RegisterReflectionForBinding({ MemberDto.class, RegisterMemberDto.class, LoginRequestDto.class,
+    UpdateMemberRequest.class, MemberSearchCriteria.class, BulkMemberRequest.class, BulkMemberResult.class,
+    AuditEvent.class })
+public class NativeImageConfig {
+
+    /** The Constant JJWT_CLASSES, instantiated by name by jjwt-api */
+    static final String[] JJWT_CLASSES = { "io.jsonwebtoken.impl.DefaultJwtBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParserBuilder", "io.jsonwebtoken.impl.DefaultJwtParser",
+        "io.jsonwebtoken.impl.DefaultClaims", "io.jsonwebtoken.impl.DefaultHeader",
+        "io.jsonwebtoken.impl.DefaultJwsHeader", "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+        "io.jsonwebtoken.impl.compression.GzipCompressionCodec", "io.jsonwebtoken.jackson.io.JacksonSerializer",
+        "io.jsonwebtoken.jackson.io.JacksonDeserializer" };
+
+    /**
+     * The Class Hints.
+     */
+    static class Hints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> document : new Class<?>[] { Member.class, AuditEvent.class, PhoneVerificationTask.class,
+                SchedulerLease.class }) {
+                hints.reflection().registerType(document, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            for (String jjwtClass : JJWT_CLASSES) {
+                hints.reflection().registerTypeIfPresent(classLoader, jjwtClass,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+            hints.reflection().registerType(ValidUserRoleValidator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.resources().registerPattern("phone/numbering-plan.csv");
+        }
+    }
+
+}
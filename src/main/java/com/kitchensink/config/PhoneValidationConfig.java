@@ -0,0 +1,88 @@
+package com.kitchensink.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRateLimiterMetrics;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The Class PhoneValidationConfig.
+ *
+ * @author prerna
+ */
+@Configuration
+public class PhoneValidationConfig {
+
+    /** The Constant PHONE_VALIDATION */
+    public static final String PHONE_VALIDATION = "phoneValidation";
+
+    /**
+     * Circuit breaker guarding the phone validation provider
+     *
+     * @param meterRegistry
+     *            the meter registry
+     * @param failureRateThreshold
+     *            the failure rate (percentage) that opens the circuit
+     * @param slidingWindowSize
+     *            the number of calls considered for the failure rate
+     * @param slowCallDuration
+     *            the duration above which a call counts as slow
+     * @param waitDurationInOpenState
+     *            the time the circuit stays open before probing again
+     * @return the circuit breaker
+     */
+    @Bean
+    public CircuitBreaker phoneValidationCircuitBreaker(MeterRegistry meterRegistry,
+        @Value("${phone.validation.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+        @Value("${phone.validation.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+        @Value("${phone.validation.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+        @Value("${phone.validation.circuit-breaker.wait-duration-in-open-state:30s}") Duration waitDurationInOpenState) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom().failureRateThreshold(failureRateThreshold)
+            .slowCallRateThreshold(failureRateThreshold).slowCallDurationThreshold(slowCallDuration)
+            .slidingWindowSize(slidingWindowSize).minimumNumberOfCalls(Math.min(slidingWindowSize, 10))
+            .waitDurationInOpenState(waitDurationInOpenState).permittedNumberOfCallsInHalfOpenState(2)
+            .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(PHONE_VALIDATION);
+    }
+
+    /**
+     * Rate limiter bounding the calls the deferred verification worker makes to the provider
+     *
+     * @param meterRegistry
+     *            the meter registry
+     * @param limitForPeriod
+     *            the calls permitted per refresh period
+     * @param limitRefreshPeriod
+     *            the refresh period
+     * @param timeout
+     *            the maximum time a worker waits for a permission
+     * @return the rate limiter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "phone.verification.mode", havingValue = "DEFERRED")
+    public RateLimiter phoneValidationRateLimiter(MeterRegistry meterRegistry,
+        @Value("${phone.verification.rate-limit.limit-for-period:10}") int limitForPeriod,
+        @Value("${phone.verification.rate-limit.limit-refresh-period:1s}") Duration limitRefreshPeriod,
+        @Value("${phone.verification.rate-limit.timeout:5s}") Duration timeout) {
+        RateLimiterConfig config = RateLimiterConfig.custom().limitForPeriod(limitForPeriod).limitRefreshPeriod(
+            limitRefreshPeriod).timeoutDuration(timeout).build();
+        RateLimiterRegistry registry = RateLimiterRegistry.of(config);
+        TaggedRateLimiterMetrics.ofRateLimiterRegistry(registry).bindTo(meterRegistry);
+        return registry.rateLimiter(PHONE_VALIDATION);
+    }
+
+}
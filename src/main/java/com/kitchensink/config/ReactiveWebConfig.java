@@ -0,0 +1,74 @@
+package com.kitchensink.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * The Class ReactiveWebConfig.
+ * Controllers returning plain values (login, registration) still block on BCrypt and the blocking repository, so
+ * WebFlux runs them on the application task executor instead of the event loop.
+ * The server is Netty even though Tomcat is on the classpath for the servlet stack.
+ *
+ * @author prerna
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    /** The blocking executor */
+    private final AsyncTaskExecutor blockingExecutor;
+
+    /**
+     * ReactiveWebConfig constructor
+     *
+     * @param blockingExecutor
+     *            the application task executor
+     */
+    public ReactiveWebConfig(
+        @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+        AsyncTaskExecutor blockingExecutor) {
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    /**
+     * Serve on Netty, Spring Boot would pick Tomcat first since both are on the classpath
+     *
+     * @return the netty server factory
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Resolve pageable controller arguments
+     *
+     * @param configurer
+     *            the argument resolver configurer
+     */
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+
+    /**
+     * Run blocking controller methods off the event loop
+     *
+     * @param configurer
+     *            the blocking execution configurer
+     */
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(blockingExecutor);
+    }
+
+}
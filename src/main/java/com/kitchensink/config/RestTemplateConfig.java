@@ -1,20 +1,139 @@
 package com.kitchensink.config;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * The Class RestTemplateConfig.
+ * Outbound calls share a single JDK {@link HttpClient}, which keeps connections alive and negotiates HTTP/2, so
+ * every request is bounded by the connect and read timeouts below. A CRaC checkpoint closes the client with its
+ * connections, and the first call after the restore builds a new one.
  *
  * @author prerna
  */
 @Configuration
 public class RestTemplateConfig {
 
+    /**
+     * Shared http client
+     *
+     * @param connectTimeout
+     *            the connect timeout
+     * @return the http client
+     */
+    static HttpClient httpClient(Duration connectTimeout) {
+        return HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).connectTimeout(connectTimeout)
+            .followRedirects(HttpClient.Redirect.NORMAL).build();
+    }
+
+    /**
+     * Rest template builder for the reactive stack, where Spring Boot does not provide one. It applies the same
+     * customizers, so outbound calls are observed and carry the traceparent header on both stacks.
+     *
+     * @param customizers
+     *            the rest template customizers
+     * @return the rest template builder
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public RestTemplateBuilder restTemplateBuilder(ObjectProvider<RestTemplateCustomizer> customizers) {
+        return new RestTemplateBuilder(customizers.orderedStream().toArray(RestTemplateCustomizer[]::new));
+    }
+
+    /**
+     * Rest template backed by the shared http client
+     *
+     * @param restTemplateBuilder
+     *            the rest template builder
+     * @param connectTimeout
+     *            the connect timeout
+     * @param readTimeout
+     *            the read timeout
+     * @return the rest template
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder,
+        @Value("${rest.client.connect-timeout:2s}") Duration connectTimeout,
+        @Value("${rest.client.read-timeout:3s}") Duration readTimeout) {
+        ReopeningRequestFactory requestFactory = new ReopeningRequestFactory(() -> httpClient(connectTimeout),
+            readTimeout);
+        Core.getGlobalContext().register(requestFactory);
+        return restTemplateBuilder.requestFactory(() -> requestFactory).build();
+    }
+
+    /**
+     * The Class ReopeningRequestFactory.
+     * Request factory over the shared http client, closed before a checkpoint and built again when next used. The
+     * CRaC registration is a no-op on a JVM without CRaC.
+     */
+    static class ReopeningRequestFactory implements ClientHttpRequestFactory, Resource {
+
+        /** The http client factory */
+        private final Supplier<HttpClient> clientFactory;
+
+        /** The read timeout */
+        private final Duration readTimeout;
+
+        /** The http client, null until used */
+        private HttpClient client;
+
+        /** The request factory over the http client, null until used */
+        private volatile JdkClientHttpRequestFactory delegate;
+
+        ReopeningRequestFactory(Supplier<HttpClient> clientFactory, Duration readTimeout) {
+            this.clientFactory = clientFactory;
+            this.readTimeout = readTimeout;
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+            JdkClientHttpRequestFactory current = delegate;
+            return (current == null ? open() : current).createRequest(uri, httpMethod);
+        }
+
+        private synchronized JdkClientHttpRequestFactory open() {
+            if (delegate == null) {
+                client = clientFactory.get();
+                JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(client);
+                requestFactory.setReadTimeout(readTimeout);
+                delegate = requestFactory;
+            }
+            return delegate;
+        }
+
+        @Override
+        public synchronized void beforeCheckpoint(Context<? extends Resource> context) {
+            delegate = null;
+            if (client != null) {
+                // waits for the calls in flight, then closes the connections and the selector thread
+                client.close();
+                client = null;
+            }
+        }
+
+        @Override
+        public void afterRestore(Context<? extends Resource> context) {
+            // the client is built again by the next call
+        }
     }
 
 }
@@ -0,0 +1,144 @@
+package com.kitchensink.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class RestartableMongoClient.
+ * A Mongo client that can be closed and opened again, which the driver's own client cannot. The application is given
+ * a proxy, and the proxy forwards to the client of the moment. It is a CRaC resource rather than a lifecycle bean, so
+ * only a checkpoint closes the client, with its pooled connections and monitor sockets, and the restore builds a new
+ * one from the same settings. It registers before Spring's lifecycle processor, and the global context notifies in
+ * reverse order before a checkpoint: the beans that use Mongo while they stop or start (change stream, schedulers) find
+ * it open. On shutdown it is closed as the Mongo client bean is destroyed, after the beans that depend on it, such as
+ * the audit trail flushing its last events.
+ *
+ * @param <T>
+ *            the blocking or the reactive client interface
+ * @author prerna
+ */
+@Slf4j
+public class RestartableMongoClient<T extends Closeable> implements Resource, InvocationHandler {
+
+    /** The client factory */
+    private final Supplier<T> factory;
+
+    /** The proxy given to the application */
+    private final T proxy;
+
+    /** The current client, null while closed */
+    private volatile T client;
+
+    /**
+     * RestartableMongoClient constructor, registered with the global CRaC context, which is a no-op on a JVM without
+     * CRaC
+     *
+     * @param type
+     *            the client interface
+     * @param factory
+     *            builds a client from the application settings
+     */
+    public RestartableMongoClient(Class<T> type, Supplier<T> factory) {
+        this.factory = factory;
+        this.client = factory.get();
+        this.proxy = type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, this));
+        Core.getGlobalContext().register(this);
+    }
+
+    /**
+     * The client used by the application
+     *
+     * @return the client proxy
+     */
+    public T getClient() {
+        return proxy;
+    }
+
+    /**
+     * Close the client before a checkpoint
+     *
+     * @param context
+     *            the CRaC context
+     */
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        close();
+    }
+
+    /**
+     * Open a new client after the restore
+     *
+     * @param context
+     *            the CRaC context
+     */
+    @Override
+    public synchronized void afterRestore(Context<? extends Resource> context) {
+        if (client == null) {
+            client = factory.get();
+            log.info("Mongo client reopened");
+        }
+    }
+
+    /**
+     * Close the client, before a checkpoint or on shutdown
+     */
+    public synchronized void close() {
+        T current = client;
+        client = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.warn("Unable to close the Mongo client: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Is open
+     *
+     * @return boolean
+     */
+    public boolean isOpen() {
+        return client != null;
+    }
+
+    /**
+     * Forward a call of the proxy to the current client
+     */
+    @Override
+    public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> target == args[0];
+                case "hashCode" -> System.identityHashCode(target);
+                default -> "RestartableMongoClient[" + client + "]";
+            };
+        }
+        if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+            close();
+            return null;
+        }
+        T current = client;
+        if (current == null) {
+            throw new IllegalStateException("The Mongo client is closed for a checkpoint");
+        }
+        try {
+            return method.invoke(current, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
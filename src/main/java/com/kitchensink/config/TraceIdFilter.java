@@ -8,33 +8,97 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
 import java.io.IOException;
-import java.util.UUID;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The Class TraceIdFilter.
- * This filter generates a unique trace ID for each request and adds it to the MDC and response headers.
- * It helps in tracking requests across distributed systems.
+ * This filter exposes the trace ID of each request in the MDC and the X-Trace-Id response header.
+ * The server observation has already continued an incoming W3C traceparent or started a new trace, whose IDs come from
+ * a thread local random rather than the shared SecureRandom behind {@code UUID.randomUUID()}. When tracing is
+ * disabled the filter generates a trace ID of the same shape itself.
  *
  * @author prerna
  */
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TraceIdFilter implements Filter{
+
+    /** The Constant TRACE_ID_HEADER */
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    /** The Constant TRACE_ID_MDC, the key the tracing bridge uses as well */
+    static final String TRACE_ID_MDC = "traceId";
+
+    /** The Constant HEX */
+    private static final HexFormat HEX = HexFormat.of();
+
+    /** The tracer */
+    private final ObjectProvider<Tracer> tracer;
+
+    /**
+     * TraceIdFilter constructor
+     *
+     * @param tracer
+     *            the tracer, absent or no-op when tracing is disabled
+     */
+    public TraceIdFilter(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws ServletException, IOException{
 
+        String traceId = currentTraceId();
+        boolean generated = traceId == null;
         try{
             HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
             HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
-            String requestId = UUID.randomUUID().toString();
-            MDC.put("x-traceId", requestId);
-            httpServletRequest.setAttribute("X-Trace-Id", requestId);
-            httpServletResponse.setHeader("X-Trace-Id", requestId);
+            if (generated) {
+                traceId = newTraceId();
+                MDC.put(TRACE_ID_MDC, traceId);
+            }
+            httpServletRequest.setAttribute(TRACE_ID_HEADER, traceId);
+            httpServletResponse.setHeader(TRACE_ID_HEADER, traceId);
             filterChain.doFilter(servletRequest, servletResponse);
         } finally{
-            MDC.clear();
+            // the tracing bridge restores its own MDC entries when the request scope closes
+            if (generated) {
+                MDC.remove(TRACE_ID_MDC);
+            }
+        }
+    }
+
+    /**
+     * Trace ID of the current span
+     *
+     * @return the trace ID, null without a span
+     */
+    private String currentTraceId() {
+        Tracer currentTracer = tracer.getIfAvailable();
+        Span span = currentTracer == null ? null : currentTracer.currentSpan();
+        if (span == null || span.isNoop()) {
+            return null;
         }
+        String traceId = span.context().traceId();
+        return traceId == null || traceId.isEmpty() ? null : traceId;
+    }
+
+    /**
+     * Random 128 bit trace ID in W3C form, 32 lower case hex characters
+     *
+     * @return the trace ID
+     */
+    static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return HEX.toHexDigits(random.nextLong()) + HEX.toHexDigits(random.nextLong());
     }
 }
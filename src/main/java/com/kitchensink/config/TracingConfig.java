@@ -0,0 +1,83 @@
+package com.kitchensink.config;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy;
+import ch.qos.logback.core.util.FileSize;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * The Class TracingConfig.
+ * Spans are exported over OTLP when management.otlp.tracing.endpoint is set. Without a collector they can be written
+ * as OTLP JSON lines to logs/kitchensink/spans.json instead, which any OTLP collector can replay.
+ *
+ * @author prerna
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Span exporter writing OTLP JSON lines through the spans logger, whose file is only opened here
+     *
+     * @param applicationName
+     *            the application name
+     * @return the span exporter
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tracing.export.file.enabled", havingValue = "true")
+    public SpanExporter fileSpanExporter(@Value("${spring.application.name}") String applicationName) {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext) {
+            Logger spansLogger = loggerContext.getLogger(OtlpJsonLoggingSpanExporter.class);
+            spansLogger.setLevel(Level.INFO);
+            spansLogger.setAdditive(false);
+            spansLogger.addAppender(spanFileAppender(loggerContext, "logs/" + applicationName));
+        }
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+
+    /**
+     * Rolling file appender writing one OTLP JSON batch per line
+     *
+     * @param loggerContext
+     *            the logger context
+     * @param directory
+     *            the log directory
+     * @return the started appender
+     */
+    private static RollingFileAppender<ILoggingEvent> spanFileAppender(LoggerContext loggerContext,
+        String directory) {
+        RollingFileAppender<ILoggingEvent> appender = new RollingFileAppender<>();
+        appender.setContext(loggerContext);
+        appender.setName("spanFileAppender");
+        appender.setFile(directory + "/spans.json");
+
+        SizeAndTimeBasedRollingPolicy<ILoggingEvent> rollingPolicy = new SizeAndTimeBasedRollingPolicy<>();
+        rollingPolicy.setContext(loggerContext);
+        rollingPolicy.setParent(appender);
+        rollingPolicy.setFileNamePattern(directory + "/spans_%d{yyyy-MM-dd}_%i.json.gz");
+        rollingPolicy.setMaxFileSize(FileSize.valueOf("50MB"));
+        rollingPolicy.setMaxHistory(3);
+        rollingPolicy.setTotalSizeCap(FileSize.valueOf("500MB"));
+        rollingPolicy.start();
+        appender.setRollingPolicy(rollingPolicy);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%msg%n");
+        encoder.start();
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+}
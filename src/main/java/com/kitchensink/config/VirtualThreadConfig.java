@@ -0,0 +1,91 @@
+package com.kitchensink.config;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class VirtualThreadConfig.
+ * With {@code spring.threads.virtual.enabled} Spring Boot runs Tomcat request handling, the {@code @Async} executor
+ * and the scheduler on virtual threads. The startup check fails fast when the mode is requested but not in effect.
+ *
+ * @author prerna
+ */
+@Configuration
+@EnableAsync
+@Slf4j
+public class VirtualThreadConfig {
+
+    /** The virtual threads enabled */
+    private final boolean virtualThreadsEnabled;
+
+    /**
+     * VirtualThreadConfig constructor
+     *
+     * @param virtualThreadsEnabled
+     *            the virtual threads enabled
+     */
+    public VirtualThreadConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+
+    /**
+     * Verify the thread mode once the application is ready
+     *
+     * @param event
+     *            the application ready event
+     */
+    @EventListener
+    public void verifyThreadMode(ApplicationReadyEvent event) {
+        if (!virtualThreadsEnabled) {
+            log.info("Running on platform threads, set spring.threads.virtual.enabled=true for virtual threads");
+            return;
+        }
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads require Java 21, running on " + Runtime.version());
+        }
+        ApplicationContext context = event.getApplicationContext();
+        if (!isAsyncExecutorVirtual(context)) {
+            throw new IllegalStateException("Virtual threads are enabled but @Async tasks run on platform threads");
+        }
+        if (context instanceof WebServerApplicationContext webContext && webContext
+            .getWebServer() instanceof TomcatWebServer tomcat) {
+            Connector connector = tomcat.getTomcat().getConnector();
+            if (!(connector.getProtocolHandler().getExecutor() instanceof VirtualThreadExecutor)) {
+                throw new IllegalStateException("Virtual threads are enabled but Tomcat uses "
+                    + connector.getProtocolHandler().getExecutor());
+            }
+        }
+        log.info("Running on virtual threads, pinning diagnostics available at /actuator/pinning");
+    }
+
+    private static boolean isAsyncExecutorVirtual(ApplicationContext context) {
+        AsyncTaskExecutor executor = context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncTaskExecutor.class);
+        try {
+            return executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Unable to probe the task executor: {}", e.getMessage());
+            return false;
+        }
+    }
+
+}
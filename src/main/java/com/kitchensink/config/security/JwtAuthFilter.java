@@ -4,20 +4,21 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kitchensink.enums.ErrorType;
 import com.kitchensink.exception.AppAuthenticationException;
+import com.kitchensink.exception.ErrorReporter;
+import com.kitchensink.service.impl.AuthServiceImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.GenericFilterBean;
@@ -33,33 +34,39 @@ import java.util.Map;
  * @author prerna
  */
 @Component
-@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JwtAuthFilter extends GenericFilterBean {
 
     /** The jwt token provider */
     private final JwtTokenProvider jwtTokenProvider;
 
-    /** The user details service */
-    private final UserDetailsService userDetailsService;
+    /** The auth service */
+    private final AuthServiceImpl authService;
 
     /** The object mapper */
     private final ObjectMapper objectMapper;
 
+    /** The error reporter */
+    private final ErrorReporter errorReporter;
+
     /**
      * JWTAuthFilter constructor
      *
      * @param jwtTokenProvider
      *            the jwt token provider
-     * @param userDetailsService
-     *            the user details service
+     * @param authService
+     *            the auth service
      * @param objectMapper
      *            the object mapper
+     * @param errorReporter
+     *            the error reporter
      */
-    public JwtAuthFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService,
-        ObjectMapper objectMapper) {
+    public JwtAuthFilter(JwtTokenProvider jwtTokenProvider, AuthServiceImpl authService,
+        ObjectMapper objectMapper, ErrorReporter errorReporter) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.userDetailsService = userDetailsService;
+        this.authService = authService;
         this.objectMapper = objectMapper;
+        this.errorReporter = errorReporter;
     }
 
     /**
@@ -82,7 +89,7 @@ public class JwtAuthFilter extends GenericFilterBean {
             if (token != null) {
                 jwtTokenProvider.validateAccessToken(token);
                 String username = jwtTokenProvider.getUsernameFromToken(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = authService.loadTokenUser(username);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -91,14 +98,14 @@ public class JwtAuthFilter extends GenericFilterBean {
             filterChain.doFilter(request, response);
             resetAuthenticationAfterRequest();
         } catch (AuthenticationException | AppAuthenticationException e) {
-            logger.error("Authentication error:", e);
+            errorReporter.report(e, errorType(e), HttpStatus.UNAUTHORIZED);
             response.addCookie(getCookie("access_token", "", 0)); // Clear access token cookie
             response.addCookie(getCookie("refresh_token", "", 0)); // Clear refresh token cookie
             response.setContentType(MediaType.APPLICATION_JSON_VALUE);
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write(getErrorBody(e.getMessage(), HttpStatus.UNAUTHORIZED));
         } catch (Exception e) {
-            logger.error("Authentication error:", e);
+            errorReporter.report(e, ErrorType.UNKNOWN, HttpStatus.INTERNAL_SERVER_ERROR);
             response.setContentType(MediaType.APPLICATION_JSON_VALUE);
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             response.getWriter().write(getErrorBody("An error occurred while processing the request",
@@ -143,14 +150,14 @@ public class JwtAuthFilter extends GenericFilterBean {
             try {
                 jwtTokenProvider.validateRefreshToken(null, refreshToken);
                 String username = jwtTokenProvider.getUsernameFromToken(refreshToken);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = authService.loadTokenUser(username);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                     userDetails, null, userDetails.getAuthorities());
                 accessToken = jwtTokenProvider.generateAccessToken(authentication);
                 // add cookie back to response
                 response.addCookie(getCookie("access_token", accessToken, jwtTokenProvider.getJwtAccessExpiration().getSeconds()));
             } catch (AuthenticationException e) {
-                log.error("Invalid refresh token: {}", refreshToken, e);
+                errorReporter.report(e, ErrorType.TOKEN_INVALID, HttpStatus.UNAUTHORIZED);
                 return null;
             }
         }
@@ -177,6 +184,18 @@ public class JwtAuthFilter extends GenericFilterBean {
         return objectMapper.writeValueAsString(body);
     }
 
+    /**
+     * Error type of an authentication failure
+     *
+     * @param exception
+     *            the exception
+     * @return error type
+     */
+    static ErrorType errorType(Exception exception) {
+        return exception instanceof AppAuthenticationException appAuthenticationException ? appAuthenticationException
+            .getErrorType() : ErrorType.MEMBER_NOT_AUTHENTICATED;
+    }
+
     private Cookie getCookie(String name, String value, long maxAge) {
         Cookie cookie = new Cookie(name, value);
         cookie.setHttpOnly(true);
@@ -0,0 +1,200 @@
+package com.kitchensink.config.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitchensink.enums.ErrorType;
+import com.kitchensink.exception.AppAuthenticationException;
+import com.kitchensink.exception.ErrorReporter;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The Class JwtAuthWebFilter.
+ * WebFlux port of {@link JwtAuthFilter}. The authentication is written to the reactor context instead of the
+ * thread bound security context, and the member is loaded through the reactive repository. It is not a bean, so
+ * WebFlux does not register it a second time outside the security filter chain.
+ *
+ * @author prerna
+ */
+public class JwtAuthWebFilter implements WebFilter {
+
+    /** The jwt token provider */
+    private final JwtTokenProvider jwtTokenProvider;
+
+    /** The reactive user details service */
+    private final ReactiveUserDetailsService userDetailsService;
+
+    /** The object mapper */
+    private final ObjectMapper objectMapper;
+
+    /** The error reporter */
+    private final ErrorReporter errorReporter;
+
+    /**
+     * JwtAuthWebFilter constructor
+     *
+     * @param jwtTokenProvider
+     *            the jwt token provider
+     * @param userDetailsService
+     *            the reactive user details service
+     * @param objectMapper
+     *            the object mapper
+     * @param errorReporter
+     *            the error reporter
+     */
+    public JwtAuthWebFilter(JwtTokenProvider jwtTokenProvider, ReactiveUserDetailsService userDetailsService,
+        ObjectMapper objectMapper, ErrorReporter errorReporter) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.objectMapper = objectMapper;
+        this.errorReporter = errorReporter;
+    }
+
+    /**
+     * Filter request
+     *
+     * @param exchange
+     *            the exchange
+     * @param chain
+     *            the filter chain
+     * @return completion
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // errors of the chain itself are left to the web handler, only authentication errors are answered here
+        return authenticate(exchange).map(Optional::of).defaultIfEmpty(Optional.empty()).onErrorResume(
+            e -> writeError(exchange, e).then(Mono.<Optional<Authentication>> empty())).flatMap(
+                authentication -> authentication.map(auth -> chain.filter(exchange).contextWrite(
+                    ReactiveSecurityContextHolder.withAuthentication(auth))).orElseGet(() -> chain.filter(exchange)));
+    }
+
+    /**
+     * Authenticate the request from its access token
+     *
+     * @param exchange
+     *            the exchange
+     * @return authentication, empty when the request carries no token
+     */
+    private Mono<Authentication> authenticate(ServerWebExchange exchange) {
+        return fetchAccessTokenFromRequestOrRefreshToken(exchange).flatMap(token -> {
+            jwtTokenProvider.validateAccessToken(token);
+            return userDetailsService.findByUsername(jwtTokenProvider.getUsernameFromToken(token));
+        }).map(JwtAuthWebFilter::toAuthentication);
+    }
+
+    /**
+     * Fetch Access token
+     *
+     * @param exchange
+     *            the exchange
+     * @return access token
+     */
+    private Mono<String> fetchAccessTokenFromRequestOrRefreshToken(ServerWebExchange exchange) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith("Bearer ")) {
+            return Mono.just(header.substring(7));
+        }
+        HttpCookie accessToken = exchange.getRequest().getCookies().getFirst("access_token");
+        if (accessToken != null) {
+            return Mono.just(accessToken.getValue());
+        }
+        HttpCookie refreshToken = exchange.getRequest().getCookies().getFirst("refresh_token");
+        if (refreshToken == null) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> {
+            jwtTokenProvider.validateRefreshToken(null, refreshToken.getValue());
+            return jwtTokenProvider.getUsernameFromToken(refreshToken.getValue());
+        }).flatMap(userDetailsService::findByUsername).map(userDetails -> {
+            String token = jwtTokenProvider.generateAccessToken(toAuthentication(userDetails));
+            // add cookie back to response
+            exchange.getResponse().addCookie(getCookie("access_token", token, jwtTokenProvider
+                .getJwtAccessExpiration()));
+            return token;
+        }).onErrorResume(AuthenticationException.class, e -> {
+            errorReporter.report(e, ErrorType.TOKEN_INVALID, HttpStatus.UNAUTHORIZED);
+            return Mono.empty();
+        });
+    }
+
+    /**
+     * Write the error response
+     *
+     * @param exchange
+     *            the exchange
+     * @param exception
+     *            the exception
+     * @return completion
+     */
+    private Mono<Void> writeError(ServerWebExchange exchange, Throwable exception) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        ErrorType errorType = ErrorType.UNKNOWN;
+        String message = "An error occurred while processing the request";
+        if (exception instanceof AuthenticationException || exception instanceof AppAuthenticationException) {
+            status = HttpStatus.UNAUTHORIZED;
+            errorType = exception instanceof AppAuthenticationException appAuthenticationException
+                ? appAuthenticationException.getErrorType() : ErrorType.MEMBER_NOT_AUTHENTICATED;
+            message = exception.getMessage();
+            response.addCookie(getCookie("access_token", "", Duration.ZERO)); // Clear access token cookie
+            response.addCookie(getCookie("refresh_token", "", Duration.ZERO)); // Clear refresh token cookie
+        }
+        errorReporter.report(exception, errorType, status);
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(getErrorBody(message, status))));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    /**
+     * Return Error
+     *
+     * @param message
+     *            the message
+     * @param status
+     *            the status
+     * @return error response
+     * @throws JsonProcessingException
+     */
+    private byte[] getErrorBody(String message, HttpStatus status) throws JsonProcessingException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now());
+        body.put("message", message);
+        body.put("errorType", status == HttpStatus.UNAUTHORIZED ? ErrorType.MEMBER_NOT_AUTHENTICATED
+            : ErrorType.UNKNOWN);
+        body.put("status", status.value());
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    private static Authentication toAuthentication(UserDetails userDetails) {
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private static ResponseCookie getCookie(String name, String value, Duration maxAge) {
+        return ResponseCookie.from(name, value).httpOnly(true).path("/").maxAge(maxAge).build();
+    }
+
+}
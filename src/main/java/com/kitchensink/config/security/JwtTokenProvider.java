@@ -9,6 +9,7 @@ import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -163,6 +164,7 @@ public class JwtTokenProvider {
      * @param token
      *            the token
      */
+    @Timed(value = "security.token.validation", extraTags = { "type", ACCESS_TOKEN })
     public void validateAccessToken(String token) {
         if (token == null || token.isEmpty()) {
             throw new AppAuthenticationException("Token is missing", ErrorType.TOKEN_NOT_FOUND);
@@ -177,6 +179,7 @@ public class JwtTokenProvider {
      * @param token
      *            the token
      */
+    @Timed(value = "security.token.validation", extraTags = { "type", REFRESH_TOKEN })
     public void validateRefreshToken(Authentication authentication, String token) {
         validateToken(authentication, token, REFRESH_TOKEN);
     }
@@ -211,7 +214,8 @@ public class JwtTokenProvider {
         } catch (ExpiredJwtException exception) {
             throw new AppAuthenticationException("Token is expired", ErrorType.TOKEN_EXPIRED);
         } catch (JwtException | IllegalArgumentException e) {
-            log.error("Invalid JWT Refresh token: {}", token, e);
+            // reported by the auth filter, forged tokens must not cost a stack trace each
+            log.debug("Invalid JWT {} token: {}", tokenType, e.getMessage());
             throw new AppAuthenticationException("Invalid Token", ErrorType.TOKEN_INVALID);
         }
     }
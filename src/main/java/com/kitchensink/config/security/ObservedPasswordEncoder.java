@@ -0,0 +1,66 @@
+package com.kitchensink.config.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * The Class ObservedPasswordEncoder.
+ * Records hashing and matching as spans, since BCrypt is deliberately the most expensive step of login and
+ * registration.
+ *
+ * @author prerna
+ */
+public class ObservedPasswordEncoder implements PasswordEncoder {
+
+    /** The Constant OBSERVATION_NAME */
+    static final String OBSERVATION_NAME = "password.encoder";
+
+    /** The delegate */
+    private final PasswordEncoder delegate;
+
+    /** The observation registry */
+    private final ObservationRegistry observationRegistry;
+
+    /**
+     * ObservedPasswordEncoder constructor
+     *
+     * @param delegate
+     *            the password encoder doing the work
+     * @param observationRegistry
+     *            the observation registry
+     */
+    public ObservedPasswordEncoder(PasswordEncoder delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return observation("encode").observe(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return Boolean.TRUE.equals(observation("matches").observe(() -> delegate.matches(rawPassword,
+            encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Observation of one operation
+     *
+     * @param operation
+     *            the operation
+     * @return the observation
+     */
+    private Observation observation(String operation) {
+        return Observation.createNotStarted(OBSERVATION_NAME, observationRegistry).contextualName("password "
+            + operation).lowCardinalityKeyValue("operation", operation);
+    }
+}
@@ -0,0 +1,184 @@
+package com.kitchensink.config.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitchensink.exception.ErrorReporter;
+import com.kitchensink.exception.ReactiveExceptionAdvice;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ObservationAuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import reactor.core.publisher.Mono;
+
+/**
+ * The Class ReactiveSecurityConfig.
+ * Security of the reactive stack. Role checks are declared on the paths since method security only sees the thread
+ * bound security context.
+ *
+ * @author prerna
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    /** The allowed origins */
+    private final String allowedOrigins;
+
+    /**
+     * ReactiveSecurityConfig constructor
+     *
+     * @param allowedOrigins
+     *            the allowed origins
+     */
+    public ReactiveSecurityConfig(
+        @Value("${cors.allowed-origins:${CORS_ALLOWED_ORIGINS:http://localhost:4200}}") String allowedOrigins) {
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    /**
+     * Password Encoder.
+     *
+     * @param observationRegistry
+     *            the observation registry
+     * @return the password encoder
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(ObservationRegistry observationRegistry) {
+        return new ObservedPasswordEncoder(new BCryptPasswordEncoder(), observationRegistry);
+    }
+
+    /**
+     * Authentication manager used by login and registration, which stay blocking.
+     *
+     * @param userDetailsService
+     *            the user details service
+     * @param passwordEncoder
+     *            the password encoder
+     * @param observationRegistry
+     *            the observation registry
+     * @return the authentication manager
+     */
+    @Bean
+    AuthenticationManager authenticationManager(UserDetailsService userDetailsService,
+        PasswordEncoder passwordEncoder, ObservationRegistry observationRegistry) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return new ObservationAuthenticationManager(observationRegistry, new ProviderManager(provider));
+    }
+
+    /**
+     * Filter chain of the Prometheus scrape, ahead of the application one: HTTP Basic for the scrape user, or an admin
+     * token, as on the servlet stack.
+     *
+     * @param http
+     *            the http
+     * @param passwordEncoder
+     *            the password encoder
+     * @param jwtTokenProvider
+     *            the jwt token provider
+     * @param userDetailsService
+     *            the reactive user details service
+     * @param objectMapper
+     *            the object mapper
+     * @param errorReporter
+     *            the error reporter
+     * @param username
+     *            the scrape username
+     * @param password
+     *            the scrape password, no scrape user when blank
+     * @return the security web filter chain
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityWebFilterChain metricsWebFilterChain(ServerHttpSecurity http, PasswordEncoder passwordEncoder,
+        JwtTokenProvider jwtTokenProvider, ReactiveUserDetailsService userDetailsService, ObjectMapper objectMapper,
+        ErrorReporter errorReporter, @Value("${metrics.scrape.username:prometheus}") String username,
+        @Value("${metrics.scrape.password:}") String password) {
+        UserDetails[] scrapeUsers = SecurityConfig.scrapeUsers(username, password, passwordEncoder);
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+            new UserDetailsRepositoryReactiveAuthenticationManager(scrapeUsers.length == 0 ? name -> Mono.empty()
+                : new MapReactiveUserDetailsService(scrapeUsers));
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        http.securityMatcher(ServerWebExchangeMatchers.pathMatchers(SecurityConfig.PROMETHEUS_URL))
+            .csrf(ServerHttpSecurity.CsrfSpec::disable).httpBasic(basic -> basic.authenticationManager(
+                authenticationManager)).formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .logout(ServerHttpSecurity.LogoutSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .authorizeExchange(exchange -> exchange.anyExchange().hasAnyRole(SecurityConfig.METRICS_ROLE, "ADMIN"))
+            .addFilterAt(new JwtAuthWebFilter(jwtTokenProvider, userDetailsService, objectMapper, errorReporter),
+                SecurityWebFiltersOrder.AUTHENTICATION);
+
+        return http.build();
+    }
+
+    /**
+     * Filter Chain
+     *
+     * @param http
+     *            the http
+     * @param jwtTokenProvider
+     *            the jwt token provider
+     * @param userDetailsService
+     *            the reactive user details service
+     * @param objectMapper
+     *            the object mapper
+     * @param exceptionAdvice
+     *            the reactive exception advice
+     * @param errorReporter
+     *            the error reporter
+     * @return the security web filter chain
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtTokenProvider jwtTokenProvider,
+        ReactiveUserDetailsService userDetailsService, ObjectMapper objectMapper,
+        ReactiveExceptionAdvice exceptionAdvice, ErrorReporter errorReporter) {
+        http.csrf(ServerHttpSecurity.CsrfSpec::disable).cors(cors -> cors.configurationSource(
+            corsConfigurationSource())).httpBasic(ServerHttpSecurity.HttpBasicSpec::disable).formLogin(
+                ServerHttpSecurity.FormLoginSpec::disable).logout(ServerHttpSecurity.LogoutSpec::disable)
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .authorizeExchange(exchange -> exchange.pathMatchers(SecurityConfig.PUBLIC_URLS).permitAll()
+                .pathMatchers(SecurityConfig.ACTUATOR_URLS).hasRole("ADMIN").pathMatchers("/api/members/current")
+                .authenticated().pathMatchers("/api/members/**").hasRole("ADMIN").anyExchange().authenticated())
+            .addFilterAt(new JwtAuthWebFilter(jwtTokenProvider, userDetailsService, objectMapper, errorReporter),
+                SecurityWebFiltersOrder.AUTHENTICATION)
+            .exceptionHandling(conf -> conf.authenticationEntryPoint(exceptionAdvice).accessDeniedHandler(
+                exceptionAdvice));
+
+        return http.build();
+    }
+
+    /**
+     * Cors Configuration Source
+     *
+     * @return the cors configuration source
+     */
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", SecurityConfig.corsConfiguration(allowedOrigins));
+        return source;
+    }
+}
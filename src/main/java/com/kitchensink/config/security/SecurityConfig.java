@@ -1,19 +1,30 @@
 package com.kitchensink.config.security;
 
 import com.kitchensink.exception.ExceptionAdvice;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ObservationAuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -26,13 +37,23 @@ import java.util.List;
  * @author prerna
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Slf4j
 public class SecurityConfig {
 
     /** The Constant PUBLIC_URLS */
     public static final String[] PUBLIC_URLS = { "/api/auth/login", "/api/auth/register", "/api/token",
             "/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**", "/v3/api-docs", "/v3/api-docs/swagger-config",
-            "/actuator/**", "/api/version" };
+            "/openapi.json", "/actuator/health", "/actuator/health/**", "/actuator/info", "/api/version" };
+
+    /** The actuator endpoints other than health and info, restricted to admins */
+    public static final String ACTUATOR_URLS = "/actuator/**";
+
+    /** The Constant PROMETHEUS_URL, the scrape endpoint, open to admins and to the scrape user */
+    public static final String PROMETHEUS_URL = "/actuator/prometheus";
+
+    /** The Constant METRICS_ROLE, the role of the scrape user */
+    public static final String METRICS_ROLE = "METRICS";
 
     /** The jwt auth filter */
     private final JwtAuthFilter jwtAuthFilter;
@@ -57,11 +78,13 @@ public class SecurityConfig {
     /**
      * Password Encoder.
      *
+     * @param observationRegistry
+     *            the observation registry
      * @return the password encoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ObservationRegistry observationRegistry) {
+        return new ObservedPasswordEncoder(new BCryptPasswordEncoder(), observationRegistry);
     }
 
     /**
@@ -69,13 +92,49 @@ public class SecurityConfig {
      *
      * @param authConfig
      *            the auth config
+     * @param observationRegistry
+     *            the observation registry
      * @return the authentication manager
      * @throws Exception
      *             the exception
      */
     @Bean
-    AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig) throws Exception {
-        return authConfig.getAuthenticationManager();
+    AuthenticationManager authenticationManager(AuthenticationConfiguration authConfig,
+        ObservationRegistry observationRegistry) throws Exception {
+        return new ObservationAuthenticationManager(observationRegistry, authConfig.getAuthenticationManager());
+    }
+
+    /**
+     * Filter chain of the Prometheus scrape, ahead of the application one. Prometheus cannot refresh a JWT, so it
+     * authenticates with HTTP Basic as the scrape user; admins keep their token.
+     *
+     * @param http
+     *            the http
+     * @param passwordEncoder
+     *            the password encoder
+     * @param username
+     *            the scrape username
+     * @param password
+     *            the scrape password, no scrape user when blank
+     * @return the security filter chain
+     * @throws Exception
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http, PasswordEncoder passwordEncoder,
+        @Value("${metrics.scrape.username:prometheus}") String username,
+        @Value("${metrics.scrape.password:}") String password) throws Exception {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(scrapeUsers(username, password,
+            passwordEncoder)));
+        provider.setPasswordEncoder(passwordEncoder);
+        http.securityMatcher(PROMETHEUS_URL).csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authenticationManager(new ProviderManager(provider)).httpBasic(Customizer.withDefaults())
+            .authorizeHttpRequests(auth -> auth.anyRequest().hasAnyRole(METRICS_ROLE, "ADMIN"))
+            .addFilterBefore(jwtAuthFilter, BasicAuthenticationFilter.class);
+
+        return http.build();
     }
 
     /**
@@ -90,7 +149,8 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http, ExceptionAdvice exceptionAdvice) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable).cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .authorizeHttpRequests(auth -> auth.requestMatchers(PUBLIC_URLS).permitAll().anyRequest().authenticated())
+            .authorizeHttpRequests(auth -> auth.requestMatchers(PUBLIC_URLS).permitAll().requestMatchers(ACTUATOR_URLS)
+                .hasRole("ADMIN").anyRequest().authenticated())
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling(conf -> conf.authenticationEntryPoint(exceptionAdvice));
 
@@ -104,19 +164,48 @@ public class SecurityConfig {
      */
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration(allowedOrigins));
+        return source;
+    }
+
+    /**
+     * The Prometheus scrape user shared by the servlet and the reactive stack, none without a password
+     *
+     * @param username
+     *            the scrape username
+     * @param password
+     *            the scrape password
+     * @param passwordEncoder
+     *            the password encoder
+     * @return the scrape users
+     */
+    static UserDetails[] scrapeUsers(String username, String password, PasswordEncoder passwordEncoder) {
+        if (password.isBlank()) {
+            return new UserDetails[0];
+        }
+        return new UserDetails[] { User.withUsername(username).password(passwordEncoder.encode(password)).roles(
+            METRICS_ROLE).build() };
+    }
+
+    /**
+     * Cors Configuration shared by the servlet and the reactive stack
+     *
+     * @param allowedOrigins
+     *            the allowed origins
+     * @return the cors configuration
+     */
+    static CorsConfiguration corsConfiguration(String allowedOrigins) {
         CorsConfiguration config = new CorsConfiguration();
         List<String> origins = List.of(allowedOrigins.trim().split("\\s*,\\s*"));
         config.setAllowedOriginPatterns(origins);
-        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
         config.setAllowCredentials(true);
 
         log.info("[CORS] Allowed Origins/Patterns: {}", origins);
         log.info("[CORS] Allow Credentials: {}", config.getAllowCredentials());
         log.info("[CORS] Allowed Methods: {}", config.getAllowedMethods());
-
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", config);
-        return source;
+        return config;
     }
 }
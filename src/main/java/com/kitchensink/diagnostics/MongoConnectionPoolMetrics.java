@@ -0,0 +1,132 @@
+package com.kitchensink.diagnostics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionPoolClearedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import com.mongodb.event.ConnectionReadyEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The Class MongoConnectionPoolMetrics.
+ * Records the connection pool events the driver gauges (mongodb.driver.pool.*) do not show: how long a command waits
+ * to check out a connection and why it fails to, how long a new connection takes to be ready, and why connections are
+ * closed or the pool is cleared. All meters are tagged with the server address.
+ *
+ * @author prerna
+ */
+public class MongoConnectionPoolMetrics implements ConnectionPoolListener {
+
+    /** The Constant CHECKOUT_METRIC */
+    static final String CHECKOUT_METRIC = "mongodb.pool.checkout";
+
+    /** The Constant ESTABLISH_METRIC */
+    static final String ESTABLISH_METRIC = "mongodb.pool.connection.establish";
+
+    /** The Constant CLOSED_METRIC */
+    static final String CLOSED_METRIC = "mongodb.pool.connections.closed";
+
+    /** The Constant CLEARED_METRIC */
+    static final String CLEARED_METRIC = "mongodb.pool.cleared";
+
+    /** The Constant SERVER_TAG */
+    private static final String SERVER_TAG = "server.address";
+
+    /** The meter registry */
+    private final MeterRegistry meterRegistry;
+
+    /** The successful checkout timers by server, every command checks out a connection */
+    private final Map<ServerId, Timer> checkouts = new ConcurrentHashMap<>();
+
+    /**
+     * MongoConnectionPoolMetrics constructor
+     *
+     * @param meterRegistry
+     *            the meter registry
+     */
+    public MongoConnectionPoolMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Time a successful checkout
+     *
+     * @param event
+     *            the event
+     */
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkouts.computeIfAbsent(event.getConnectionId().getServerId(), serverId -> checkoutTimer(serverId,
+            "success")).record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time a failed checkout, tagged with the reason (timeout, connection_error, pool_closed)
+     *
+     * @param event
+     *            the event
+     */
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkoutTimer(event.getServerId(), event.getReason().name().toLowerCase(Locale.ROOT)).record(event
+            .getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time the establishment of a new connection, handshake and authentication included
+     *
+     * @param event
+     *            the event
+     */
+    @Override
+    public void connectionReady(ConnectionReadyEvent event) {
+        Timer.builder(ESTABLISH_METRIC).description("Time to open and authenticate a new connection").tag(SERVER_TAG,
+            address(event.getConnectionId().getServerId())).register(meterRegistry).record(event.getElapsedTime(
+                TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Count a closed connection, tagged with the reason (stale, idle, error, pool_closed)
+     *
+     * @param event
+     *            the event
+     */
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        Counter.builder(CLOSED_METRIC).description("Connections closed by the pool").tag(SERVER_TAG, address(event
+            .getConnectionId().getServerId())).tag("reason", event.getReason().name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry).increment();
+    }
+
+    /**
+     * Count a pool clear, all its connections become stale
+     *
+     * @param event
+     *            the event
+     */
+    @Override
+    public void connectionPoolCleared(ConnectionPoolClearedEvent event) {
+        Counter.builder(CLEARED_METRIC).description("Connection pool clears after a server error").tag(SERVER_TAG,
+            address(event.getServerId())).register(meterRegistry).increment();
+    }
+
+    private Timer checkoutTimer(ServerId serverId, String outcome) {
+        return Timer.builder(CHECKOUT_METRIC).description("Time waited for a pooled connection").tag(SERVER_TAG,
+            address(serverId)).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    private static String address(ServerId serverId) {
+        return serverId.getAddress().toString();
+    }
+
+}
@@ -0,0 +1,582 @@
+package com.kitchensink.diagnostics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bson.BsonArray;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class MongoSlowQueryMonitor.
+ * Listens to every Mongo command and records the documents returned or written and the request and reply sizes as
+ * histograms; the latency is already timed by the driver metrics as mongodb.driver.commands. Commands slower than the
+ * threshold are logged with their filter shape, all values redacted, and aggregated per shape. Read shapes are
+ * explained in the background (queryPlanner, nothing is executed) and the report is served at
+ * {@code /actuator/mongoqueries}.
+ *
+ * @author prerna
+ */
+@Component
+@Endpoint(id = "mongoqueries")
+@ConditionalOnProperty(name = "diagnostics.mongo.enabled", matchIfMissing = true)
+@Slf4j
+public class MongoSlowQueryMonitor implements CommandListener {
+
+    /** The Constant DOCUMENTS_METRIC */
+    static final String DOCUMENTS_METRIC = "mongodb.commands.documents";
+
+    /** The Constant REQUEST_BYTES_METRIC */
+    static final String REQUEST_BYTES_METRIC = "mongodb.commands.request.size";
+
+    /** The Constant REPLY_BYTES_METRIC */
+    static final String REPLY_BYTES_METRIC = "mongodb.commands.reply.size";
+
+    /** The Constant SLOW_METRIC */
+    static final String SLOW_METRIC = "mongodb.commands.slow";
+
+    /** The Constant REDACTED */
+    static final String REDACTED = "?";
+
+    /** The Constant MAX_SHAPES */
+    private static final int MAX_SHAPES = 200;
+
+    /** The Constant MAX_PENDING */
+    private static final int MAX_PENDING = 10_000;
+
+    /** The Constant EXPLAINABLE, read commands that can be explained without side effects */
+    private static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct");
+
+    /** The Constant KEPT_FIELDS, the command fields kept for the shape and the explain */
+    private static final List<String> KEPT_FIELDS = List.of("filter", "query", "pipeline", "sort", "projection",
+        "key", "hint", "collation", "limit", "skip");
+
+    /** The Constant PLAN_FIELDS, the plan fields kept in the report, bounds and parsed values are dropped */
+    private static final Set<String> PLAN_FIELDS = Set.of("stage", "indexName", "keyPattern", "isMultiKey",
+        "direction", "filter", "inputStage", "inputStages");
+
+    /** The meter registry */
+    private final MeterRegistry meterRegistry;
+
+    /** The mongo template, used for explain only */
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+
+    /** The threshold above which a command is slow */
+    private final Duration threshold;
+
+    /** The minimum time between two explains of a shape */
+    private final Duration explainInterval;
+
+    /** The commands in flight by request id */
+    private final Map<Integer, PendingCommand> pending = new ConcurrentHashMap<>();
+
+    /** The slow shapes by key */
+    private final Map<String, SlowShape> shapes = new ConcurrentHashMap<>();
+
+    /** The slow commands dropped because the shape table is full */
+    private final LongAdder dropped = new LongAdder();
+
+    /** The explain executor, one thread and a short queue so explains never pile up */
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "mongo-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+
+    /** The start of the current report */
+    private volatile Instant since = Instant.now();
+
+    /**
+     * MongoSlowQueryMonitor constructor
+     *
+     * @param meterRegistry
+     *            the meter registry
+     * @param mongoTemplate
+     *            the mongo template
+     * @param threshold
+     *            the threshold above which a command is slow
+     * @param explainInterval
+     *            the minimum time between two explains of a shape
+     */
+    public MongoSlowQueryMonitor(MeterRegistry meterRegistry, ObjectProvider<MongoTemplate> mongoTemplate,
+        @Value("${diagnostics.mongo.slow-threshold:100ms}") Duration threshold,
+        @Value("${diagnostics.mongo.explain-interval:10m}") Duration explainInterval) {
+        this.meterRegistry = meterRegistry;
+        this.mongoTemplate = mongoTemplate;
+        this.threshold = threshold;
+        this.explainInterval = explainInterval;
+    }
+
+    /**
+     * Stop explaining
+     */
+    @PreDestroy
+    public void stop() {
+        explainExecutor.shutdownNow();
+    }
+
+    /**
+     * Slow query report, slowest shapes first
+     *
+     * @return the slow query report
+     */
+    @ReadOperation
+    public SlowQueryReport report() {
+        List<SlowShapeReport> shapeReports = shapes.values().stream().map(SlowShape::toReport).sorted(Comparator
+            .comparingLong(SlowShapeReport::maxMillis).reversed()).toList();
+        return new SlowQueryReport(since, threshold.toMillis(), dropped.sum(), shapeReports);
+    }
+
+    /**
+     * Clear the slow query report
+     */
+    @DeleteOperation
+    public void reset() {
+        shapes.clear();
+        dropped.reset();
+        since = Instant.now();
+    }
+
+    /**
+     * Remember what the reply cannot tell: the collection, the request size and the fields of the filter shape
+     *
+     * @param event
+     *            the command started event
+     */
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (pending.size() >= MAX_PENDING) {
+            return;
+        }
+        String commandName = event.getCommandName();
+        BsonDocument command = event.getCommand();
+        BsonValue target = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        String collection = target != null && target.isString() ? target.asString().getValue() : "none";
+        int requestBytes = sizeInBytes(command);
+        if (requestBytes >= 0) {
+            summary(REQUEST_BYTES_METRIC, commandName, collection, "bytes").record(requestBytes);
+        }
+        BsonDocument kept = null;
+        if (EXPLAINABLE.contains(commandName) || "findAndModify".equals(commandName)) {
+            kept = new BsonDocument(commandName, new BsonString(collection));
+            for (String field : KEPT_FIELDS) {
+                BsonValue value = command.get(field);
+                if (value != null) {
+                    // nested values may still be backed by the driver's pooled buffer
+                    kept.put(field, value.isDocument() || value.isArray() ? copy(value) : value);
+                }
+            }
+        }
+        pending.put(event.getRequestId(), new PendingCommand(collection, kept));
+    }
+
+    /**
+     * Record the reply and report the command when it was slow
+     *
+     * @param event
+     *            the command succeeded event
+     */
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        PendingCommand command = pending.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        String commandName = event.getCommandName();
+        BsonDocument response = event.getResponse();
+        int replyBytes = sizeInBytes(response);
+        if (replyBytes >= 0) {
+            summary(REPLY_BYTES_METRIC, commandName, command.collection(), "bytes").record(replyBytes);
+        }
+        int documents = documents(commandName, response);
+        if (documents >= 0) {
+            summary(DOCUMENTS_METRIC, commandName, command.collection(), "documents").record(documents);
+        }
+        onCompleted(event.getDatabaseName(), commandName, command, event.getElapsedTime(TimeUnit.NANOSECONDS),
+            documents);
+    }
+
+    /**
+     * Report the command when it was slow
+     *
+     * @param event
+     *            the command failed event
+     */
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        PendingCommand command = pending.remove(event.getRequestId());
+        if (command != null) {
+            onCompleted(event.getDatabaseName(), event.getCommandName(), command, event.getElapsedTime(
+                TimeUnit.NANOSECONDS), -1);
+        }
+    }
+
+    /**
+     * Log and aggregate a slow command, and explain its shape when due
+     */
+    private void onCompleted(String database, String commandName, PendingCommand command, long elapsedNanos,
+        int documents) {
+        if (elapsedNanos < threshold.toNanos() || "explain".equals(commandName)) {
+            return;
+        }
+        Counter.builder(SLOW_METRIC).tag("command", commandName).tag("collection", command.collection())
+            .description("Mongo commands slower than the slow query threshold").register(meterRegistry).increment();
+        String shape = command.kept() == null ? "{}" : shape(command.kept());
+        log.warn("Slow mongo {} on {}.{} took {} ms, {} documents: {}", commandName, database, command
+            .collection(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), documents, shape);
+
+        String key = database + "." + command.collection() + " " + commandName + " " + shape;
+        SlowShape slowShape = shapes.get(key);
+        if (slowShape == null) {
+            if (shapes.size() >= MAX_SHAPES) {
+                dropped.increment();
+                return;
+            }
+            slowShape = shapes.computeIfAbsent(key, k -> new SlowShape(database, command.collection(), commandName,
+                shape));
+        }
+        slowShape.add(elapsedNanos);
+        if (EXPLAINABLE.contains(commandName) && slowShape.explainDue(System.nanoTime(), explainInterval.toNanos())) {
+            SlowShape explained = slowShape;
+            explainExecutor.execute(() -> explain(explained, command.kept()));
+        }
+    }
+
+    /**
+     * Explain a shape with the command that was slow, keeping only the redacted plan tree
+     *
+     * @param slowShape
+     *            the slow shape
+     * @param command
+     *            the command
+     */
+    void explain(SlowShape slowShape, BsonDocument command) {
+        MongoTemplate template = mongoTemplate.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+        try {
+            BsonDocument explainable = command.clone();
+            if ("aggregate".equals(slowShape.command)) {
+                explainable.put("cursor", new BsonDocument());
+            }
+            Document result = template.getMongoDatabaseFactory().getMongoDatabase(slowShape.database).runCommand(
+                new BsonDocument("explain", explainable).append("verbosity", new BsonString("queryPlanner")));
+            Object winningPlan = winningPlan(result);
+            slowShape.explained(winningPlan instanceof Document plan ? redactPlan(plan) : Map.of(), planSummary(
+                winningPlan));
+        } catch (RuntimeException e) {
+            log.debug("Explain of {} failed: {}", slowShape.shape, e.getMessage());
+            slowShape.explained(Map.of("error", String.valueOf(e.getMessage())), "unavailable");
+        }
+    }
+
+    /**
+     * The shape of a command: field names and operators kept, every value replaced by {@value #REDACTED}
+     *
+     * @param command
+     *            the kept command fields
+     * @return the shape
+     */
+    static String shape(BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : command.entrySet()) {
+            String field = entry.getKey();
+            if (!KEPT_FIELDS.contains(field) || "limit".equals(field) || "skip".equals(field)) {
+                continue;
+            }
+            // sort directions, projections and hints are part of the shape, not user data
+            boolean keepValues = "sort".equals(field) || "projection".equals(field) || "hint".equals(field);
+            shape.put(field, redact(entry.getValue(), keepValues));
+        }
+        return shape.toJson();
+    }
+
+    /**
+     * Redact a value: documents and arrays of documents keep their structure, everything else becomes
+     * {@value #REDACTED}
+     */
+    private static BsonValue redact(BsonValue value, boolean keepValues) {
+        if (value.isDocument()) {
+            BsonDocument redacted = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> redacted.put(key, redact(nested, keepValues)));
+            return redacted;
+        }
+        if (value.isArray()) {
+            BsonArray array = value.asArray();
+            if (array.stream().noneMatch(BsonValue::isDocument)) {
+                // $in lists and the like: the number of values is data too
+                return keepValues ? array : new BsonArray(List.of(new BsonString(REDACTED)));
+            }
+            BsonArray redacted = new BsonArray();
+            array.forEach(nested -> redacted.add(redact(nested, keepValues)));
+            return redacted;
+        }
+        return keepValues ? value : new BsonString(REDACTED);
+    }
+
+    /**
+     * Documents returned by a cursor command or written by a write command
+     *
+     * @return the documents, -1 when the command has none
+     */
+    static int documents(String commandName, BsonDocument response) {
+        switch (commandName) {
+            case "find", "aggregate", "getMore" -> {
+                BsonDocument cursor = response.getDocument("cursor", null);
+                BsonArray batch = cursor == null ? null : cursor.getArray("getMore".equals(commandName) ? "nextBatch"
+                    : "firstBatch", null);
+                return batch == null ? -1 : batch.size();
+            }
+            case "insert", "update", "delete" -> {
+                return response.getInt32("n", new BsonInt32(-1)).getValue();
+            }
+            default -> {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Size of a document as sent or received, read from its length prefix without decoding it
+     *
+     * @return the size in bytes, -1 for a decoded document
+     */
+    static int sizeInBytes(BsonDocument document) {
+        if (document instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        try (BsonReader reader = document.asBsonReader()) {
+            return reader instanceof BsonBinaryReader binaryReader ? binaryReader.getBsonInput().readInt32() : -1;
+        }
+    }
+
+    private static BsonValue copy(BsonValue value) {
+        return value.isDocument() ? value.asDocument().clone() : value.asArray().clone();
+    }
+
+    private DistributionSummary summary(String name, String commandName, String collection, String baseUnit) {
+        return DistributionSummary.builder(name).tag("command", commandName).tag("collection", collection)
+            .baseUnit(baseUnit).register(meterRegistry);
+    }
+
+    /**
+     * The winning plan, classic or slot based engine
+     */
+    private static Object winningPlan(Document result) {
+        Object queryPlanner = result.get("queryPlanner");
+        if (queryPlanner == null && result.get("stages") instanceof List<?> stages && !stages.isEmpty()
+            && stages.get(0) instanceof Document firstStage && firstStage.get("$cursor") instanceof Document cursor) {
+            // aggregations explain the query of their first stage
+            queryPlanner = cursor.get("queryPlanner");
+        }
+        if (!(queryPlanner instanceof Document planner)) {
+            return null;
+        }
+        Object winningPlan = planner.get("winningPlan");
+        if (winningPlan instanceof Document plan && plan.get("queryPlan") instanceof Document queryPlan) {
+            return queryPlan;
+        }
+        return winningPlan;
+    }
+
+    /**
+     * The plan tree without index bounds and parsed values
+     */
+    private static Map<String, Object> redactPlan(Document plan) {
+        Map<String, Object> redacted = new LinkedHashMap<>();
+        plan.forEach((key, value) -> {
+            if (!PLAN_FIELDS.contains(key)) {
+                return;
+            }
+            if (value instanceof Document nested) {
+                redacted.put(key, "filter".equals(key) ? shape(new BsonDocument("filter", nested.toBsonDocument()))
+                    : "keyPattern".equals(key) ? nested : redactPlan(nested));
+            } else if (value instanceof List<?> list) {
+                redacted.put(key, list.stream().filter(Document.class::isInstance).map(Document.class::cast).map(
+                    MongoSlowQueryMonitor::redactPlan).toList());
+            } else {
+                redacted.put(key, value);
+            }
+        });
+        return redacted;
+    }
+
+    /**
+     * Stages of the winning plan, outermost first, e.g. {@code FETCH > IXSCAN(email_1)}
+     */
+    private static String planSummary(Object plan) {
+        List<String> stages = new ArrayList<>();
+        Object current = plan;
+        while (current instanceof Document stage) {
+            String indexName = stage.getString("indexName");
+            stages.add(stage.getString("stage") + (indexName == null ? "" : "(" + indexName + ")"));
+            Object input = stage.get("inputStage");
+            if (input == null && stage.get("inputStages") instanceof List<?> inputs && !inputs.isEmpty()) {
+                input = inputs.get(0);
+            }
+            current = input;
+        }
+        return stages.isEmpty() ? "unknown" : String.join(" > ", stages);
+    }
+
+    /**
+     * A command in flight
+     *
+     * @param collection
+     *            the collection
+     * @param kept
+     *            the command fields kept for the shape and the explain, null for other commands
+     */
+    private record PendingCommand(String collection, BsonDocument kept) {
+    }
+
+    /**
+     * The slow commands of one shape
+     */
+    static final class SlowShape {
+
+        /** The database */
+        private final String database;
+
+        /** The collection */
+        private final String collection;
+
+        /** The command */
+        private final String command;
+
+        /** The shape */
+        private final String shape;
+
+        /** The count */
+        private final LongAdder count = new LongAdder();
+
+        /** The total nanos */
+        private final LongAdder totalNanos = new LongAdder();
+
+        /** The max nanos */
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        /** The time of the last explain, 0 before the first */
+        private final AtomicLong lastExplainNanos = new AtomicLong();
+
+        /** The redacted winning plan */
+        private volatile Map<String, Object> plan;
+
+        /** The plan summary */
+        private volatile String planSummary;
+
+        /** The time of the plan */
+        private volatile Instant explainedAt;
+
+        SlowShape(String database, String collection, String command, String shape) {
+            this.database = database;
+            this.collection = collection;
+            this.command = command;
+            this.shape = shape;
+        }
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        boolean explainDue(long now, long intervalNanos) {
+            long last = lastExplainNanos.get();
+            return (last == 0 || now - last >= intervalNanos) && lastExplainNanos.compareAndSet(last, now);
+        }
+
+        void explained(Map<String, Object> plan, String planSummary) {
+            this.plan = plan;
+            this.planSummary = planSummary;
+            this.explainedAt = Instant.now();
+        }
+
+        SlowShapeReport toReport() {
+            return new SlowShapeReport(database + "." + collection, command, shape, count.sum(), Duration.ofNanos(
+                totalNanos.sum()).toMillis(), Duration.ofNanos(maxNanos.get()).toMillis(), planSummary, plan,
+                explainedAt);
+        }
+    }
+
+    /**
+     * The slow query report
+     *
+     * @param since
+     *            the start of the report
+     * @param thresholdMillis
+     *            the threshold above which a command is slow
+     * @param dropped
+     *            the slow commands dropped because the shape table was full
+     * @param shapes
+     *            the slow shapes, slowest first
+     */
+    public record SlowQueryReport(Instant since, long thresholdMillis, long dropped, List<SlowShapeReport> shapes) {
+    }
+
+    /**
+     * The slow commands of one shape
+     *
+     * @param namespace
+     *            the database and collection
+     * @param command
+     *            the command name
+     * @param shape
+     *            the filter shape, values redacted
+     * @param count
+     *            the slow command count
+     * @param totalMillis
+     *            the total time
+     * @param maxMillis
+     *            the slowest time
+     * @param planSummary
+     *            the stages of the winning plan, null until explained
+     * @param plan
+     *            the winning plan without bounds and values, null until explained
+     * @param explainedAt
+     *            the time of the plan
+     */
+    public record SlowShapeReport(String namespace, String command, String shape, long count, long totalMillis,
+        long maxMillis, String planSummary, Map<String, Object> plan, Instant explainedAt) {
+    }
+
+}
@@ -0,0 +1,275 @@
+package com.kitchensink.diagnostics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class VirtualThreadPinningMonitor.
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event and aggregates the places where a virtual thread blocked while
+ * pinned to its carrier, typically inside a synchronized block. The report is served at {@code /actuator/pinning}.
+ *
+ * @author prerna
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "diagnostics.pinning.enabled", matchIfMissing = true)
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    /** The Constant EVENT_NAME */
+    static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+
+    /** The Constant METRIC_NAME */
+    static final String METRIC_NAME = "jvm.threads.virtual.pinned";
+
+    /** The Constant MAX_SITES */
+    private static final int MAX_SITES = 200;
+
+    /** The Constant STACK_DEPTH */
+    private static final int STACK_DEPTH = 12;
+
+    /** The meter registry */
+    private final MeterRegistry meterRegistry;
+
+    /** The threshold above which a pinned block is recorded */
+    private final Duration threshold;
+
+    /** The pinning sites by frame */
+    private final Map<String, PinningSite> sites = new ConcurrentHashMap<>();
+
+    /** The events dropped because the site table is full */
+    private final LongAdder dropped = new LongAdder();
+
+    /** The recording stream */
+    private RecordingStream recordingStream;
+
+    /** The start of the current report */
+    private volatile Instant since = Instant.now();
+
+    /**
+     * VirtualThreadPinningMonitor constructor
+     *
+     * @param meterRegistry
+     *            the meter registry
+     * @param threshold
+     *            the threshold above which a pinned block is recorded
+     */
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+        @Value("${diagnostics.pinning.threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Start streaming pinning events
+     */
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(EVENT_NAME).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(EVENT_NAME, this::record);
+        recordingStream.startAsync();
+        log.info("Recording virtual thread pinning above {}", threshold);
+    }
+
+    /**
+     * Stop streaming pinning events
+     */
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    /**
+     * Pinning report, worst sites first
+     *
+     * @return the pinning report
+     */
+    @ReadOperation
+    public PinningReport report() {
+        List<PinningSiteReport> siteReports = sites.values().stream().map(PinningSite::toReport).sorted(Comparator
+            .comparingLong(PinningSiteReport::totalMillis).reversed()).toList();
+        return new PinningReport(since, threshold.toMillis(), dropped.sum(), siteReports);
+    }
+
+    /**
+     * Clear the pinning report
+     */
+    @DeleteOperation
+    public void reset() {
+        sites.clear();
+        dropped.reset();
+        since = Instant.now();
+    }
+
+    /**
+     * Aggregate a pinning event
+     *
+     * @param event
+     *            the pinning event
+     */
+    void record(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        RecordedFrame siteFrame = siteFrame(frames);
+        String site = siteFrame == null ? "unknown" : describe(siteFrame);
+        Duration duration = event.getDuration();
+        Timer.builder(METRIC_NAME).tag("source", source(site)).register(meterRegistry).record(duration);
+
+        PinningSite pinningSite = sites.get(site);
+        if (pinningSite == null) {
+            if (sites.size() >= MAX_SITES) {
+                dropped.increment();
+                return;
+            }
+            pinningSite = sites.computeIfAbsent(site, key -> new PinningSite(key, frames.stream().limit(STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::describe).toList()));
+        }
+        pinningSite.add(duration);
+    }
+
+    /**
+     * The frame a pinning is attributed to: the first application frame, else the first frame outside the JDK
+     *
+     * @param frames
+     *            the frames, innermost first
+     * @return the site frame
+     */
+    private static RecordedFrame siteFrame(List<RecordedFrame> frames) {
+        RecordedFrame firstLibraryFrame = null;
+        for (RecordedFrame frame : frames) {
+            String typeName = frame.getMethod().getType().getName();
+            if (typeName.startsWith("com.kitchensink.")) {
+                return frame;
+            }
+            if (firstLibraryFrame == null && !typeName.startsWith("java.") && !typeName.startsWith("jdk.")
+                && !typeName.startsWith("sun.")) {
+                firstLibraryFrame = frame;
+            }
+        }
+        if (firstLibraryFrame != null) {
+            return firstLibraryFrame;
+        }
+        return frames.isEmpty() ? null : frames.getFirst();
+    }
+
+    private static String source(String site) {
+        if (site.startsWith("com.kitchensink.")) {
+            return "application";
+        } else if (site.startsWith("ch.qos.logback.") || site.startsWith("org.slf4j.")) {
+            return "logging";
+        } else if (site.startsWith("io.jsonwebtoken.")) {
+            return "jwt";
+        } else if (site.startsWith("com.mongodb.") || site.startsWith("org.bson.")) {
+            return "mongodb";
+        }
+        return "other";
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame
+            .getLineNumber();
+    }
+
+    /**
+     * The aggregated pinnings of one site
+     */
+    private static final class PinningSite {
+
+        /** The site */
+        private final String site;
+
+        /** The stack of the first pinning */
+        private final List<String> stack;
+
+        /** The count */
+        private final LongAdder count = new LongAdder();
+
+        /** The total nanos */
+        private final LongAdder totalNanos = new LongAdder();
+
+        /** The max nanos */
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        PinningSite(String site, List<String> stack) {
+            this.site = site;
+            this.stack = stack;
+        }
+
+        void add(Duration duration) {
+            long nanos = duration.toNanos();
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        PinningSiteReport toReport() {
+            return new PinningSiteReport(site, source(site), count.sum(), Duration.ofNanos(totalNanos.sum()).toMillis(),
+                Duration.ofNanos(maxNanos.get()).toMillis(), stack);
+        }
+    }
+
+    /**
+     * The pinning report
+     *
+     * @param since
+     *            the start of the report
+     * @param thresholdMillis
+     *            the threshold above which a pinned block is recorded
+     * @param dropped
+     *            the events dropped because the site table was full
+     * @param sites
+     *            the pinning sites, worst first
+     */
+    public record PinningReport(Instant since, long thresholdMillis, long dropped, List<PinningSiteReport> sites) {
+    }
+
+    /**
+     * The pinnings of one site
+     *
+     * @param site
+     *            the frame the pinnings are attributed to
+     * @param source
+     *            application, logging, jwt, mongodb or other
+     * @param count
+     *            the pinning count
+     * @param totalMillis
+     *            the total time pinned
+     * @param maxMillis
+     *            the longest time pinned
+     * @param stack
+     *            the stack of the first pinning, innermost first
+     */
+    public record PinningSiteReport(String site, String source, long count, long totalMillis, long maxMillis,
+        List<String> stack) {
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.kitchensink.dto;
+
+import java.util.List;
+
+import com.kitchensink.enums.BulkMemberAction;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * The Class BulkMemberRequest.
+ * An action applied to the members listed by id or to the members matching a search filter, one of the two.
+ *
+ * @author prerna
+ */
+@Data
+public class BulkMemberRequest {
+
+    /** The action */
+    @NotNull(message = "Action is required")
+    private BulkMemberAction action;
+
+    /** The member ids */
+    private List<@NotBlank(message = "Member ids must not be blank") String> memberIds;
+
+    /** The search filter selecting the members */
+    private MemberSearchCriteria filter;
+
+    /** The roles list, for SET_ROLES */
+    @Size(max = 10, message = "Max of 10 roles can be assigned")
+    private List<String> roles;
+
+}
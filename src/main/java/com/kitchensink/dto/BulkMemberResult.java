@@ -0,0 +1,48 @@
+package com.kitchensink.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.kitchensink.enums.BulkMemberStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class BulkMemberResult.
+ * The outcome of a bulk action for every member it selected, in request order.
+ *
+ * @author prerna
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMemberResult {
+
+    /** The number of members written */
+    private int updated;
+
+    /** The outcome per member */
+    private List<Outcome> outcomes;
+
+    /**
+     * The Class Outcome.
+     */
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Outcome {
+
+        /** The member id */
+        private String memberId;
+
+        /** The status */
+        private BulkMemberStatus status;
+
+        /** The failure message, for FAILED */
+        private String message;
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.kitchensink.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.kitchensink.enums.PhoneVerificationStatus;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -7,10 +9,12 @@ import java.util.List;
 
 /**
  * The Class MemberDto.
+ * Absent values are left out of the serialized member rather than written as nulls.
  *
  * @author prerna
  */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class MemberDto {
 
     /** The id */
@@ -25,6 +29,9 @@ public class MemberDto {
     /** The phone number */
     private String phoneNumber;
 
+    /** The phone verification status */
+    private PhoneVerificationStatus phoneVerification;
+
     /** The active */
     private boolean active;
 
@@ -36,4 +43,7 @@ public class MemberDto {
 
     /** The joining date */
     private LocalDate joiningDate;
+
+    /** The version, the value of the member's ETag and of the If-Match an update sends */
+    private Long version;
 }
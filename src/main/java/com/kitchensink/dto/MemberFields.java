@@ -0,0 +1,121 @@
+package com.kitchensink.dto;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.kitchensink.enums.ErrorType;
+import com.kitchensink.exception.BaseApplicationException;
+
+/**
+ * The Class MemberFields.
+ * The member fields a list or search response is limited to, from the fields request parameter. They select both the
+ * member document fields read from Mongo and the {@link MemberDto} properties written to the response; the id is
+ * always included.
+ *
+ * @author prerna
+ */
+public final class MemberFields {
+
+    /** The Constant FILTER, the Jackson filter id of {@link MemberDto} */
+    public static final String FILTER = "memberFields";
+
+    /** The Constant ALL, the filters serializing every member property */
+    public static final FilterProvider ALL = new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter
+        .serializeAll());
+
+    /** The Constant VERSION_PATHS, the document fields read to tag a page */
+    public static final String[] VERSION_PATHS = { "_id", "version" };
+
+    /** The Constant PATHS, the document field of each member property */
+    private static final Map<String, String> PATHS = Map.of("id", "_id", "name", "name", "email", "email",
+        "phoneNumber", "phoneNumber", "phoneVerification", "phoneVerification", "active", "active", "blocked",
+        "blocked", "roles", "roles", "joiningDate", "createdAt", "version", "version");
+
+    /** The requested properties */
+    private final Set<String> names;
+
+    private MemberFields(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Parse the fields request parameter
+     *
+     * @param fields
+     *            the comma separated member properties, may be null
+     * @return the member fields, null for all of them
+     */
+    public static MemberFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!PATHS.containsKey(name)) {
+                throw new BaseApplicationException("Unknown member field: " + name,
+                    ErrorType.REQUEST_VALIDATION_FAILED, HttpStatus.BAD_REQUEST);
+            }
+            names.add(name);
+        }
+        return new MemberFields(names);
+    }
+
+    /**
+     * Document fields to read, with the version the page tag is computed from
+     *
+     * @return the document fields
+     */
+    public String[] paths() {
+        Set<String> paths = new LinkedHashSet<>();
+        names.forEach(name -> paths.add(PATHS.get(name)));
+        paths.add("version");
+        return paths.toArray(String[]::new);
+    }
+
+    /**
+     * Wrap a response body so only the requested member properties are written
+     *
+     * @param fields
+     *            the member fields, null for all
+     * @param body
+     *            the body
+     * @return the body with its serialization filters
+     */
+    public static MappingJacksonValue filter(MemberFields fields, Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields != null) {
+            value.setFilters(new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter
+                .filterOutAllExcept(fields.names)));
+        }
+        return value;
+    }
+
+    /**
+     * The requested properties, comma separated
+     *
+     * @return the string
+     */
+    @Override
+    public String toString() {
+        return String.join(",", names);
+    }
+
+    /**
+     * The Class Filtered.
+     * Mix-in naming the filter of {@link MemberDto} for the application mappers only.
+     */
+    @JsonFilter(FILTER)
+    public interface Filtered {
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.kitchensink.dto;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kitchensink.enums.ErrorType;
+import com.kitchensink.exception.BaseApplicationException;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.Getter;
+
+/**
+ * The Class MemberPatch.
+ * The member fields an edit sets, from a JSON Merge Patch (RFC 7386) of the member or from a full update. Absent
+ * fields are left as they are; name, phone number and roles can be replaced but not removed, and blocked can only be
+ * patched to false, which unblocks the member.
+ *
+ * @author prerna
+ */
+@Getter
+public final class MemberPatch {
+
+    /** The Constant MEDIA_TYPE */
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    /** The name, null when unchanged */
+    private String name;
+
+    /** The phone number, null when unchanged */
+    private String phoneNumber;
+
+    /** The roles list, null when unchanged */
+    private List<String> roles;
+
+    /** The unblock member */
+    private boolean unblock;
+
+    private MemberPatch() {
+    }
+
+    /**
+     * Read a merge patch of a member, checked against the constraints of a full update
+     *
+     * @param patch
+     *            the merge patch document
+     * @param validator
+     *            the validator
+     * @return the member patch
+     */
+    public static MemberPatch parse(JsonNode patch, Validator validator) {
+        if (patch == null || !patch.isObject()) {
+            throw invalid("A member patch must be a JSON object");
+        }
+        MemberPatch memberPatch = new MemberPatch();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "name" -> memberPatch.name = validate(validator, "name", text("name", value));
+                case "phoneNumber" -> memberPatch.phoneNumber = validate(validator, "phoneNumber", text(
+                    "phoneNumber", value));
+                case "roles" -> memberPatch.roles = validate(validator, "roles", texts("roles", value));
+                case "blocked" -> {
+                    if (!value.isBoolean() || value.booleanValue()) {
+                        throw invalid("blocked can only be patched to false");
+                    }
+                    memberPatch.unblock = true;
+                }
+                default -> throw invalid("Member field " + field.getKey() + " cannot be patched");
+            }
+        }
+        return memberPatch;
+    }
+
+    /**
+     * The patch of a full update, which sets every editable field
+     *
+     * @param updateRequest
+     *            the update request
+     * @return the member patch
+     */
+    public static MemberPatch of(UpdateMemberRequest updateRequest) {
+        MemberPatch memberPatch = new MemberPatch();
+        memberPatch.name = updateRequest.getName();
+        memberPatch.phoneNumber = updateRequest.getPhoneNumber();
+        memberPatch.roles = updateRequest.getRoles();
+        memberPatch.unblock = updateRequest.isUnBlockMember();
+        return memberPatch;
+    }
+
+    /**
+     * Whether the patch sets nothing
+     *
+     * @return boolean
+     */
+    public boolean isEmpty() {
+        return name == null && phoneNumber == null && roles == null && !unblock;
+    }
+
+    private static String text(String field, JsonNode value) {
+        if (value.isNull()) {
+            throw invalid(field + " cannot be removed");
+        }
+        if (!value.isTextual()) {
+            throw invalid(field + " must be a string");
+        }
+        return value.textValue();
+    }
+
+    private static List<String> texts(String field, JsonNode value) {
+        if (value.isNull()) {
+            throw invalid(field + " cannot be removed");
+        }
+        List<String> texts = new ArrayList<>();
+        if (value.isArray()) {
+            value.forEach(element -> texts.add(element.isTextual() ? element.textValue() : null));
+        }
+        if (!value.isArray() || texts.contains(null)) {
+            throw invalid(field + " must be an array of strings");
+        }
+        return texts;
+    }
+
+    private static <T> T validate(Validator validator, String field, T value) {
+        Set<ConstraintViolation<UpdateMemberRequest>> violations = validator.validateValue(UpdateMemberRequest.class,
+            field, value);
+        if (!violations.isEmpty()) {
+            throw invalid(field + ": " + violations.iterator().next().getMessage());
+        }
+        return value;
+    }
+
+    private static BaseApplicationException invalid(String message) {
+        return new BaseApplicationException(message, ErrorType.REQUEST_VALIDATION_FAILED, HttpStatus.BAD_REQUEST);
+    }
+
+}
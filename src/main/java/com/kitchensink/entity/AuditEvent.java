@@ -0,0 +1,45 @@
+package com.kitchensink.entity;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.kitchensink.enums.AuditAction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class AuditEvent.
+ * A member mutation, written in batches by the audit trail and expired after the retention period.
+ *
+ * @author prerna
+ */
+@Document(collection = "member_audit")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEvent {
+
+    /** The id */
+    @Id
+    private String id;
+
+    /** The action */
+    private AuditAction action;
+
+    /** The member id */
+    private String memberId;
+
+    /** The actor, the admin email or system */
+    private String actor;
+
+    /** The details, e.g. the changed fields */
+    private String details;
+
+    /** The time of the mutation */
+    private Instant at;
+
+}
@@ -1,10 +1,12 @@
 package com.kitchensink.entity;
 
+import com.kitchensink.enums.PhoneVerificationStatus;
 import lombok.Data;
 import lombok.ToString;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -34,6 +36,9 @@ public class Member {
     /** The phone number */
     private String phoneNumber;
 
+    /** The phone verification status */
+    private PhoneVerificationStatus phoneVerification;
+
     /** The password */
     @ToString.Exclude
     private String password;
@@ -61,4 +66,8 @@ public class Member {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    /** The version, incremented on every write and checked by save */
+    @Version
+    private Long version;
+
 }
@@ -0,0 +1,42 @@
+package com.kitchensink.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * The Class PhoneVerificationTask.
+ * A queued deferred phone verification. There is at most one task per member, a newer number replaces the pending
+ * one.
+ *
+ * @author prerna
+ */
+@Document(collection = "phone_verification_task")
+@Data
+public class PhoneVerificationTask {
+
+    /** The member id */
+    @Id
+    private String memberId;
+
+    /** The phone number */
+    private String phoneNumber;
+
+    /** The attempts made so far */
+    private int attempts;
+
+    /** The enqueued at */
+    private Instant enqueuedAt;
+
+    /** The next attempt at */
+    private Instant nextAttemptAt;
+
+    /** The claim token of the worker processing the task */
+    private String lockedBy;
+
+    /** The lease expiry of the claim */
+    private Instant lockedUntil;
+
+}
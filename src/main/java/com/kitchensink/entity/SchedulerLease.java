@@ -0,0 +1,30 @@
+package com.kitchensink.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * The Class SchedulerLease.
+ * The node running a scheduled job, until its lease expires. The owner renews the lease on every run, so the job
+ * stays on one node and moves to another only when the owner stops.
+ *
+ * @author prerna
+ */
+@Document(collection = "scheduler_lease")
+@Data
+public class SchedulerLease {
+
+    /** The job name */
+    @Id
+    private String job;
+
+    /** The owner node */
+    private String owner;
+
+    /** The lease expiry */
+    private Instant lockedUntil;
+
+}
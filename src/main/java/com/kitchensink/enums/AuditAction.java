@@ -0,0 +1,21 @@
+package com.kitchensink.enums;
+
+/**
+ * The Enum AuditAction.
+ *
+ * @author prerna
+ */
+public enum AuditAction {
+
+    /** An admin updated the member details */
+    MEMBER_UPDATED,
+
+    /** An admin soft deleted the member */
+    MEMBER_DELETED,
+
+    /** An admin unblocked the member */
+    MEMBER_UNBLOCKED,
+
+    /** The member was blocked after repeated failed logins */
+    MEMBER_LOCKED
+}
@@ -0,0 +1,18 @@
+package com.kitchensink.enums;
+
+/**
+ * The Enum BulkMemberAction.
+ *
+ * @author prerna
+ */
+public enum BulkMemberAction {
+
+    /** Soft delete the members */
+    DEACTIVATE,
+
+    /** Unblock the members and reset their failed logins */
+    UNBLOCK,
+
+    /** Replace the roles of the members */
+    SET_ROLES
+}
@@ -0,0 +1,24 @@
+package com.kitchensink.enums;
+
+/**
+ * The Enum BulkMemberStatus.
+ *
+ * @author prerna
+ */
+public enum BulkMemberStatus {
+
+    /** The member was written */
+    UPDATED,
+
+    /** The member already was in the requested state, nothing was written */
+    UNCHANGED,
+
+    /** No member has the id */
+    NOT_FOUND,
+
+    /** The member is the admin making the request, who cannot change their own account */
+    SELF,
+
+    /** The write of the member failed */
+    FAILED
+}
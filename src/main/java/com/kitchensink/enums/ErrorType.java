@@ -17,8 +17,10 @@ public enum ErrorType{
     MEMBER_NOT_AUTHENTICATED,
     MEMBER_NOT_AUTHORISED,
     MEMBER_NOT_FOUND,
+    MEMBER_MODIFIED,
     ACCOUNT_BLOCKED,
     PHONE_NUMBER_INVALID,
+    PHONE_VALIDATION_UNAVAILABLE,
     INVALID_CREDENTIALS,
     NOT_FOUND,
     REQUEST_VALIDATION_FAILED,
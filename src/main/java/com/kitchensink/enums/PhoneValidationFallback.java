@@ -0,0 +1,25 @@
+package com.kitchensink.enums;
+
+/**
+ * The Enum PhoneValidationFallback.
+ * Decides the outcome of a phone validation when the provider cannot give an answer.
+ *
+ * @author prerna
+ */
+public enum PhoneValidationFallback {
+
+    /** Treat the number as invalid */
+    REJECT,
+
+    /** Treat the number as valid */
+    ACCEPT;
+
+    /**
+     * Whether the fallback accepts the number
+     *
+     * @return boolean
+     */
+    public boolean accepts() {
+        return this == ACCEPT;
+    }
+}
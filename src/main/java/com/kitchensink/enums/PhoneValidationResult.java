@@ -0,0 +1,19 @@
+package com.kitchensink.enums;
+
+/**
+ * The Enum PhoneValidationResult.
+ * Verdict of the offline phone number validation.
+ *
+ * @author prerna
+ */
+public enum PhoneValidationResult {
+
+    /** The number matches an allocated range */
+    VALID,
+
+    /** The number can never be valid */
+    INVALID,
+
+    /** The offline rules cannot decide, the provider should give a second opinion */
+    AMBIGUOUS
+}
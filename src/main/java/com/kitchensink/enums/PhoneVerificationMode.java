@@ -0,0 +1,15 @@
+package com.kitchensink.enums;
+
+/**
+ * The Enum PhoneVerificationMode.
+ *
+ * @author prerna
+ */
+public enum PhoneVerificationMode {
+
+    /** Verify the number with the provider before the member is saved */
+    SYNC,
+
+    /** Save the member as pending and verify the number in the background */
+    DEFERRED
+}
@@ -0,0 +1,21 @@
+package com.kitchensink.enums;
+
+/**
+ * The Enum PhoneVerificationStatus.
+ *
+ * @author prerna
+ */
+public enum PhoneVerificationStatus {
+
+    /** Phone validation is disabled, the number was never checked */
+    UNVERIFIED,
+
+    /** The number is queued for deferred verification */
+    PENDING,
+
+    /** The number was accepted */
+    VERIFIED,
+
+    /** The number was rejected */
+    INVALID
+}
@@ -14,7 +14,7 @@ public class AppAuthenticationException extends BaseApplicationException {
     private static final long serialVersionUID = 721810209229508111L;
 
     /**
-     * Instantiates AppAuthenticationException
+     * Instantiates AppAuthenticationException, without a stack trace unless enabled
      *
      * @param message
      *            the message
@@ -22,6 +22,6 @@ public class AppAuthenticationException extends BaseApplicationException {
      *            the error type
      */
     public AppAuthenticationException(String message, ErrorType errorType) {
-        super(message, errorType, HttpStatus.UNAUTHORIZED);
+        super(message, errorType, HttpStatus.UNAUTHORIZED, BUSINESS_STACK_TRACES);
     }
 }
@@ -3,11 +3,21 @@ package com.kitchensink.exception;
 import com.kitchensink.enums.ErrorType;
 import org.springframework.http.HttpStatus;
 
+/**
+ * The Class BaseApplicationException.
+ * Expected business exceptions are created without a stack trace, as they are answered with a status and never
+ * investigated through their frames. Start with {@code -Dexceptions.stack-traces=true} to capture them anyway.
+ *
+ * @author prerna
+ */
 public class BaseApplicationException extends RuntimeException {
 
     /** The Constant serialVersionUID. */
     private static final long serialVersionUID = 1L;
 
+    /** Whether expected business exceptions capture their stack trace */
+    protected static final boolean BUSINESS_STACK_TRACES = Boolean.getBoolean("exceptions.stack-traces");
+
     /** The error type */
     private final ErrorType errorType;
 
@@ -48,6 +58,25 @@ public class BaseApplicationException extends RuntimeException {
         this.status = status;
     }
 
+    /**
+     * Instantiates BaseApplicationException, optionally without a stack trace
+     *
+     * @param message
+     *            the message
+     * @param errorType
+     *            the error type
+     * @param status
+     *            the status
+     * @param writableStackTrace
+     *            whether the stack trace is captured
+     */
+    protected BaseApplicationException(String message, ErrorType errorType, HttpStatus status,
+        boolean writableStackTrace) {
+        super(message, null, true, writableStackTrace);
+        this.errorType = errorType;
+        this.status = status;
+    }
+
     /**
      * @return the errorType
      */
@@ -9,7 +9,7 @@ public class ConflictException extends BaseApplicationException {
     private static final long serialVersionUID = 721810209229508222L;
 
     /**
-     * Instantiates ConflictException
+     * Instantiates ConflictException, without a stack trace unless enabled
      *
      * @param message
      *            the message
@@ -17,7 +17,7 @@ public class ConflictException extends BaseApplicationException {
      *            the error type
      */
     public ConflictException(String message, ErrorType errorType) {
-        super(message, errorType, HttpStatus.CONFLICT);
+        super(message, errorType, HttpStatus.CONFLICT, BUSINESS_STACK_TRACES);
     }
 
 }
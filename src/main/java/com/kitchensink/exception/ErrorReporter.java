@@ -0,0 +1,143 @@
+package com.kitchensink.exception;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import com.kitchensink.enums.ErrorType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class ErrorReporter.
+ * Counts every handled error by error type and status, and logs at most {@code maxPerInterval} of them per error type
+ * and interval. Client errors are logged as a single line; only server errors carry the stack trace. The next line
+ * logged for an error type reports how many were suppressed in between.
+ *
+ * @author prerna
+ */
+@Component
+@Slf4j
+public class ErrorReporter {
+
+    /** The Constant METRIC_NAME */
+    static final String METRIC_NAME = "app.errors";
+
+    /** The meter registry */
+    private final MeterRegistry meterRegistry;
+
+    /** The log budget per error type and interval */
+    private final int maxPerInterval;
+
+    /** The interval in nanos */
+    private final long intervalNanos;
+
+    /** The counters by error type and status */
+    private final Map<ErrorKey, Counter> counters = new ConcurrentHashMap<>();
+
+    /** The log windows by error type */
+    private final Map<ErrorType, LogWindow> windows = new EnumMap<>(ErrorType.class);
+
+    /**
+     * ErrorReporter constructor
+     *
+     * @param meterRegistry
+     *            the meter registry
+     * @param maxPerInterval
+     *            the log budget per error type and interval
+     * @param interval
+     *            the interval
+     */
+    public ErrorReporter(MeterRegistry meterRegistry,
+        @Value("${errors.logging.max-per-interval:10}") int maxPerInterval,
+        @Value("${errors.logging.interval:1s}") Duration interval) {
+        this.meterRegistry = meterRegistry;
+        this.maxPerInterval = maxPerInterval;
+        this.intervalNanos = interval.toNanos();
+        for (ErrorType errorType : ErrorType.values()) {
+            windows.put(errorType, new LogWindow());
+        }
+    }
+
+    /**
+     * Count the error and log it unless the error type is over its budget
+     *
+     * @param exception
+     *            the exception
+     * @param errorType
+     *            the error type
+     * @param status
+     *            the response status
+     */
+    public void report(Throwable exception, ErrorType errorType, HttpStatusCode status) {
+        counters.computeIfAbsent(new ErrorKey(errorType, status.value()), key -> Counter.builder(METRIC_NAME).tag(
+            "errorType", key.errorType().name()).tag("status", String.valueOf(key.status())).description(
+                "Errors answered to clients").register(meterRegistry)).increment();
+
+        long suppressed = windows.get(errorType).tryAcquire(System.nanoTime(), intervalNanos, maxPerInterval);
+        if (suppressed < 0) {
+            return;
+        }
+        String summary = suppressed == 0 ? "" : " (" + suppressed + " similar suppressed)";
+        if (status.is5xxServerError()) {
+            log.error("{} {}: {}{}", status.value(), errorType, exception.getMessage(), summary, exception);
+        } else {
+            log.warn("{} {}: {} {}{}", status.value(), errorType, exception.getClass().getSimpleName(), exception
+                .getMessage(), summary);
+        }
+    }
+
+    /**
+     * The counter key
+     *
+     * @param errorType
+     *            the error type
+     * @param status
+     *            the status
+     */
+    private record ErrorKey(ErrorType errorType, int status) {
+    }
+
+    /**
+     * Fixed log window of one error type
+     */
+    private static final class LogWindow {
+
+        /** The window start */
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+
+        /** The lines logged in the window */
+        private final AtomicInteger logged = new AtomicInteger();
+
+        /** The errors not logged since the last line */
+        private final LongAdder suppressed = new LongAdder();
+
+        /**
+         * Take one line of the budget
+         *
+         * @return the errors suppressed since the last line, -1 when the budget is spent
+         */
+        long tryAcquire(long now, long intervalNanos, int maxPerInterval) {
+            long start = windowStart.get();
+            if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+                logged.set(0);
+            }
+            if (logged.incrementAndGet() > maxPerInterval) {
+                suppressed.increment();
+                return -1;
+            }
+            return suppressed.sumThenReset();
+        }
+    }
+
+}
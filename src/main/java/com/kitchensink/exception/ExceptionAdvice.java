@@ -6,8 +6,9 @@ import com.kitchensink.enums.ErrorType;
 import jakarta.annotation.Nonnull;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.PropertyAccessException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -46,18 +47,22 @@ import static org.springframework.http.HttpStatus.UNSUPPORTED_MEDIA_TYPE;
  * @author prerna
  */
 @ControllerAdvice
-@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ExceptionAdvice implements AuthenticationEntryPoint{
 
 
     private final ObjectMapper objectMapper;
 
+    /** The error reporter */
+    private final ErrorReporter errorReporter;
+
     /**
      * Exception advice constructor
      */
-    public ExceptionAdvice(ObjectMapper objectMapper) {
+    public ExceptionAdvice(ObjectMapper objectMapper, ErrorReporter errorReporter) {
         super();
         this.objectMapper = objectMapper;
+        this.errorReporter = errorReporter;
     }
 
     /**
@@ -89,6 +94,22 @@ public class ExceptionAdvice implements AuthenticationEntryPoint{
             HttpStatus.UNAUTHORIZED);
     }
 
+    /**
+     * Handle OptimisticLockingFailure Exception, a member written by someone else between its read and its save
+     *
+     * @param exception
+     *            the exception
+     * @param request
+     *            the request
+     * @return response entity
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException exception,
+        WebRequest request) {
+        return handleException(exception, "Member was modified concurrently, reload and retry",
+            ErrorType.MEMBER_MODIFIED, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handle NoResourceFound Exception
      *
@@ -252,7 +273,7 @@ public class ExceptionAdvice implements AuthenticationEntryPoint{
      */
     private ResponseEntity<Object> handleException(Exception exception, String message, ErrorType errorType,
         HttpStatusCode status) {
-        log.error("Exception occurred:", exception);
+        errorReporter.report(exception, errorType, status);
         return new ResponseEntity<>(getResponseBody(message, errorType, status), HttpHeaders.EMPTY, status);
     }
 
@@ -267,7 +288,7 @@ public class ExceptionAdvice implements AuthenticationEntryPoint{
      *            the status
      * @return response
      */
-    private Map<String, Object> getResponseBody(String message, ErrorType errorType, HttpStatusCode status) {
+    static Map<String, Object> getResponseBody(String message, ErrorType errorType, HttpStatusCode status) {
         Map<String, Object> body = new LinkedHashMap<>();
         body.put("timestamp", Instant.now());
         body.put("message", message);
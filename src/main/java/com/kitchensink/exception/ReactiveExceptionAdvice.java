@@ -0,0 +1,217 @@
+package com.kitchensink.exception;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.FORBIDDEN;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authorization.ServerAccessDeniedHandler;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitchensink.enums.ErrorType;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The Class ReactiveExceptionAdvice.
+ * Counterpart of {@link ExceptionAdvice} for the reactive stack, producing the same error body.
+ *
+ * @author prerna
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionAdvice implements ServerAuthenticationEntryPoint, ServerAccessDeniedHandler {
+
+    /** The object mapper */
+    private final ObjectMapper objectMapper;
+
+    /** The error reporter */
+    private final ErrorReporter errorReporter;
+
+    /**
+     * Reactive exception advice constructor
+     *
+     * @param objectMapper
+     *            the object mapper
+     * @param errorReporter
+     *            the error reporter
+     */
+    public ReactiveExceptionAdvice(ObjectMapper objectMapper, ErrorReporter errorReporter) {
+        this.objectMapper = objectMapper;
+        this.errorReporter = errorReporter;
+    }
+
+    /**
+     * Handle BaseApplication Exception
+     *
+     * @param exception
+     *            the exception
+     * @return response entity
+     */
+    @ExceptionHandler(BaseApplicationException.class)
+    public ResponseEntity<Object> handleException(BaseApplicationException exception) {
+        return handleException(exception, exception.getMessage(), exception.getErrorType(), exception.getStatus());
+    }
+
+    /**
+     * Handle MemberLogin Exception
+     *
+     * @param exception
+     *            the exception
+     * @return response entity
+     */
+    @ExceptionHandler({ UsernameNotFoundException.class, BadCredentialsException.class })
+    public ResponseEntity<Object> handleMemberLoginException(Exception exception) {
+        return handleException(exception, "Invalid email id or password", ErrorType.INVALID_CREDENTIALS,
+            HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Handle OptimisticLockingFailure Exception, a member written by someone else between its read and its save
+     *
+     * @param exception
+     *            the exception
+     * @return response entity
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException exception) {
+        return handleException(exception, "Member was modified concurrently, reload and retry",
+            ErrorType.MEMBER_MODIFIED, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle Bind Exception
+     *
+     * @param exception
+     *            the exception
+     * @return response entity
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleBindExceptions(WebExchangeBindException exception) {
+        String message = exception.getAllErrors().stream().map(ObjectError::getDefaultMessage).collect(Collectors
+            .joining(", "));
+        return handleException(exception, message, ErrorType.REQUEST_VALIDATION_FAILED, BAD_REQUEST);
+    }
+
+    /**
+     * Handle Server Web Input Exception
+     *
+     * @param exception
+     *            the exception
+     * @return response entity
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Object> handleServerWebInputException(ServerWebInputException exception) {
+        return handleException(exception, exception.getReason(), ErrorType.REQUEST_VALIDATION_FAILED, BAD_REQUEST);
+    }
+
+    /**
+     * Handle Response Status Exception
+     *
+     * @param exception
+     *            the exception
+     * @return response entity
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<Object> handleResponseStatusException(ResponseStatusException exception) {
+        ErrorType errorType = exception.getStatusCode() == HttpStatus.NOT_FOUND ? ErrorType.NOT_FOUND
+            : ErrorType.UNKNOWN;
+        return handleException(exception, exception.getReason(), errorType, exception.getStatusCode());
+    }
+
+    /**
+     * Handle Access Denied Exception
+     *
+     * @param exception
+     *            the exception
+     * @return response entity
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Object> handleAccessDeniedException(Exception exception) {
+        return handleException(exception, "Access Denied", ErrorType.MEMBER_NOT_AUTHORISED, FORBIDDEN);
+    }
+
+    /**
+     * Handle Uncaught Exception
+     *
+     * @param exception
+     *            the exception
+     * @return response entity
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Object> handleUncaughtExceptions(Exception exception) {
+        return handleException(exception, "Unable to process the request. Please try again later. ", ErrorType.UNKNOWN,
+            HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private ResponseEntity<Object> handleException(Exception exception, String message, ErrorType errorType,
+        HttpStatusCode status) {
+        errorReporter.report(exception, errorType, status);
+        Map<String, Object> body = ExceptionAdvice.getResponseBody(message, errorType, status);
+        return new ResponseEntity<>(body, HttpHeaders.EMPTY, status);
+    }
+
+    /**
+     * Reject an unauthenticated request
+     *
+     * @param exchange
+     *            the exchange
+     * @param exception
+     *            the exception
+     * @return completion
+     */
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException exception) {
+        return writeAccessDenied(exchange, exception);
+    }
+
+    /**
+     * Reject a request lacking the required role
+     *
+     * @param exchange
+     *            the exchange
+     * @param exception
+     *            the exception
+     * @return completion
+     */
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, AccessDeniedException exception) {
+        return writeAccessDenied(exchange, exception);
+    }
+
+    private Mono<Void> writeAccessDenied(ServerWebExchange exchange, Exception exception) {
+        ResponseEntity<Object> unauthorisedAccess = handleAccessDeniedException(exception);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(unauthorisedAccess.getStatusCode());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(objectMapper.writeValueAsBytes(
+                unauthorisedAccess.getBody()))));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+}
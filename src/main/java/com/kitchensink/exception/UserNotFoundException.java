@@ -9,7 +9,7 @@ public class UserNotFoundException extends BaseApplicationException {
     private static final long serialVersionUID = 721810209229508444L;
 
     /**
-     * Instantiates UserNotFoundException
+     * Instantiates UserNotFoundException, without a stack trace unless enabled
      *
      * @param message
      *            the message
@@ -17,7 +17,7 @@ public class UserNotFoundException extends BaseApplicationException {
      *            the errorType
      */
     public UserNotFoundException(String message, ErrorType errorType) {
-        super(message, errorType, HttpStatus.NOT_FOUND);
+        super(message, errorType, HttpStatus.NOT_FOUND, BUSINESS_STACK_TRACES);
     }
 
 }
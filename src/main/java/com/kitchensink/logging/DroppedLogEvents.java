@@ -0,0 +1,62 @@
+package com.kitchensink.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Class DroppedLogEvents.
+ * Counts log events that were never written, by source (appender or filter name) and reason. Logback is configured
+ * before the application context exists, so the counts are held here and published by {@link LogbackDropMetrics}.
+ *
+ * @author prerna
+ */
+public final class DroppedLogEvents {
+
+    /** The Constant REASON_DISCARDED, below-WARN events dropped because the async queue is nearly full */
+    public static final String REASON_DISCARDED = "discarded";
+
+    /** The Constant REASON_OVERFLOW, events dropped because the async queue is full */
+    public static final String REASON_OVERFLOW = "overflow";
+
+    /** The Constant REASON_SAMPLED, events skipped by sampling */
+    public static final String REASON_SAMPLED = "sampled";
+
+    /** The counters by source and reason */
+    private static final Map<Source, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    private DroppedLogEvents() {
+    }
+
+    /**
+     * Get the counter of a source and reason, creating it on first use
+     *
+     * @param name
+     *            the appender or filter name
+     * @param reason
+     *            the reason
+     * @return the counter
+     */
+    public static LongAdder counter(String name, String reason) {
+        return COUNTERS.computeIfAbsent(new Source(name, reason), source -> new LongAdder());
+    }
+
+    /**
+     * @return the counters by source
+     */
+    static Map<Source, LongAdder> counters() {
+        return COUNTERS;
+    }
+
+    /**
+     * The source of dropped events
+     *
+     * @param name
+     *            the appender or filter name
+     * @param reason
+     *            the reason
+     */
+    record Source(String name, String reason) {
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.kitchensink.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.spi.LifeCycle;
+
+/**
+ * The Class LogFileCheckpoint.
+ * A CRaC checkpoint fails while files are open, so the log file appenders, direct or behind an async appender, are
+ * stopped before the checkpoint and started again after the restore. Events logged in between are not written to the
+ * files.
+ *
+ * @author prerna
+ */
+@Component
+@ConditionalOnProperty(name = "checkpoint.enabled", havingValue = "true")
+public class LogFileCheckpoint implements Resource {
+
+    /** The appenders stopped for the checkpoint */
+    private final List<FileAppender<ILoggingEvent>> stopped = new ArrayList<>();
+
+    /**
+     * LogFileCheckpoint constructor, registered with the global CRaC context, which is a no-op on a JVM without CRaC
+     */
+    public LogFileCheckpoint() {
+        Core.getGlobalContext().register(this);
+    }
+
+    /**
+     * Close the log files
+     *
+     * @param context
+     *            the CRaC context
+     */
+    @Override
+    public synchronized void beforeCheckpoint(Context<? extends Resource> context) {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext) {
+            for (Logger logger : loggerContext.getLoggerList()) {
+                logger.iteratorForAppenders().forEachRemaining(this::stop);
+            }
+        }
+    }
+
+    /**
+     * Reopen the log files
+     *
+     * @param context
+     *            the CRaC context
+     */
+    @Override
+    public synchronized void afterRestore(Context<? extends Resource> context) {
+        for (FileAppender<ILoggingEvent> appender : stopped) {
+            if (appender instanceof RollingFileAppender<ILoggingEvent> rolling) {
+                // a rolling appender only starts with its policies started
+                start(rolling.getRollingPolicy());
+                start(rolling.getTriggeringPolicy());
+            }
+            appender.start();
+        }
+        stopped.clear();
+    }
+
+    private void stop(Appender<ILoggingEvent> appender) {
+        if (appender instanceof AsyncAppenderBase<ILoggingEvent> async) {
+            async.iteratorForAppenders().forEachRemaining(this::stop);
+        } else if (appender instanceof FileAppender<ILoggingEvent> file && file.isStarted()) {
+            file.stop();
+            stopped.add(file);
+        }
+    }
+
+    private static void start(Object policy) {
+        if (policy instanceof LifeCycle lifeCycle && !lifeCycle.isStarted()) {
+            lifeCycle.start();
+        }
+    }
+
+}
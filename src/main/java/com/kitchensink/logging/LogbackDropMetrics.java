@@ -0,0 +1,37 @@
+package com.kitchensink.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * The Class LogbackDropMetrics.
+ * Publishes the {@link DroppedLogEvents} counters as {@code logback.events.dropped}, tagged with the appender or
+ * filter and the reason.
+ *
+ * @author prerna
+ */
+@Component
+public class LogbackDropMetrics implements MeterBinder {
+
+    /** The Constant METRIC_NAME */
+    static final String METRIC_NAME = "logback.events.dropped";
+
+    /**
+     * Bind the counters known at startup
+     *
+     * @param registry
+     *            the meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        DroppedLogEvents.counters().forEach((source, counter) -> FunctionCounter.builder(METRIC_NAME, counter,
+            LongAdder::sum).tag("source", source.name()).tag("reason", source.reason()).description(
+                "Log events dropped before reaching an appender").register(registry));
+    }
+
+}
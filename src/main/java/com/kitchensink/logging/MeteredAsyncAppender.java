@@ -0,0 +1,54 @@
+package com.kitchensink.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * The Class MeteredAsyncAppender.
+ * {@link AsyncAppender} that counts the events it drops instead of dropping them silently. With {@code neverBlock} a
+ * full queue drops the event rather than stalling the request thread. The counts are read before handing the event
+ * to the queue, so they are approximate under contention.
+ *
+ * @author prerna
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    /** The events discarded below the discarding threshold */
+    private LongAdder discarded = new LongAdder();
+
+    /** The events dropped on a full queue */
+    private LongAdder overflow = new LongAdder();
+
+    /**
+     * Start the appender and register its counters
+     */
+    @Override
+    public void start() {
+        discarded = DroppedLogEvents.counter(getName(), DroppedLogEvents.REASON_DISCARDED);
+        overflow = DroppedLogEvents.counter(getName(), DroppedLogEvents.REASON_OVERFLOW);
+        super.start();
+    }
+
+    /**
+     * Queue the event, counting it when it is dropped
+     *
+     * @param event
+     *            the event
+     */
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remainingCapacity = getRemainingCapacity();
+        if (remainingCapacity < getDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        if (remainingCapacity == 0 && isNeverBlock()) {
+            overflow.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.kitchensink.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * The Class SamplingTurboFilter.
+ * Keeps one in {@code rate} events of a hot-path logger (or logger prefix) at or below {@code level}. It runs before
+ * the event is created, so a sampled-out call costs no formatting or allocation. Events carrying a throwable and
+ * events above the level are always kept.
+ *
+ * @author prerna
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    /** The logger name or prefix */
+    private String logger;
+
+    /** The highest level that is sampled */
+    private Level level = Level.INFO;
+
+    /** Keep one in rate events */
+    private int rate = 1;
+
+    /** The events skipped */
+    private LongAdder sampled = new LongAdder();
+
+    /**
+     * Start the filter and register its counter
+     */
+    @Override
+    public void start() {
+        if (logger == null || logger.isBlank()) {
+            addError("No logger set for sampling filter " + getName());
+            return;
+        }
+        if (rate < 1) {
+            addError("Sampling rate of " + getName() + " must be at least 1, was " + rate);
+            return;
+        }
+        sampled = DroppedLogEvents.counter(getName() == null ? logger : getName(), DroppedLogEvents.REASON_SAMPLED);
+        super.start();
+    }
+
+    /**
+     * Decide whether the event is kept
+     *
+     * @param marker
+     *            the marker
+     * @param eventLogger
+     *            the logger
+     * @param eventLevel
+     *            the level
+     * @param format
+     *            the message format, null for isEnabled checks
+     * @param params
+     *            the params
+     * @param t
+     *            the throwable
+     * @return DENY when the event is sampled out, NEUTRAL otherwise
+     */
+    @Override
+    public FilterReply decide(Marker marker, Logger eventLogger, Level eventLevel, String format, Object[] params,
+        Throwable t) {
+        // isEnabled checks pass through, so guarded statements are sampled like the others
+        if (!isStarted() || format == null || rate == 1 || eventLevel.toInt() > level.toInt() || !eventLogger
+            .getName().startsWith(logger) || !eventLevel.isGreaterOrEqual(eventLogger.getEffectiveLevel())
+            || hasThrowable(params, t)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (ThreadLocalRandom.current().nextInt(rate) == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        sampled.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * The throwable is still the last argument when the turbo filters run
+     */
+    private static boolean hasThrowable(Object[] params, Throwable t) {
+        return t != null || (params != null && params.length > 0 && params[params.length - 1] instanceof Throwable);
+    }
+
+    /**
+     * @param logger
+     *            the logger name or prefix to set
+     */
+    public void setLogger(String logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * @param level
+     *            the highest sampled level to set
+     */
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+
+    /**
+     * @param rate
+     *            the rate to set, one in rate events is kept
+     */
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+}
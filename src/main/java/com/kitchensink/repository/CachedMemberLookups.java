@@ -0,0 +1,51 @@
+package com.kitchensink.repository;
+
+import java.util.Optional;
+
+import com.kitchensink.entity.Member;
+
+/**
+ * The Interface CachedMemberLookups.
+ * The single member lookups of {@link MemberRepository}, served through the member cache.
+ *
+ * @author prerna
+ */
+public interface CachedMemberLookups {
+
+    /**
+     * Find by id.
+     *
+     * @param id
+     *            the id
+     * @return the member
+     */
+    Optional<Member> findById(String id);
+
+    /**
+     * Find by email.
+     *
+     * @param email
+     *            the email
+     * @return the member
+     */
+    Optional<Member> findByEmail(String email);
+
+    /**
+     * Find by phone number.
+     *
+     * @param phoneNumber
+     *            the phone number
+     * @return the member
+     */
+    Optional<Member> findByPhoneNumber(String phoneNumber);
+
+    /**
+     * Find by email and active true
+     *
+     * @param email
+     *            the email
+     * @return optional member
+     */
+    Optional<Member> findByEmailAndActiveTrue(String email);
+
+}
@@ -0,0 +1,65 @@
+package com.kitchensink.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.cache.MemberCache.Lookup;
+import com.kitchensink.entity.Member;
+
+/**
+ * The Class CachedMemberLookupsImpl.
+ * Repository fragment taking precedence over the derived queries of {@link MemberRepository}, so every caller of
+ * these lookups goes through the member cache. Writers invalidate with {@link MemberCache#evict}.
+ *
+ * @author prerna
+ */
+public class CachedMemberLookupsImpl implements CachedMemberLookups {
+
+    /** The mongo template */
+    private final MongoTemplate mongoTemplate;
+
+    /** The member cache */
+    private final MemberCache memberCache;
+
+    /**
+     * CachedMemberLookupsImpl constructor
+     *
+     * @param mongoTemplate
+     *            the mongo template
+     * @param memberCache
+     *            the member cache
+     */
+    public CachedMemberLookupsImpl(MongoTemplate mongoTemplate, MemberCache memberCache) {
+        this.mongoTemplate = mongoTemplate;
+        this.memberCache = memberCache;
+    }
+
+    @Override
+    public Optional<Member> findById(String id) {
+        return memberCache.find(Lookup.ID, id, key -> Optional.ofNullable(mongoTemplate.findById(key, Member.class)));
+    }
+
+    @Override
+    public Optional<Member> findByEmail(String email) {
+        return memberCache.find(Lookup.EMAIL, email, key -> findOne("email", key));
+    }
+
+    @Override
+    public Optional<Member> findByPhoneNumber(String phoneNumber) {
+        return memberCache.find(Lookup.PHONE, phoneNumber, key -> findOne("phoneNumber", key));
+    }
+
+    @Override
+    public Optional<Member> findByEmailAndActiveTrue(String email) {
+        return findByEmail(email).filter(Member::isActive);
+    }
+
+    private Optional<Member> findOne(String field, String value) {
+        return Optional.ofNullable(mongoTemplate.findOne(Query.query(Criteria.where(field).is(value)), Member.class));
+    }
+
+}
@@ -5,35 +5,29 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.kitchensink.entity.Member;
 
 /**
  * The Interface MemberRepository.
+ * The single member lookups are declared in {@link CachedMemberLookups} and served through the member cache.
  *
  * @author prerna
  */
 @Repository
-public interface MemberRepository extends MongoRepository<Member, String> {
+public interface MemberRepository extends MongoRepository<Member, String>, CachedMemberLookups {
 
     /**
-     * Find by email.
+     * Find by id, redeclared so the fragment method is the only candidate.
      *
-     * @param email
-     *            the email
-     * @return the member
-     */
-    Optional<Member> findByEmail(String email);
-
-    /**
-     * Find by phone number.
-     *
-     * @param phoneNumber
-     *            the phone number
+     * @param id
+     *            the id
      * @return the member
      */
-    Optional<Member> findByPhoneNumber(String phoneNumber);
+    @Override
+    Optional<Member> findById(String id);
 
     /**
      * Find by active true
@@ -45,12 +39,13 @@ public interface MemberRepository extends MongoRepository<Member, String> {
     Page<Member> findByActiveTrue(Pageable pageable);
 
     /**
-     * Find by email and active true
+     * Find an active member with its password hash, straight from the database: cached members leave the hash out.
      *
      * @param email
      *            the email
-     * @return optional member
+     * @return the member
      */
-    Optional<Member> findByEmailAndActiveTrue(String email);
+    @Query("{ 'email': ?0, 'active': true }")
+    Optional<Member> findCredentialsByEmail(String email);
 
 }
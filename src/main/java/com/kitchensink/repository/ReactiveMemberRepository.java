@@ -0,0 +1,46 @@
+package com.kitchensink.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.kitchensink.entity.Member;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The Interface ReactiveMemberRepository.
+ * Non-blocking counterpart of {@link MemberRepository}, only available on the reactive stack.
+ *
+ * @author prerna
+ */
+@Repository
+public interface ReactiveMemberRepository extends ReactiveMongoRepository<Member, String> {
+
+    /**
+     * Find by email.
+     *
+     * @param email
+     *            the email
+     * @return the member
+     */
+    Mono<Member> findByEmail(String email);
+
+    /**
+     * Find by phone number.
+     *
+     * @param phoneNumber
+     *            the phone number
+     * @return the member
+     */
+    Mono<Member> findByPhoneNumber(String phoneNumber);
+
+    /**
+     * Find by email and active true
+     *
+     * @param email
+     *            the email
+     * @return member
+     */
+    Mono<Member> findByEmailAndActiveTrue(String email);
+
+}
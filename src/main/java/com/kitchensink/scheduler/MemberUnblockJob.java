@@ -0,0 +1,215 @@
+package com.kitchensink.scheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.kitchensink.audit.AuditTrail;
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.entity.Member;
+import com.kitchensink.enums.AuditAction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class MemberUnblockJob.
+ * Unblocks the members whose lockout has expired. The locked members are found through a partial index on blockedAt
+ * that holds only blocked members, and unblocked in batches of updateMany. The job runs on the node holding its lease.
+ *
+ * @author prerna
+ */
+@Component
+@ConditionalOnProperty(name = "member.lockout.auto-unblock", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class MemberUnblockJob {
+
+    /** The Constant JOB, the lease name */
+    static final String JOB = "member-unblock";
+
+    /** The Constant METRIC_PREFIX */
+    private static final String METRIC_PREFIX = "member.unblock.";
+
+    /** The mongo template */
+    private final MongoTemplate mongoTemplate;
+
+    /** The scheduler leases */
+    private final SchedulerLeases leases;
+
+    /** The member cache */
+    private final MemberCache memberCache;
+
+    /** The audit trail */
+    private final AuditTrail auditTrail;
+
+    /** The meter registry */
+    private final MeterRegistry meterRegistry;
+
+    /** The lockout duration */
+    private final Duration lockoutDuration;
+
+    /** The batch size */
+    private final int batchSize;
+
+    /** The max batches per run */
+    private final int maxBatches;
+
+    /** The lease of the job */
+    private final Duration lease;
+
+    /** The unblocked members */
+    private final Counter unblocked;
+
+    /** The run time */
+    private final Timer runTime;
+
+    /** The indexes created */
+    private volatile boolean indexesCreated;
+
+    /**
+     * MemberUnblockJob constructor
+     *
+     * @param mongoTemplate
+     *            the mongo template
+     * @param leases
+     *            the scheduler leases
+     * @param memberCache
+     *            the member cache
+     * @param auditTrail
+     *            the audit trail
+     * @param meterRegistry
+     *            the meter registry
+     * @param lockoutDuration
+     *            how long a member stays blocked after failed logins
+     * @param batchSize
+     *            the members unblocked per updateMany
+     * @param maxBatches
+     *            the batches per run, the rest waits for the next run
+     * @param lease
+     *            the lease of the job, longer than the poll interval
+     */
+    public MemberUnblockJob(MongoTemplate mongoTemplate, SchedulerLeases leases, MemberCache memberCache,
+        AuditTrail auditTrail, MeterRegistry meterRegistry,
+        @Value("${member.lockout.duration:30m}") Duration lockoutDuration,
+        @Value("${member.lockout.batch-size:500}") int batchSize,
+        @Value("${member.lockout.max-batches:20}") int maxBatches,
+        @Value("${member.lockout.lease:5m}") Duration lease) {
+        this.mongoTemplate = mongoTemplate;
+        this.leases = leases;
+        this.memberCache = memberCache;
+        this.auditTrail = auditTrail;
+        this.meterRegistry = meterRegistry;
+        this.lockoutDuration = lockoutDuration;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.lease = lease;
+        this.unblocked = meterRegistry.counter(METRIC_PREFIX + "members");
+        this.runTime = meterRegistry.timer(METRIC_PREFIX + "run");
+    }
+
+    /**
+     * Unblock the members whose lockout expired, on the node holding the lease
+     */
+    @Scheduled(initialDelayString = "${member.lockout.initial-delay:PT1M}",
+        fixedDelayString = "${member.lockout.poll-interval:PT1M}")
+    public void unblockExpired() {
+        try {
+            createIndexes();
+            if (!leases.acquire(JOB, lease)) {
+                meterRegistry.counter(METRIC_PREFIX + "runs", "outcome", "lease_held").increment();
+                return;
+            }
+            int members = runTime.record(() -> unblock(LocalDateTime.now().minus(lockoutDuration)));
+            meterRegistry.counter(METRIC_PREFIX + "runs", "outcome", "completed").increment();
+            if (members > 0) {
+                log.info("Unblocked {} members locked before the last {}", members, lockoutDuration);
+            }
+        } catch (DataAccessException e) {
+            meterRegistry.counter(METRIC_PREFIX + "runs", "outcome", "failed").increment();
+            log.warn("Member unblock run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Unblock members blocked before the cutoff, a batch at a time
+     *
+     * @param cutoff
+     *            the cutoff
+     * @return the members unblocked
+     */
+    int unblock(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Query expired = Query.query(expired(cutoff)).limit(batchSize);
+            expired.fields().include("_id");
+            List<String> memberIds = mongoTemplate.find(expired, Member.class).stream().map(Member::getId).toList();
+            if (memberIds.isEmpty()) {
+                break;
+            }
+            // conditioned again, so a member unblocked or locked anew since the read is left alone
+            LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            long modified = mongoTemplate.updateMulti(Query.query(new Criteria().andOperator(Criteria.where("_id").in(
+                memberIds), expired(cutoff))), new Update().set("blocked", false).set("failedLoginAttempts", 0).set(
+                    "blockedAt", null).set("updatedAt", updatedAt), Member.class).getModifiedCount();
+            List<String> unblockedIds = modified == memberIds.size() ? memberIds : unblockedAt(memberIds, updatedAt);
+            unblockedIds.forEach(memberId -> {
+                memberCache.evict(memberId);
+                auditTrail.record(AuditAction.MEMBER_UNBLOCKED, memberId, AuditTrail.SYSTEM_ACTOR, "lockout expired");
+            });
+            unblocked.increment(modified);
+            total += (int) modified;
+            if (memberIds.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Ids of the members of a batch this run unblocked, when the write left some of them alone
+     *
+     * @param memberIds
+     *            the ids of the batch
+     * @param updatedAt
+     *            the update time of the batch write
+     * @return the member ids
+     */
+    private List<String> unblockedAt(List<String> memberIds, LocalDateTime updatedAt) {
+        Query unblockedNow = Query.query(Criteria.where("_id").in(memberIds).and("updatedAt").is(updatedAt));
+        unblockedNow.fields().include("_id");
+        return mongoTemplate.find(unblockedNow, Member.class).stream().map(Member::getId).toList();
+    }
+
+    /**
+     * Create the partial index of the blocked members once
+     */
+    private void createIndexes() {
+        if (!indexesCreated) {
+            mongoTemplate.indexOps(Member.class).ensureIndex(new Index().on("blockedAt", Sort.Direction.ASC).named(
+                "blockedAt_blocked").partial(PartialIndexFilter.of(Criteria.where("blocked").is(true))));
+            indexesCreated = true;
+        }
+    }
+
+    private static Criteria expired(LocalDateTime cutoff) {
+        // the blocked condition is the filter of the partial index, without it the index is not used
+        return Criteria.where("blocked").is(true).and("blockedAt").lte(cutoff);
+    }
+
+}
@@ -0,0 +1,320 @@
+package com.kitchensink.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.client.PhoneValidationClient;
+import com.kitchensink.entity.Member;
+import com.kitchensink.entity.PhoneVerificationTask;
+import com.kitchensink.enums.PhoneVerificationStatus;
+import com.kitchensink.exception.BaseApplicationException;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class PhoneVerificationWorker.
+ * Drains the phone verification queue in batches. A batch is claimed with a lease so several nodes can poll the same
+ * queue, and every task is verified on the worker pool within the provider rate limit.
+ *
+ * @author prerna
+ */
+@Component
+@ConditionalOnProperty(name = "phone.verification.mode", havingValue = "DEFERRED")
+@Slf4j
+public class PhoneVerificationWorker {
+
+    /** The Constant METRIC_PREFIX */
+    private static final String METRIC_PREFIX = "phone.verification.";
+
+    /** The mongo template */
+    private final MongoTemplate mongoTemplate;
+
+    /** The phone validation client */
+    private final PhoneValidationClient phoneValidationClient;
+
+    /** The rate limiter */
+    private final RateLimiter rateLimiter;
+
+    /** The meter registry */
+    private final MeterRegistry meterRegistry;
+
+    /** The member cache */
+    private final MemberCache memberCache;
+
+    /** The worker pool */
+    private final ExecutorService workerPool;
+
+    /** The batch size */
+    private final int batchSize;
+
+    /** The max attempts */
+    private final int maxAttempts;
+
+    /** The lease of a claimed batch */
+    private final Duration lease;
+
+    /** The base retry backoff */
+    private final Duration retryBackoff;
+
+    /** The queue depth */
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    /** The age of the oldest queued task in millis */
+    private final AtomicLong queueLagMillis = new AtomicLong();
+
+    /** The indexes created */
+    private volatile boolean indexesCreated;
+
+    /** The batch being verified on the worker pool */
+    private volatile CompletableFuture<Void> inFlight = CompletableFuture.completedFuture(null);
+
+    /**
+     * PhoneVerificationWorker constructor
+     *
+     * @param mongoTemplate
+     *            the mongo template
+     * @param phoneValidationClient
+     *            the phone validation client
+     * @param phoneValidationRateLimiter
+     *            the provider rate limiter
+     * @param meterRegistry
+     *            the meter registry
+     * @param memberCache
+     *            the member cache
+     * @param workers
+     *            the worker pool size
+     * @param batchSize
+     *            the batch size
+     * @param maxAttempts
+     *            the max attempts before the fallback policy applies
+     * @param lease
+     *            the lease of a claimed batch
+     * @param retryBackoff
+     *            the base retry backoff, doubled on every attempt
+     * @param virtualThreads
+     *            whether tasks run on virtual threads instead of the fixed pool
+     */
+    public PhoneVerificationWorker(MongoTemplate mongoTemplate, PhoneValidationClient phoneValidationClient,
+        RateLimiter phoneValidationRateLimiter, MeterRegistry meterRegistry, MemberCache memberCache,
+        @Value("${phone.verification.workers:4}") int workers,
+        @Value("${phone.verification.batch-size:50}") int batchSize,
+        @Value("${phone.verification.max-attempts:5}") int maxAttempts,
+        @Value("${phone.verification.lease:2m}") Duration lease,
+        @Value("${phone.verification.retry-backoff:30s}") Duration retryBackoff,
+        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.mongoTemplate = mongoTemplate;
+        this.phoneValidationClient = phoneValidationClient;
+        this.rateLimiter = phoneValidationRateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.memberCache = memberCache;
+        // the batch size and the rate limiter bound the concurrency, so virtual threads need no pool
+        this.workerPool = virtualThreads ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("phone-verify-",
+            0).factory()) : Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("phone-verify-"));
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        Gauge.builder(METRIC_PREFIX + "queue.depth", queueDepth, AtomicLong::get).register(meterRegistry);
+        TimeGauge.builder(METRIC_PREFIX + "queue.lag", queueLagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Claim one batch of queued verifications and hand it to the worker pool. The scheduler thread is shared with the
+     * other jobs, so the poll returns without waiting and the next one is skipped until the batch has finished.
+     */
+    @Scheduled(initialDelayString = "${phone.verification.initial-delay:PT10S}",
+        fixedDelayString = "${phone.verification.poll-interval:PT1S}")
+    public void drainQueue() {
+        if (!inFlight.isDone()) {
+            return;
+        }
+        try {
+            createIndexes();
+            List<PhoneVerificationTask> tasks = claimBatch();
+            refreshQueueMetrics();
+            if (tasks.isEmpty()) {
+                return;
+            }
+            inFlight = CompletableFuture.allOf(tasks.stream().map(task -> CompletableFuture.runAsync(() -> process(
+                task), workerPool)).toArray(CompletableFuture[]::new));
+        } catch (DataAccessException e) {
+            log.warn("Phone verification poll failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claim a batch of due tasks
+     *
+     * @return claimed tasks
+     */
+    private List<PhoneVerificationTask> claimBatch() {
+        Instant now = Instant.now();
+        Query dueTasks = Query.query(claimable(now)).with(Sort.by("nextAttemptAt")).limit(batchSize);
+        dueTasks.fields().include("_id");
+        List<String> memberIds = mongoTemplate.find(dueTasks, PhoneVerificationTask.class).stream().map(
+            PhoneVerificationTask::getMemberId).toList();
+        if (memberIds.isEmpty()) {
+            return List.of();
+        }
+        String claimToken = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(Query.query(new Criteria().andOperator(Criteria.where("_id").in(memberIds),
+            claimable(now))), new Update().set("lockedBy", claimToken).set("lockedUntil", now.plus(lease)).inc(
+                "attempts", 1), PhoneVerificationTask.class);
+        return mongoTemplate.find(Query.query(Criteria.where("lockedBy").is(claimToken)),
+            PhoneVerificationTask.class);
+    }
+
+    /**
+     * Verify a claimed task
+     *
+     * @param task
+     *            the task
+     */
+    private void process(PhoneVerificationTask task) {
+        try {
+            if (!rateLimiter.acquirePermission()) {
+                postpone(task);
+                return;
+            }
+            boolean valid = phoneValidationClient.check(task.getPhoneNumber());
+            complete(task, valid ? PhoneVerificationStatus.VERIFIED : PhoneVerificationStatus.INVALID,
+                valid ? "verified" : "invalid");
+        } catch (BaseApplicationException e) {
+            if (task.getAttempts() >= maxAttempts) {
+                log.warn("Giving up phone verification for member {} after {} attempts, applying {} fallback", task
+                    .getMemberId(), task.getAttempts(), phoneValidationClient.getFallback());
+                complete(task, phoneValidationClient.getFallback().accepts() ? PhoneVerificationStatus.VERIFIED
+                    : PhoneVerificationStatus.INVALID, "exhausted");
+            } else {
+                retry(task, "retry");
+            }
+        } catch (DataAccessException e) {
+            log.warn("Unable to record phone verification for member {}: {}", task.getMemberId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Record the verification result and remove the task
+     *
+     * @param task
+     *            the task
+     * @param status
+     *            the verification status
+     * @param outcome
+     *            the metric outcome
+     */
+    private void complete(PhoneVerificationTask task, PhoneVerificationStatus status, String outcome) {
+        // the number may have changed since the task was queued, only the current number is updated
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(task.getMemberId()).and("phoneNumber").is(task
+            .getPhoneNumber())), Update.update("phoneVerification", status), Member.class);
+        memberCache.evict(task.getMemberId());
+        mongoTemplate.remove(ownedBy(task), PhoneVerificationTask.class);
+        count(task, outcome);
+    }
+
+    /**
+     * Release the task for another attempt with exponential backoff
+     *
+     * @param task
+     *            the task
+     * @param outcome
+     *            the metric outcome
+     */
+    private void retry(PhoneVerificationTask task, String outcome) {
+        long factor = 1L << Math.min(Math.max(task.getAttempts() - 1, 0), 10);
+        mongoTemplate.updateFirst(ownedBy(task), new Update().set("nextAttemptAt", Instant.now().plus(retryBackoff
+            .multipliedBy(factor))).unset("lockedBy").unset("lockedUntil"), PhoneVerificationTask.class);
+        count(task, outcome);
+    }
+
+    /**
+     * Release a task refused by the rate limiter for the next refresh period. The provider was not called, so the
+     * claimed attempt is given back and the backoff is left as it was.
+     *
+     * @param task
+     *            the task
+     */
+    private void postpone(PhoneVerificationTask task) {
+        Duration refreshPeriod = rateLimiter.getRateLimiterConfig().getLimitRefreshPeriod();
+        mongoTemplate.updateFirst(ownedBy(task), new Update().set("nextAttemptAt", Instant.now().plus(refreshPeriod))
+            .inc("attempts", -1).unset("lockedBy").unset("lockedUntil"), PhoneVerificationTask.class);
+        count(task, "rate_limited");
+    }
+
+    /**
+     * Refresh the queue depth and lag gauges
+     */
+    private void refreshQueueMetrics() {
+        queueDepth.set(mongoTemplate.estimatedCount(PhoneVerificationTask.class));
+        Query oldest = new Query().with(Sort.by("enqueuedAt")).limit(1);
+        oldest.fields().include("enqueuedAt");
+        PhoneVerificationTask oldestTask = mongoTemplate.findOne(oldest, PhoneVerificationTask.class);
+        queueLagMillis.set(oldestTask == null || oldestTask.getEnqueuedAt() == null ? 0 : Duration.between(oldestTask
+            .getEnqueuedAt(), Instant.now()).toMillis());
+    }
+
+    /**
+     * Create the queue indexes once
+     */
+    private void createIndexes() {
+        if (!indexesCreated) {
+            mongoTemplate.indexOps(PhoneVerificationTask.class).ensureIndex(new Index().on("nextAttemptAt",
+                Sort.Direction.ASC));
+            mongoTemplate.indexOps(PhoneVerificationTask.class).ensureIndex(new Index().on("enqueuedAt",
+                Sort.Direction.ASC));
+            indexesCreated = true;
+        }
+    }
+
+    private void count(PhoneVerificationTask task, String outcome) {
+        meterRegistry.counter(METRIC_PREFIX + "tasks", "outcome", outcome).increment();
+        if (!"retry".equals(outcome) && !"rate_limited".equals(outcome) && task.getEnqueuedAt() != null) {
+            meterRegistry.timer(METRIC_PREFIX + "completion").record(Duration.between(task.getEnqueuedAt(), Instant
+                .now()));
+        }
+    }
+
+    private static Query ownedBy(PhoneVerificationTask task) {
+        return Query.query(Criteria.where("_id").is(task.getMemberId()).and("lockedBy").is(task.getLockedBy()));
+    }
+
+    private static Criteria claimable(Instant now) {
+        return Criteria.where("nextAttemptAt").lte(now).and("lockedUntil").not().gt(now);
+    }
+
+    /**
+     * Stop the worker pool
+     */
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdown();
+    }
+
+}
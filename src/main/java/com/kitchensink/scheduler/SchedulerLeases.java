@@ -0,0 +1,68 @@
+package com.kitchensink.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.kitchensink.entity.SchedulerLease;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class SchedulerLeases.
+ * Leases on scheduled jobs in the scheduler_lease collection, so a job scheduled on every node runs on one of them.
+ *
+ * @author prerna
+ */
+@Component
+@Slf4j
+public class SchedulerLeases {
+
+    /** The mongo template */
+    private final MongoTemplate mongoTemplate;
+
+    /** The owner id of this node */
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * SchedulerLeases constructor
+     *
+     * @param mongoTemplate
+     *            the mongo template
+     */
+    public SchedulerLeases(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Take or renew the lease on a job
+     *
+     * @param job
+     *            the job name
+     * @param lease
+     *            how long the lease is held without renewal
+     * @return whether this node holds the lease
+     */
+    public boolean acquire(String job, Duration lease) {
+        Instant now = Instant.now();
+        Query available = Query.query(Criteria.where("_id").is(job).orOperator(Criteria.where("lockedUntil").lte(now),
+            Criteria.where("owner").is(owner)));
+        try {
+            return mongoTemplate.findAndModify(available, new Update().set("owner", owner).set("lockedUntil", now.plus(
+                lease)), FindAndModifyOptions.options().upsert(true).returnNew(true), SchedulerLease.class) != null;
+        } catch (DuplicateKeyException e) {
+            // the lease is held by another node, the upsert collided with its document
+            log.debug("Lease on {} held by another node", job);
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.kitchensink.service;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.kitchensink.entity.AuditEvent;
+import com.kitchensink.enums.AuditAction;
+
+/**
+ * The Interface AuditService.
+ *
+ * @author prerna
+ */
+public interface AuditService {
+
+    /**
+     * Find audit events, every criterion is optional
+     *
+     * @param memberId
+     *            the member id
+     * @param action
+     *            the action
+     * @param from
+     *            the earliest time, inclusive
+     * @param to
+     *            the latest time, exclusive
+     * @param pageable
+     *            the pageable
+     * @return audit events
+     */
+    Page<AuditEvent> findEvents(String memberId, AuditAction action, Instant from, Instant to, Pageable pageable);
+
+}
@@ -0,0 +1,26 @@
+package com.kitchensink.service;
+
+import org.springframework.security.core.Authentication;
+
+import com.kitchensink.dto.BulkMemberRequest;
+import com.kitchensink.dto.BulkMemberResult;
+
+/**
+ * The Interface MemberBulkService.
+ *
+ * @author prerna
+ */
+public interface MemberBulkService {
+
+    /**
+     * Apply an admin action to many members in one write
+     *
+     * @param request
+     *            the bulk request
+     * @param authentication
+     *            the authentication of the admin
+     * @return the outcome per member
+     */
+    BulkMemberResult updateMembers(BulkMemberRequest request, Authentication authentication);
+
+}
@@ -5,8 +5,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 
 import com.kitchensink.dto.MemberDto;
+import com.kitchensink.dto.MemberFields;
+import com.kitchensink.dto.MemberPatch;
 import com.kitchensink.dto.MemberSearchCriteria;
 import com.kitchensink.dto.UpdateMemberRequest;
+import com.kitchensink.enums.PhoneVerificationStatus;
 
 /**
  * The Interface MemberService.
@@ -31,9 +34,22 @@ public interface MemberService {
      *            the pageable
      * @param showInactiveMembers
      *            the show inactive members
+     * @param fields
+     *            the member fields to read, null for all
      * @return members
      */
-    Page<MemberDto> getAllMembers(Pageable pageable, boolean showInactiveMembers);
+    Page<MemberDto> getAllMembers(Pageable pageable, boolean showInactiveMembers, MemberFields fields);
+
+    /**
+     * Get the ids and versions of a page of members, enough to tag the page without reading the members
+     *
+     * @param pageable
+     *            the pageable
+     * @param showInactiveMembers
+     *            the show inactive members
+     * @return members with only their id and version
+     */
+    Page<MemberDto> getAllMemberVersions(Pageable pageable, boolean showInactiveMembers);
 
     /**
      * Delete member by member id
@@ -52,17 +68,36 @@ public interface MemberService {
      * @param authentication
      * @param updateRequest
      *            the update request
+     * @param expectedVersion
+     *            the version the update is based on, null to update any version
+     * @return member
+     */
+    MemberDto updateMemberDetails(String memberId, Authentication authentication, UpdateMemberRequest updateRequest,
+        Long expectedVersion);
+
+    /**
+     * Patch member details, only the fields of the patch are written
+     *
+     * @param memberId
+     *            the member id
+     * @param authentication
+     *            the authentication
+     * @param patch
+     *            the member patch
+     * @param expectedVersion
+     *            the version the patch is based on, null to patch any version
      * @return member
      */
-    MemberDto updateMemberDetails(String memberId, Authentication authentication, UpdateMemberRequest updateRequest);
+    MemberDto patchMember(String memberId, Authentication authentication, MemberPatch patch, Long expectedVersion);
 
     /**
      * Validate if phone number is valid
      *
      * @param phoneNumber
      *            the phone number
+     * @return the verification status the number starts with
      */
-    public void validatePhoneNumber(String phoneNumber);
+    public PhoneVerificationStatus validatePhoneNumber(String phoneNumber);
 
     /**
      * Get filtered members
@@ -73,9 +108,11 @@ public interface MemberService {
      *            the show inactive members
      * @param searchCriteria
      *            the search criteria
+     * @param fields
+     *            the member fields to read, null for all
      * @return members
      */
     Page<MemberDto> getFilteredMembersByCriteria(Pageable pageable, boolean showInactiveMembers,
-        MemberSearchCriteria searchCriteria);
+        MemberSearchCriteria searchCriteria, MemberFields fields);
 
 }
@@ -0,0 +1,27 @@
+package com.kitchensink.service;
+
+/**
+ * The Interface PhoneVerificationService.
+ *
+ * @author prerna
+ */
+public interface PhoneVerificationService {
+
+    /**
+     * Whether phone numbers are verified in the background instead of before the write
+     *
+     * @return boolean
+     */
+    boolean isDeferred();
+
+    /**
+     * Queue the phone number of a member for deferred verification. Does nothing unless deferred.
+     *
+     * @param memberId
+     *            the member id
+     * @param phoneNumber
+     *            the phone number
+     */
+    void scheduleVerification(String memberId, String phoneNumber);
+
+}
@@ -0,0 +1,114 @@
+package com.kitchensink.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
+
+import com.kitchensink.dto.MemberDto;
+import com.kitchensink.dto.MemberFields;
+import com.kitchensink.dto.MemberPatch;
+import com.kitchensink.dto.MemberSearchCriteria;
+import com.kitchensink.dto.UpdateMemberRequest;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The Interface ReactiveMemberService.
+ * Non-blocking counterpart of {@link MemberService}.
+ *
+ * @author prerna
+ */
+public interface ReactiveMemberService {
+
+    /**
+     * Get current user data
+     *
+     * @param authentication
+     *            the authentication
+     * @return member
+     */
+    Mono<MemberDto> currentUserData(Authentication authentication);
+
+    /**
+     * Get all members
+     *
+     * @param pageable
+     *            the pageable
+     * @param showInactiveMembers
+     *            the show inactive members
+     * @param fields
+     *            the member fields to read, null for all
+     * @return members
+     */
+    Mono<Page<MemberDto>> getAllMembers(Pageable pageable, boolean showInactiveMembers, MemberFields fields);
+
+    /**
+     * Stream all members, emitted as they are read from the cursor
+     *
+     * @param showInactiveMembers
+     *            the show inactive members
+     * @return members
+     */
+    Flux<MemberDto> streamMembers(boolean showInactiveMembers);
+
+    /**
+     * Delete member by member id
+     *
+     * @param memberId
+     *            the param member id
+     * @param authentication
+     *            the authentication
+     * @return completion
+     */
+    Mono<Void> deleteMemberById(String memberId, Authentication authentication);
+
+    /**
+     * Update member details
+     *
+     * @param memberId
+     *            the member id
+     * @param authentication
+     *            the authentication
+     * @param updateRequest
+     *            the update request
+     * @param expectedVersion
+     *            the version the update is based on, null to update any version
+     * @return member
+     */
+    Mono<MemberDto> updateMemberDetails(String memberId, Authentication authentication,
+        UpdateMemberRequest updateRequest, Long expectedVersion);
+
+    /**
+     * Patch member details, only the fields of the patch are written
+     *
+     * @param memberId
+     *            the member id
+     * @param authentication
+     *            the authentication
+     * @param patch
+     *            the member patch
+     * @param expectedVersion
+     *            the version the patch is based on, null to patch any version
+     * @return member
+     */
+    Mono<MemberDto> patchMember(String memberId, Authentication authentication, MemberPatch patch,
+        Long expectedVersion);
+
+    /**
+     * Get filtered members
+     *
+     * @param pageable
+     *            the pageable
+     * @param showInactiveMembers
+     *            the show inactive members
+     * @param searchCriteria
+     *            the search criteria
+     * @param fields
+     *            the member fields to read, null for all
+     * @return members
+     */
+    Mono<Page<MemberDto>> getFilteredMembersByCriteria(Pageable pageable, boolean showInactiveMembers,
+        MemberSearchCriteria searchCriteria, MemberFields fields);
+
+}
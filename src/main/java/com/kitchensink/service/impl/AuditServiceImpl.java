@@ -0,0 +1,89 @@
+package com.kitchensink.service.impl;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import com.kitchensink.config.MongoReadPreferences;
+import com.kitchensink.entity.AuditEvent;
+import com.kitchensink.enums.AuditAction;
+import com.kitchensink.service.AuditService;
+
+/**
+ * The Class AuditServiceImpl.
+ * Reads the member_audit collection written by the Mongo audit sink. Recent events may still be buffered, at most
+ * one flush interval behind.
+ *
+ * @author prerna
+ */
+@Service
+public class AuditServiceImpl implements AuditService {
+
+    /** The mongo template */
+    private final MongoTemplate mongoTemplate;
+
+    /** The read preferences of the admin reads */
+    private final MongoReadPreferences readPreferences;
+
+    /**
+     * AuditServiceImpl constructor
+     *
+     * @param mongoTemplate
+     *            the mongo template
+     * @param readPreferences
+     *            the read preferences of the admin reads
+     */
+    public AuditServiceImpl(MongoTemplate mongoTemplate, MongoReadPreferences readPreferences) {
+        this.mongoTemplate = mongoTemplate;
+        this.readPreferences = readPreferences;
+    }
+
+    /**
+     * Find audit events
+     *
+     * @param memberId
+     *            the member id
+     * @param action
+     *            the action
+     * @param from
+     *            the earliest time, inclusive
+     * @param to
+     *            the latest time, exclusive
+     * @param pageable
+     *            the pageable
+     * @return audit events
+     */
+    @Override
+    public Page<AuditEvent> findEvents(String memberId, AuditAction action, Instant from, Instant to,
+        Pageable pageable) {
+        Query query = new Query();
+        if (memberId != null) {
+            query.addCriteria(Criteria.where("memberId").is(memberId));
+        }
+        if (action != null) {
+            query.addCriteria(Criteria.where("action").is(action));
+        }
+        if (from != null || to != null) {
+            Criteria at = Criteria.where("at");
+            if (from != null) {
+                at.gte(from);
+            }
+            if (to != null) {
+                at.lt(to);
+            }
+            query.addCriteria(at);
+        }
+        List<AuditEvent> events = mongoTemplate.find(Query.of(query).with(pageable).withReadPreference(readPreferences
+            .memberListing()), AuditEvent.class);
+        return PageableExecutionUtils.getPage(events, pageable, () -> mongoTemplate.count(Query.of(query)
+            .withReadPreference(readPreferences.memberCount()), AuditEvent.class));
+    }
+
+}
@@ -9,6 +9,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -33,7 +34,7 @@ public class AuthServiceImpl implements UserDetailsService {
     }
 
     /**
-     * Load user by username
+     * Load user by username, with the password hash to check the credentials against
      *
      * @param email
      *            the email
@@ -41,15 +42,41 @@ public class AuthServiceImpl implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        Optional<Member> memberOptional = memberRepository.findByEmailAndActiveTrue(email);
+        return toUserDetails(email, memberRepository.findCredentialsByEmail(email));
+    }
+
+    /**
+     * Load the user of a validated token, from the member cache and without the password hash
+     *
+     * @param email
+     *            the email
+     * @return user details
+     */
+    public UserDetails loadTokenUser(String email) throws UsernameNotFoundException {
+        return toUserDetails(email, memberRepository.findByEmailAndActiveTrue(email));
+    }
+
+    private static UserDetails toUserDetails(String email, Optional<Member> memberOptional) {
         if (memberOptional.isEmpty()) {
             throw new UsernameNotFoundException("Member with email " + email + " not found");
         }
-        Member member = memberOptional.get();
+        return toUserDetails(email, memberOptional.get());
+    }
+
+    /**
+     * Map an active member to user details, with an empty password when the member came from the cache
+     *
+     * @param email
+     *            the email
+     * @param member
+     *            the member
+     * @return user details
+     */
+    static UserDetails toUserDetails(String email, Member member) {
         if (member.isBlocked()) {
             throw new UsernameNotFoundException("Member with email " + email + " is blocked");
         }
-        return User.withUsername(email).password(member.getPassword())
+        return User.withUsername(email).password(Objects.toString(member.getPassword(), ""))
                    .authorities(member.getRoles().stream().map(role -> "ROLE_" + role) //spring requires ROLE_ prefix
                    .map(SimpleGrantedAuthority::new).toList()).disabled(!member.isActive()).build();
     }
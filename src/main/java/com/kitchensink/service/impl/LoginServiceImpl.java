@@ -3,19 +3,28 @@ package com.kitchensink.service.impl;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import com.kitchensink.audit.AuditTrail;
+import com.kitchensink.cache.MemberCache;
 import com.kitchensink.dto.LoginRequestDto;
 import com.kitchensink.entity.Member;
+import com.kitchensink.enums.AuditAction;
 import com.kitchensink.enums.ErrorType;
 import com.kitchensink.exception.AppAuthenticationException;
 import com.kitchensink.repository.MemberRepository;
 import com.kitchensink.service.LoginService;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -25,14 +34,27 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Service
 @Slf4j
+@Timed(value = "service.login", description = "Login")
 public class LoginServiceImpl implements LoginService {
 
+    /** The Constant MAX_FAILED_ATTEMPTS, the failed logins that lock a member */
+    private static final int MAX_FAILED_ATTEMPTS = 3;
+
     /** The authentication manager */
     private final AuthenticationManager authenticationManager;
 
     /** The member repository */
     private final MemberRepository memberRepository;
 
+    /** The mongo template */
+    private final MongoTemplate mongoTemplate;
+
+    /** The audit trail */
+    private final AuditTrail auditTrail;
+
+    /** The member cache */
+    private final MemberCache memberCache;
+
     /**
      * LoginServiceImpl constructor
      *
@@ -40,10 +62,20 @@ public class LoginServiceImpl implements LoginService {
      *            the authentication manager
      * @param memberRepository
      *            the member repository
+     * @param mongoTemplate
+     *            the mongo template
+     * @param auditTrail
+     *            the audit trail
+     * @param memberCache
+     *            the member cache
      */
-    public LoginServiceImpl(AuthenticationManager authenticationManager, MemberRepository memberRepository) {
+    public LoginServiceImpl(AuthenticationManager authenticationManager, MemberRepository memberRepository,
+        MongoTemplate mongoTemplate, AuditTrail auditTrail, MemberCache memberCache) {
         this.authenticationManager = authenticationManager;
         this.memberRepository = memberRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.auditTrail = auditTrail;
+        this.memberCache = memberCache;
     }
 
     /**
@@ -70,12 +102,15 @@ public class LoginServiceImpl implements LoginService {
             Authentication authenticate = authenticate(loginRequestDto.getEmail(), loginRequestDto.getPassword());
             Member member = loggingMember.get();
             if (member.getFailedLoginAttempts() > 0) {
-                member.setFailedLoginAttempts(0);
-                memberRepository.save(member);
+                // a member locked by concurrent failed logins in the meantime keeps its count
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(member.getId()).and(
+                    "failedLoginAttempts").gt(0).and("blocked").ne(true)), Update.update("failedLoginAttempts", 0),
+                    Member.class);
+                memberCache.evict(member.getId());
             }
             return authenticate;
         } catch (BadCredentialsException e) {
-            handleFailedLogin(loginRequestDto.getEmail());
+            handleFailedLogin(loggingMember.get().getId());
             throw e;
         }
     }
@@ -94,26 +129,34 @@ public class LoginServiceImpl implements LoginService {
     }
 
     /**
-     * Handle member details when Failed Login
+     * Handle member details when Failed Login. The attempt is counted with one $inc, so concurrent failed logins and
+     * admin edits are never lost, and the member is locked by an update conditioned on it not being locked yet, so
+     * only one failed login records the lock.
      *
-     * @param email
-     *            the email
+     * @param memberId
+     *            the member id
      */
-    private void handleFailedLogin(String email) {
-        Optional<Member> memberOptional = memberRepository.findByEmail(email);
-        if (memberOptional.isEmpty()) {
+    private void handleFailedLogin(String memberId) {
+        Query query = Query.query(Criteria.where("_id").is(memberId));
+        query.fields().include("failedLoginAttempts", "blocked");
+        Member member = mongoTemplate.findAndModify(query, new Update().inc("failedLoginAttempts", 1),
+            FindAndModifyOptions.options().returnNew(true), Member.class);
+        if (member == null) {
             return;
         }
-        Member member = memberOptional.get();
-        int attempts = member.getFailedLoginAttempts() + 1;
-        member.setFailedLoginAttempts(attempts);
-
-        if (attempts >= 3) {
-            member.setBlocked(true);
-            member.setBlockedAt(LocalDateTime.now());
+        memberCache.evict(memberId);
+        int attempts = member.getFailedLoginAttempts();
+        if (attempts < MAX_FAILED_ATTEMPTS || member.isBlocked()) {
+            return;
+        }
+        long locked = mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(memberId).and("blocked").ne(true)
+            .and("failedLoginAttempts").gte(MAX_FAILED_ATTEMPTS)), new Update().set("blocked", true).set("blockedAt",
+                LocalDateTime.now()), Member.class).getModifiedCount();
+        if (locked > 0) {
+            memberCache.evict(memberId);
+            auditTrail.record(AuditAction.MEMBER_LOCKED, memberId, AuditTrail.SYSTEM_ACTOR, "failedLoginAttempts="
+                + attempts);
         }
-
-        memberRepository.save(member);
     }
 
 }
@@ -0,0 +1,294 @@
+package com.kitchensink.service.impl;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import com.kitchensink.audit.AuditTrail;
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.dto.BulkMemberRequest;
+import com.kitchensink.dto.BulkMemberResult;
+import com.kitchensink.entity.Member;
+import com.kitchensink.enums.AuditAction;
+import com.kitchensink.enums.BulkMemberAction;
+import com.kitchensink.enums.BulkMemberStatus;
+import com.kitchensink.enums.ErrorType;
+import com.kitchensink.exception.BaseApplicationException;
+import com.kitchensink.repository.MemberRepository;
+import com.kitchensink.service.MemberBulkService;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class MemberBulkServiceImpl.
+ * Applies an admin action to up to a batch of members: the selected members are read once, those the action changes
+ * are written in one unordered bulk write, and every member gets an outcome. Each write is conditional on the state
+ * the decision was read from, so a member changed in between is left alone and reported unchanged. The admin's own
+ * account is never written, as with the single member endpoints.
+ *
+ * @author prerna
+ */
+@Service
+@Slf4j
+public class MemberBulkServiceImpl implements MemberBulkService {
+
+    /** The member repository */
+    private final MemberRepository memberRepository;
+
+    /** The mongo template */
+    private final MongoTemplate mongoTemplate;
+
+    /** The member cache */
+    private final MemberCache memberCache;
+
+    /** The audit trail */
+    private final AuditTrail auditTrail;
+
+    /** The max batch size */
+    private final int maxBatchSize;
+
+    /**
+     * MemberBulkServiceImpl constructor
+     *
+     * @param memberRepository
+     *            the member repository
+     * @param mongoTemplate
+     *            the mongo template
+     * @param memberCache
+     *            the member cache
+     * @param auditTrail
+     *            the audit trail
+     * @param maxBatchSize
+     *            the most members a request may select
+     */
+    public MemberBulkServiceImpl(MemberRepository memberRepository, MongoTemplate mongoTemplate,
+        MemberCache memberCache, AuditTrail auditTrail, @Value("${member.bulk.max-batch-size:500}") int maxBatchSize) {
+        this.memberRepository = memberRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.memberCache = memberCache;
+        this.auditTrail = auditTrail;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Apply an admin action to many members in one write
+     *
+     * @param request
+     *            the bulk request
+     * @param authentication
+     *            the authentication of the admin
+     * @return the outcome per member
+     */
+    @Override
+    public BulkMemberResult updateMembers(BulkMemberRequest request, Authentication authentication) {
+        validate(request);
+        String actor = authentication.getName();
+        String selfId = memberRepository.findByEmail(actor).map(Member::getId).orElse(null);
+        List<String> memberIds = memberIds(request);
+
+        Query stateQuery = new Query(Criteria.where("_id").in(memberIds));
+        stateQuery.fields().include("_id", "active", "blocked", "roles");
+        // also marks the members of this request, to tell them apart when some writes did not match
+        LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Map<String, Member> members = new HashMap<>();
+        mongoTemplate.find(stateQuery, Member.class).forEach(member -> members.put(member.getId(), member));
+
+        Map<String, BulkMemberResult.Outcome> outcomes = new HashMap<>();
+        List<String> written = new ArrayList<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Member.class);
+        for (String memberId : memberIds) {
+            Member member = members.get(memberId);
+            if (memberId.equals(selfId)) {
+                outcomes.put(memberId, outcome(memberId, BulkMemberStatus.SELF, null));
+            } else if (member == null) {
+                outcomes.put(memberId, outcome(memberId, BulkMemberStatus.NOT_FOUND, null));
+            } else if (!changes(request, member)) {
+                outcomes.put(memberId, outcome(memberId, BulkMemberStatus.UNCHANGED, null));
+            } else {
+                bulk.updateOne(new Query(decidedOn(request, member)), update(request, updatedAt));
+                written.add(memberId);
+            }
+        }
+
+        BulkWriteResult result = null;
+        if (!written.isEmpty()) {
+            try {
+                result = bulk.execute();
+            } catch (BulkOperationException e) {
+                // unordered, so every operation but the failed ones was applied
+                result = e.getResult();
+                for (BulkWriteError error : e.getErrors()) {
+                    String memberId = written.get(error.getIndex());
+                    log.error("Bulk {} of member {} failed: {}", request.getAction(), memberId, error.getMessage());
+                    outcomes.put(memberId, outcome(memberId, BulkMemberStatus.FAILED, error.getMessage()));
+                }
+            }
+        }
+
+        List<String> applied = written.stream().filter(memberId -> !outcomes.containsKey(memberId)).toList();
+        Set<String> modified = result != null && result.getMatchedCount() == applied.size() ? Set.copyOf(applied)
+            : writtenAt(applied, updatedAt);
+        int updated = 0;
+        for (String memberId : applied) {
+            if (modified.contains(memberId)) {
+                memberCache.evict(memberId);
+                outcomes.put(memberId, outcome(memberId, BulkMemberStatus.UPDATED, null));
+                audit(request, memberId, actor);
+                updated++;
+            } else {
+                outcomes.put(memberId, outcome(memberId, BulkMemberStatus.UNCHANGED, "Member changed concurrently"));
+            }
+        }
+        log.info("Bulk {} by {}: {} of {} members updated", request.getAction(), actor, updated, memberIds.size());
+        return new BulkMemberResult(updated, memberIds.stream().map(outcomes::get).toList());
+    }
+
+    private void validate(BulkMemberRequest request) {
+        if ((request.getMemberIds() == null) == (request.getFilter() == null)) {
+            throw invalid("Either memberIds or filter is required, not both");
+        }
+        if (request.getMemberIds() != null && request.getMemberIds().stream().anyMatch(memberId -> memberId == null
+            || memberId.isBlank())) {
+            throw invalid("Member ids must not be blank");
+        }
+        if (request.getAction() == BulkMemberAction.SET_ROLES && (request.getRoles() == null || request.getRoles()
+            .isEmpty())) {
+            throw invalid("At least one role must be added");
+        }
+    }
+
+    /**
+     * Ids of the selected members, without duplicates and at most a batch of them
+     *
+     * @param request
+     *            the bulk request
+     * @return the member ids
+     */
+    private List<String> memberIds(BulkMemberRequest request) {
+        if (request.getMemberIds() != null) {
+            List<String> memberIds = List.copyOf(new LinkedHashSet<>(request.getMemberIds()));
+            if (memberIds.size() > maxBatchSize) {
+                throw invalid("At most " + maxBatchSize + " members can be updated at once");
+            }
+            return memberIds;
+        }
+        // one past the batch, to tell a filter matching exactly a batch from one matching more
+        Query query = MemberServiceImpl.searchQuery(Pageable.unpaged(), request.getFilter()).limit(maxBatchSize + 1);
+        query.fields().include("_id");
+        List<String> memberIds = mongoTemplate.find(query, Member.class).stream().map(Member::getId).toList();
+        if (memberIds.size() > maxBatchSize) {
+            throw invalid("Filter matches more than " + maxBatchSize + " members, narrow it down");
+        }
+        return memberIds;
+    }
+
+    /**
+     * Whether the action changes the member
+     *
+     * @param request
+     *            the bulk request
+     * @param member
+     *            the member state
+     * @return boolean
+     */
+    static boolean changes(BulkMemberRequest request, Member member) {
+        return switch (request.getAction()) {
+            case DEACTIVATE -> member.isActive();
+            case UNBLOCK -> member.isBlocked();
+            case SET_ROLES -> !Objects.equals(member.getRoles(), request.getRoles());
+        };
+    }
+
+    /**
+     * Filter of the write of a member, which only matches while the member is in the state the action was decided on
+     *
+     * @param request
+     *            the bulk request
+     * @param member
+     *            the member state
+     * @return the criteria
+     */
+    static Criteria decidedOn(BulkMemberRequest request, Member member) {
+        Criteria criteria = Criteria.where("_id").is(member.getId());
+        return switch (request.getAction()) {
+            case DEACTIVATE -> criteria.and("active").is(true);
+            case UNBLOCK -> criteria.and("blocked").is(true);
+            case SET_ROLES -> criteria.and("roles").is(member.getRoles());
+        };
+    }
+
+    /**
+     * The write of the action, which also moves the member to its next version
+     *
+     * @param request
+     *            the bulk request
+     * @param updatedAt
+     *            the update time of the request
+     * @return the update
+     */
+    static Update update(BulkMemberRequest request, LocalDateTime updatedAt) {
+        Update update = new Update().inc("version", 1).set("updatedAt", updatedAt);
+        switch (request.getAction()) {
+            case DEACTIVATE -> update.set("active", false);
+            case UNBLOCK -> update.set("blocked", false).set("failedLoginAttempts", 0).set("blockedAt", null);
+            case SET_ROLES -> update.set("roles", request.getRoles());
+        }
+        return update;
+    }
+
+    /**
+     * Ids of the members this request wrote, when the bulk write matched fewer members than it was sent
+     *
+     * @param memberIds
+     *            the ids of the members without a write error
+     * @param updatedAt
+     *            the update time of the request
+     * @return the member ids
+     */
+    private Set<String> writtenAt(List<String> memberIds, LocalDateTime updatedAt) {
+        if (memberIds.isEmpty()) {
+            return Set.of();
+        }
+        Query query = new Query(Criteria.where("_id").in(memberIds).and("updatedAt").is(updatedAt));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Member.class).stream().map(Member::getId).collect(Collectors.toSet());
+    }
+
+    private void audit(BulkMemberRequest request, String memberId, String actor) {
+        switch (request.getAction()) {
+            case DEACTIVATE -> auditTrail.record(AuditAction.MEMBER_DELETED, memberId, actor, null);
+            case UNBLOCK -> auditTrail.record(AuditAction.MEMBER_UNBLOCKED, memberId, actor, null);
+            case SET_ROLES -> auditTrail.record(AuditAction.MEMBER_UPDATED, memberId, actor, "roles");
+        }
+    }
+
+    private static BulkMemberResult.Outcome outcome(String memberId, BulkMemberStatus status, String message) {
+        return new BulkMemberResult.Outcome(memberId, status, message);
+    }
+
+    private static BaseApplicationException invalid(String message) {
+        return new BaseApplicationException(message, ErrorType.REQUEST_VALIDATION_FAILED, HttpStatus.BAD_REQUEST);
+    }
+
+}
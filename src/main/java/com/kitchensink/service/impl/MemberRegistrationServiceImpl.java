@@ -11,11 +11,14 @@ import org.springframework.stereotype.Service;
 import com.kitchensink.dto.RegisterMemberDto;
 import com.kitchensink.entity.Member;
 import com.kitchensink.enums.ErrorType;
+import com.kitchensink.enums.PhoneVerificationStatus;
 import com.kitchensink.exception.ConflictException;
 import com.kitchensink.repository.MemberRepository;
 import com.kitchensink.service.MemberRegistrationService;
 import com.kitchensink.service.MemberService;
+import com.kitchensink.service.PhoneVerificationService;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -25,6 +28,7 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Service
 @Slf4j
+@Timed(value = "service.registration", description = "Member registration")
 public class MemberRegistrationServiceImpl implements MemberRegistrationService {
 
     /** The authentication manager */
@@ -39,6 +43,9 @@ public class MemberRegistrationServiceImpl implements MemberRegistrationService
     /** The member service */
     private final MemberService memberService;
 
+    /** The phone verification service */
+    private final PhoneVerificationService phoneVerificationService;
+
     /**
      * MemberRegistrationServiceImpl constructor
      *
@@ -48,13 +55,19 @@ public class MemberRegistrationServiceImpl implements MemberRegistrationService
      *            the member repository
      * @param passwordEncoder
      *            the password encoder
+     * @param memberService
+     *            the member service
+     * @param phoneVerificationService
+     *            the phone verification service
      */
     public MemberRegistrationServiceImpl(AuthenticationManager authenticationManager, MemberRepository memberRepository,
-        PasswordEncoder passwordEncoder, MemberService memberService) {
+        PasswordEncoder passwordEncoder, MemberService memberService,
+        PhoneVerificationService phoneVerificationService) {
         this.authenticationManager = authenticationManager;
         this.memberRepository = memberRepository;
         this.passwordEncoder = passwordEncoder;
         this.memberService = memberService;
+        this.phoneVerificationService = phoneVerificationService;
     }
 
     /**
@@ -69,18 +82,22 @@ public class MemberRegistrationServiceImpl implements MemberRegistrationService
         log.info("Registering member: {}", newMember.getEmail());
 
         validateUniqueness(newMember);
-        memberService.validatePhoneNumber(newMember.getPhoneNumber());
+        PhoneVerificationStatus phoneVerification = memberService.validatePhoneNumber(newMember.getPhoneNumber());
 
         Member member = new Member();
         member.setName(newMember.getName().trim());
         member.setEmail(newMember.getEmail().trim());
         member.setPhoneNumber(newMember.getPhoneNumber().trim());
+        member.setPhoneVerification(phoneVerification);
         member.setPassword(encryptPassword(newMember.getPassword()));
         member.setActive(true);
         member.setBlocked(false);
         member.setRoles(new ArrayList<>(newMember.getRoles()));
 
         memberRepository.insert(member);
+        if (phoneVerification == PhoneVerificationStatus.PENDING) {
+            phoneVerificationService.scheduleVerification(member.getId(), member.getPhoneNumber());
+        }
 
         return authenticate(newMember.getEmail(), newMember.getPassword());
     }
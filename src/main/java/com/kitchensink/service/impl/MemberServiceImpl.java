@@ -1,39 +1,51 @@
 package com.kitchensink.service.impl;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitchensink.audit.AuditTrail;
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.client.PhoneValidationClient;
+import com.kitchensink.config.MongoReadPreferences;
 import com.kitchensink.dto.MemberDto;
+import com.kitchensink.dto.MemberFields;
+import com.kitchensink.dto.MemberPatch;
 import com.kitchensink.dto.MemberSearchCriteria;
 import com.kitchensink.dto.UpdateMemberRequest;
 import com.kitchensink.entity.Member;
+import com.kitchensink.enums.AuditAction;
 import com.kitchensink.enums.ErrorType;
+import com.kitchensink.enums.PhoneValidationResult;
+import com.kitchensink.enums.PhoneVerificationStatus;
 import com.kitchensink.exception.AppAuthenticationException;
 import com.kitchensink.exception.BaseApplicationException;
 import com.kitchensink.exception.ConflictException;
 import com.kitchensink.repository.MemberRepository;
 import com.kitchensink.service.MemberService;
+import com.kitchensink.service.PhoneVerificationService;
+import com.kitchensink.validation.OfflinePhoneNumberValidator;
+import com.mongodb.client.result.UpdateResult;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -43,38 +55,72 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Service
 @Slf4j
+@Timed(value = "service.member", description = "Member operations")
 public class MemberServiceImpl implements MemberService {
 
     /** The member repository */
     private final MemberRepository memberRepository;
 
-    /** The rest template */
-    private final RestTemplate restTemplate;
+    /** The phone validation client */
+    private final PhoneValidationClient phoneValidationClient;
 
+    /** The offline phone number validator */
+    private final OfflinePhoneNumberValidator offlinePhoneNumberValidator;
+
+    /** The phone validation enabled */
     private final boolean phoneValidationEnabled;
+
     /** The mongo template. */
     private final MongoTemplate mongoTemplate;
 
-    /** The phone validation key */
-    private final String phoneValidationKey;
+    /** The phone verification service */
+    private final PhoneVerificationService phoneVerificationService;
+
+    /** The read preferences of the admin reads */
+    private final MongoReadPreferences readPreferences;
 
-    /** The Constant PHONE_VALIDATION_URL */
-    private static final String PHONE_VALIDATION_URL = "https://phonevalidation.abstractapi.com/v1/?api_key=";
+    /** The audit trail */
+    private final AuditTrail auditTrail;
+
+    /** The member cache */
+    private final MemberCache memberCache;
 
     /**
      * MemberServiceImpl constructor
      *
      * @param memberRepository
      *            the member repository
+     * @param phoneValidationClient
+     *            the phone validation client
+     * @param offlinePhoneNumberValidator
+     *            the offline phone number validator
+     * @param mongoTemplate
+     *            the mongo template
+     * @param phoneVerificationService
+     *            the phone verification service
+     * @param readPreferences
+     *            the read preferences of the admin reads
+     * @param auditTrail
+     *            the audit trail
+     * @param memberCache
+     *            the member cache
+     * @param phoneValidationEnabled
+     *            the phone validation enabled
      */
-    public MemberServiceImpl(MemberRepository memberRepository, RestTemplate restTemplate, MongoTemplate mongoTemplate,
-        @Value("${phone.validation.enabled:true}") boolean phoneValidationEnabled,
-        @Value("${phone.validation.apikey:123}") String phoneValidationKey) {
+    public MemberServiceImpl(MemberRepository memberRepository, PhoneValidationClient phoneValidationClient,
+        OfflinePhoneNumberValidator offlinePhoneNumberValidator, MongoTemplate mongoTemplate,
+        PhoneVerificationService phoneVerificationService, MongoReadPreferences readPreferences, AuditTrail auditTrail,
+        MemberCache memberCache,
+        @Value("${phone.validation.enabled:true}") boolean phoneValidationEnabled) {
         this.memberRepository = memberRepository;
-        this.restTemplate = restTemplate;
+        this.phoneValidationClient = phoneValidationClient;
+        this.offlinePhoneNumberValidator = offlinePhoneNumberValidator;
         this.mongoTemplate = mongoTemplate;
+        this.phoneVerificationService = phoneVerificationService;
+        this.readPreferences = readPreferences;
+        this.auditTrail = auditTrail;
+        this.memberCache = memberCache;
         this.phoneValidationEnabled = phoneValidationEnabled;
-        this.phoneValidationKey = phoneValidationKey;
     }
 
     /**
@@ -108,49 +154,83 @@ public class MemberServiceImpl implements MemberService {
      *            the pageable
      * @param showInactiveMembers
      *            the show inactive members
+     * @param fields
+     *            the member fields to read, null for all
      * @return members
      */
     @Override
-    public Page<MemberDto> getAllMembers(Pageable pageable, boolean showInactiveMembers) {
-        if (showInactiveMembers) {
-            return transformMember(memberRepository.findAll(pageable)); // Show all users
-        } else {
-            return transformMember(memberRepository.findByActiveTrue(pageable)); // Only active users
-        }
+    public Page<MemberDto> getAllMembers(Pageable pageable, boolean showInactiveMembers, MemberFields fields) {
+        return findPage(pageable, showInactiveMembers, fields == null ? null : fields.paths());
     }
 
     /**
-     * Transform member entity to dto
+     * Get the ids and versions of a page of members
      *
-     * @param membersPage
-     *            the members page
-     * @return member dto
+     * @param pageable
+     *            the pageable
+     * @param showInactiveMembers
+     *            the show inactive members
+     * @return members with only their id and version
      */
-    private Page<MemberDto> transformMember(Page<Member> membersPage) {
+    @Override
+    public Page<MemberDto> getAllMemberVersions(Pageable pageable, boolean showInactiveMembers) {
+        return findPage(pageable, showInactiveMembers, MemberFields.VERSION_PATHS);
+    }
 
-        List<MemberDto> memberDTOs = membersPage.getContent().stream().map(this::toMemberDto).collect(Collectors
-            .toList());
+    private Page<MemberDto> findPage(Pageable pageable, boolean showInactiveMembers, String[] paths) {
+        Query query = new Query().with(pageable);
+        if (!showInactiveMembers) {
+            query.addCriteria(Criteria.where("active").is(true)); // Only active users
+        }
+        Query pageQuery = project(Query.of(query).withReadPreference(readPreferences.memberListing()), paths);
+        List<MemberDto> members = mongoTemplate.find(pageQuery, Member.class).stream().map(
+            MemberServiceImpl::toMemberDto).toList();
+        // like the repository, the count is skipped when the page itself tells the total
+        return PageableExecutionUtils.getPage(members, pageable, () -> mongoTemplate.count(Query.of(query).limit(-1)
+            .skip(-1).withReadPreference(readPreferences.memberCount()), Member.class));
+    }
 
-        // Create a new PageImpl with the converted content and original pagination info
-        return new PageImpl<>(memberDTOs, membersPage.getPageable(), membersPage.getTotalElements());
+    /**
+     * Read only the given fields of the members
+     *
+     * @param query
+     *            the query
+     * @param paths
+     *            the document fields, null for all
+     * @return the query
+     */
+    static Query project(Query query, String[] paths) {
+        if (paths != null) {
+            query.fields().include(paths);
+        }
+        return query;
     }
 
-    private MemberDto toMemberDto(Member member) {
+    /**
+     * Transform member entity to dto
+     *
+     * @param member
+     *            the member, possibly with only some fields read
+     * @return member dto
+     */
+    static MemberDto toMemberDto(Member member) {
         MemberDto memberDto = new MemberDto();
         memberDto.setId(member.getId());
         memberDto.setName(member.getName());
         memberDto.setEmail(member.getEmail());
         memberDto.setPhoneNumber(member.getPhoneNumber());
-        memberDto.setRoles(member.getRoles());
-        memberDto.setJoiningDate(member.getCreatedAt().toLocalDate());
+        memberDto.setPhoneVerification(member.getPhoneVerification());
+        memberDto.setJoiningDate(member.getCreatedAt() == null ? null : member.getCreatedAt().toLocalDate());
         memberDto.setActive(member.isActive());
         memberDto.setBlocked(member.isBlocked());
-        memberDto.setRoles(new ArrayList<>(member.getRoles()));
+        memberDto.setRoles(member.getRoles() == null ? null : new ArrayList<>(member.getRoles()));
+        memberDto.setVersion(member.getVersion());
         return memberDto;
     }
 
     /**
-     * Delete member by member id
+     * Delete member by member id. The soft delete is one update conditioned on the member being active, so a member
+     * already deleted is not written again.
      *
      * @param memberId
      *            the param member id
@@ -158,110 +238,284 @@ public class MemberServiceImpl implements MemberService {
     @Override
     public void deleteMemberById(String memberId, Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        Optional<Member> loggedInMemberOptional = memberRepository.findByEmail(userDetails.getUsername());
-        if (loggedInMemberOptional.isEmpty() || loggedInMemberOptional.get().getId().equals(memberId)) {
-            log.error("Member with emailId: {} trying to delete own details", loggedInMemberOptional.get().getEmail());
-            throw new BaseApplicationException("Member with emailId: " + loggedInMemberOptional.get().getEmail()
-                + " trying to delete own details", ErrorType.ACCOUNT_BLOCKED, HttpStatus.FORBIDDEN);
-        }
+        verifyNotSelf(memberId, userDetails.getUsername());
         // soft delete
-        Optional<Member> memberOptional = memberRepository.findById(memberId);
-        if (memberOptional.isEmpty()) {
-            log.error("Member with memberId {} doesn't exist", memberId);
-            throw new AppAuthenticationException("Member with memberId " + memberId + " doesn't exist",
-                ErrorType.MEMBER_NOT_FOUND);
+        UpdateResult result = mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(memberId).and("active")
+            .is(true)), new Update().set("active", false).set("updatedAt", LocalDateTime.now()), Member.class);
+        if (result.getMatchedCount() == 0) {
+            if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(memberId)), Member.class)) {
+                throw memberNotFound(memberId);
+            }
+            log.info("Member {} is already deleted", memberId);
+            return;
         }
-        memberOptional.get().setActive(false);
-        memberRepository.save(memberOptional.get());
-
+        memberCache.evict(memberId);
+        auditTrail.record(AuditAction.MEMBER_DELETED, memberId, userDetails.getUsername(), null);
     }
 
     /**
-     * Update member details
+     * Update member details, written as a patch of every editable field
      *
      * @param memberId
      *            the member id
      * @param updateRequest
      *            the update request
+     * @param expectedVersion
+     *            the version the update is based on, null to update any version
      * @return member
      */
     @Override
     public MemberDto updateMemberDetails(String memberId, Authentication authentication,
-        UpdateMemberRequest updateRequest) {
+        UpdateMemberRequest updateRequest, Long expectedVersion) {
+        return patchMember(memberId, authentication, MemberPatch.of(updateRequest), expectedVersion);
+    }
+
+    /**
+     * Patch member details. The fields of the patch are set by one findAndModify conditioned on the expected
+     * version, so there is no read before the write and no update is lost. The document before the write is
+     * returned, without the password, for the audit of what changed.
+     *
+     * @param memberId
+     *            the member id
+     * @param authentication
+     *            the authentication
+     * @param patch
+     *            the member patch
+     * @param expectedVersion
+     *            the version the patch is based on, null to patch any version
+     * @return member
+     */
+    @Override
+    public MemberDto patchMember(String memberId, Authentication authentication, MemberPatch patch,
+        Long expectedVersion) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        Optional<Member> loggedInMemberOptional = memberRepository.findByEmail(userDetails.getUsername());
-        if (loggedInMemberOptional.isEmpty() || loggedInMemberOptional.get().getId().equals(memberId)) {
-            log.error("Member with emailId: {} trying to delete own details", loggedInMemberOptional.get().getEmail());
-            throw new BaseApplicationException("Member with emailId: " + loggedInMemberOptional.get().getEmail()
-                + " trying to delete own details", ErrorType.ACCOUNT_BLOCKED, HttpStatus.FORBIDDEN);
+        verifyNotSelf(memberId, userDetails.getUsername());
+
+        PhoneVerificationStatus phoneVerification = null;
+        if (patch.getPhoneNumber() != null) {
+            Optional<Member> owner = memberRepository.findByPhoneNumber(patch.getPhoneNumber());
+            owner.filter(other -> !Objects.equals(memberId, other.getId())).ifPresent(existing -> {
+                log.error("Phone number already registered with other user: {}", patch.getPhoneNumber());
+                throw new ConflictException("Phone number linked with another user: " + patch.getPhoneNumber(),
+                    ErrorType.USER_ALREADY_EXISTS);
+            });
+            // a number nobody has is a new number of this member
+            phoneVerification = owner.isEmpty() ? validatePhoneNumber(patch.getPhoneNumber()) : null;
         }
 
-        Optional<Member> memberOptional = memberRepository.findById(memberId);
-        if (memberOptional.isEmpty()) {
-            log.error("Member with memberId {} doesn't exist", memberId);
-            throw new AppAuthenticationException("Member with memberId " + memberId + " doesn't exist",
-                ErrorType.MEMBER_NOT_FOUND);
+        Query query = patchQuery(memberId, expectedVersion);
+        Member member = patch.isEmpty() ? mongoTemplate.findOne(query, Member.class) : mongoTemplate.findAndModify(
+            query, patchUpdate(patch, phoneVerification), FindAndModifyOptions.options().returnNew(false),
+            Member.class);
+        if (member == null) {
+            throw expectedVersion != null && mongoTemplate.exists(new Query(Criteria.where("_id").is(memberId)),
+                Member.class) ? memberModified(memberId, expectedVersion) : memberNotFound(memberId);
+        }
+        if (patch.isEmpty()) {
+            return toMemberDto(member);
         }
+        memberCache.evict(memberId);
 
-        memberRepository.findByPhoneNumber(updateRequest.getPhoneNumber()).filter(member -> !Objects.equals(memberId,
-            member.getId())).ifPresent(existing -> {
-                log.error("Phone number already registered with other user: {}", updateRequest.getPhoneNumber());
-                throw new ConflictException("Phone number linked with another user: " + updateRequest.getPhoneNumber(),
-                    ErrorType.USER_ALREADY_EXISTS);
-            });
+        String changedFields = changedFields(member, patch);
+        boolean unblocked = patch.isUnblock() && member.isBlocked();
+        Member patchedMember = applyPatch(member, patch, phoneVerification);
+        if (phoneVerification == PhoneVerificationStatus.PENDING) {
+            phoneVerificationService.scheduleVerification(memberId, patchedMember.getPhoneNumber());
+        }
+        auditUpdate(auditTrail, memberId, userDetails.getUsername(), changedFields, unblocked);
+        return toMemberDto(patchedMember);
+    }
 
-        if (!memberOptional.get().getPhoneNumber().equals(updateRequest.getPhoneNumber())) {
-            validatePhoneNumber(updateRequest.getPhoneNumber());
+    private void verifyNotSelf(String memberId, String email) {
+        Optional<Member> loggedInMemberOptional = memberRepository.findByEmail(email);
+        if (loggedInMemberOptional.isEmpty() || loggedInMemberOptional.get().getId().equals(memberId)) {
+            log.error("Member with emailId: {} trying to modify own details", email);
+            throw new BaseApplicationException("Member with emailId: " + email + " trying to modify own details",
+                ErrorType.ACCOUNT_BLOCKED, HttpStatus.FORBIDDEN);
         }
+    }
 
-        // Only update allowed fields
-        Member member = memberOptional.get();
-        member.setName(updateRequest.getName());
-        member.setPhoneNumber(updateRequest.getPhoneNumber());
-        member.setRoles(updateRequest.getRoles());
+    /**
+     * The member a patch applies to, at the expected version when there is one
+     *
+     * @param memberId
+     *            the member id
+     * @param expectedVersion
+     *            the expected version, may be null
+     * @return query
+     */
+    static Query patchQuery(String memberId, Long expectedVersion) {
+        Query query = new Query(Criteria.where("_id").is(memberId));
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where("version").is(expectedVersion));
+        }
+        query.fields().exclude("password");
+        return query;
+    }
 
-        if (updateRequest.isUnBlockMember()) {
+    /**
+     * The write of a patch; the template moves the member to its next version
+     *
+     * @param patch
+     *            the member patch
+     * @param phoneVerification
+     *            the verification of a new phone number, null when the number is unchanged
+     * @return update
+     */
+    static Update patchUpdate(MemberPatch patch, PhoneVerificationStatus phoneVerification) {
+        Update update = new Update().set("updatedAt", LocalDateTime.now());
+        if (patch.getName() != null) {
+            update.set("name", patch.getName());
+        }
+        if (patch.getPhoneNumber() != null) {
+            update.set("phoneNumber", patch.getPhoneNumber());
+        }
+        if (phoneVerification != null) {
+            update.set("phoneVerification", phoneVerification);
+        }
+        if (patch.getRoles() != null) {
+            update.set("roles", patch.getRoles());
+        }
+        if (patch.isUnblock()) {
+            update.set("blocked", false).set("failedLoginAttempts", 0).set("blockedAt", null);
+        }
+        return update;
+    }
+
+    /**
+     * The member after a patch, from the document before it
+     *
+     * @param member
+     *            the member before the patch
+     * @param patch
+     *            the member patch
+     * @param phoneVerification
+     *            the verification of a new phone number, null when the number is unchanged
+     * @return member
+     */
+    static Member applyPatch(Member member, MemberPatch patch, PhoneVerificationStatus phoneVerification) {
+        if (patch.getName() != null) {
+            member.setName(patch.getName());
+        }
+        if (patch.getPhoneNumber() != null) {
+            member.setPhoneNumber(patch.getPhoneNumber());
+        }
+        if (phoneVerification != null) {
+            member.setPhoneVerification(phoneVerification);
+        }
+        if (patch.getRoles() != null) {
+            member.setRoles(patch.getRoles());
+        }
+        if (patch.isUnblock()) {
             member.setBlocked(false);
             member.setFailedLoginAttempts(0);
             member.setBlockedAt(null);
         }
+        member.setVersion(member.getVersion() == null ? 1L : member.getVersion() + 1);
+        return member;
+    }
 
-        Member savedMember = memberRepository.save(member);
-        return toMemberDto(savedMember);
+    /**
+     * The answer to an edit of a member that does not exist
+     *
+     * @param memberId
+     *            the member id
+     * @return the exception
+     */
+    static AppAuthenticationException memberNotFound(String memberId) {
+        log.error("Member with memberId {} doesn't exist", memberId);
+        return new AppAuthenticationException("Member with memberId " + memberId + " doesn't exist",
+            ErrorType.MEMBER_NOT_FOUND);
+    }
 
+    /**
+     * The answer to an update based on a version that is no longer current
+     *
+     * @param memberId
+     *            the member id
+     * @param expectedVersion
+     *            the version the update was based on
+     * @return the exception
+     */
+    static BaseApplicationException memberModified(String memberId, Long expectedVersion) {
+        log.info("Member {} is no longer at version {}", memberId, expectedVersion);
+        return new BaseApplicationException("Member " + memberId + " was modified since version " + expectedVersion,
+            ErrorType.MEMBER_MODIFIED, HttpStatus.PRECONDITION_FAILED);
     }
 
     /**
-     * Validate if phone number is valid
+     * Names of the fields the patch changes
      *
-     * @param phoneNumber
-     *            the phone number
+     * @param member
+     *            the member before the patch
+     * @param patch
+     *            the member patch
+     * @return the changed fields, comma separated, empty when none
      */
-    @Override
-    public void validatePhoneNumber(String phoneNumber) {
-        if (phoneValidationEnabled && !validatePhone(phoneNumber)) {
-            throw new BaseApplicationException("Invalid phone number: " + phoneNumber, ErrorType.PHONE_NUMBER_INVALID,
-                HttpStatus.BAD_REQUEST);
+    static String changedFields(Member member, MemberPatch patch) {
+        List<String> fields = new ArrayList<>();
+        if (patch.getName() != null && !Objects.equals(member.getName(), patch.getName())) {
+            fields.add("name");
+        }
+        if (patch.getPhoneNumber() != null && !Objects.equals(member.getPhoneNumber(), patch.getPhoneNumber())) {
+            fields.add("phoneNumber");
+        }
+        if (patch.getRoles() != null && !Objects.equals(member.getRoles(), patch.getRoles())) {
+            fields.add("roles");
+        }
+        return String.join(",", fields);
+    }
+
+    /**
+     * Record an admin update and the unblock it carries
+     *
+     * @param auditTrail
+     *            the audit trail
+     * @param memberId
+     *            the member id
+     * @param actor
+     *            the admin email
+     * @param changedFields
+     *            the changed fields
+     * @param unblocked
+     *            whether a blocked member was unblocked
+     */
+    static void auditUpdate(AuditTrail auditTrail, String memberId, String actor, String changedFields,
+        boolean unblocked) {
+        if (!changedFields.isEmpty()) {
+            auditTrail.record(AuditAction.MEMBER_UPDATED, memberId, actor, changedFields);
+        }
+        if (unblocked) {
+            auditTrail.record(AuditAction.MEMBER_UNBLOCKED, memberId, actor, null);
         }
     }
 
     /**
-     * Call client to validate phone number
+     * Validate if phone number is valid. The numbering plan decides offline, the provider is only consulted for
+     * numbers the plan cannot decide, later by the verification worker in deferred mode.
      *
      * @param phoneNumber
      *            the phone number
-     * @return boolean
+     * @return the verification status the number starts with
      */
-    private boolean validatePhone(String phoneNumber) {
-        try {
-            String url = PHONE_VALIDATION_URL + phoneValidationKey + "&phone=" + phoneNumber;
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            JsonNode jsonNode = new ObjectMapper().readTree(response.getBody());
-            return jsonNode.path("valid").asBoolean();
-        } catch (Exception e) {
-            log.warn("Phone validation failed: {}", e.getMessage());
-            return false;
+    @Override
+    public PhoneVerificationStatus validatePhoneNumber(String phoneNumber) {
+        if (!phoneValidationEnabled) {
+            return PhoneVerificationStatus.UNVERIFIED;
+        }
+        PhoneValidationResult result = offlinePhoneNumberValidator.validate(phoneNumber);
+        if (result == PhoneValidationResult.AMBIGUOUS) {
+            if (phoneVerificationService.isDeferred()) {
+                return PhoneVerificationStatus.PENDING;
+            }
+            result = phoneValidationClient.isValid(phoneNumber) ? PhoneValidationResult.VALID
+                : PhoneValidationResult.INVALID;
+        }
+        if (result == PhoneValidationResult.INVALID) {
+            throw new BaseApplicationException("Invalid phone number: " + phoneNumber, ErrorType.PHONE_NUMBER_INVALID,
+                HttpStatus.BAD_REQUEST);
         }
+        return PhoneVerificationStatus.VERIFIED;
     }
 
     /**
@@ -273,13 +527,37 @@ public class MemberServiceImpl implements MemberService {
      *            the show inactive members
      * @param searchCriteria
      *            the search criteria
+     * @param fields
+     *            the member fields to read, null for all
      * @return members
      */
     @Override
     public Page<MemberDto> getFilteredMembersByCriteria(Pageable pageable, boolean showInactiveMembers,
-        MemberSearchCriteria searchCriteria) {
+        MemberSearchCriteria searchCriteria, MemberFields fields) {
 
         List<MemberDto> filteredMembers = new ArrayList<>();
+        Query query = searchQuery(pageable, searchCriteria);
+
+        List<Member> members = mongoTemplate.find(project(Query.of(query).withReadPreference(readPreferences
+            .memberSearch()), fields == null ? null : fields.paths()), Member.class);
+        members.forEach(mem -> filteredMembers.add(toMemberDto(mem)));
+
+        long count = mongoTemplate.count(Query.of(query).limit(-1).skip(-1).withReadPreference(readPreferences
+            .memberCount()), Member.class);
+
+        return new PageImpl<>(filteredMembers, pageable, count);
+    }
+
+    /**
+     * Build the member search query
+     *
+     * @param pageable
+     *            the pageable
+     * @param searchCriteria
+     *            the search criteria
+     * @return query
+     */
+    static Query searchQuery(Pageable pageable, MemberSearchCriteria searchCriteria) {
         Query query = new Query().with(pageable);
 
         // OR part: (name OR email)
@@ -303,13 +581,7 @@ public class MemberServiceImpl implements MemberService {
         if (searchCriteria.getRole() != null && !searchCriteria.getRole().isEmpty()) {
             query.addCriteria(Criteria.where("roles").in(searchCriteria.getRole()));
         }
-
-        List<Member> members = mongoTemplate.find(query, Member.class);
-        members.forEach(mem -> filteredMembers.add(toMemberDto(mem)));
-
-        long count = mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Member.class);
-
-        return new PageImpl<>(filteredMembers, pageable, count);
+        return query;
     }
 
 }
@@ -0,0 +1,84 @@
+package com.kitchensink.service.impl;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.kitchensink.entity.PhoneVerificationTask;
+import com.kitchensink.enums.PhoneVerificationMode;
+import com.kitchensink.service.PhoneVerificationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class PhoneVerificationServiceImpl.
+ *
+ * @author prerna
+ */
+@Service
+@Slf4j
+public class PhoneVerificationServiceImpl implements PhoneVerificationService {
+
+    /** The mongo template */
+    private final MongoTemplate mongoTemplate;
+
+    /** The phone validation enabled */
+    private final boolean phoneValidationEnabled;
+
+    /** The verification mode */
+    private final PhoneVerificationMode mode;
+
+    /**
+     * PhoneVerificationServiceImpl constructor
+     *
+     * @param mongoTemplate
+     *            the mongo template
+     * @param phoneValidationEnabled
+     *            the phone validation enabled
+     * @param mode
+     *            the verification mode
+     */
+    public PhoneVerificationServiceImpl(MongoTemplate mongoTemplate,
+        @Value("${phone.validation.enabled:true}") boolean phoneValidationEnabled,
+        @Value("${phone.verification.mode:SYNC}") PhoneVerificationMode mode) {
+        this.mongoTemplate = mongoTemplate;
+        this.phoneValidationEnabled = phoneValidationEnabled;
+        this.mode = mode;
+    }
+
+    /**
+     * Whether phone numbers are verified in the background
+     *
+     * @return boolean
+     */
+    @Override
+    public boolean isDeferred() {
+        return phoneValidationEnabled && mode == PhoneVerificationMode.DEFERRED;
+    }
+
+    /**
+     * Queue the phone number of a member for deferred verification
+     *
+     * @param memberId
+     *            the member id
+     * @param phoneNumber
+     *            the phone number
+     */
+    @Override
+    public void scheduleVerification(String memberId, String phoneNumber) {
+        if (!isDeferred()) {
+            return;
+        }
+        Instant now = Instant.now();
+        Update update = new Update().set("phoneNumber", phoneNumber).set("attempts", 0).set("enqueuedAt", now).set(
+            "nextAttemptAt", now).unset("lockedBy").unset("lockedUntil");
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(memberId)), update, PhoneVerificationTask.class);
+        log.debug("Queued phone verification for member {}", memberId);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.kitchensink.service.impl;
+
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.cache.MemberCache.Lookup;
+import com.kitchensink.entity.Member;
+import com.kitchensink.repository.ReactiveMemberRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * The Class ReactiveAuthServiceImpl.
+ * Non-blocking counterpart of {@link AuthServiceImpl}, used by the JWT web filter.
+ *
+ * @author prerna
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthServiceImpl implements ReactiveUserDetailsService {
+
+    /** The reactive member repository */
+    private final ReactiveMemberRepository memberRepository;
+
+    /** The member cache */
+    private final MemberCache memberCache;
+
+    /**
+     * ReactiveAuthServiceImpl constructor
+     *
+     * @param memberRepository
+     *            the reactive member repository
+     * @param memberCache
+     *            the member cache
+     */
+    public ReactiveAuthServiceImpl(ReactiveMemberRepository memberRepository, MemberCache memberCache) {
+        this.memberRepository = memberRepository;
+        this.memberCache = memberCache;
+    }
+
+    /**
+     * Find user by username
+     *
+     * @param email
+     *            the email
+     * @return user details
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String email) {
+        return Mono.justOrEmpty(memberCache.findLocal(Lookup.EMAIL, email)).filter(Member::isActive).switchIfEmpty(
+            Mono.defer(() -> {
+                long loadedAt = memberCache.generation();
+                return memberRepository.findByEmailAndActiveTrue(email).doOnNext(member -> memberCache.putLocal(
+                    Lookup.EMAIL, email, member, loadedAt));
+            })).switchIfEmpty(Mono.error(
+            () -> new UsernameNotFoundException("Member with email " + email + " not found"))).map(
+                member -> AuthServiceImpl.toUserDetails(email, member));
+    }
+}
@@ -0,0 +1,322 @@
+package com.kitchensink.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import com.kitchensink.audit.AuditTrail;
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.config.MongoReadPreferences;
+import com.kitchensink.dto.MemberDto;
+import com.kitchensink.dto.MemberFields;
+import com.kitchensink.dto.MemberPatch;
+import com.kitchensink.dto.MemberSearchCriteria;
+import com.kitchensink.dto.UpdateMemberRequest;
+import com.kitchensink.entity.Member;
+import com.kitchensink.enums.AuditAction;
+import com.kitchensink.enums.ErrorType;
+import com.kitchensink.enums.PhoneVerificationStatus;
+import com.kitchensink.exception.AppAuthenticationException;
+import com.kitchensink.exception.BaseApplicationException;
+import com.kitchensink.exception.ConflictException;
+import com.kitchensink.repository.ReactiveMemberRepository;
+import com.kitchensink.service.MemberService;
+import com.kitchensink.service.PhoneVerificationService;
+import com.kitchensink.service.ReactiveMemberService;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The Class ReactiveMemberServiceImpl.
+ * Member reads and writes go through the reactive driver. Phone validation may call the remote provider and queueing
+ * a verification uses the blocking template, so both run on the bounded elastic scheduler.
+ *
+ * @author prerna
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveMemberServiceImpl implements ReactiveMemberService {
+
+    /** The reactive member repository */
+    private final ReactiveMemberRepository memberRepository;
+
+    /** The reactive mongo template */
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /** The member service */
+    private final MemberService memberService;
+
+    /** The phone verification service */
+    private final PhoneVerificationService phoneVerificationService;
+
+    /** The read preferences of the admin reads */
+    private final MongoReadPreferences readPreferences;
+
+    /** The audit trail */
+    private final AuditTrail auditTrail;
+
+    /** The member cache */
+    private final MemberCache memberCache;
+
+    /**
+     * ReactiveMemberServiceImpl constructor
+     *
+     * @param memberRepository
+     *            the reactive member repository
+     * @param mongoTemplate
+     *            the reactive mongo template
+     * @param memberService
+     *            the member service, used for phone validation
+     * @param phoneVerificationService
+     *            the phone verification service
+     * @param readPreferences
+     *            the read preferences of the admin reads
+     * @param auditTrail
+     *            the audit trail
+     * @param memberCache
+     *            the member cache
+     */
+    public ReactiveMemberServiceImpl(ReactiveMemberRepository memberRepository, ReactiveMongoTemplate mongoTemplate,
+        MemberService memberService, PhoneVerificationService phoneVerificationService,
+        MongoReadPreferences readPreferences, AuditTrail auditTrail, MemberCache memberCache) {
+        this.memberRepository = memberRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.memberService = memberService;
+        this.phoneVerificationService = phoneVerificationService;
+        this.readPreferences = readPreferences;
+        this.auditTrail = auditTrail;
+        this.memberCache = memberCache;
+    }
+
+    /**
+     * Get current user data
+     *
+     * @param authentication
+     *            the authentication
+     * @return member
+     */
+    @Override
+    public Mono<MemberDto> currentUserData(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            log.error("Member not authenticated or session expired");
+            return Mono.error(new AppAuthenticationException("Member not authenticated or session expired",
+                ErrorType.MEMBER_NOT_AUTHENTICATED));
+        }
+        return memberRepository.findByEmail(authentication.getName()).switchIfEmpty(Mono.error(
+            () -> new AppAuthenticationException("Member not found", ErrorType.MEMBER_NOT_FOUND))).map(
+                MemberServiceImpl::toMemberDto);
+    }
+
+    /**
+     * Get all members
+     *
+     * @param pageable
+     *            the pageable
+     * @param showInactiveMembers
+     *            the show inactive members
+     * @param fields
+     *            the member fields to read, null for all
+     * @return members
+     */
+    @Override
+    public Mono<Page<MemberDto>> getAllMembers(Pageable pageable, boolean showInactiveMembers, MemberFields fields) {
+        Query query = showInactiveMembers ? new Query() : new Query(Criteria.where("active").is(true));
+        String[] paths = fields == null ? null : fields.paths();
+        return toPage(mongoTemplate.find(MemberServiceImpl.project(Query.of(query).with(pageable).withReadPreference(
+            readPreferences.memberListing()), paths), Member.class), mongoTemplate.count(Query.of(query)
+                .withReadPreference(readPreferences.memberCount()), Member.class), pageable);
+    }
+
+    /**
+     * Stream all members
+     *
+     * @param showInactiveMembers
+     *            the show inactive members
+     * @return members
+     */
+    @Override
+    public Flux<MemberDto> streamMembers(boolean showInactiveMembers) {
+        Query query = showInactiveMembers ? new Query() : new Query(Criteria.where("active").is(true));
+        return mongoTemplate.find(query.with(Sort.by("id")).withReadPreference(readPreferences.memberListing()),
+            Member.class).map(MemberServiceImpl::toMemberDto);
+    }
+
+    /**
+     * Delete member by member id
+     *
+     * @param memberId
+     *            the param member id
+     * @param authentication
+     *            the authentication
+     * @return completion
+     */
+    @Override
+    public Mono<Void> deleteMemberById(String memberId, Authentication authentication) {
+        // soft delete, one update conditioned on the member being active
+        return verifyNotSelf(memberId, authentication).then(mongoTemplate.updateFirst(new Query(Criteria.where("_id")
+            .is(memberId).and("active").is(true)), new Update().set("active", false).set("updatedAt", LocalDateTime
+                .now()), Member.class)).flatMap(result -> result.getMatchedCount() > 0 ? evict(memberId).doOnSuccess(
+                    evicted -> auditTrail.record(AuditAction.MEMBER_DELETED, memberId, authentication.getName(), null))
+                    : mongoTemplate.exists(new Query(Criteria.where("_id").is(memberId)), Member.class).flatMap(
+                        exists -> exists ? Mono.<Void> empty() : Mono.error(MemberServiceImpl.memberNotFound(
+                            memberId))));
+    }
+
+    /**
+     * Update member details, written as a patch of every editable field
+     *
+     * @param memberId
+     *            the member id
+     * @param authentication
+     *            the authentication
+     * @param updateRequest
+     *            the update request
+     * @param expectedVersion
+     *            the version the update is based on, null to update any version
+     * @return member
+     */
+    @Override
+    public Mono<MemberDto> updateMemberDetails(String memberId, Authentication authentication,
+        UpdateMemberRequest updateRequest, Long expectedVersion) {
+        return patchMember(memberId, authentication, MemberPatch.of(updateRequest), expectedVersion);
+    }
+
+    /**
+     * Patch member details with one findAndModify conditioned on the expected version
+     *
+     * @param memberId
+     *            the member id
+     * @param authentication
+     *            the authentication
+     * @param patch
+     *            the member patch
+     * @param expectedVersion
+     *            the version the patch is based on, null to patch any version
+     * @return member
+     */
+    @Override
+    public Mono<MemberDto> patchMember(String memberId, Authentication authentication, MemberPatch patch,
+        Long expectedVersion) {
+        return verifyNotSelf(memberId, authentication).then(phoneVerification(memberId, patch)).map(Optional::of)
+            .defaultIfEmpty(Optional.empty()).flatMap(phoneVerification -> {
+                Query query = MemberServiceImpl.patchQuery(memberId, expectedVersion);
+                Mono<Member> member = patch.isEmpty() ? mongoTemplate.findOne(query, Member.class) : mongoTemplate
+                    .findAndModify(query, MemberServiceImpl.patchUpdate(patch, phoneVerification.orElse(null)),
+                        FindAndModifyOptions.options().returnNew(false), Member.class);
+                return member.switchIfEmpty(Mono.defer(() -> missing(memberId, expectedVersion))).flatMap(
+                    before -> patch.isEmpty() ? Mono.just(before) : patched(before, patch, phoneVerification.orElse(
+                        null), authentication.getName()));
+            }).map(MemberServiceImpl::toMemberDto);
+    }
+
+    /**
+     * Verification of the phone number a patch sets, empty when the member already has it. Phone validation may
+     * call the remote provider, so it runs on the bounded elastic scheduler.
+     */
+    private Mono<PhoneVerificationStatus> phoneVerification(String memberId, MemberPatch patch) {
+        if (patch.getPhoneNumber() == null) {
+            return Mono.empty();
+        }
+        return memberRepository.findByPhoneNumber(patch.getPhoneNumber()).flatMap(owner -> {
+            if (Objects.equals(memberId, owner.getId())) {
+                return Mono.just(false);
+            }
+            log.error("Phone number already registered with other user: {}", patch.getPhoneNumber());
+            return Mono.<Boolean> error(new ConflictException("Phone number linked with another user: " + patch
+                .getPhoneNumber(), ErrorType.USER_ALREADY_EXISTS));
+        }).defaultIfEmpty(true).filter(newNumber -> newNumber).flatMap(newNumber -> Mono.fromCallable(
+            () -> memberService.validatePhoneNumber(patch.getPhoneNumber())).subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private Mono<Member> patched(Member before, MemberPatch patch, PhoneVerificationStatus phoneVerification,
+        String actor) {
+        String changedFields = MemberServiceImpl.changedFields(before, patch);
+        boolean unblocked = patch.isUnblock() && before.isBlocked();
+        Member member = MemberServiceImpl.applyPatch(before, patch, phoneVerification);
+        return evict(member).flatMap(evicted -> scheduleVerification(evicted, phoneVerification)).doOnNext(
+            saved -> MemberServiceImpl.auditUpdate(auditTrail, member.getId(), actor, changedFields, unblocked));
+    }
+
+    private Mono<Member> missing(String memberId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(MemberServiceImpl.memberNotFound(memberId));
+        }
+        return mongoTemplate.exists(new Query(Criteria.where("_id").is(memberId)), Member.class).flatMap(
+            exists -> Mono.error(exists ? MemberServiceImpl.memberModified(memberId, expectedVersion)
+                : MemberServiceImpl.memberNotFound(memberId)));
+    }
+
+    /**
+     * Get filtered members
+     *
+     * @param pageable
+     *            the pageable
+     * @param showInactiveMembers
+     *            the show inactive members
+     * @param searchCriteria
+     *            the search criteria
+     * @param fields
+     *            the member fields to read, null for all
+     * @return members
+     */
+    @Override
+    public Mono<Page<MemberDto>> getFilteredMembersByCriteria(Pageable pageable, boolean showInactiveMembers,
+        MemberSearchCriteria searchCriteria, MemberFields fields) {
+        Query query = MemberServiceImpl.searchQuery(pageable, searchCriteria);
+        String[] paths = fields == null ? null : fields.paths();
+        return toPage(mongoTemplate.find(MemberServiceImpl.project(Query.of(query).withReadPreference(readPreferences
+            .memberSearch()), paths), Member.class), mongoTemplate.count(Query.of(query).limit(-1).skip(-1)
+                .withReadPreference(readPreferences.memberCount()), Member.class), pageable);
+    }
+
+    private Mono<Void> verifyNotSelf(String memberId, Authentication authentication) {
+        String email = authentication.getName();
+        return memberRepository.findByEmail(email).filter(loggedInMember -> !loggedInMember.getId().equals(memberId))
+            .switchIfEmpty(Mono.error(() -> {
+                log.error("Member with emailId: {} trying to modify own details", email);
+                return new BaseApplicationException("Member with emailId: " + email + " trying to modify own details",
+                    ErrorType.ACCOUNT_BLOCKED, HttpStatus.FORBIDDEN);
+            })).then();
+    }
+
+    private Mono<Member> evict(Member member) {
+        return evict(member.getId()).thenReturn(member);
+    }
+
+    private Mono<Void> evict(String memberId) {
+        // the shared cache tier is written with a blocking client
+        return Mono.<Void> fromRunnable(() -> memberCache.evict(memberId)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Member> scheduleVerification(Member member, PhoneVerificationStatus phoneVerification) {
+        if (phoneVerification != PhoneVerificationStatus.PENDING) {
+            return Mono.just(member);
+        }
+        return Mono.fromRunnable(() -> phoneVerificationService.scheduleVerification(member.getId(), member
+            .getPhoneNumber())).subscribeOn(Schedulers.boundedElastic()).thenReturn(member);
+    }
+
+    private static Mono<Page<MemberDto>> toPage(Flux<Member> members, Mono<Long> count, Pageable pageable) {
+        return Mono.zip(members.map(MemberServiceImpl::toMemberDto).collectList(), count).map(
+            pageAndCount -> new PageImpl<>(pageAndCount.getT1(), pageable, pageAndCount.getT2()));
+    }
+
+}
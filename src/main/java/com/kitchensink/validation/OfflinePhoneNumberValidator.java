@@ -0,0 +1,128 @@
+package com.kitchensink.validation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import com.kitchensink.enums.PhoneValidationFallback;
+import com.kitchensink.enums.PhoneValidationResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The Class OfflinePhoneNumberValidator.
+ * Validates phone numbers against the numbering plan loaded at startup. {@link PhoneValidationResult#AMBIGUOUS} is
+ * only returned when the remote provider should give a second opinion.
+ *
+ * @author prerna
+ */
+@Component
+@Slf4j
+public class OfflinePhoneNumberValidator {
+
+    /** The numbering plan */
+    private final PhoneNumberingPlan numberingPlan;
+
+    /** The enabled */
+    private final boolean enabled;
+
+    /** The remote second opinion */
+    private final boolean secondOpinion;
+
+    /** The policy for ambiguous numbers without a second opinion */
+    private final PhoneValidationFallback ambiguousPolicy;
+
+    /** The default country code */
+    private final String defaultCountryCode;
+
+    /**
+     * OfflinePhoneNumberValidator constructor
+     *
+     * @param numberingPlan
+     *            the numbering plan rule table
+     * @param enabled
+     *            the enabled
+     * @param secondOpinion
+     *            whether ambiguous numbers are checked with the remote provider
+     * @param ambiguousPolicy
+     *            the policy for ambiguous numbers without a second opinion
+     * @param defaultCountryCode
+     *            the country code of numbers without an international prefix
+     */
+    public OfflinePhoneNumberValidator(
+        @Value("${phone.validation.offline.plan:classpath:phone/numbering-plan.csv}") Resource numberingPlan,
+        @Value("${phone.validation.offline.enabled:true}") boolean enabled,
+        @Value("${phone.validation.offline.second-opinion:true}") boolean secondOpinion,
+        @Value("${phone.validation.offline.ambiguous-policy:ACCEPT}") PhoneValidationFallback ambiguousPolicy,
+        @Value("${phone.validation.offline.default-country-code:91}") String defaultCountryCode) {
+        this.numberingPlan = PhoneNumberingPlan.load(numberingPlan);
+        this.enabled = enabled;
+        this.secondOpinion = secondOpinion;
+        this.ambiguousPolicy = ambiguousPolicy;
+        this.defaultCountryCode = defaultCountryCode;
+        log.info("Loaded {} numbering plan rules from {}", this.numberingPlan.size(), numberingPlan);
+    }
+
+    /**
+     * Validate a phone number without network access
+     *
+     * @param phoneNumber
+     *            the phone number
+     * @return the validation result
+     */
+    public PhoneValidationResult validate(String phoneNumber) {
+        if (!enabled) {
+            return PhoneValidationResult.AMBIGUOUS;
+        }
+        PhoneValidationResult result = lookup(phoneNumber);
+        if (result == PhoneValidationResult.AMBIGUOUS && !secondOpinion) {
+            return ambiguousPolicy.accepts() ? PhoneValidationResult.VALID : PhoneValidationResult.INVALID;
+        }
+        return result;
+    }
+
+    /**
+     * Normalise the number and look it up in the numbering plan
+     *
+     * @param phoneNumber
+     *            the phone number
+     * @return the validation result
+     */
+    private PhoneValidationResult lookup(String phoneNumber) {
+        if (phoneNumber == null) {
+            return PhoneValidationResult.INVALID;
+        }
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        boolean international = false;
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c == '+' && digits.isEmpty() && !international) {
+                international = true;
+            } else if (c != ' ' && c != '-' && c != '(' && c != ')') {
+                return PhoneValidationResult.INVALID;
+            }
+        }
+        String countryCode = defaultCountryCode;
+        String nationalNumber = digits.toString();
+        if (international) {
+            countryCode = null;
+            for (int length = 1; length <= 3 && length < nationalNumber.length(); length++) {
+                if (numberingPlan.hasCountryCode(nationalNumber.substring(0, length))) {
+                    countryCode = nationalNumber.substring(0, length);
+                    nationalNumber = nationalNumber.substring(length);
+                    break;
+                }
+            }
+            if (countryCode == null) {
+                return PhoneValidationResult.AMBIGUOUS;
+            }
+        } else if (nationalNumber.length() > 1 && nationalNumber.charAt(0) == '0') {
+            nationalNumber = nationalNumber.substring(1);
+        }
+        PhoneValidationResult result = numberingPlan.lookup(countryCode, nationalNumber);
+        return result == null ? PhoneValidationResult.AMBIGUOUS : result;
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.kitchensink.validation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.core.io.Resource;
+
+import com.kitchensink.enums.PhoneValidationResult;
+
+/**
+ * The Class PhoneNumberingPlan.
+ * The numbering plan compiled into a digit trie held in flat arrays, so a lookup is a walk over at most one node per
+ * digit without any allocation.
+ *
+ * @author prerna
+ */
+public final class PhoneNumberingPlan {
+
+    /** The Constant RADIX */
+    private static final int RADIX = 10;
+
+    /** The Constant NO_RULE */
+    private static final byte NO_RULE = -1;
+
+    /** The Constant RESULTS */
+    private static final PhoneValidationResult[] RESULTS = PhoneValidationResult.values();
+
+    /** The child node per node and digit, 0 when absent since the root is never a child */
+    private int[] children = new int[RADIX * 64];
+
+    /** The verdict ordinal per node */
+    private byte[] verdicts = new byte[64];
+
+    /** The min national number length per node */
+    private byte[] minLengths = new byte[64];
+
+    /** The max national number length per node */
+    private byte[] maxLengths = new byte[64];
+
+    /** The country codes with rules */
+    private final Set<String> countryCodes = new HashSet<>();
+
+    /** The node count */
+    private int nodes = 1;
+
+    /** The rule count */
+    private int rules;
+
+    /**
+     * PhoneNumberingPlan constructor
+     */
+    private PhoneNumberingPlan() {
+        Arrays.fill(verdicts, NO_RULE);
+    }
+
+    /**
+     * Compile the numbering plan from a rule table
+     *
+     * @param resource
+     *            the rule table resource
+     * @return the numbering plan
+     */
+    public static PhoneNumberingPlan load(Resource resource) {
+        PhoneNumberingPlan plan = new PhoneNumberingPlan();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(),
+            StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split("\\s*,\\s*");
+                if (columns.length != 5) {
+                    throw new IllegalStateException("Invalid numbering plan rule at line " + lineNumber + ": " + line);
+                }
+                plan.countryCodes.add(columns[0]);
+                plan.add(columns[0] + columns[1], Integer.parseInt(columns[2]), Integer.parseInt(columns[3]),
+                    PhoneValidationResult.valueOf(columns[4]));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read numbering plan " + resource, e);
+        }
+        plan.trim();
+        return plan;
+    }
+
+    /**
+     * Look up the verdict for a national number
+     *
+     * @param countryCode
+     *            the country code
+     * @param nationalNumber
+     *            the national number, digits only
+     * @return the verdict, or null when no rule matches
+     */
+    public PhoneValidationResult lookup(String countryCode, String nationalNumber) {
+        if (!countryCodes.contains(countryCode)) {
+            return null;
+        }
+        int node = walk(countryCode);
+        int match = -1;
+        for (int i = 0; i < nationalNumber.length(); i++) {
+            node = children[node * RADIX + nationalNumber.charAt(i) - '0'];
+            if (node == 0) {
+                break;
+            }
+            if (verdicts[node] != NO_RULE) {
+                match = node;
+            }
+        }
+        if (match < 0) {
+            return null;
+        }
+        int length = nationalNumber.length();
+        if (length < minLengths[match] || length > maxLengths[match]) {
+            return PhoneValidationResult.INVALID;
+        }
+        return RESULTS[verdicts[match]];
+    }
+
+    /**
+     * Whether the plan has rules for a country code
+     *
+     * @param countryCode
+     *            the country code
+     * @return boolean
+     */
+    public boolean hasCountryCode(String countryCode) {
+        return countryCodes.contains(countryCode);
+    }
+
+    /**
+     * @return the rule count
+     */
+    public int size() {
+        return rules;
+    }
+
+    private int walk(String digits) {
+        int node = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            node = children[node * RADIX + digits.charAt(i) - '0'];
+        }
+        return node;
+    }
+
+    private void add(String digits, int minLength, int maxLength, PhoneValidationResult verdict) {
+        int node = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int digit = digits.charAt(i) - '0';
+            if (digit < 0 || digit >= RADIX) {
+                throw new IllegalStateException("Numbering plan prefix must be numeric: " + digits);
+            }
+            if (children[node * RADIX + digit] == 0) {
+                ensureCapacity();
+                children[node * RADIX + digit] = nodes++;
+            }
+            node = children[node * RADIX + digit];
+        }
+        verdicts[node] = (byte) verdict.ordinal();
+        minLengths[node] = (byte) minLength;
+        maxLengths[node] = (byte) maxLength;
+        rules++;
+    }
+
+    private void ensureCapacity() {
+        if (nodes < verdicts.length) {
+            return;
+        }
+        int capacity = verdicts.length * 2;
+        children = Arrays.copyOf(children, capacity * RADIX);
+        verdicts = Arrays.copyOf(verdicts, capacity);
+        Arrays.fill(verdicts, nodes, capacity, NO_RULE);
+        minLengths = Arrays.copyOf(minLengths, capacity);
+        maxLengths = Arrays.copyOf(maxLengths, capacity);
+    }
+
+    private void trim() {
+        children = Arrays.copyOf(children, nodes * RADIX);
+        verdicts = Arrays.copyOf(verdicts, nodes);
+        minLengths = Arrays.copyOf(minLengths, nodes);
+        maxLengths = Arrays.copyOf(maxLengths, nodes);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.kitchensink;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.kitchensink.api.MemberController;
+import com.kitchensink.api.ReactiveMemberController;
+import com.kitchensink.config.JacksonConfig;
+import com.kitchensink.repository.ReactiveMemberRepository;
+
+@SpringBootTest
+@ActiveProfiles({ "dev", "reactive" })
+class ReactiveApplicationTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void contextLoads() {
+        assertThat(context.getBeanNamesForType(ReactiveMemberController.class)).hasSize(1);
+        assertThat(context.getBeanNamesForType(ReactiveMemberRepository.class)).hasSize(1);
+        assertThat(context.getBeanNamesForType(MemberController.class)).isEmpty();
+    }
+
+    @Test
+    void codecs_JsonWrittenBeforeCbor() {
+        List<MediaType> writable = context.getBean(ServerCodecConfigurer.class).getWriters().stream().flatMap(
+            writer -> writer.getWritableMediaTypes().stream()).toList();
+
+        assertThat(writable).contains(MediaType.APPLICATION_CBOR, JacksonConfig.SMILE);
+        assertThat(writable.indexOf(MediaType.APPLICATION_JSON)).isLessThan(writable.indexOf(
+            MediaType.APPLICATION_CBOR));
+    }
+
+}
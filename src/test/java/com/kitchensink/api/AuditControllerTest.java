@@ -0,0 +1,56 @@
+package com.kitchensink.api;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.kitchensink.entity.AuditEvent;
+import com.kitchensink.enums.AuditAction;
+import com.kitchensink.service.AuditService;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+class AuditControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuditService auditService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAuditEvents_Admin_ReturnsFilteredPage() throws Exception {
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        AuditEvent event = new AuditEvent("1", AuditAction.MEMBER_LOCKED, "123", "system", "failedLoginAttempts=3",
+            from.plusSeconds(60));
+        Mockito.when(auditService.findEvents(eq("123"), eq(AuditAction.MEMBER_LOCKED), eq(from), eq(null), any()))
+            .thenReturn(new PageImpl<>(List.of(event)));
+
+        mockMvc.perform(get("/api/audit").param("memberId", "123").param("action", "MEMBER_LOCKED").param("from",
+            "2026-01-01T00:00:00Z")).andExpect(status().isOk()).andExpect(jsonPath("$.content[0].action").value(
+                "MEMBER_LOCKED")).andExpect(jsonPath("$.content[0].actor").value("system"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAuditEvents_NotAdmin_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/audit")).andExpect(status().isForbidden());
+    }
+
+}
@@ -1,14 +1,21 @@
 package com.kitchensink.api;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -28,6 +35,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -36,11 +44,17 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kitchensink.config.security.JwtTokenProvider;
+import com.kitchensink.dto.BulkMemberRequest;
+import com.kitchensink.dto.BulkMemberResult;
 import com.kitchensink.dto.MemberDto;
+import com.kitchensink.dto.MemberFields;
+import com.kitchensink.dto.MemberPatch;
 import com.kitchensink.dto.MemberSearchCriteria;
 import com.kitchensink.dto.UpdateMemberRequest;
+import com.kitchensink.enums.BulkMemberStatus;
 import com.kitchensink.enums.ErrorType;
 import com.kitchensink.exception.AppAuthenticationException;
+import com.kitchensink.service.MemberBulkService;
 import com.kitchensink.service.MemberService;
 
 @ExtendWith(SpringExtension.class)
@@ -53,6 +67,8 @@ class MemberControllerTest {
 
     @MockBean
     private MemberService memberService;
+    @MockBean
+    private MemberBulkService memberBulkService;
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -107,12 +123,36 @@ class MemberControllerTest {
         MemberDto member = new MemberDto();
         member.setId("1");
         PageImpl<MemberDto> page = new PageImpl<>(List.of(member));
-        Mockito.when(memberService.getAllMembers(any(), eq(false))).thenReturn(page);
+        Mockito.when(memberService.getAllMembers(any(), eq(false), isNull())).thenReturn(page);
 
         mockMvc.perform(get("/api/members/?showInactiveMembers=false")).andExpect(status().isOk()).andExpect(jsonPath(
             "$.content[0].id").value("1"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllMembers_AcceptCbor_Cbor() throws Exception {
+        MemberDto member = new MemberDto();
+        member.setId("1");
+        Mockito.when(memberService.getAllMembers(any(), eq(false), isNull())).thenReturn(new PageImpl<>(List.of(
+            member)));
+
+        mockMvc.perform(get("/api/members/").accept(MediaType.APPLICATION_CBOR)).andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllMembers_AcceptAny_Json() throws Exception {
+        MemberDto member = new MemberDto();
+        member.setId("1");
+        Mockito.when(memberService.getAllMembers(any(), eq(false), isNull())).thenReturn(new PageImpl<>(List.of(
+            member)));
+
+        mockMvc.perform(get("/api/members/").accept(MediaType.ALL)).andExpect(status().isOk()).andExpect(content()
+            .contentType(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void testDeleteUserById() throws Exception {
@@ -120,6 +160,27 @@ class MemberControllerTest {
         Mockito.verify(memberService).deleteMemberById(eq("123"), any());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulkUpdateMembers_Ids_OutcomePerMember() throws Exception {
+        when(memberBulkService.updateMembers(any(BulkMemberRequest.class), any())).thenReturn(new BulkMemberResult(1,
+            List.of(new BulkMemberResult.Outcome("1", BulkMemberStatus.UPDATED, null), new BulkMemberResult.Outcome(
+                "2", BulkMemberStatus.NOT_FOUND, null))));
+
+        mockMvc.perform(post("/api/members/bulk").contentType(MediaType.APPLICATION_JSON).content(
+            "{\"action\":\"DEACTIVATE\",\"memberIds\":[\"1\",\"2\"]}")).andExpect(status().isOk()).andExpect(
+                jsonPath("$.updated").value(1)).andExpect(jsonPath("$.outcomes[1].status").value("NOT_FOUND"))
+            .andExpect(jsonPath("$.outcomes[1].message").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulkUpdateMembers_NullId_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/members/bulk").contentType(MediaType.APPLICATION_JSON).content(
+            "{\"action\":\"UNBLOCK\",\"memberIds\":[\"1\",null]}")).andExpect(status().isBadRequest());
+        verify(memberBulkService, never()).updateMembers(any(), any());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void testUpdateUserById() throws Exception {
@@ -127,7 +188,8 @@ class MemberControllerTest {
         updatedDto.setId("123");
 
         ArgumentCaptor<UpdateMemberRequest> captor = ArgumentCaptor.forClass(UpdateMemberRequest.class);
-        Mockito.when(memberService.updateMemberDetails(eq("123"), any(), captor.capture())).thenReturn(updatedDto);
+        Mockito.when(memberService.updateMemberDetails(eq("123"), any(), captor.capture(), isNull())).thenReturn(
+            updatedDto);
 
         UpdateMemberRequest updateRequest = new UpdateMemberRequest();
         updateRequest.setName("Updated Name");
@@ -141,6 +203,73 @@ class MemberControllerTest {
         assertEquals(captor.getValue().hashCode(), updateRequest.hashCode());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateUserById_IfMatch_PassesVersionAndTagsResponse() throws Exception {
+        MemberDto updatedDto = new MemberDto();
+        updatedDto.setId("123");
+        updatedDto.setVersion(8L);
+        Mockito.when(memberService.updateMemberDetails(eq("123"), any(), any(), eq(7L))).thenReturn(updatedDto);
+
+        UpdateMemberRequest updateRequest = new UpdateMemberRequest();
+        updateRequest.setName("Updated Name");
+        updateRequest.setPhoneNumber("6234567890");
+        updateRequest.setRoles(Lists.list("USER"));
+
+        mockMvc.perform(put("/api/members/123").header(HttpHeaders.IF_MATCH, "W/\"7\"").contentType(
+            MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(updateRequest))).andExpect(status()
+                .isOk()).andExpect(header().string(HttpHeaders.ETAG, "W/\"8\""));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void patchUserById_MergePatch_PassesPatchAndVersion() throws Exception {
+        MemberDto patchedDto = new MemberDto();
+        patchedDto.setId("123");
+        patchedDto.setVersion(8L);
+        ArgumentCaptor<MemberPatch> captor = ArgumentCaptor.forClass(MemberPatch.class);
+        Mockito.when(memberService.patchMember(eq("123"), any(), captor.capture(), eq(7L))).thenReturn(patchedDto);
+
+        mockMvc.perform(patch("/api/members/123").header(HttpHeaders.IF_MATCH, "W/\"7\"").contentType(
+            MemberPatch.MEDIA_TYPE).content("{\"roles\":[\"USER\",\"ADMIN\"],\"blocked\":false}")).andExpect(
+                status().isOk()).andExpect(header().string(HttpHeaders.ETAG, "W/\"8\""));
+
+        assertThat(captor.getValue().getRoles()).containsExactly("USER", "ADMIN");
+        assertThat(captor.getValue().isUnblock()).isTrue();
+        assertThat(captor.getValue().getName()).isNull();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void patchUserById_ReadOnlyField_BadRequest() throws Exception {
+        mockMvc.perform(patch("/api/members/123").contentType(MemberPatch.MEDIA_TYPE).content(
+            "{\"email\":\"x@example.com\"}")).andExpect(status().isBadRequest());
+
+        Mockito.verify(memberService, Mockito.never()).patchMember(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void patchUserById_RemovedName_BadRequest() throws Exception {
+        mockMvc.perform(patch("/api/members/123").contentType(MemberPatch.MEDIA_TYPE).content("{\"name\":null}"))
+            .andExpect(status().isBadRequest()).andExpect(jsonPath("$.message").value("name cannot be removed"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllMembers_IfNoneMatchCurrent_NotModifiedWithoutFullRead() throws Exception {
+        MemberDto version = new MemberDto();
+        version.setId("123");
+        version.setVersion(3L);
+        Page<MemberDto> versions = new PageImpl<>(List.of(version), PageRequest.of(0, 20, Sort.by("id")), 1);
+        Mockito.when(memberService.getAllMemberVersions(any(), eq(false))).thenReturn(versions);
+
+        mockMvc.perform(get("/api/members/").header(HttpHeaders.IF_NONE_MATCH, MemberETags.of(versions, null)))
+            .andExpect(status().isNotModified());
+
+        Mockito.verify(memberService, Mockito.never()).getAllMembers(any(), anyBoolean(), any());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void getFilteredMembersByCriteria_returnsPagedResult() throws Exception {
@@ -149,8 +278,8 @@ class MemberControllerTest {
 
         Page<MemberDto> page = new PageImpl<>(List.of(member1), PageRequest.of(0, 10), 1);
         ArgumentCaptor<MemberSearchCriteria> criteriaCaptor = ArgumentCaptor.forClass(MemberSearchCriteria.class);
-        when(memberService.getFilteredMembersByCriteria(any(Pageable.class), anyBoolean(), criteriaCaptor.capture()))
-            .thenReturn(page);
+        when(memberService.getFilteredMembersByCriteria(any(Pageable.class), anyBoolean(), criteriaCaptor.capture(),
+            isNull())).thenReturn(page);
 
         mockMvc.perform(post("/api/members/search?page=0&size=10&showInactiveMembers=false").contentType(
             MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(criteria))).andExpect(status().isOk())
@@ -160,6 +289,29 @@ class MemberControllerTest {
         assertEquals(criteriaCaptor.getValue().hashCode(), criteria.hashCode());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getFilteredMembersByCriteria_Fields_WritesOnlyRequestedFields() throws Exception {
+        Page<MemberDto> page = new PageImpl<>(List.of(member1), PageRequest.of(0, 10), 1);
+        ArgumentCaptor<MemberFields> fields = ArgumentCaptor.forClass(MemberFields.class);
+        when(memberService.getFilteredMembersByCriteria(any(Pageable.class), anyBoolean(), any(
+            MemberSearchCriteria.class), fields.capture())).thenReturn(page);
+
+        mockMvc.perform(post("/api/members/search?fields=name,blocked").contentType(MediaType.APPLICATION_JSON)
+            .content("{}")).andExpect(status().isOk()).andExpect(jsonPath("$.content[0].id").value("1")).andExpect(
+                jsonPath("$.content[0].name").value("Alice")).andExpect(jsonPath("$.content[0].blocked").value(false))
+            .andExpect(jsonPath("$.content[0].email").doesNotExist()).andExpect(jsonPath("$.content[0].active")
+                .doesNotExist()).andExpect(jsonPath("$.page.totalElements").value(1));
+        assertThat(fields.getValue().paths()).containsExactly("_id", "name", "blocked", "version");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllMembers_UnknownField_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/members/?fields=name,password")).andExpect(status().isBadRequest()).andExpect(
+            jsonPath("$.errorType").value("REQUEST_VALIDATION_FAILED"));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void getFilteredMembersByCriteria_withRoleFilter() throws Exception {
@@ -169,7 +321,7 @@ class MemberControllerTest {
         Page<MemberDto> page = new PageImpl<>(List.of(member2), PageRequest.of(0, 10), 1);
 
         when(memberService.getFilteredMembersByCriteria(any(Pageable.class), anyBoolean(), any(
-            MemberSearchCriteria.class))).thenReturn(page);
+            MemberSearchCriteria.class), isNull())).thenReturn(page);
 
         mockMvc.perform(post("/api/members/search?page=0&size=10&showInactiveMembers=false").contentType(
             MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(criteria))).andExpect(status().isOk())
@@ -185,7 +337,7 @@ class MemberControllerTest {
         Page<MemberDto> page = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
 
         when(memberService.getFilteredMembersByCriteria(any(Pageable.class), anyBoolean(), any(
-            MemberSearchCriteria.class))).thenReturn(page);
+            MemberSearchCriteria.class), isNull())).thenReturn(page);
 
         mockMvc.perform(post("/api/members/search?page=0&size=10&showInactiveMembers=false").contentType(
             MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(criteria))).andExpect(status().isOk())
@@ -199,8 +351,8 @@ class MemberControllerTest {
 
         Page<MemberDto> page = new PageImpl<>(List.of(member1, member2), PageRequest.of(0, 10), 2);
 
-        when(memberService.getFilteredMembersByCriteria(any(Pageable.class), eq(true), any(MemberSearchCriteria.class)))
-            .thenReturn(page);
+        when(memberService.getFilteredMembersByCriteria(any(Pageable.class), eq(true), any(MemberSearchCriteria.class),
+            isNull())).thenReturn(page);
 
         mockMvc.perform(post("/api/members/search?page=0&size=10&showInactiveMembers=true").contentType(
             MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(criteria))).andExpect(status().isOk())
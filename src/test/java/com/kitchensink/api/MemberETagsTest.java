@@ -0,0 +1,62 @@
+package com.kitchensink.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+
+import com.kitchensink.dto.MemberDto;
+import com.kitchensink.dto.MemberFields;
+import com.kitchensink.exception.BaseApplicationException;
+
+class MemberETagsTest {
+
+    @Test
+    void of_Member_WeakVersionTag() {
+        assertThat(MemberETags.of(member("1", 4L))).isEqualTo("W/\"4\"");
+        assertThat(MemberETags.of(member("1", null))).isNull();
+    }
+
+    @Test
+    void of_Page_ChangesWithAnyListedVersion() {
+        String tag = MemberETags.of(new PageImpl<>(List.of(member("1", 1L), member("2", 5L)), PageRequest.of(0, 2),
+            7), null);
+
+        assertThat(tag).startsWith("W/\"").isEqualTo(MemberETags.of(new PageImpl<>(List.of(member("1", 1L), member(
+            "2", 5L)), PageRequest.of(0, 2), 7), null));
+        assertThat(MemberETags.of(new PageImpl<>(List.of(member("1", 1L), member("2", 6L)), PageRequest.of(0, 2), 7),
+            null)).isNotEqualTo(tag);
+        assertThat(MemberETags.of(new PageImpl<>(List.of(member("1", 1L), member("2", 5L)), PageRequest.of(0, 2), 8),
+            null)).isNotEqualTo(tag);
+        assertThat(MemberETags.of(new PageImpl<>(List.of(member("1", 1L), member("2", 5L)), PageRequest.of(0, 2), 7),
+            MemberFields.parse("name"))).isNotEqualTo(tag);
+    }
+
+    @Test
+    void expectedVersion_StrongWeakOrAny_ParsesVersion() {
+        assertThat(MemberETags.expectedVersion("W/\"12\"")).isEqualTo(12L);
+        assertThat(MemberETags.expectedVersion("\"12\"")).isEqualTo(12L);
+        assertThat(MemberETags.expectedVersion("*")).isNull();
+        assertThat(MemberETags.expectedVersion(null)).isNull();
+    }
+
+    @Test
+    void expectedVersion_NotAVersion_PreconditionFailed() {
+        assertThatThrownBy(() -> MemberETags.expectedVersion("W/\"abc\"")).isInstanceOfSatisfying(
+            BaseApplicationException.class, e -> assertThat(e.getStatus()).isEqualTo(
+                HttpStatus.PRECONDITION_FAILED));
+    }
+
+    private static MemberDto member(String id, Long version) {
+        MemberDto member = new MemberDto();
+        member.setId(id);
+        member.setVersion(version);
+        return member;
+    }
+
+}
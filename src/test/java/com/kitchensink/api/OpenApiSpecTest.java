@@ -0,0 +1,50 @@
+package com.kitchensink.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+class OpenApiSpecTest {
+
+    // served as a static resource; the build fails when it differs from the annotations, and
+    // mvn test -Dtest=OpenApiSpecTest -Dopenapi.update=true writes the current one
+    static final Path SPEC = Path.of("src/main/resources/static/openapi.json");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).enable(
+        SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    @Test
+    void apiDocs_Annotations_MatchStaticSpec() throws Exception {
+        ObjectNode generated = (ObjectNode) objectMapper.readTree(mockMvc.perform(MockMvcRequestBuilders.get(
+            "/v3/api-docs")).andReturn().getResponse().getContentAsString());
+        // the server is the one of the request, clients of the static document use its own origin
+        generated.remove("servers");
+        JsonNode ordered = objectMapper.readTree(objectMapper.writeValueAsString(objectMapper.treeToValue(generated,
+            Object.class)));
+
+        if (Boolean.getBoolean("openapi.update")) {
+            Files.writeString(SPEC, objectMapper.writeValueAsString(ordered) + "\n");
+        }
+        assertThat(objectMapper.readTree(SPEC.toFile())).as(
+            "%s is out of date, run mvn test -Dtest=OpenApiSpecTest -Dopenapi.update=true", SPEC).isEqualTo(ordered);
+    }
+
+}
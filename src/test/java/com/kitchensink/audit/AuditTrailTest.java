@@ -0,0 +1,137 @@
+package com.kitchensink.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.kitchensink.entity.AuditEvent;
+import com.kitchensink.enums.AuditAction;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditTrailTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingSink sink = new RecordingSink();
+
+    @Test
+    void ringBuffer_Full_RejectsUntilDrained() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(3);
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+
+        List<Integer> batch = new ArrayList<>();
+        assertThat(buffer.drainTo(batch, 3)).isEqualTo(3);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.drainTo(batch, 10)).isEqualTo(2);
+        assertThat(batch).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    void ringBuffer_ConcurrentProducers_LoseNothing() throws InterruptedException {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1 << 16);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < 4; p++) {
+            int offset = p * 10_000;
+            producers.execute(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < 10_000; i++) {
+                    buffer.offer(offset + i);
+                }
+            });
+        }
+        start.countDown();
+        producers.shutdown();
+        assertThat(producers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        List<Integer> batch = new ArrayList<>();
+        buffer.drainTo(batch, Integer.MAX_VALUE);
+        assertThat(batch).hasSize(40_000).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void record_FullBatch_FlushesWithoutWaitingForInterval() throws InterruptedException {
+        AuditTrail auditTrail = new AuditTrail(sink, meterRegistry, 64, 10, Duration.ofHours(1));
+        for (int i = 0; i < 10; i++) {
+            auditTrail.record(AuditAction.MEMBER_UPDATED, "m" + i, "admin@example.com", "name");
+        }
+
+        assertThat(sink.written.poll(5, TimeUnit.SECONDS)).hasSize(10);
+        assertThat(meterRegistry.get("audit.events").tag("outcome", "written").counter().count()).isEqualTo(10);
+        auditTrail.stop();
+    }
+
+    @Test
+    void record_BufferFull_DropsAndCounts() {
+        AuditTrail auditTrail = new AuditTrail(sink, meterRegistry, 4, 100, Duration.ofHours(1));
+        for (int i = 0; i < 6; i++) {
+            auditTrail.record(AuditAction.MEMBER_DELETED, "m" + i, "admin@example.com", null);
+        }
+
+        assertThat(meterRegistry.get("audit.events").tag("outcome", "dropped").counter().count()).isEqualTo(2);
+        auditTrail.stop();
+        assertThat(sink.written).singleElement().satisfies(batch -> assertThat(batch).hasSize(4));
+    }
+
+    @Test
+    void flush_SinkFails_RetriesSameBatchAndFlushesOnStop() {
+        AuditTrail auditTrail = new AuditTrail(sink, meterRegistry, 64, 100, Duration.ofHours(1));
+        auditTrail.record(AuditAction.MEMBER_LOCKED, "m1", AuditTrail.SYSTEM_ACTOR, null);
+        sink.failing = true;
+        auditTrail.flush();
+        assertThat(auditTrail.pending()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.flush.failures").counter().count()).isEqualTo(1);
+
+        sink.failing = false;
+        auditTrail.record(AuditAction.MEMBER_UNBLOCKED, "m1", "admin@example.com", null);
+        auditTrail.stop();
+
+        assertThat(sink.written.stream().flatMap(List::stream).map(AuditEvent::getAction)).containsExactly(
+            AuditAction.MEMBER_LOCKED, AuditAction.MEMBER_UNBLOCKED);
+        assertThat(sink.closed).isTrue();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class RecordingSink implements AuditSink {
+
+        private final BlockingQueue<List<AuditEvent>> written = new LinkedBlockingQueue<>();
+        private volatile boolean failing;
+        private volatile boolean closed;
+
+        @Override
+        public void write(List<AuditEvent> events) throws IOException {
+            if (failing) {
+                throw new IOException("sink down");
+            }
+            written.add(List.copyOf(events));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.kitchensink.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kitchensink.entity.AuditEvent;
+import com.kitchensink.enums.AuditAction;
+
+class MappedFileAuditSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule()).disable(
+        SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void write_AcrossRegions_AppendsJsonLinesAndTrimsOnClose() throws IOException {
+        Path file = directory.resolve("audit.jsonl");
+        MappedFileAuditSink sink = new MappedFileAuditSink(objectMapper, file.toString(), DataSize.ofBytes(256));
+        sink.write(List.of(event("m1", AuditAction.MEMBER_UPDATED), event("m2", AuditAction.MEMBER_DELETED)));
+        sink.write(List.of(event("m3", AuditAction.MEMBER_LOCKED)));
+        sink.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(2)).contains("\"memberId\":\"m3\"", "\"action\":\"MEMBER_LOCKED\"",
+            "\"at\":\"2026-01-01T00:00:00Z\"");
+        assertThat(Files.size(file)).isEqualTo(lines.stream().mapToInt(line -> line.length() + 1).sum());
+    }
+
+    @Test
+    void write_SerializationFailsMidBatch_WritesNothingSoRetryHasNoDuplicates() throws IOException {
+        Path file = directory.resolve("audit.jsonl");
+        ObjectMapper failing = new ObjectMapper() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public byte[] writeValueAsBytes(Object value) throws JsonProcessingException {
+                if ("broken".equals(((AuditEvent) value).getMemberId())) {
+                    throw new JsonMappingException(null, "unserializable");
+                }
+                return objectMapper.writeValueAsBytes(value);
+            }
+        };
+        MappedFileAuditSink sink = new MappedFileAuditSink(failing, file.toString(), DataSize.ofBytes(256));
+        AuditEvent broken = event("broken", AuditAction.MEMBER_UPDATED);
+
+        assertThatThrownBy(() -> sink.write(List.of(event("m1", AuditAction.MEMBER_UPDATED), broken))).isInstanceOf(
+            JsonProcessingException.class);
+        broken.setMemberId("m2");
+        sink.write(List.of(event("m1", AuditAction.MEMBER_UPDATED), broken));
+        sink.close();
+
+        assertThat(Files.readAllLines(file)).hasSize(2).satisfiesExactly(line -> assertThat(line).contains("\"m1\""),
+            line -> assertThat(line).contains("\"m2\""));
+    }
+
+    @Test
+    void open_AfterCrash_AppendsAfterContent() throws IOException {
+        Path file = directory.resolve("audit.jsonl");
+        MappedFileAuditSink crashed = new MappedFileAuditSink(objectMapper, file.toString(), DataSize.ofKilobytes(4));
+        crashed.write(List.of(event("m1", AuditAction.MEMBER_UPDATED)));
+        // not closed, the file keeps its zero filled region
+
+        MappedFileAuditSink sink = new MappedFileAuditSink(objectMapper, file.toString(), DataSize.ofKilobytes(4));
+        sink.write(List.of(event("m2", AuditAction.MEMBER_UNBLOCKED)));
+        sink.close();
+
+        assertThat(Files.readAllLines(file)).hasSize(2).allSatisfy(line -> assertThat(line).startsWith("{"));
+    }
+
+    @Test
+    void checkpoint_FileClosedUntilRestore() throws IOException {
+        Path file = directory.resolve("audit.jsonl");
+        MappedFileAuditSink sink = new MappedFileAuditSink(objectMapper, file.toString(), DataSize.ofKilobytes(4));
+        sink.write(List.of(event("m1", AuditAction.MEMBER_UPDATED)));
+
+        sink.beforeCheckpoint(null);
+
+        assertThat(Files.size(file)).isEqualTo(Files.readAllLines(file).get(0).length() + 1);
+        assertThatThrownBy(() -> sink.write(List.of(event("m2", AuditAction.MEMBER_UNBLOCKED)))).isInstanceOf(
+            IOException.class);
+
+        sink.afterRestore(null);
+        sink.write(List.of(event("m2", AuditAction.MEMBER_UNBLOCKED)));
+        sink.close();
+
+        assertThat(Files.readAllLines(file)).hasSize(2).allSatisfy(line -> assertThat(line).startsWith("{"));
+    }
+
+    private static AuditEvent event(String memberId, AuditAction action) {
+        return new AuditEvent(null, action, memberId, "admin@example.com", null, Instant.parse(
+            "2026-01-01T00:00:00Z"));
+    }
+
+}
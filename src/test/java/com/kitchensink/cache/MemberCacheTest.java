@@ -0,0 +1,336 @@
+package com.kitchensink.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.kitchensink.cache.MemberCache.Lookup;
+import com.kitchensink.entity.Member;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MemberCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryStore store = new InMemoryStore();
+    private final MemberCache memberCache = memberCache(store, Duration.ofSeconds(5));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Member stored = member("a@example.com");
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void find_OtherNodeLoaded_ServedFromL2() {
+        memberCache.find(Lookup.EMAIL, "a@example.com", this::load);
+        MemberCache otherNode = memberCache(store, Duration.ofSeconds(5));
+
+        Optional<Member> member = otherNode.find(Lookup.EMAIL, "a@example.com", this::load);
+
+        assertThat(member).get().satisfies(found -> {
+            assertThat(found.getId()).isEqualTo(stored.getId());
+            assertThat(found.getRoles()).containsExactly("USER");
+            assertThat(found.getCreatedAt()).isEqualTo(stored.getCreatedAt());
+        });
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("member.cache.l2.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void find_StreamNotStarted_SkipsL1() {
+        memberCache.find(Lookup.EMAIL, "a@example.com", this::load);
+        memberCache.find(Lookup.EMAIL, "a@example.com", this::load);
+
+        assertThat(memberCache.findLocal(Lookup.EMAIL, "a@example.com")).isNull();
+        assertThat(meterRegistry.get("member.cache.coherent").gauge().value()).isZero();
+    }
+
+    @Test
+    void find_Coherent_ServesL1CopiesUntilInvalidated() {
+        memberCache.onFlush(new MemberCacheFlushEvent("stream_started", true));
+        memberCache.find(Lookup.ID, stored.getId(), this::load).orElseThrow().setName("changed by the caller");
+        store.reads.set(0);
+
+        assertThat(memberCache.find(Lookup.ID, stored.getId(), this::load)).get().extracting(Member::getName)
+            .isEqualTo("A");
+        assertThat(store.reads).hasValue(0);
+
+        memberCache.onInvalidation(new MemberInvalidationEvent(stored.getId()));
+        memberCache.find(Lookup.ID, stored.getId(), this::load);
+        assertThat(store.reads).hasValue(1);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void find_PasswordHash_NeverCached() {
+        memberCache.onFlush(new MemberCacheFlushEvent("stream_started", true));
+
+        assertThat(memberCache.find(Lookup.EMAIL, "a@example.com", this::load)).get().extracting(
+            Member::getPassword).isNull();
+        assertThat(store.values.get(MemberCache.STORE_PREFIX + "id:" + stored.getId())).doesNotContain("password");
+        assertThat(memberCache.findLocal(Lookup.ID, stored.getId()).getPassword()).isNull();
+    }
+
+    @Test
+    void find_L2EntryWithPasswordHash_HashDropped() {
+        Document legacy = new Document("_id", new ObjectId(stored.getId())).append("email", "a@example.com").append(
+            "password", "$2a$10$hash");
+        store.set(MemberCache.STORE_PREFIX + "id:" + stored.getId(), legacy.toJson(), Duration.ofMinutes(1));
+
+        assertThat(memberCache.find(Lookup.ID, stored.getId(), this::load)).get().extracting(Member::getPassword)
+            .isNull();
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void onInvalidation_OtherNodeWrite_L2Tombstoned() {
+        memberCache.find(Lookup.ID, stored.getId(), this::load);
+
+        memberCache.onInvalidation(new MemberInvalidationEvent(stored.getId()));
+
+        assertThat(store.values.get(MemberCache.STORE_PREFIX + "id:" + stored.getId())).isEqualTo(
+            MemberCache.TOMBSTONE);
+        memberCache(store, Duration.ofSeconds(5)).find(Lookup.ID, stored.getId(), this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evict_WriteDuringLoad_StaleCopyNotCached() {
+        memberCache.onFlush(new MemberCacheFlushEvent("stream_started", true));
+        memberCache.find(Lookup.ID, stored.getId(), id -> {
+            Optional<Member> member = load(id);
+            // the member is written and evicted after this load read it
+            memberCache.evict(id);
+            return member;
+        });
+
+        assertThat(store.values.get(MemberCache.STORE_PREFIX + "id:" + stored.getId())).isEqualTo(
+            MemberCache.TOMBSTONE);
+        assertThat(memberCache.findLocal(Lookup.ID, stored.getId())).isNull();
+        memberCache.find(Lookup.ID, stored.getId(), this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void find_ChangedEmail_StaleIndexMisses() throws InterruptedException {
+        MemberCache shortLease = memberCache(store, Duration.ofMillis(1));
+        shortLease.find(Lookup.EMAIL, "a@example.com", this::load);
+        stored.setEmail("b@example.com");
+        shortLease.evict(stored.getId());
+        TimeUnit.MILLISECONDS.sleep(5);
+        shortLease.find(Lookup.ID, stored.getId(), this::load);
+
+        assertThat(shortLease.find(Lookup.EMAIL, "a@example.com", this::load)).isEmpty();
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void find_ConcurrentMisses_LoadOnce() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Optional<Member>>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> memberCache.find(Lookup.EMAIL, "a@example.com", email -> {
+                loading.countDown();
+                await(release);
+                return load(email);
+            })));
+        }
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        TimeUnit.MILLISECONDS.sleep(50);
+        release.countDown();
+
+        for (Future<Optional<Member>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isPresent();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void find_OtherNodeLoading_WaitsForL2() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        Future<Optional<Member>> first = executor.submit(() -> memberCache.find(Lookup.EMAIL, "a@example.com",
+            email -> {
+                loading.countDown();
+                sleep(30);
+                return load(email);
+            }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Optional<Member> second = memberCache(store, Duration.ofSeconds(5)).find(Lookup.EMAIL, "a@example.com",
+            this::load);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(second).isPresent();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void find_StoreDown_FallsBackToLoader() {
+        store.down = true;
+
+        assertThat(memberCache.find(Lookup.PHONE, "1234567890", phone -> load(stored.getId()))).isPresent();
+        memberCache.evict(stored.getId());
+
+        assertThat(meterRegistry.get("member.cache.l2.requests").tag("result", "error").counter().count())
+            .isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void writtenAt_PrefersWallTimeOverClusterTime() {
+        BsonDocument key = new BsonDocument("_id", new BsonString("m1"));
+        ChangeStreamDocument<Document> withWallTime = change(key, new BsonDateTime(1_700_000_000_123L));
+        ChangeStreamDocument<Document> clusterTimeOnly = change(key, null);
+
+        assertThat(MemberChangeStreamListener.writtenAt(withWallTime).toEpochMilli()).isEqualTo(1_700_000_000_123L);
+        assertThat(MemberChangeStreamListener.writtenAt(clusterTimeOnly).toEpochMilli()).isEqualTo(1_700_000_000_000L);
+    }
+
+    private MemberCache memberCache(MemberCacheStore store, Duration lease) {
+        return new MemberCache(converter(), store, meterRegistry, true, 100, Duration.ofMinutes(10), Duration
+            .ofMinutes(5), lease, Duration.ofSeconds(2));
+    }
+
+    private Optional<Member> load(String key) {
+        loads.incrementAndGet();
+        boolean found = key.equals(stored.getId()) || key.equals(stored.getEmail());
+        if (!found) {
+            return Optional.empty();
+        }
+        Member member = member(stored.getEmail());
+        member.setId(stored.getId());
+        member.setCreatedAt(stored.getCreatedAt());
+        return Optional.of(member);
+    }
+
+    private static Member member(String email) {
+        Member member = new Member();
+        member.setId(new ObjectId().toHexString());
+        member.setName("A");
+        member.setEmail(email);
+        member.setPhoneNumber("1234567890");
+        member.setPassword("$2a$10$hash");
+        member.setRoles(List.of("USER"));
+        member.setCreatedAt(LocalDateTime.of(2026, 1, 1, 10, 0));
+        return member;
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static ChangeStreamDocument<Document> change(BsonDocument key, BsonDateTime wallTime) {
+        return new ChangeStreamDocument<>(OperationType.UPDATE.getValue(), new BsonDocument(), null, null, null, null,
+            key, new BsonTimestamp(1_700_000_000, 1), null, null, null, wallTime, null, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // local stand-in for redis, with the expiry of SET PX and SET NX PX
+    private static class InMemoryStore implements MemberCacheStore {
+
+        private final Map<String, String> values = new ConcurrentHashMap<>();
+        private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+        private final AtomicInteger reads = new AtomicInteger();
+        private volatile boolean down;
+
+        @Override
+        public String get(String key) {
+            check();
+            reads.incrementAndGet();
+            expire(key);
+            return values.get(key);
+        }
+
+        @Override
+        public void set(String key, String value, Duration ttl) {
+            check();
+            values.put(key, value);
+            expiries.put(key, System.nanoTime() + ttl.toNanos());
+        }
+
+        @Override
+        public synchronized boolean setIfAbsent(String key, String value, Duration ttl) {
+            check();
+            expire(key);
+            if (values.containsKey(key)) {
+                return false;
+            }
+            set(key, value, ttl);
+            return true;
+        }
+
+        @Override
+        public void delete(String key) {
+            check();
+            values.remove(key);
+            expiries.remove(key);
+        }
+
+        private void expire(String key) {
+            Long expiry = expiries.get(key);
+            if (expiry != null && System.nanoTime() - expiry > 0) {
+                values.remove(key);
+                expiries.remove(key);
+            }
+        }
+
+        private void check() {
+            if (down) {
+                throw new IllegalStateException("store down");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.kitchensink.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.kitchensink.entity.Member;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class MemberChangeStreamListenerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private ChangeStreamIterable<Document> stream;
+
+    @Mock
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    @Mock
+    private ChangeStreamDocument<Document> change;
+
+    private MemberChangeStreamListener listener;
+
+    @AfterEach
+    void stop() {
+        listener.stop();
+    }
+
+    @Test
+    void run_ChangeCannotBeApplied_FlushesIncoherentAndResumesPastIt() {
+        BsonDocument token = new BsonDocument("_data", new BsonString("8263"));
+        when(mongoTemplate.getCollectionName(Member.class)).thenReturn("member");
+        when(mongoTemplate.getCollection("member")).thenReturn(collection);
+        when(collection.watch(anyList())).thenReturn(stream);
+        when(stream.maxAwaitTime(anyLong(), any())).thenReturn(stream);
+        when(stream.resumeAfter(any())).thenReturn(stream);
+        when(stream.cursor()).thenReturn(cursor);
+        when(change.getOperationType()).thenReturn(OperationType.UPDATE);
+        when(change.getResumeToken()).thenReturn(token);
+        // not a string id, id.asString() throws a BsonInvalidOperationException
+        when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonInt32(7)));
+        when(cursor.tryNext()).thenReturn(change).thenReturn(null);
+        listener = new MemberChangeStreamListener(mongoTemplate, eventPublisher, new SimpleMeterRegistry(), "node-1",
+            Duration.ofSeconds(5));
+
+        listener.start();
+
+        verify(eventPublisher, timeout(5000)).publishEvent(new MemberCacheFlushEvent("stream_error", false));
+        verify(stream, timeout(5000)).resumeAfter(token);
+    }
+
+}
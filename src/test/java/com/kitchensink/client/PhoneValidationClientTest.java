@@ -0,0 +1,130 @@
+package com.kitchensink.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitchensink.config.PhoneValidationConfig;
+import com.kitchensink.config.RestTemplateConfig;
+import com.kitchensink.enums.PhoneValidationFallback;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PhoneValidationClientTest {
+
+    private HttpServer stubServer;
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile String body = "{\"valid\":true}";
+    private volatile long delayMillis;
+
+    private MeterRegistry meterRegistry;
+    private RestTemplate restTemplate;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubServer.createContext("/v1/", this::respond);
+        stubServer.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        RestTemplateConfig restTemplateConfig = new RestTemplateConfig();
+        restTemplate = restTemplateConfig.restTemplate(new RestTemplateBuilder(), Duration.ofMillis(500), Duration
+            .ofMillis(300));
+        circuitBreaker = new PhoneValidationConfig().phoneValidationCircuitBreaker(meterRegistry, 50, 4, Duration
+            .ofSeconds(2), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    void isValid_ProviderAccepts_ReturnsTrue() {
+        assertThat(client(PhoneValidationFallback.REJECT).isValid("9876543210")).isTrue();
+        assertThat(meterRegistry.get(PhoneValidationClient.METRIC_NAME).tag("outcome", "valid").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void isValid_ProviderRejects_ReturnsFalse() {
+        body = "{\"valid\":false}";
+
+        assertThat(client(PhoneValidationFallback.ACCEPT).isValid("9876543210")).isFalse();
+        assertThat(meterRegistry.get(PhoneValidationClient.METRIC_NAME).tag("outcome", "invalid").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void constructor_RegistersEveryOutcomeTimer() {
+        client(PhoneValidationFallback.REJECT);
+
+        assertThat(meterRegistry.get(PhoneValidationClient.METRIC_NAME).timers()).extracting(timer -> timer.getId()
+            .getTag("outcome")).containsExactlyInAnyOrder("valid", "invalid", "error", "short_circuited");
+    }
+
+    @Test
+    void isValid_SlowProvider_TimesOutAndAppliesFallback() {
+        delayMillis = 1_000;
+
+        long start = System.nanoTime();
+        assertThat(client(PhoneValidationFallback.REJECT).isValid("9876543210")).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(900));
+        assertThat(client(PhoneValidationFallback.ACCEPT).isValid("9876543210")).isTrue();
+    }
+
+    @Test
+    void isValid_FailingProvider_OpensCircuit() {
+        status = 500;
+        PhoneValidationClient client = client(PhoneValidationFallback.REJECT);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(client.isValid("9876543210")).isFalse();
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        int hitsWhenOpened = hits.get();
+        assertThat(client.isValid("9876543210")).isFalse();
+        assertThat(hits.get()).isEqualTo(hitsWhenOpened);
+        assertThat(meterRegistry.get(PhoneValidationClient.METRIC_NAME).tag("outcome", "short_circuited").timer()
+            .count()).isEqualTo(1);
+    }
+
+    private PhoneValidationClient client(PhoneValidationFallback fallback) {
+        String url = "http://localhost:" + stubServer.getAddress().getPort() + "/v1/";
+        return new PhoneValidationClient(restTemplate, new ObjectMapper(), circuitBreaker, meterRegistry, url,
+            "dummy-key", fallback);
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] response = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(response);
+        }
+    }
+}
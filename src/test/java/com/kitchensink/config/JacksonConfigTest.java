@@ -0,0 +1,121 @@
+package com.kitchensink.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.kitchensink.dto.MemberDto;
+import com.kitchensink.enums.PhoneVerificationStatus;
+
+class JacksonConfigTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JacksonConfigTest.class);
+
+    private final JacksonConfig jacksonConfig = new JacksonConfig();
+    private final PagedModel<MemberDto> page = page(1000);
+
+    @Test
+    void mapper_BinaryFormats_SameTreeAsJson() throws IOException {
+        ObjectMapper json = mapper(new JsonFactory());
+        ObjectMapper cbor = mapper(new CBORFactory());
+        ObjectMapper smile = mapper(new SmileFactory());
+
+        assertThat(cbor.readTree(cbor.writeValueAsBytes(page))).isEqualTo(json.readTree(json.writeValueAsBytes(
+            page)));
+        assertThat(smile.readTree(smile.writeValueAsBytes(page))).isEqualTo(json.readTree(json.writeValueAsBytes(
+            page)));
+        assertThat(json.writeValueAsString(page.getContent().get(0))).doesNotContain("null").contains(
+            "\"joiningDate\":\"2026-01-01\"");
+        assertThat(json.getFactory()._getRecyclerPool()).isSameAs(JsonRecyclerPools.sharedConcurrentDequePool());
+    }
+
+    @Test
+    void mapper_ThousandMemberPage_BinarySmallerAndGzipSmallerStill() throws IOException {
+        Map<String, ObjectMapper> mappers = Map.of("json", mapper(new JsonFactory()), "cbor", mapper(
+            new CBORFactory()), "smile", mapper(new SmileFactory()));
+        Map<String, Integer> sizes = new HashMap<>();
+        for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+            byte[] body = mapper.getValue().writeValueAsBytes(page);
+            byte[] gzipped = gzip(body);
+            sizes.put(mapper.getKey(), body.length);
+            sizes.put(mapper.getKey() + "+gzip", gzipped.length);
+            log.info("{} page of 1000 members: {} bytes, {} gzipped, {} us cpu to serialize", mapper.getKey(),
+                body.length, gzipped.length, cpuMicros(mapper.getValue()));
+        }
+
+        assertThat(sizes.get("cbor")).isLessThan(sizes.get("json"));
+        assertThat(sizes.get("smile")).isLessThan(sizes.get("json"));
+        assertThat(sizes.get("json+gzip")).isLessThan(sizes.get("json") / 4);
+        assertThat(sizes.get("smile+gzip")).isLessThan(sizes.get("smile"));
+    }
+
+    private ObjectMapper mapper(JsonFactory factory) {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder().modulesToInstall(jacksonConfig
+            .blackbirdModule()).featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jacksonConfig.sharedBufferPoolCustomizer().customize(builder);
+        jacksonConfig.memberFieldsCustomizer().customize(builder);
+        return JacksonConfig.mapper(builder, factory);
+    }
+
+    private long cpuMicros(ObjectMapper mapper) throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 50; i++) {
+            mapper.writeValueAsBytes(page);
+        }
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < 50; i++) {
+            mapper.writeValueAsBytes(page);
+        }
+        return (threads.getCurrentThreadCpuTime() - start) / 50 / 1000;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static PagedModel<MemberDto> page(int size) {
+        List<MemberDto> members = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            MemberDto member = new MemberDto();
+            member.setId(String.format("65f1c0d2a4b3e2%010d", i));
+            member.setName("Member " + i);
+            member.setEmail("member" + i + "@example.com");
+            member.setPhoneNumber(String.valueOf(6_000_000_000L + i));
+            member.setPhoneVerification(PhoneVerificationStatus.VERIFIED);
+            member.setActive(true);
+            member.setRoles(List.of("USER"));
+            member.setJoiningDate(LocalDate.of(2026, 1, 1));
+            member.setVersion((long) i % 7);
+            members.add(member);
+        }
+        return new PagedModel<>(new PageImpl<>(members, PageRequest.of(0, size), 25_000));
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.kitchensink.config;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.kitchensink.entity.Member;
+import com.mongodb.client.result.UpdateResult;
+
+class MemberVersionBackfillTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    @Test
+    void backfill_DatabaseNotReady_RetriedUntilItSucceeds() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Member.class))).thenThrow(
+            new UncategorizedMongoDbException("Timed out", null)).thenReturn(UpdateResult.acknowledged(2, 2L, null));
+        MemberVersionBackfill backfill = new MemberVersionBackfill(mongoTemplate);
+
+        backfill.backfill();
+        backfill.backfill();
+        backfill.backfill();
+
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class), eq(Member.class));
+    }
+
+}
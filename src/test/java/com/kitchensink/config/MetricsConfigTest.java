@@ -0,0 +1,90 @@
+package com.kitchensink.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.kitchensink.dto.LoginRequestDto;
+import com.kitchensink.exception.AppAuthenticationException;
+import com.kitchensink.repository.MemberRepository;
+import com.kitchensink.service.LoginService;
+
+@SpringBootTest(properties = "metrics.scrape.password=scrape-secret")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LoginService loginService;
+
+    @MockBean
+    private MemberRepository memberRepository;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void prometheus_TimedServiceCall_PublishesHistogramWithSloBuckets() throws Exception {
+        when(memberRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
+        LoginRequestDto loginRequest = new LoginRequestDto();
+        loginRequest.setEmail("missing@example.com");
+        loginRequest.setPassword("password");
+        assertThatThrownBy(() -> loginService.login(loginRequest)).isInstanceOf(AppAuthenticationException.class);
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk()).andReturn()
+            .getResponse().getContentAsString();
+
+        assertThat(scrape).containsPattern("service_login_seconds_bucket\\{application=\"kitchensink\",class="
+            + "\"com.kitchensink.service.impl.LoginServiceImpl\",exception=\"AppAuthenticationException\","
+            + "method=\"login\",le=\"0.05\"} 1");
+        assertThat(scrape).contains("service_login_seconds_count{");
+    }
+
+    @Test
+    void prometheus_ScrapeUser_Allowed() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret"))).andExpect(status()
+            .isOk());
+    }
+
+    @Test
+    void prometheus_WrongScrapePassword_Unauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong"))).andExpect(status()
+            .isUnauthorized());
+    }
+
+    @Test
+    void prometheus_Anonymous_Unauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized()).andExpect(header().exists(
+            HttpHeaders.WWW_AUTHENTICATE));
+    }
+
+    @Test
+    void metrics_ScrapeUser_Forbidden() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("prometheus", "scrape-secret"))).andExpect(status()
+            .isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void prometheus_NotAdmin_Forbidden() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.kitchensink.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.MongoCompressor;
+
+class MongoConfigTest {
+
+    @Test
+    void compressors_SnappyMissing_KeepsOrderOfTheOthers() {
+        assertThat(MongoConfig.compressors(List.of("zstd", " snappy", "zlib")).stream().map(
+            MongoCompressor::getName)).containsExactly("zstd", "zlib");
+    }
+
+    @Test
+    void compressors_Empty_ReturnsNone() {
+        assertThat(MongoConfig.compressors(List.of())).isEmpty();
+    }
+
+    @Test
+    void compressors_Unknown_Throws() {
+        assertThatThrownBy(() -> MongoConfig.compressors(List.of("lz4"))).isInstanceOf(
+            IllegalArgumentException.class).hasMessageContaining("lz4");
+    }
+
+}
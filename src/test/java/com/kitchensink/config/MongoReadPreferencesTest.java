@@ -0,0 +1,37 @@
+package com.kitchensink.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+
+class MongoReadPreferencesTest {
+
+    @Test
+    void readPreference_Secondary_BoundsStaleness() {
+        ReadPreference readPreference = MongoReadPreferences.readPreference("secondaryPreferred", Duration.ofSeconds(
+            120));
+
+        assertThat(readPreference.getName()).isEqualTo("secondaryPreferred");
+        assertThat(((TaggableReadPreference) readPreference).getMaxStaleness(TimeUnit.SECONDS)).isEqualTo(120);
+    }
+
+    @Test
+    void readPreference_Primary_IgnoresStaleness() {
+        assertThat(MongoReadPreferences.readPreference("primary", Duration.ofSeconds(90))).isEqualTo(ReadPreference
+            .primary());
+    }
+
+    @Test
+    void readPreference_UnknownMode_Throws() {
+        assertThatThrownBy(() -> MongoReadPreferences.readPreference("nearestish", Duration.ZERO)).isInstanceOf(
+            IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.kitchensink.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.ClassUtils;
+
+import com.kitchensink.entity.Member;
+import com.kitchensink.validation.ValidUserRoleValidator;
+
+class NativeImageConfigTest {
+
+    private final RuntimeHints hints = hints();
+
+    @Test
+    void registerHints_Documents_FieldsAndConstructorsReachable() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Member.class).withMemberCategories(
+            MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ValidUserRoleValidator.class).withMemberCategory(
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+    }
+
+    @Test
+    void registerHints_JjwtClasses_AllOnClasspathAndRegistered() {
+        for (String jjwtClass : NativeImageConfig.JJWT_CLASSES) {
+            // a JJWT upgrade renaming one of them would otherwise only fail in the native image
+            assertThat(ClassUtils.isPresent(jjwtClass, getClass().getClassLoader())).as(jjwtClass).isTrue();
+            assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(jjwtClass)).withMemberCategory(
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+            .accepts(hints);
+    }
+
+    @Test
+    void registerHints_NumberingPlan_ResourceIncluded() {
+        assertThat(new ClassPathResource("phone/numbering-plan.csv").exists()).isTrue();
+        assertThat(RuntimeHintsPredicates.resource().forResource("phone/numbering-plan.csv")).accepts(hints);
+    }
+
+    private static RuntimeHints hints() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeImageConfig.Hints().registerHints(hints, NativeImageConfigTest.class.getClassLoader());
+        return hints;
+    }
+
+}
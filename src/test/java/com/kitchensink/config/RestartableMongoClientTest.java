@@ -0,0 +1,66 @@
+package com.kitchensink.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+
+class RestartableMongoClientTest {
+
+    private final List<MongoClient> created = new ArrayList<>();
+
+    private final RestartableMongoClient<MongoClient> restartable = new RestartableMongoClient<>(MongoClient.class,
+        this::create);
+
+    @Test
+    void getClient_Running_ForwardsToCurrentClient() {
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(created.get(0).getDatabase("kitchensink")).thenReturn(database);
+
+        assertThat(restartable.getClient().getDatabase("kitchensink")).isSameAs(database);
+        assertThat(restartable.isOpen()).isTrue();
+    }
+
+    @Test
+    void checkpointThenRestore_ClosesAndOpensNewClient() {
+        MongoClient client = restartable.getClient();
+
+        restartable.beforeCheckpoint(null);
+
+        verify(created.get(0)).close();
+        assertThat(restartable.isOpen()).isFalse();
+        assertThatThrownBy(() -> client.getDatabase("kitchensink")).isInstanceOf(IllegalStateException.class);
+
+        restartable.afterRestore(null);
+
+        assertThat(created).hasSize(2);
+        client.getDatabase("kitchensink");
+        verify(created.get(1)).getDatabase("kitchensink");
+    }
+
+    @Test
+    void close_Proxy_ClosesOnce() {
+        restartable.getClient().close();
+        restartable.beforeCheckpoint(null);
+
+        verify(created.get(0), times(1)).close();
+        assertThat(restartable.isOpen()).isFalse();
+    }
+
+    private MongoClient create() {
+        MongoClient client = mock(MongoClient.class);
+        created.add(client);
+        return client;
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.kitchensink.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.tracing.Tracer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class TraceIdFilterTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void doFilter_IncomingTraceparent_ContinuesTrace() throws Exception {
+        String traceId = mockMvc.perform(get("/actuator/info").header("traceparent", "00-" + TRACE_ID
+            + "-00f067aa0ba902b7-01")).andReturn().getResponse().getHeader(TraceIdFilter.TRACE_ID_HEADER);
+
+        assertThat(traceId).isEqualTo(TRACE_ID);
+    }
+
+    @Test
+    void doFilter_NoTraceparent_StartsNewTrace() throws Exception {
+        String first = mockMvc.perform(get("/actuator/info")).andReturn().getResponse().getHeader(
+            TraceIdFilter.TRACE_ID_HEADER);
+        String second = mockMvc.perform(get("/actuator/info")).andReturn().getResponse().getHeader(
+            TraceIdFilter.TRACE_ID_HEADER);
+
+        assertThat(first).matches("[0-9a-f]{32}").isNotEqualTo(second);
+    }
+
+    @Test
+    void doFilter_TracingDisabled_GeneratesTraceId() throws Exception {
+        TraceIdFilter filter = new TraceIdFilter(new StaticListableBeanFactory(Map.of("tracer", Tracer.NOOP))
+            .getBeanProvider(Tracer.class));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> traceIdInChain = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest(), response, (request, chainResponse) -> traceIdInChain.set(MDC
+            .get(TraceIdFilter.TRACE_ID_MDC)));
+
+        assertThat(response.getHeader(TraceIdFilter.TRACE_ID_HEADER)).matches("[0-9a-f]{32}").isEqualTo(
+            traceIdInChain.get());
+        assertThat(MDC.get(TraceIdFilter.TRACE_ID_MDC)).isNull();
+    }
+
+}
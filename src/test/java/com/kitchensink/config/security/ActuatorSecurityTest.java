@@ -0,0 +1,67 @@
+package com.kitchensink.config.security;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = { "spring.threads.virtual.enabled=true", "management.health.mongo.enabled=false" })
+@AutoConfigureMockMvc
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void health_Anonymous_Allowed() throws Exception {
+        mockMvc.perform(get("/actuator/info")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void pinning_Anonymous_Forbidden() throws Exception {
+        mockMvc.perform(get("/actuator/pinning")).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/pinning")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void pinning_NotAdmin_Forbidden() throws Exception {
+        mockMvc.perform(get("/actuator/pinning")).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/pinning")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void pinning_Admin_ReturnsReport() throws Exception {
+        mockMvc.perform(get("/actuator/pinning")).andExpect(status().isOk()).andExpect(jsonPath("$.sites")
+            .isArray());
+    }
+
+    @Test
+    void mongoQueries_Anonymous_Forbidden() throws Exception {
+        mockMvc.perform(get("/actuator/mongoqueries")).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/mongoqueries")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void mongoQueries_NotAdmin_Forbidden() throws Exception {
+        mockMvc.perform(get("/actuator/mongoqueries")).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/mongoqueries")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void mongoQueries_Admin_ReturnsReport() throws Exception {
+        mockMvc.perform(get("/actuator/mongoqueries")).andExpect(status().isOk());
+    }
+
+}
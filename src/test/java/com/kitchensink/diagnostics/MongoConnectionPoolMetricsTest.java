@@ -0,0 +1,51 @@
+package com.kitchensink.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MongoConnectionPoolMetricsTest {
+
+    private static final ServerId SERVER = new ServerId(new ClusterId(), new ServerAddress("db1", 27017));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoConnectionPoolMetrics metrics = new MongoConnectionPoolMetrics(meterRegistry);
+
+    @Test
+    void connectionCheckedOut_RecordsWaitPerServer() {
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(SERVER), 1, Duration.ofMillis(3)
+            .toNanos()));
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(new ConnectionId(SERVER), 2, Duration.ofMillis(5)
+            .toNanos()));
+
+        assertThat(meterRegistry.get(MongoConnectionPoolMetrics.CHECKOUT_METRIC).tag("server.address", "db1:27017")
+            .tag("outcome", "success").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(8);
+    }
+
+    @Test
+    void connectionCheckOutFailed_TagsReason() {
+        metrics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(SERVER, 1,
+            ConnectionCheckOutFailedEvent.Reason.TIMEOUT, Duration.ofSeconds(5).toNanos()));
+        metrics.connectionClosed(new ConnectionClosedEvent(new ConnectionId(SERVER),
+            ConnectionClosedEvent.Reason.IDLE));
+
+        assertThat(meterRegistry.get(MongoConnectionPoolMetrics.CHECKOUT_METRIC).tag("outcome", "timeout").timer()
+            .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MongoConnectionPoolMetrics.CLOSED_METRIC).tag("reason", "idle").counter()
+            .count()).isEqualTo(1);
+    }
+
+}
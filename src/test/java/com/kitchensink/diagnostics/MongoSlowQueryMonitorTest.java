@@ -0,0 +1,119 @@
+package com.kitchensink.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.kitchensink.diagnostics.MongoSlowQueryMonitor.SlowQueryReport;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MongoSlowQueryMonitorTest {
+
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(new ServerId(new ClusterId(),
+        new ServerAddress()));
+
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class, RETURNS_DEEP_STUBS);
+    private final MongoSlowQueryMonitor monitor = new MongoSlowQueryMonitor(meterRegistry,
+        new StaticListableBeanFactory(Map.of("mongoTemplate", mongoTemplate)).getBeanProvider(MongoTemplate.class),
+        Duration.ofMillis(100), Duration.ofMinutes(10));
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void shape_RedactsValuesAndKeepsOperators() {
+        BsonDocument command = BsonDocument.parse("{find: 'member', filter: {email: 'jane@example.com', $or: [{name: "
+            + "{$regex: 'Jane'}}, {roles: {$in: ['ADMIN', 'USER']}}]}, sort: {name: 1}, limit: 20}");
+
+        assertThat(MongoSlowQueryMonitor.shape(command)).isEqualTo("{\"filter\": {\"email\": \"?\", \"$or\": "
+            + "[{\"name\": {\"$regex\": \"?\"}}, {\"roles\": {\"$in\": [\"?\"]}}]}, \"sort\": {\"name\": 1}}")
+            .doesNotContain("jane", "ADMIN");
+    }
+
+    @Test
+    void commandSucceeded_FastFind_RecordsSizesAndDocumentsOnly() {
+        run(1, "find", "{find: 'member', filter: {active: true}}",
+            "{cursor: {id: 0, ns: 'kitchensink.member', firstBatch: [{_id: 1}, {_id: 2}, {_id: 3}]}, ok: 1}", 2);
+
+        assertThat(meterRegistry.get(MongoSlowQueryMonitor.DOCUMENTS_METRIC).tag("command", "find").tag("collection",
+            "member").summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get(MongoSlowQueryMonitor.REPLY_BYTES_METRIC).summary().totalAmount()).isPositive();
+        assertThat(meterRegistry.get(MongoSlowQueryMonitor.REQUEST_BYTES_METRIC).summary().count()).isEqualTo(1);
+        assertThat(monitor.report().shapes()).isEmpty();
+    }
+
+    @Test
+    void commandSucceeded_SlowFind_AggregatesShapeAndExplains() throws InterruptedException {
+        when(mongoTemplate.getMongoDatabaseFactory().getMongoDatabase("kitchensink").runCommand(any(Bson.class)))
+            .thenReturn(Document.parse("{queryPlanner: {parsedQuery: {email: {$eq: 'jane@example.com'}}, "
+                + "winningPlan: {stage: 'FETCH', inputStage: {stage: 'IXSCAN', indexName: 'email_1', "
+                + "keyPattern: {email: 1}, indexBounds: {email: ['[\"jane@example.com\", \"jane@example.com\"]']}}}}, "
+                + "ok: 1}"));
+
+        run(1, "find", "{find: 'member', filter: {email: 'jane@example.com'}}", "{cursor: {id: 0, firstBatch: []}}",
+            150);
+        run(2, "find", "{find: 'member', filter: {email: 'john@example.com'}}", "{cursor: {id: 0, firstBatch: []}}",
+            300);
+
+        SlowQueryReport report = awaitExplain();
+        assertThat(report.shapes()).singleElement().satisfies(shape -> {
+            assertThat(shape.namespace()).isEqualTo("kitchensink.member");
+            assertThat(shape.shape()).isEqualTo("{\"filter\": {\"email\": \"?\"}}");
+            assertThat(shape.count()).isEqualTo(2);
+            assertThat(shape.maxMillis()).isEqualTo(300);
+            assertThat(shape.planSummary()).isEqualTo("FETCH > IXSCAN(email_1)");
+            assertThat(shape.plan().toString()).doesNotContain("jane", "indexBounds");
+        });
+        assertThat(meterRegistry.get(MongoSlowQueryMonitor.SLOW_METRIC).counter().count()).isEqualTo(2);
+
+        monitor.reset();
+        assertThat(monitor.report().shapes()).isEmpty();
+    }
+
+    private void run(int requestId, String commandName, String command, String response, long elapsedMillis) {
+        monitor.commandStarted(new CommandStartedEvent(null, requestId, requestId, CONNECTION, "kitchensink",
+            commandName, new RawBsonDocument(BsonDocument.parse(command), CODEC)));
+        monitor.commandSucceeded(new CommandSucceededEvent(null, requestId, requestId, CONNECTION, "kitchensink",
+            commandName, new RawBsonDocument(BsonDocument.parse(response), CODEC), Duration.ofMillis(elapsedMillis)
+                .toNanos()));
+    }
+
+    private SlowQueryReport awaitExplain() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        SlowQueryReport report = monitor.report();
+        while (report.shapes().stream().anyMatch(shape -> shape.planSummary() == null)
+            && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            report = monitor.report();
+        }
+        return report;
+    }
+
+}
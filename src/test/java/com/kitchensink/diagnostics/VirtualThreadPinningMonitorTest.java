@@ -0,0 +1,69 @@
+package com.kitchensink.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.kitchensink.diagnostics.VirtualThreadPinningMonitor.PinningReport;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(10));
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void report_SleepInsideSynchronized_RecordsApplicationSite() throws Exception {
+        Thread.ofVirtual().start(this::sleepWhilePinned).join();
+
+        PinningReport report = awaitReport();
+
+        assertThat(report.sites()).anySatisfy(site -> {
+            assertThat(site.site()).contains("VirtualThreadPinningMonitorTest.sleepWhilePinned");
+            assertThat(site.source()).isEqualTo("application");
+            assertThat(site.maxMillis()).isGreaterThanOrEqualTo(50);
+        });
+        assertThat(meterRegistry.get(VirtualThreadPinningMonitor.METRIC_NAME).tag("source", "application").timer()
+            .count()).isPositive();
+
+        monitor.reset();
+        assertThat(monitor.report().sites()).isEmpty();
+    }
+
+    private PinningReport awaitReport() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        PinningReport report = monitor.report();
+        while (report.sites().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            report = monitor.report();
+        }
+        return report;
+    }
+
+    private void sleepWhilePinned() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(60);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
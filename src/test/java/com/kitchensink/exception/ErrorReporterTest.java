@@ -0,0 +1,102 @@
+package com.kitchensink.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+
+import com.kitchensink.enums.ErrorType;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ErrorReporterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ErrorReporter errorReporter = new ErrorReporter(meterRegistry, 3, Duration.ofHours(1));
+    private final Logger logger = (Logger) LoggerFactory.getLogger(ErrorReporter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void businessExceptions_AreStackless() {
+        assertThat(new AppAuthenticationException("Token is expired", ErrorType.TOKEN_EXPIRED).getStackTrace())
+            .isEmpty();
+        assertThat(new ConflictException("Email already registered", ErrorType.EMAIL_ALREADY_REGISTERED)
+            .getStackTrace()).isEmpty();
+        assertThat(new UserNotFoundException("Member not found", ErrorType.MEMBER_NOT_FOUND).getStackTrace())
+            .isEmpty();
+        assertThat(new BaseApplicationException("Phone validation failed", ErrorType.PHONE_VALIDATION_UNAVAILABLE,
+            HttpStatus.SERVICE_UNAVAILABLE).getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    void report_OverBudget_CountsAllAndLogsBudget() {
+        for (int i = 0; i < 100; i++) {
+            errorReporter.report(new AppAuthenticationException("Invalid Token", ErrorType.TOKEN_INVALID),
+                ErrorType.TOKEN_INVALID, HttpStatus.UNAUTHORIZED);
+        }
+
+        assertThat(meterRegistry.get(ErrorReporter.METRIC_NAME).tag("errorType", "TOKEN_INVALID").tag("status",
+            "401").counter().count()).isEqualTo(100);
+        assertThat(appender.list).hasSize(3).allSatisfy(event -> {
+            assertThat(event.getThrowableProxy()).isNull();
+            assertThat(event.getFormattedMessage()).contains("401 TOKEN_INVALID");
+        });
+    }
+
+    @Test
+    void report_BudgetIsPerErrorType() {
+        for (int i = 0; i < 5; i++) {
+            errorReporter.report(new ConflictException("Email already registered",
+                ErrorType.EMAIL_ALREADY_REGISTERED), ErrorType.EMAIL_ALREADY_REGISTERED, HttpStatus.CONFLICT);
+            errorReporter.report(new UserNotFoundException("Member not found", ErrorType.MEMBER_NOT_FOUND),
+                ErrorType.MEMBER_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+
+        assertThat(appender.list).hasSize(6);
+    }
+
+    @Test
+    void report_ServerError_LogsStackTrace() {
+        errorReporter.report(new IllegalStateException("boom"), ErrorType.UNKNOWN, HttpStatus.INTERNAL_SERVER_ERROR);
+
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getThrowableProxy()).isNotNull();
+            assertThat(event.getFormattedMessage()).isEqualTo("500 UNKNOWN: boom");
+        });
+    }
+
+    @Test
+    void report_AfterInterval_ReportsSuppressedCount() throws InterruptedException {
+        ErrorReporter shortWindow = new ErrorReporter(meterRegistry, 1, Duration.ofMillis(50));
+        for (int i = 0; i < 5; i++) {
+            shortWindow.report(new AppAuthenticationException("Token is expired", ErrorType.TOKEN_EXPIRED),
+                ErrorType.TOKEN_EXPIRED, HttpStatus.UNAUTHORIZED);
+        }
+        Thread.sleep(100);
+        shortWindow.report(new AppAuthenticationException("Token is expired", ErrorType.TOKEN_EXPIRED),
+            ErrorType.TOKEN_EXPIRED, HttpStatus.UNAUTHORIZED);
+
+        assertThat(appender.list).hasSize(2);
+        assertThat(appender.list.get(1).getFormattedMessage()).endsWith("(4 similar suppressed)");
+    }
+
+}
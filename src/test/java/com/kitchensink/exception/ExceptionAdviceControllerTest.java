@@ -2,6 +2,7 @@ package com.kitchensink.exception;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kitchensink.api.TestController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +14,8 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
+
 import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -33,7 +36,8 @@ class ExceptionAdviceControllerTest {
     public void setup() {
         this.mockMvc = MockMvcBuilders
                 .standaloneSetup(testController)     // instantiate controller.
-                .setControllerAdvice(new ExceptionAdvice(new ObjectMapper()))   // bind with controller advice.
+                .setControllerAdvice(new ExceptionAdvice(new ObjectMapper(), new ErrorReporter(new SimpleMeterRegistry(),
+                    10, Duration.ofSeconds(1))))   // bind with controller advice.
                 .build();
     }
     @Test
@@ -0,0 +1,104 @@
+package com.kitchensink.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MeteredAsyncAppenderTest {
+
+    private static final int QUEUE_SIZE = 10;
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final String appenderName = "async-" + UUID.randomUUID();
+    private MeteredAsyncAppender asyncAppender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        // the delegate blocks until released, so the queue fills up
+        AppenderBase<ILoggingEvent> stalled = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stalled.setContext(context);
+        stalled.start();
+
+        asyncAppender = new MeteredAsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName(appenderName);
+        asyncAppender.setQueueSize(QUEUE_SIZE);
+        asyncAppender.setDiscardingThreshold(5);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(stalled);
+        asyncAppender.start();
+
+        logger = context.getLogger(MeteredAsyncAppenderTest.class);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(asyncAppender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        asyncAppender.stop();
+    }
+
+    @Test
+    void append_QueueNearlyFull_DiscardsInfoAndCountsIt() {
+        for (int i = 0; i < 100; i++) {
+            logger.info("info {}", i);
+        }
+
+        // the worker drains one batch before it stalls, then the queue fills up
+        assertThat(count(DroppedLogEvents.REASON_DISCARDED)).isGreaterThanOrEqualTo(100 - 2 * QUEUE_SIZE);
+    }
+
+    @Test
+    void append_QueueFull_NeverBlocksAndCountsOverflow() {
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            logger.warn("warn {}", i);
+        }
+
+        assertThat(System.nanoTime() - start).isLessThan(1_000_000_000L);
+        assertThat(count(DroppedLogEvents.REASON_OVERFLOW)).isGreaterThanOrEqualTo(100 - 2 * QUEUE_SIZE);
+        assertThat(count(DroppedLogEvents.REASON_DISCARDED)).isZero();
+    }
+
+    @Test
+    void bindTo_PublishesDroppedEvents() {
+        logger.warn("warn");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        new LogbackDropMetrics().bindTo(meterRegistry);
+
+        assertThat(meterRegistry.get(LogbackDropMetrics.METRIC_NAME).tag("source", appenderName).tag("reason",
+            DroppedLogEvents.REASON_OVERFLOW).functionCounter().count()).isZero();
+    }
+
+    private long count(String reason) {
+        return DroppedLogEvents.counter(appenderName, reason).sum();
+    }
+
+}
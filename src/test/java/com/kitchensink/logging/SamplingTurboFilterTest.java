@@ -0,0 +1,81 @@
+package com.kitchensink.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final String filterName = "sampling-" + UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.DEBUG);
+        root.addAppender(appender);
+
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setName(filterName);
+        filter.setLogger("com.example.hot");
+        filter.setLevel("INFO");
+        filter.setRate(10);
+        filter.start();
+        context.addTurboFilter(filter);
+    }
+
+    @Test
+    void decide_HotLoggerAtInfo_KeepsAboutOneInRate() {
+        Logger hot = context.getLogger("com.example.hot.Service");
+        for (int i = 0; i < 10_000; i++) {
+            hot.info("event {}", i);
+        }
+
+        assertThat(appender.list).hasSizeBetween(700, 1_300);
+        assertThat(sampledCount()).isEqualTo(10_000 - appender.list.size());
+    }
+
+    @Test
+    void decide_WarningsErrorsAndOtherLoggers_AlwaysKept() {
+        Logger hot = context.getLogger("com.example.hot.Service");
+        Logger other = context.getLogger("com.example.other.Service");
+        for (int i = 0; i < 100; i++) {
+            hot.warn("warn {}", i);
+            hot.info("failure {}", i, new IllegalStateException());
+            other.info("info {}", i);
+        }
+
+        assertThat(appender.list).hasSize(300);
+        assertThat(sampledCount()).isZero();
+    }
+
+    @Test
+    void decide_LevelDisabled_NotCountedAsSampled() {
+        context.getLogger("com.example.hot").setLevel(Level.WARN);
+        Logger hot = context.getLogger("com.example.hot.Service");
+        for (int i = 0; i < 100; i++) {
+            hot.info("event {}", i);
+        }
+
+        assertThat(appender.list).isEmpty();
+        assertThat(sampledCount()).isZero();
+    }
+
+    private long sampledCount() {
+        return DroppedLogEvents.counter(filterName, DroppedLogEvents.REASON_SAMPLED).sum();
+    }
+
+}
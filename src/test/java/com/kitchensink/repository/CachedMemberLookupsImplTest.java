@@ -0,0 +1,65 @@
+package com.kitchensink.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.cache.MemberCacheFlushEvent;
+import com.kitchensink.cache.NoOpMemberCacheStore;
+import com.kitchensink.entity.Member;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachedMemberLookupsImplTest {
+
+    @Test
+    void repositoryLookups_GoThroughTheCache() {
+        MappingMongoConverter converter = converter();
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        Member member = new Member();
+        member.setId(new ObjectId().toHexString());
+        member.setEmail("a@example.com");
+        member.setRoles(List.of("USER"));
+        when(mongoTemplate.findById(member.getId(), Member.class)).thenReturn(member);
+        MemberCache memberCache = new MemberCache(converter, new NoOpMemberCacheStore(), new SimpleMeterRegistry(),
+            true, 100, Duration.ofMinutes(10), Duration.ofMinutes(5), Duration.ofSeconds(5), Duration.ofMillis(100));
+        memberCache.onFlush(new MemberCacheFlushEvent("stream_started", true));
+        MemberRepository repository = new MongoRepositoryFactory(mongoTemplate).getRepository(MemberRepository.class,
+            RepositoryFragments.just(new CachedMemberLookupsImpl(mongoTemplate, memberCache)));
+
+        assertThat(repository.findById(member.getId())).get().extracting(Member::getEmail).isEqualTo(
+            "a@example.com");
+        assertThat(repository.findById(member.getId())).isPresent();
+
+        verify(mongoTemplate, times(1)).findById(member.getId(), Member.class);
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.kitchensink.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.kitchensink.audit.AuditTrail;
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.entity.Member;
+import com.kitchensink.enums.AuditAction;
+import com.mongodb.client.result.UpdateResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class MemberUnblockJobTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private SchedulerLeases leases;
+    @Mock
+    private MemberCache memberCache;
+    @Mock
+    private AuditTrail auditTrail;
+    @Mock
+    private IndexOperations indexOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MemberUnblockJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new MemberUnblockJob(mongoTemplate, leases, memberCache, auditTrail, meterRegistry, Duration.ofMinutes(
+            30), 2, 5, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void unblockExpired_LeaseHeld_UnblocksInBatchesThroughPartialIndex() {
+        when(mongoTemplate.indexOps(Member.class)).thenReturn(indexOperations);
+        when(leases.acquire(MemberUnblockJob.JOB, Duration.ofMinutes(5))).thenReturn(true);
+        when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of(member("a"), member("b")))
+            .thenReturn(List.of(member("c")));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Member.class))).thenReturn(UpdateResult
+            .acknowledged(2, 2L, null), UpdateResult.acknowledged(1, 1L, null));
+
+        job.unblockExpired();
+
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations).ensureIndex(index.capture());
+        assertThat(index.getValue().getIndexOptions().get("partialFilterExpression", Document.class)).containsEntry(
+            "blocked", true);
+        ArgumentCaptor<Query> expired = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(expired.capture(), eq(Member.class));
+        assertThat(expired.getValue().getQueryObject()).containsEntry("blocked", true).containsKey("blockedAt");
+        assertThat(expired.getValue().getLimit()).isEqualTo(2);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), update.capture(), eq(Member.class));
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class)).containsEntry("blocked", false)
+            .containsEntry("failedLoginAttempts", 0);
+        verify(memberCache).evict("c");
+        verify(auditTrail).record(AuditAction.MEMBER_UNBLOCKED, "a", AuditTrail.SYSTEM_ACTOR, "lockout expired");
+        assertThat(meterRegistry.get("member.unblock.members").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("member.unblock.run").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unblock_MemberChangedSinceRead_OnlyUnblockedAudited() {
+        job = new MemberUnblockJob(mongoTemplate, leases, memberCache, auditTrail, meterRegistry, Duration.ofMinutes(
+            30), 10, 5, Duration.ofMinutes(5));
+        // the expired read, then the members carrying the update time of the batch
+        when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of(member("a"), member("b")))
+            .thenReturn(List.of(member("a")));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Member.class))).thenReturn(UpdateResult
+            .acknowledged(2, 1L, null));
+
+        assertThat(job.unblock(LocalDateTime.now())).isEqualTo(1);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(query.capture(), eq(Member.class));
+        assertThat(query.getAllValues().get(1).getQueryObject()).containsKey("updatedAt");
+        verify(memberCache).evict("a");
+        verify(memberCache, never()).evict("b");
+        verify(auditTrail).record(AuditAction.MEMBER_UNBLOCKED, "a", AuditTrail.SYSTEM_ACTOR, "lockout expired");
+        verify(auditTrail, never()).record(any(), eq("b"), any(), any());
+    }
+
+    @Test
+    void unblockExpired_LeaseHeldElsewhere_NothingWritten() {
+        when(mongoTemplate.indexOps(Member.class)).thenReturn(indexOperations);
+        when(leases.acquire(MemberUnblockJob.JOB, Duration.ofMinutes(5))).thenReturn(false);
+
+        job.unblockExpired();
+
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(Member.class));
+        assertThat(meterRegistry.get("member.unblock.runs").tag("outcome", "lease_held").counter().count()).isEqualTo(
+            1);
+    }
+
+    @Test
+    void unblock_MaxBatches_StopsUntilNextRun() {
+        job = new MemberUnblockJob(mongoTemplate, leases, memberCache, auditTrail, meterRegistry, Duration.ofMinutes(
+            30), 1, 2, Duration.ofMinutes(5));
+        when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of(member("a")));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Member.class))).thenReturn(UpdateResult
+            .acknowledged(1, 1L, null));
+
+        assertThat(job.unblock(LocalDateTime.now())).isEqualTo(2);
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class), eq(Member.class));
+    }
+
+    private static Member member(String id) {
+        Member member = new Member();
+        member.setId(id);
+        return member;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.kitchensink.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.client.PhoneValidationClient;
+import com.kitchensink.entity.PhoneVerificationTask;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PhoneVerificationWorkerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private PhoneValidationClient phoneValidationClient;
+    @Mock
+    private RateLimiter rateLimiter;
+    @Mock
+    private MemberCache memberCache;
+    @Mock
+    private IndexOperations indexOperations;
+
+    private PhoneVerificationWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new PhoneVerificationWorker(mongoTemplate, phoneValidationClient, rateLimiter,
+            new SimpleMeterRegistry(), memberCache, 2, 10, 5, Duration.ofMinutes(2), Duration.ofSeconds(30), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    @Test
+    void drainQueue_BatchInFlight_ReturnsAndSkipsNextPoll() throws InterruptedException {
+        CountDownLatch providerCalled = new CountDownLatch(1);
+        CountDownLatch providerAnswers = new CountDownLatch(1);
+        when(mongoTemplate.indexOps(PhoneVerificationTask.class)).thenReturn(indexOperations);
+        when(mongoTemplate.find(any(Query.class), eq(PhoneVerificationTask.class))).thenReturn(List.of(task()))
+            .thenReturn(List.of(task()));
+        when(rateLimiter.acquirePermission()).thenReturn(true);
+        when(phoneValidationClient.check("+15551234567")).thenAnswer(invocation -> {
+            providerCalled.countDown();
+            return providerAnswers.await(5, TimeUnit.SECONDS);
+        });
+
+        worker.drainQueue();
+        assertThat(providerCalled.await(5, TimeUnit.SECONDS)).isTrue();
+        worker.drainQueue();
+
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(PhoneVerificationTask.class));
+        providerAnswers.countDown();
+        verify(mongoTemplate, timeout(5000)).remove(any(Query.class), eq(PhoneVerificationTask.class));
+    }
+
+    private static PhoneVerificationTask task() {
+        PhoneVerificationTask task = new PhoneVerificationTask();
+        task.setMemberId("a");
+        task.setPhoneNumber("+15551234567");
+        task.setAttempts(1);
+        task.setEnqueuedAt(Instant.now());
+        task.setLockedBy("token");
+        return task;
+    }
+
+}
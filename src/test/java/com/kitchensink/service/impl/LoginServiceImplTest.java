@@ -1,16 +1,25 @@
 package com.kitchensink.service.impl;
 
+import com.kitchensink.audit.AuditTrail;
+import com.kitchensink.cache.MemberCache;
 import com.kitchensink.dto.LoginRequestDto;
 import com.kitchensink.entity.Member;
+import com.kitchensink.enums.AuditAction;
 import com.kitchensink.enums.ErrorType;
 import com.kitchensink.exception.AppAuthenticationException;
 import com.kitchensink.repository.MemberRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,14 +28,13 @@ import org.springframework.security.core.Authentication;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,6 +46,15 @@ public class LoginServiceImplTest {
     @Mock
     MemberRepository memberRepository;
 
+    @Mock
+    MongoTemplate mongoTemplate;
+
+    @Mock
+    AuditTrail auditTrail;
+
+    @Mock
+    MemberCache memberCache;
+
     @InjectMocks
     LoginServiceImpl loginService;
 
@@ -99,69 +116,130 @@ public class LoginServiceImplTest {
         assertEquals(ErrorType.ACCOUNT_BLOCKED, ex.getErrorType());
     }
 
+    @Test
+    void testLoginSuccess_ResetsFailedAttemptsWithoutSave() {
+        String email = "user@example.com";
+        Member member = new Member();
+        member.setId("123");
+        member.setActive(true);
+        member.setFailedLoginAttempts(2);
+
+        LoginRequestDto dto = new LoginRequestDto();
+        dto.setEmail(email);
+        dto.setPassword("password");
+
+        when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(mock(
+            Authentication.class));
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+
+        loginService.login(dto);
+
+        verify(mongoTemplate).updateFirst(any(Query.class), updateCaptor.capture(), eq(Member.class));
+        assertEquals(0, updateCaptor.getValue().getUpdateObject().get("$set", Document.class).get(
+            "failedLoginAttempts"));
+        verify(memberRepository, never()).save(any(Member.class));
+        verify(memberCache).evict("123");
+    }
+
     @Test
     void testLoginBadCredentials_IncrementsFailedAttemptsAndBlocksIf3() {
         String email = "user@example.com";
-        String password = "wrongpass";
 
         Member member = new Member();
+        member.setId("123");
         member.setActive(true);
         member.setBlocked(false);
         member.setFailedLoginAttempts(2); // simulate 2 previous failed attempts
 
-        Member dupMember = new Member();
-        dupMember.setActive(true);
-        dupMember.setBlocked(false);
-        dupMember.setFailedLoginAttempts(2); // simulate 2 previous failed attempts
-
+        Member counted = new Member();
+        counted.setId("123");
+        counted.setFailedLoginAttempts(3);
 
         LoginRequestDto dto = new LoginRequestDto();
         dto.setEmail(email);
-        dto.setPassword(password);
+        dto.setPassword("wrongpass");
 
         when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenThrow(
             new BadCredentialsException("Bad credentials"));
-        ArgumentCaptor<Member> captor = ArgumentCaptor.forClass(Member.class);
-        when(memberRepository.save(captor.capture())).thenAnswer(i -> i.getArgument(0));
+        ArgumentCaptor<Update> incCaptor = ArgumentCaptor.forClass(Update.class);
+        when(mongoTemplate.findAndModify(any(Query.class), incCaptor.capture(), any(FindAndModifyOptions.class), eq(
+            Member.class))).thenReturn(counted);
+        ArgumentCaptor<Update> lockCaptor = ArgumentCaptor.forClass(Update.class);
+        when(mongoTemplate.updateFirst(any(Query.class), lockCaptor.capture(), eq(Member.class))).thenReturn(
+            UpdateResult.acknowledged(1, 1L, null));
 
-        assertEquals(member, dupMember);
         assertThrows(BadCredentialsException.class, () -> loginService.login(dto));
-        assertEquals(captor.getValue(), member);
-        assertNotEquals(captor.getValue(), dupMember); // ensure the member is updated
 
-        assertTrue(member.isBlocked());
-        assertEquals(3, member.getFailedLoginAttempts());
-        assertNotNull(member.getBlockedAt());
+        assertEquals(1, incCaptor.getValue().getUpdateObject().get("$inc", Document.class).get(
+            "failedLoginAttempts"));
+        Document lock = lockCaptor.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(true, lock.get("blocked"));
+        assertNotNull(lock.get("blockedAt"));
+        verify(memberRepository, never()).save(any(Member.class));
+        verify(memberCache, atLeastOnce()).evict("123");
+        verify(auditTrail).record(AuditAction.MEMBER_LOCKED, "123", AuditTrail.SYSTEM_ACTOR, "failedLoginAttempts=3");
+    }
+
+    @Test
+    void testLoginBadCredentials_AlreadyLockedConcurrently_NotAuditedTwice() {
+        String email = "user@example.com";
+        Member member = new Member();
+        member.setId("123");
+        member.setActive(true);
+        member.setFailedLoginAttempts(2);
+
+        Member counted = new Member();
+        counted.setId("123");
+        counted.setFailedLoginAttempts(4);
+
+        LoginRequestDto dto = new LoginRequestDto();
+        dto.setEmail(email);
+        dto.setPassword("wrongpass");
+
+        when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenThrow(
+            new BadCredentialsException("Bad credentials"));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(
+            Member.class))).thenReturn(counted);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Member.class))).thenReturn(
+            UpdateResult.acknowledged(0, 0L, null));
+
+        assertThrows(BadCredentialsException.class, () -> loginService.login(dto));
 
-        verify(memberRepository).save(member);
+        verify(auditTrail, never()).record(eq(AuditAction.MEMBER_LOCKED), any(), any(), any());
     }
 
     @Test
     void testLoginBadCredentials_IncrementsFailedAttemptsLessThan3() {
         String email = "user@example.com";
-        String password = "wrongpass";
 
         Member member = new Member();
+        member.setId("123");
         member.setActive(true);
         member.setBlocked(false);
         member.setFailedLoginAttempts(1); // less than 2 previous attempts
 
+        Member counted = new Member();
+        counted.setId("123");
+        counted.setFailedLoginAttempts(2);
+
         LoginRequestDto dto = new LoginRequestDto();
         dto.setEmail(email);
-        dto.setPassword(password);
+        dto.setPassword("wrongpass");
 
         when(memberRepository.findByEmail(email)).thenReturn(Optional.of(member));
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenThrow(
             new BadCredentialsException("Bad credentials"));
-        when(memberRepository.save(any(Member.class))).thenAnswer(i -> i.getArgument(0));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(
+            Member.class))).thenReturn(counted);
 
         assertThrows(BadCredentialsException.class, () -> loginService.login(dto));
 
-        assertFalse(member.isBlocked());
-        assertEquals(2, member.getFailedLoginAttempts());
-        assertNull(member.getBlockedAt());
-
-        verify(memberRepository).save(member);
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Member.class));
+        verify(memberRepository, never()).save(any(Member.class));
+        verify(memberCache).evict("123");
+        verify(auditTrail, never()).record(eq(AuditAction.MEMBER_LOCKED), any(), any(), any());
     }
 }
@@ -0,0 +1,207 @@
+package com.kitchensink.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import com.kitchensink.audit.AuditTrail;
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.dto.BulkMemberRequest;
+import com.kitchensink.dto.BulkMemberResult;
+import com.kitchensink.dto.MemberSearchCriteria;
+import com.kitchensink.entity.Member;
+import com.kitchensink.enums.AuditAction;
+import com.kitchensink.enums.BulkMemberAction;
+import com.kitchensink.enums.BulkMemberStatus;
+import com.kitchensink.exception.BaseApplicationException;
+import com.kitchensink.repository.MemberRepository;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+@ExtendWith(MockitoExtension.class)
+class MemberBulkServiceImplTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private MemberCache memberCache;
+    @Mock
+    private AuditTrail auditTrail;
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private final Authentication authentication = new UsernamePasswordAuthenticationToken("admin@example.com", null);
+
+    private MemberBulkServiceImpl memberBulkService;
+
+    @BeforeEach
+    void setUp() {
+        memberBulkService = new MemberBulkServiceImpl(memberRepository, mongoTemplate, memberCache, auditTrail, 2);
+    }
+
+    @Test
+    void updateMembers_Ids_OneUnorderedWriteWithOutcomePerMember() {
+        memberBulkService = new MemberBulkServiceImpl(memberRepository, mongoTemplate, memberCache, auditTrail, 10);
+        when(memberRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(member("self", true)));
+        when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of(member("self", true), member(
+            "free", false), member("locked", true)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Member.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        BulkMemberResult result = memberBulkService.updateMembers(request(BulkMemberAction.UNBLOCK, "self", "missing",
+            "free", "locked", "locked"), authentication);
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getOutcomes()).extracting(BulkMemberResult.Outcome::getMemberId,
+            BulkMemberResult.Outcome::getStatus).containsExactly(tuple("self", BulkMemberStatus.SELF), tuple("missing",
+                BulkMemberStatus.NOT_FOUND), tuple("free", BulkMemberStatus.UNCHANGED), tuple("locked",
+                    BulkMemberStatus.UPDATED));
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).updateOne(filter.capture(), update.capture());
+        assertThat(filter.getValue().getQueryObject()).containsEntry("_id", "locked").containsEntry("blocked", true);
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class)).containsEntry("blocked", false)
+            .containsEntry("failedLoginAttempts", 0).containsKey("updatedAt");
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class)).containsEntry("version", 1);
+        verify(bulkOperations).execute();
+        verify(memberCache).evict("locked");
+        verify(auditTrail).record(AuditAction.MEMBER_UNBLOCKED, "locked", "admin@example.com", null);
+    }
+
+    @Test
+    void updateMembers_WriteError_FailedOutcomeOthersUpdated() {
+        when(memberRepository.findByEmail("admin@example.com")).thenReturn(Optional.empty());
+        when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of(member("a", true), member("b",
+            true)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Member.class)).thenReturn(bulkOperations);
+        doThrow(new BulkOperationException("bulk write failed", new MongoBulkWriteException(BulkWriteResult
+            .acknowledged(0, 1, 0, 1, List.of(), List.of()), List.of(new BulkWriteError(11000, "duplicate key",
+                new BsonDocument(), 1)), null, new ServerAddress(), Set.of()))).when(bulkOperations).execute();
+
+        BulkMemberResult result = memberBulkService.updateMembers(request(BulkMemberAction.DEACTIVATE, "a", "b"),
+            authentication);
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getOutcomes()).extracting(BulkMemberResult.Outcome::getStatus).containsExactly(
+            BulkMemberStatus.UPDATED, BulkMemberStatus.FAILED);
+        assertThat(result.getOutcomes().get(1).getMessage()).isEqualTo("duplicate key");
+        verify(memberCache).evict("a");
+        verify(memberCache, never()).evict("b");
+        verify(auditTrail, times(1)).record(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateMembers_ChangedSinceRead_UnchangedAndNotAudited() {
+        when(memberRepository.findByEmail("admin@example.com")).thenReturn(Optional.empty());
+        // the state read, then the members carrying the update time of the request
+        when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of(member("a", true), member("b",
+            true))).thenReturn(List.of(member("a", false)));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Member.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        BulkMemberResult result = memberBulkService.updateMembers(request(BulkMemberAction.DEACTIVATE, "a", "b"),
+            authentication);
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getOutcomes()).extracting(BulkMemberResult.Outcome::getStatus).containsExactly(
+            BulkMemberStatus.UPDATED, BulkMemberStatus.UNCHANGED);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(query.capture(), eq(Member.class));
+        assertThat(query.getAllValues().get(1).getQueryObject()).containsKey("updatedAt");
+        verify(memberCache).evict("a");
+        verify(memberCache, never()).evict("b");
+        verify(auditTrail).record(AuditAction.MEMBER_DELETED, "a", "admin@example.com", null);
+        verify(auditTrail, never()).record(any(), eq("b"), any(), any());
+    }
+
+    @Test
+    void updateMembers_NullId_BadRequest() {
+        BulkMemberRequest request = new BulkMemberRequest();
+        request.setAction(BulkMemberAction.UNBLOCK);
+        request.setMemberIds(Arrays.asList("a", null));
+
+        assertThatThrownBy(() -> memberBulkService.updateMembers(request, authentication)).isInstanceOf(
+            BaseApplicationException.class).hasMessageContaining("blank");
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Member.class));
+    }
+
+    @Test
+    void updateMembers_FilterMatchesMoreThanBatch_BadRequest() {
+        BulkMemberRequest request = new BulkMemberRequest();
+        request.setAction(BulkMemberAction.DEACTIVATE);
+        request.setFilter(new MemberSearchCriteria());
+        when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of(member("a", true), member("b",
+            true), member("c", true)));
+
+        assertThatThrownBy(() -> memberBulkService.updateMembers(request, authentication)).isInstanceOf(
+            BaseApplicationException.class).hasMessageContaining("more than 2 members");
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Member.class));
+        assertThat(query.getValue().getLimit()).isEqualTo(3);
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Member.class));
+    }
+
+    @Test
+    void updateMembers_IdsAndFilter_BadRequest() {
+        BulkMemberRequest request = request(BulkMemberAction.UNBLOCK, "a");
+        request.setFilter(new MemberSearchCriteria());
+
+        assertThatThrownBy(() -> memberBulkService.updateMembers(request, authentication)).isInstanceOf(
+            BaseApplicationException.class).hasMessageContaining("not both");
+    }
+
+    @Test
+    void updateMembers_SetRolesWithoutRoles_BadRequest() {
+        assertThatThrownBy(() -> memberBulkService.updateMembers(request(BulkMemberAction.SET_ROLES, "a"),
+            authentication)).isInstanceOf(BaseApplicationException.class).hasMessageContaining("role");
+    }
+
+    private static BulkMemberRequest request(BulkMemberAction action, String... memberIds) {
+        BulkMemberRequest request = new BulkMemberRequest();
+        request.setAction(action);
+        request.setMemberIds(List.of(memberIds));
+        return request;
+    }
+
+    private static Member member(String id, boolean activeAndBlocked) {
+        Member member = new Member();
+        member.setId(id);
+        member.setActive(activeAndBlocked);
+        member.setBlocked(activeAndBlocked);
+        member.setRoles(List.of("USER"));
+        return member;
+    }
+
+}
@@ -14,6 +14,7 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -24,10 +25,12 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import com.kitchensink.dto.RegisterMemberDto;
 import com.kitchensink.entity.Member;
 import com.kitchensink.enums.ErrorType;
+import com.kitchensink.enums.PhoneVerificationStatus;
 import com.kitchensink.exception.AppAuthenticationException;
 import com.kitchensink.exception.ConflictException;
 import com.kitchensink.repository.MemberRepository;
 import com.kitchensink.service.MemberService;
+import com.kitchensink.service.PhoneVerificationService;
 
 @ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
 class MemberRegistrationServiceImplTest {
@@ -42,6 +45,8 @@ class MemberRegistrationServiceImplTest {
     private Authentication authentication;
     @Mock
     private MemberService memberService;
+    @Mock
+    private PhoneVerificationService phoneVerificationService;
 
     @InjectMocks
     private MemberRegistrationServiceImpl registrationService;
@@ -106,4 +111,19 @@ class MemberRegistrationServiceImplTest {
             .hasMessageContaining("Invalid phone number: 1234567890");
     }
 
+    @Test
+    void testRegister_DeferredPhoneVerification() {
+        when(memberRepository.findByEmail(newMember.getEmail())).thenReturn(Optional.empty());
+        when(memberRepository.findByPhoneNumber(newMember.getPhoneNumber())).thenReturn(Optional.empty());
+        when(memberService.validatePhoneNumber("1234567890")).thenReturn(PhoneVerificationStatus.PENDING);
+        when(authenticationManager.authenticate(any())).thenReturn(authentication);
+        ArgumentCaptor<Member> memberCaptor = ArgumentCaptor.forClass(Member.class);
+
+        registrationService.register(newMember);
+
+        verify(memberRepository).insert(memberCaptor.capture());
+        assertThat(memberCaptor.getValue().getPhoneVerification()).isEqualTo(PhoneVerificationStatus.PENDING);
+        verify(phoneVerificationService).scheduleVerification(memberCaptor.getValue().getId(), "1234567890");
+    }
+
 }
@@ -7,12 +7,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -20,32 +21,50 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.User;
-import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kitchensink.audit.AuditTrail;
+import com.kitchensink.cache.MemberCache;
+import com.kitchensink.client.PhoneValidationClient;
+import com.kitchensink.config.MongoReadPreferences;
 import com.kitchensink.dto.MemberDto;
+import com.kitchensink.dto.MemberFields;
+import com.kitchensink.dto.MemberPatch;
 import com.kitchensink.dto.MemberSearchCriteria;
 import com.kitchensink.dto.UpdateMemberRequest;
 import com.kitchensink.entity.Member;
+import com.kitchensink.enums.AuditAction;
 import com.kitchensink.enums.ErrorType;
 import com.kitchensink.exception.AppAuthenticationException;
 import com.kitchensink.exception.BaseApplicationException;
+import com.kitchensink.enums.PhoneValidationFallback;
+import com.kitchensink.enums.PhoneVerificationStatus;
 import com.kitchensink.repository.MemberRepository;
+import com.kitchensink.service.PhoneVerificationService;
+import com.kitchensink.validation.OfflinePhoneNumberValidator;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.result.UpdateResult;
+
+import jakarta.validation.Validation;
 
 @ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
 class MemberServiceImplTest {
@@ -53,9 +72,18 @@ class MemberServiceImplTest {
     @Mock
     private MemberRepository memberRepository;
     @Mock
-    private RestTemplate restTemplate;
+    private PhoneValidationClient phoneValidationClient;
     @Mock
     private MongoTemplate mongoTemplate;
+    @Mock
+    private PhoneVerificationService phoneVerificationService;
+    @Mock
+    private AuditTrail auditTrail;
+    @Mock
+    private MemberCache memberCache;
+
+    private final MongoReadPreferences readPreferences = new MongoReadPreferences("secondaryPreferred",
+        "secondary", "primary", Duration.ofSeconds(90));
 
     private MemberServiceImpl memberService;
 
@@ -63,9 +91,6 @@ class MemberServiceImplTest {
     private Member mockSameMember;
     private Pageable pageable;
 
-    @Value("${phone.validation.key}")
-    private String phoneValidationKey = "dummy-key";
-
     @BeforeEach
     void setUp() {
         mockMember = new Member();
@@ -90,7 +115,8 @@ class MemberServiceImplTest {
         mockSameMember.setCreatedAt(LocalDateTime.now());
         mockSameMember.setUpdatedAt(LocalDateTime.now());
 
-        memberService = new MemberServiceImpl(memberRepository, restTemplate, mongoTemplate, true, phoneValidationKey);
+        memberService = new MemberServiceImpl(memberRepository, phoneValidationClient, offlineValidator(false, true),
+            mongoTemplate, phoneVerificationService, readPreferences, auditTrail, memberCache, true);
         pageable = PageRequest.of(0, 10, Sort.by("name"));
 
     }
@@ -131,42 +157,95 @@ class MemberServiceImplTest {
     @Test
     void testGetAllMembers_ShowInactiveTrue() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Member> page = new PageImpl<>(List.of(mockMember));
-        when(memberRepository.findAll(pageable)).thenReturn(page);
+        when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of(mockMember));
 
-        Page<MemberDto> result = memberService.getAllMembers(pageable, true);
+        Page<MemberDto> result = memberService.getAllMembers(pageable, true, null);
 
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getEmail()).isEqualTo(mockMember.getEmail());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Member.class));
+        assertThat(query.getValue().getQueryObject()).isEmpty();
+        assertThat(query.getValue().getReadPreference()).isEqualTo(readPreferences.memberListing());
+        verify(mongoTemplate, never()).count(any(Query.class), eq(Member.class));
     }
 
     @Test
     void testGetAllMembers_ShowInactiveFalse() {
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<Member> page = new PageImpl<>(List.of(mockMember));
-        when(memberRepository.findByActiveTrue(pageable)).thenReturn(page);
+        Pageable pageable = PageRequest.of(0, 1);
+        when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of(mockMember));
+        when(mongoTemplate.count(any(Query.class), eq(Member.class))).thenReturn(3L);
 
-        Page<MemberDto> result = memberService.getAllMembers(pageable, false);
+        Page<MemberDto> result = memberService.getAllMembers(pageable, false, null);
 
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getEmail()).isEqualTo(mockMember.getEmail());
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Member.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("active", true);
+        verify(mongoTemplate).count(query.capture(), eq(Member.class));
+        assertThat(query.getValue().getReadPreference()).isEqualTo(ReadPreference.primary());
+        assertThat(query.getValue().isLimited()).isFalse();
+    }
+
+    @Test
+    void getAllMembers_Fields_ProjectsRequestedFields() {
+        Member projected = new Member();
+        projected.setId("123");
+        projected.setName("Test User");
+        projected.setVersion(1L);
+        when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of(projected));
+
+        Page<MemberDto> result = memberService.getAllMembers(pageable, true, MemberFields.parse("name, joiningDate"));
+
+        assertThat(result.getContent()).singleElement().satisfies(member -> {
+            assertThat(member.getName()).isEqualTo("Test User");
+            assertThat(member.getJoiningDate()).isNull();
+            assertThat(member.getRoles()).isNull();
+        });
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Member.class));
+        assertThat(query.getValue().getFieldsObject()).containsOnlyKeys("_id", "name", "createdAt", "version");
     }
 
     @Test
     void testDeleteMemberById_Success() {
-        when(memberRepository.findById("123")).thenReturn(Optional.of(mockMember));
         when(memberRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockSameMember));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Member.class))).thenReturn(UpdateResult
+            .acknowledged(1, 1L, null));
 
         memberService.deleteMemberById("123", getAuthForSuccess());
 
-        assertThat(mockMember.isActive()).isFalse();
-        verify(memberRepository).save(mockMember);
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(Member.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("_id", "123").containsEntry("active", true);
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class)).containsEntry("active", false);
+        verify(memberRepository, never()).save(any(Member.class));
+        verify(memberCache).evict("123");
+        verify(auditTrail).record(AuditAction.MEMBER_DELETED, "123", "test@example.com", null);
+    }
+
+    @Test
+    void deleteMemberById_AlreadyInactive_NothingWritten() {
+        when(memberRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockSameMember));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Member.class))).thenReturn(UpdateResult
+            .acknowledged(0, 0L, null));
+        when(mongoTemplate.exists(any(Query.class), eq(Member.class))).thenReturn(true);
+
+        memberService.deleteMemberById("123", getAuthForSuccess());
+
+        verify(memberCache, never()).evict("123");
+        verify(auditTrail, never()).record(any(), any(), any(), any());
     }
 
     @Test
     void testDeleteMemberById_NotFound() {
-        when(memberRepository.findById("123")).thenReturn(Optional.empty());
         when(memberRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockSameMember));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Member.class))).thenReturn(UpdateResult
+            .acknowledged(0, 0L, null));
+        when(mongoTemplate.exists(any(Query.class), eq(Member.class))).thenReturn(false);
 
         assertThatThrownBy(() -> memberService.deleteMemberById("123", getAuthForSuccess())).isInstanceOf(
             AppAuthenticationException.class).hasMessageContaining("Member with memberId 123 doesn't exist");
@@ -179,17 +258,22 @@ class MemberServiceImplTest {
         updateRequest.setPhoneNumber("1234567890");
         updateRequest.setRoles(List.of("ROLE_ADMIN"));
         updateRequest.setUnBlockMember(true);
+        mockMember.setBlocked(true);
 
-        when(memberRepository.findById("123")).thenReturn(Optional.of(mockMember));
+        when(memberRepository.findByPhoneNumber("1234567890")).thenReturn(Optional.of(mockMember));
         when(memberRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockSameMember));
-        when(memberRepository.save(any(Member.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(
+            Member.class))).thenReturn(mockMember);
 
-        MemberDto result = memberService.updateMemberDetails("123", getAuthForSuccess(), updateRequest);
+        MemberDto result = memberService.updateMemberDetails("123", getAuthForSuccess(), updateRequest, null);
 
         assertThat(result.getName()).isEqualTo("Updated Name");
         assertThat(result.getPhoneNumber()).isEqualTo("1234567890");
         assertThat(result.getRoles()).contains("ROLE_ADMIN");
         assertThat(result.isBlocked()).isFalse();
+        verify(memberCache).evict("123");
+        verify(auditTrail).record(AuditAction.MEMBER_UPDATED, "123", "test@example.com", "name,roles");
+        verify(auditTrail).record(AuditAction.MEMBER_UNBLOCKED, "123", "test@example.com", null);
     }
 
     @Test
@@ -200,28 +284,108 @@ class MemberServiceImplTest {
         updateRequest.setRoles(List.of("ROLE_ADMIN"));
         updateRequest.setUnBlockMember(true);
 
-        when(memberRepository.findById("123")).thenReturn(Optional.of(mockMember));
-        when(memberRepository.save(any(Member.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(restTemplate.getForEntity(anyString(), eq(String.class))).thenReturn(new ResponseEntity<>(
-            "{\"valid\":true}", HttpStatus.OK));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(
+            Member.class))).thenReturn(mockMember);
+        when(phoneValidationClient.isValid("1234567899")).thenReturn(true);
         when(memberRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockSameMember));
 
-        MemberDto result = memberService.updateMemberDetails("123", getAuthForSuccess(), updateRequest);
+        MemberDto result = memberService.updateMemberDetails("123", getAuthForSuccess(), updateRequest, null);
 
         assertThat(result.getName()).isEqualTo("Updated Name");
         assertThat(result.getPhoneNumber()).isEqualTo("1234567899");
         assertThat(result.getRoles()).contains("ROLE_ADMIN");
         assertThat(result.isBlocked()).isFalse();
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(
+            Member.class));
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class)).containsEntry("phoneNumber",
+            "1234567899").containsEntry("phoneVerification", PhoneVerificationStatus.VERIFIED).doesNotContainKey(
+                "password");
+    }
+
+    @Test
+    void updateMemberDetails_StaleIfMatch_PreconditionFailed() {
+        when(memberRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockSameMember));
+        when(mongoTemplate.exists(any(Query.class), eq(Member.class))).thenReturn(true);
+
+        assertThatThrownBy(() -> memberService.updateMemberDetails("123", getAuthForSuccess(),
+            new UpdateMemberRequest(), 3L)).isInstanceOfSatisfying(BaseApplicationException.class, e -> {
+                assertThat(e.getErrorType()).isEqualTo(ErrorType.MEMBER_MODIFIED);
+                assertThat(e.getStatus()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+            });
+        verify(memberCache, never()).evict("123");
+    }
+
+    @Test
+    void updateMemberDetails_IfMatch_OneWriteConditionedOnVersion() {
+        mockMember.setVersion(4L);
+        UpdateMemberRequest updateRequest = new UpdateMemberRequest();
+        updateRequest.setName("Updated Name");
+        updateRequest.setPhoneNumber("1234567890");
+        updateRequest.setRoles(List.of("ROLE_USER"));
+        when(memberRepository.findByPhoneNumber("1234567890")).thenReturn(Optional.of(mockMember));
+        when(memberRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockSameMember));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(
+            Member.class))).thenReturn(mockMember);
+
+        MemberDto result = memberService.updateMemberDetails("123", getAuthForSuccess(), updateRequest, 4L);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), any(Update.class), options.capture(), eq(Member.class));
+        assertThat(query.getValue().getQueryObject()).containsEntry("_id", "123").containsEntry("version", 4L);
+        assertThat(query.getValue().getFieldsObject()).containsEntry("password", 0);
+        assertThat(options.getValue().isReturnNew()).isFalse();
+        assertThat(result.getVersion()).isEqualTo(5L);
+        verify(memberRepository, never()).findById(any());
+        verify(memberRepository, never()).save(any(Member.class));
+        verify(auditTrail).record(AuditAction.MEMBER_UPDATED, "123", "test@example.com", "name");
+    }
+
+    @Test
+    void patchMember_Name_OnlyNameWritten() {
+        MemberPatch patch = MemberPatch.parse(new ObjectMapper().createObjectNode().put("name", "Patched"),
+            Validation.buildDefaultValidatorFactory().getValidator());
+        when(memberRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockSameMember));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(
+            Member.class))).thenReturn(mockMember);
+
+        MemberDto result = memberService.patchMember("123", getAuthForSuccess(), patch, null);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(
+            Member.class));
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class)).containsOnlyKeys("name",
+            "updatedAt");
+        assertThat(result.getName()).isEqualTo("Patched");
+        assertThat(result.getRoles()).containsExactly("ROLE_USER");
+        verify(memberRepository, never()).findByPhoneNumber(any());
+        verify(memberCache).evict("123");
+    }
+
+    @Test
+    void getAllMemberVersions_ReadsIdsAndVersionsOnly() {
+        mockMember.setVersion(2L);
+        when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(List.of(mockMember));
+
+        Page<MemberDto> result = memberService.getAllMemberVersions(pageable, true);
+
+        assertThat(result.getContent()).singleElement().satisfies(member -> {
+            assertThat(member.getId()).isEqualTo("123");
+            assertThat(member.getVersion()).isEqualTo(2L);
+        });
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Member.class));
+        assertThat(query.getValue().getFieldsObject()).containsOnlyKeys("_id", "version");
     }
 
     @Test
     void testUpdateMemberDetails_NotFound() {
         UpdateMemberRequest updateRequest = new UpdateMemberRequest();
-        when(memberRepository.findById("notfound")).thenReturn(Optional.empty());
         when(memberRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockSameMember));
 
-        assertThatThrownBy(() -> memberService.updateMemberDetails("notfound", getAuthForSuccess(), updateRequest))
-            .isInstanceOf(AppAuthenticationException.class).hasMessageContaining(
+        assertThatThrownBy(() -> memberService.updateMemberDetails("notfound", getAuthForSuccess(), updateRequest,
+            null)).isInstanceOf(AppAuthenticationException.class).hasMessageContaining(
                 "Member with memberId notfound doesn't exist");
     }
 
@@ -229,10 +393,7 @@ class MemberServiceImplTest {
     void validatePhoneNumber_ValidPhone_DoesNotThrow() throws Exception {
         // Mock successful validation
         String phoneNumber = "9876543210";
-        String json = "{\"valid\":true}";
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(json, HttpStatus.OK);
-
-        when(restTemplate.getForEntity(anyString(), eq(String.class))).thenReturn(responseEntity);
+        when(phoneValidationClient.isValid(phoneNumber)).thenReturn(true);
 
         assertDoesNotThrow(() -> memberService.validatePhoneNumber(phoneNumber));
     }
@@ -241,10 +402,7 @@ class MemberServiceImplTest {
     void validatePhoneNumber_InvalidPhone_ThrowsException() throws Exception {
         // Mock invalid phone number
         String phoneNumber = "1234567890";
-        String json = "{\"valid\":false}";
-        ResponseEntity<String> responseEntity = new ResponseEntity<>(json, HttpStatus.OK);
-
-        when(restTemplate.getForEntity(anyString(), eq(String.class))).thenReturn(responseEntity);
+        when(phoneValidationClient.isValid(phoneNumber)).thenReturn(false);
 
         BaseApplicationException ex = assertThrows(BaseApplicationException.class, () -> memberService
             .validatePhoneNumber(phoneNumber));
@@ -254,16 +412,69 @@ class MemberServiceImplTest {
     }
 
     @Test
-    void validatePhoneNumber_ApiThrowsException_ThrowsValidationException() {
-        // Simulate API failure
-        String phoneNumber = "1234567890";
-        when(restTemplate.getForEntity(anyString(), eq(String.class))).thenThrow(new RuntimeException("API failure"));
+    void validatePhoneNumber_Disabled_SkipsClient() {
+        MemberServiceImpl service = new MemberServiceImpl(memberRepository, phoneValidationClient, offlineValidator(
+            true, true), mongoTemplate, phoneVerificationService, readPreferences, auditTrail, memberCache, false);
 
-        BaseApplicationException ex = assertThrows(BaseApplicationException.class, () -> memberService
-            .validatePhoneNumber(phoneNumber));
+        assertThat(service.validatePhoneNumber("1234567890")).isEqualTo(PhoneVerificationStatus.UNVERIFIED);
+        verify(phoneValidationClient, never()).isValid(any());
+    }
+
+    @Test
+    void validatePhoneNumber_Deferred_SkipsClient() {
+        when(phoneVerificationService.isDeferred()).thenReturn(true);
+
+        assertThat(memberService.validatePhoneNumber("1234567890")).isEqualTo(PhoneVerificationStatus.PENDING);
+        verify(phoneValidationClient, never()).isValid(any());
+    }
+
+    @Test
+    void validatePhoneNumber_OfflineValid_SkipsClient() {
+        MemberServiceImpl service = new MemberServiceImpl(memberRepository, phoneValidationClient, offlineValidator(
+            true, true), mongoTemplate, phoneVerificationService, readPreferences, auditTrail, memberCache, true);
+
+        assertThat(service.validatePhoneNumber("9876543210")).isEqualTo(PhoneVerificationStatus.VERIFIED);
+        verify(phoneValidationClient, never()).isValid(any());
+    }
+
+    @Test
+    void validatePhoneNumber_OfflineInvalid_ThrowsWithoutClient() {
+        MemberServiceImpl service = new MemberServiceImpl(memberRepository, phoneValidationClient, offlineValidator(
+            true, true), mongoTemplate, phoneVerificationService, readPreferences, auditTrail, memberCache, true);
+
+        BaseApplicationException ex = assertThrows(BaseApplicationException.class, () -> service
+            .validatePhoneNumber("1234567890"));
 
-        assertEquals("Invalid phone number: " + phoneNumber, ex.getMessage());
         assertEquals(ErrorType.PHONE_NUMBER_INVALID, ex.getErrorType());
+        verify(phoneValidationClient, never()).isValid(any());
+    }
+
+    @Test
+    void validatePhoneNumber_OfflineAmbiguous_AsksClient() {
+        MemberServiceImpl service = new MemberServiceImpl(memberRepository, phoneValidationClient, offlineValidator(
+            true, true), mongoTemplate, phoneVerificationService, readPreferences, auditTrail, memberCache, true);
+        when(phoneValidationClient.isValid("6123456789")).thenReturn(true);
+
+        assertThat(service.validatePhoneNumber("6123456789")).isEqualTo(PhoneVerificationStatus.VERIFIED);
+    }
+
+    @Test
+    void testUpdateMemberDetailsWithNumber_Deferred_SchedulesVerification() {
+        UpdateMemberRequest updateRequest = new UpdateMemberRequest();
+        updateRequest.setName("Updated Name");
+        updateRequest.setPhoneNumber("1234567899");
+        updateRequest.setRoles(List.of("ROLE_ADMIN"));
+
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(
+            Member.class))).thenReturn(mockMember);
+        when(memberRepository.findByEmail("test@example.com")).thenReturn(Optional.of(mockSameMember));
+        when(phoneVerificationService.isDeferred()).thenReturn(true);
+
+        MemberDto result = memberService.updateMemberDetails("123", getAuthForSuccess(), updateRequest, null);
+
+        assertThat(result.getPhoneVerification()).isEqualTo(PhoneVerificationStatus.PENDING);
+        verify(phoneValidationClient, never()).isValid(any());
+        verify(phoneVerificationService).scheduleVerification("123", "1234567899");
     }
 
     @Test
@@ -278,11 +489,15 @@ class MemberServiceImplTest {
         when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(mockMembers);
         when(mongoTemplate.count(any(Query.class), eq(Member.class))).thenReturn((long) mockMembers.size());
 
-        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, false, criteria);
+        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, false, criteria, null);
 
         assertEquals(2, result.getTotalElements());
         assertEquals("John Doe", result.getContent().get(0).getName());
         assertEquals("johnny@example.com", result.getContent().get(1).getEmail());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Member.class));
+        assertThat(query.getValue().getReadPreference()).isEqualTo(readPreferences.memberSearch());
+        assertThat(readPreferences.memberSearch().getName()).isEqualTo("secondary");
     }
 
     @Test
@@ -295,7 +510,7 @@ class MemberServiceImplTest {
         when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(mockMembers);
         when(mongoTemplate.count(any(Query.class), eq(Member.class))).thenReturn(1L);
 
-        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, false, criteria);
+        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, false, criteria, null);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("ADMIN", result.getContent().get(0).getRoles().get(0));
@@ -313,7 +528,7 @@ class MemberServiceImplTest {
         when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(mockMembers);
         when(mongoTemplate.count(any(Query.class), eq(Member.class))).thenReturn(1L);
 
-        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, false, criteria);
+        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, false, criteria, null);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("Bob", result.getContent().get(0).getName());
@@ -330,7 +545,7 @@ class MemberServiceImplTest {
         when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(mockMembers);
         when(mongoTemplate.count(any(Query.class), eq(Member.class))).thenReturn((long) mockMembers.size());
 
-        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, false, criteria);
+        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, false, criteria, null);
 
         assertEquals(2, result.getTotalElements());
     }
@@ -343,7 +558,7 @@ class MemberServiceImplTest {
         when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(Collections.emptyList());
         when(mongoTemplate.count(any(Query.class), eq(Member.class))).thenReturn(0L);
 
-        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, false, criteria);
+        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, false, criteria, null);
 
         assertEquals(0, result.getTotalElements());
         assertTrue(result.getContent().isEmpty());
@@ -359,7 +574,7 @@ class MemberServiceImplTest {
         when(mongoTemplate.find(any(Query.class), eq(Member.class))).thenReturn(mockMembers);
         when(mongoTemplate.count(any(Query.class), eq(Member.class))).thenReturn(1L);
 
-        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, true, criteria);
+        Page<MemberDto> result = memberService.getFilteredMembersByCriteria(pageable, true, criteria, null);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("Eve", result.getContent().get(0).getName());
@@ -381,4 +596,9 @@ class MemberServiceImplTest {
         when(auth.getPrincipal()).thenReturn(new User(mockMember.getEmail(), "password", List.of()));
         return auth;
     }
+
+    private static OfflinePhoneNumberValidator offlineValidator(boolean enabled, boolean secondOpinion) {
+        return new OfflinePhoneNumberValidator(new ClassPathResource("phone/numbering-plan.csv"), enabled,
+            secondOpinion, PhoneValidationFallback.REJECT, "91");
+    }
 }
@@ -0,0 +1,61 @@
+package com.kitchensink.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.kitchensink.entity.PhoneVerificationTask;
+import com.kitchensink.enums.PhoneVerificationMode;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class PhoneVerificationServiceImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void testIsDeferred() {
+        assertThat(new PhoneVerificationServiceImpl(mongoTemplate, true, PhoneVerificationMode.SYNC).isDeferred())
+            .isFalse();
+        assertThat(new PhoneVerificationServiceImpl(mongoTemplate, true, PhoneVerificationMode.DEFERRED).isDeferred())
+            .isTrue();
+        assertThat(new PhoneVerificationServiceImpl(mongoTemplate, false, PhoneVerificationMode.DEFERRED)
+            .isDeferred()).isFalse();
+    }
+
+    @Test
+    void testScheduleVerification_Deferred_UpsertsTask() {
+        PhoneVerificationServiceImpl service = new PhoneVerificationServiceImpl(mongoTemplate, true,
+            PhoneVerificationMode.DEFERRED);
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+
+        service.scheduleVerification("123", "9876543210");
+
+        verify(mongoTemplate).upsert(queryCaptor.capture(), updateCaptor.capture(), eq(PhoneVerificationTask.class));
+        assertThat(queryCaptor.getValue().getQueryObject().get("_id")).isEqualTo("123");
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class).get("phoneNumber"))
+            .isEqualTo("9876543210");
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$unset", Document.class)).containsKey(
+            "lockedBy");
+    }
+
+    @Test
+    void testScheduleVerification_Sync_DoesNothing() {
+        new PhoneVerificationServiceImpl(mongoTemplate, true, PhoneVerificationMode.SYNC).scheduleVerification("123",
+            "9876543210");
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(PhoneVerificationTask.class));
+    }
+}
@@ -0,0 +1,75 @@
+package com.kitchensink.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import com.kitchensink.enums.PhoneValidationFallback;
+import com.kitchensink.enums.PhoneValidationResult;
+
+class OfflinePhoneNumberValidatorTest {
+
+    private final OfflinePhoneNumberValidator validator = validator(true, PhoneValidationFallback.REJECT);
+
+    @Test
+    void validate_MobileSeries_Valid() {
+        assertThat(validator.validate("9876543210")).isEqualTo(PhoneValidationResult.VALID);
+        assertThat(validator.validate("+91 98765-43210")).isEqualTo(PhoneValidationResult.VALID);
+        assertThat(validator.validate("09876543210")).isEqualTo(PhoneValidationResult.VALID);
+    }
+
+    @Test
+    void validate_NotAMobileNumber_Invalid() {
+        assertThat(validator.validate("1234567890")).isEqualTo(PhoneValidationResult.INVALID);
+        assertThat(validator.validate("987654321")).isEqualTo(PhoneValidationResult.INVALID);
+        assertThat(validator.validate("98765432100")).isEqualTo(PhoneValidationResult.INVALID);
+        assertThat(validator.validate("98765x3210")).isEqualTo(PhoneValidationResult.INVALID);
+        assertThat(validator.validate(null)).isEqualTo(PhoneValidationResult.INVALID);
+    }
+
+    @Test
+    void validate_LongestPrefixWins() {
+        assertThat(validator.validate("9999999999")).isEqualTo(PhoneValidationResult.INVALID);
+        assertThat(validator.validate("9999999998")).isEqualTo(PhoneValidationResult.VALID);
+    }
+
+    @Test
+    void validate_UndecidedNumbers_Ambiguous() {
+        assertThat(validator.validate("6123456789")).isEqualTo(PhoneValidationResult.AMBIGUOUS);
+        assertThat(validator.validate("+44 7911 123456")).isEqualTo(PhoneValidationResult.AMBIGUOUS);
+    }
+
+    @Test
+    void validate_WithoutSecondOpinion_AppliesAmbiguousPolicy() {
+        assertThat(validator(false, PhoneValidationFallback.ACCEPT).validate("6123456789")).isEqualTo(
+            PhoneValidationResult.VALID);
+        assertThat(validator(false, PhoneValidationFallback.REJECT).validate("6123456789")).isEqualTo(
+            PhoneValidationResult.INVALID);
+    }
+
+    @Test
+    void validate_Disabled_DefersToProvider() {
+        OfflinePhoneNumberValidator disabled = new OfflinePhoneNumberValidator(new ClassPathResource(
+            "phone/numbering-plan.csv"), false, true, PhoneValidationFallback.REJECT, "91");
+
+        assertThat(disabled.validate("1234567890")).isEqualTo(PhoneValidationResult.AMBIGUOUS);
+    }
+
+    @Test
+    void load_MalformedRule_Fails() {
+        ByteArrayResource plan = new ByteArrayResource("91,9,10\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> PhoneNumberingPlan.load(plan)).isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("line 1");
+    }
+
+    private static OfflinePhoneNumberValidator validator(boolean secondOpinion, PhoneValidationFallback policy) {
+        return new OfflinePhoneNumberValidator(new ClassPathResource("phone/numbering-plan.csv"), true, secondOpinion,
+            policy, "91");
+    }
+}